@@ -2,7 +2,11 @@ package org.gad.inventory_service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.gad.inventory_service.analytics.SalesRollupBackfill;
+import org.gad.inventory_service.cache.ReferenceDataCache;
+import org.gad.inventory_service.config.mongo.MongoIndexManager;
 import org.gad.inventory_service.model.*;
+import org.gad.inventory_service.service.StockLevelService;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -19,6 +23,10 @@ import java.util.*;
 @RequiredArgsConstructor
 public class DataInitializer {
 private final PasswordEncoder passwordEncoder;
+private final MongoIndexManager mongoIndexManager;
+private final StockLevelService stockLevelService;
+private final SalesRollupBackfill salesRollupBackfill;
+private final ReferenceDataCache referenceDataCache;
 
     @Bean
     public CommandLineRunner initDatabase(ReactiveMongoTemplate reactiveMongoTemplate) {
@@ -32,8 +40,10 @@ private final PasswordEncoder passwordEncoder;
                         reactiveMongoTemplate.dropCollection(Provider.class),
                         reactiveMongoTemplate.dropCollection(Product.class),
                         reactiveMongoTemplate.dropCollection(Stocktaking.class),
-                        reactiveMongoTemplate.dropCollection(Sale.class)
-                ).thenMany(
+                        reactiveMongoTemplate.dropCollection(Sale.class),
+                        reactiveMongoTemplate.dropCollection(StockLevel.class),
+                        reactiveMongoTemplate.dropCollection(SalesRollup.class)
+                ).then(mongoIndexManager.ensureIndexes()).thenMany(
                         Flux.just(
                                         Permission.builder().name("CREATE_BRAND").isActive(true).build(),
                                         Permission.builder().name("READ_BRAND").isActive(true).build(),
@@ -397,7 +407,7 @@ private final PasswordEncoder passwordEncoder;
                                             ).concatMap(reactiveMongoTemplate::save);
                                         })
                                 )
-                ).subscribe(
+                ).then(referenceDataCache.reload()).then(stockLevelService.reconcileAll()).then(salesRollupBackfill.rebuildAll()).subscribe(
                         null,
                         p -> log.error("Error al inicializar la base de datos: {}", p.getMessage()),
                         () -> log.info("Base de datos inicializada correctamente con datos de prueba.")
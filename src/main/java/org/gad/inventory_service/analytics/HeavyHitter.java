@@ -0,0 +1,9 @@
+package org.gad.inventory_service.analytics;
+
+// An estimated count is never below the true count and overestimates it by at most error.
+public record HeavyHitter(String key, long count, long error) {
+
+    public long guaranteedCount() {
+        return count - error;
+    }
+}
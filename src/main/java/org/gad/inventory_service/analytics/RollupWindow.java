@@ -0,0 +1,38 @@
+package org.gad.inventory_service.analytics;
+
+import org.gad.inventory_service.model.RollupGranularity;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+// A contiguous run of buckets of one granularity, bounds inclusive.
+public record RollupWindow(RollupGranularity granularity, String fromPeriod, String toPeriod) {
+
+    // Whole months inside the range are read as month buckets and only the partial months at either end as day
+    // buckets, so a year-long query touches at most about twelve month buckets and sixty day buckets.
+    public static List<RollupWindow> cover(LocalDate from, LocalDate to) {
+        List<RollupWindow> windows = new ArrayList<>();
+        YearMonth firstFullMonth = from.getDayOfMonth() == 1 ? YearMonth.from(from) : YearMonth.from(from).plusMonths(1);
+        YearMonth lastFullMonth = to.equals(YearMonth.from(to).atEndOfMonth()) ? YearMonth.from(to) : YearMonth.from(to).minusMonths(1);
+
+        if (firstFullMonth.isAfter(lastFullMonth)) {
+            windows.add(days(from, to));
+            return windows;
+        }
+        if (from.isBefore(firstFullMonth.atDay(1))) {
+            windows.add(days(from, firstFullMonth.atDay(1).minusDays(1)));
+        }
+        windows.add(new RollupWindow(RollupGranularity.MONTH,
+                RollupGranularity.MONTH.periodOf(firstFullMonth), RollupGranularity.MONTH.periodOf(lastFullMonth)));
+        if (to.isAfter(lastFullMonth.atEndOfMonth())) {
+            windows.add(days(lastFullMonth.plusMonths(1).atDay(1), to));
+        }
+        return windows;
+    }
+
+    private static RollupWindow days(LocalDate from, LocalDate to) {
+        return new RollupWindow(RollupGranularity.DAY, RollupGranularity.DAY.periodOf(from), RollupGranularity.DAY.periodOf(to));
+    }
+}
@@ -0,0 +1,195 @@
+package org.gad.inventory_service.analytics;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.gad.inventory_service.model.RollupDimension;
+import org.gad.inventory_service.model.RollupGranularity;
+import org.gad.inventory_service.model.SalesRollup;
+import org.gad.inventory_service.utils.QueryUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.gad.inventory_service.utils.Constants.*;
+
+// Recomputes every bucket from the sales collection on the server: one $group per granularity and dimension,
+// $merge'd over the existing buckets, then buckets no sale produced any more are removed. Incremental updates
+// keep the buckets current between rebuilds; this job seeds an empty collection at startup and then periodically
+// repairs any drift left by an incremental update that failed.
+// A rebuild only aggregates sales created before a cutoff minute, a few minutes back so no sale older than it is
+// still being written. Deltas of later sales stay under each bucket's recent map and are added back on top of the
+// aggregated totals. Each bucket also keeps the cutoff and the moment its $group started reading the sales, so a
+// delta of an older sale whose write was stored before that read is a no-op instead of a second count, while an
+// edit or delete stored after it still applies. Only a write stored while that one $group is running can be
+// counted twice, and the next rebuild corrects it.
+@Slf4j
+@Component
+public class SalesRollupBackfill {
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final Duration rebuildInterval;
+    private Disposable rebuilds;
+
+    public SalesRollupBackfill(ReactiveMongoTemplate reactiveMongoTemplate,
+                               @Value("${analytics.rollup-rebuild-interval}") Duration rebuildInterval) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.rebuildInterval = rebuildInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Mono<Long> seed = reactiveMongoTemplate.estimatedCount(SalesRollup.class)
+                .filter(count -> count == 0)
+                .flatMap(empty -> rebuildAll());
+        rebuilds = logged(seed)
+                .thenMany(Flux.interval(rebuildInterval)
+                        .onBackpressureDrop()
+                        .concatMap(tick -> logged(rebuild())))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (rebuilds != null) {
+            rebuilds.dispose();
+        }
+    }
+
+    public Mono<Long> rebuild() {
+        return rebuild(Instant.now().minus(Duration.ofMinutes(SALES_ROLLUP_SETTLE_MINUTES)));
+    }
+
+    // For sales no incremental update has been recorded for yet (an empty collection, freshly seeded sales): every
+    // sale stored so far goes into the totals.
+    public Mono<Long> rebuildAll() {
+        return rebuild(Instant.now().plus(Duration.ofMinutes(1)));
+    }
+
+    private Mono<Long> rebuild(Instant cutoffAt) {
+        Instant cutoffMinute = cutoffAt.truncatedTo(ChronoUnit.MINUTES);
+        String cutoff = SalesRollup.stampOf(cutoffMinute);
+        ObjectId cutoffId = ObjectId.getSmallestWithDate(Date.from(cutoffMinute));
+        Date startedAt = Date.from(Instant.now());
+        Query rebuiltNow = Query.query(Criteria.where(TEXT_REBUILT_AT).gte(startedAt));
+        Query stale = Query.query(Criteria.where(TEXT_REBUILT_AT).lt(startedAt));
+        Query emptied = Query.query(Criteria.where(TEXT_REBUILT_AT).gte(startedAt).and(TEXT_CUTOFF).is(cutoff).and(TEXT_COUNT).is(0));
+
+        return Flux.fromArray(RollupGranularity.values())
+                .concatMap(granularity -> Flux.fromArray(RollupDimension.values())
+                        .concatMap(dimension -> mergeBuckets(granularity, dimension, cutoffId, cutoff)))
+                .then(Mono.defer(() -> reactiveMongoTemplate.updateMulti(stale, recentOnly(cutoff, Date.from(Instant.now())), SalesRollup.class)))
+                .then(reactiveMongoTemplate.remove(emptied, SalesRollup.class))
+                .then(reactiveMongoTemplate.count(rebuiltNow, SalesRollup.class));
+    }
+
+    // Buckets no sale before the cutoff produced keep only the deltas recorded for later sales.
+    private static AggregationUpdate recentOnly(String cutoff, Date readAt) {
+        return AggregationUpdate.from(List.of(
+                context -> new Document("$set", new Document(TEXT_RECENT, recentFrom(cutoff))),
+                context -> new Document("$set", new Document(TEXT_COUNT, recentSum(TEXT_COUNT))
+                        .append(TEXT_QUANTITY, recentSum(TEXT_QUANTITY))
+                        .append(TEXT_REVENUE, recentSum(TEXT_REVENUE))
+                        .append(TEXT_CUTOFF, cutoff)
+                        .append(TEXT_REBUILT_AT, readAt))));
+    }
+
+    private Mono<Long> logged(Mono<Long> rebuild) {
+        return rebuild
+                .doOnNext(count -> log.info(SALES_ROLLUPS_REBUILT, count))
+                .onErrorResume(error -> {
+                    log.error(ERROR_REBUILDING_SALES_ROLLUPS, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> mergeBuckets(RollupGranularity granularity, RollupDimension dimension, ObjectId cutoffId, String cutoff) {
+        return Mono.defer(() -> mergeBuckets(granularity, dimension, cutoffId, cutoff, Date.from(Instant.now())));
+    }
+
+    private Mono<Void> mergeBuckets(RollupGranularity granularity, RollupDimension dimension, ObjectId cutoffId, String cutoff, Date readAt) {
+        List<AggregationOperation> operations = new ArrayList<>();
+        operations.add(context -> new Document("$match", new Document(TEXT_ID, new Document("$lt", cutoffId))));
+        if (dimension == RollupDimension.CATEGORY || dimension == RollupDimension.BRAND) {
+            operations.addAll(QueryUtils.buildProductLookupStages(TEXT_PRODUCT_ID));
+        }
+        operations.add(context -> new Document("$group", new Document(TEXT_ID, new Document(TEXT_PERIOD, periodExpression(granularity))
+                .append(TEXT_KEY, keyExpression(dimension)))
+                .append(TEXT_COUNT, new Document("$sum", 1))
+                .append(TEXT_QUANTITY, new Document("$sum", "$" + TEXT_QUANTITY))
+                .append(TEXT_REVENUE, new Document("$sum", "$" + TEXT_SALE_TOTAL_PRICE))));
+        operations.add(context -> new Document("$match", new Document(TEXT_ID + "." + TEXT_KEY, new Document("$ne", null))));
+        operations.add(context -> new Document("$project", new Document(TEXT_ID, new Document("$concat", List.of(
+                granularity + ":", "$" + TEXT_ID + "." + TEXT_PERIOD, ":" + dimension + ":", "$" + TEXT_ID + "." + TEXT_KEY)))
+                .append(TEXT_GRANULARITY, new Document("$literal", granularity.name()))
+                .append(TEXT_PERIOD, "$" + TEXT_ID + "." + TEXT_PERIOD)
+                .append(TEXT_DIMENSION, new Document("$literal", dimension.name()))
+                .append(TEXT_KEY, "$" + TEXT_ID + "." + TEXT_KEY)
+                .append(TEXT_COUNT, 1)
+                .append(TEXT_QUANTITY, 1)
+                .append(TEXT_REVENUE, 1)
+                .append(TEXT_CUTOFF, new Document("$literal", cutoff))
+                .append(TEXT_REBUILT_AT, new Document("$literal", readAt))));
+        operations.add(context -> new Document("$merge", new Document("into", SALES_ROLLUPS_COLLECTION)
+                .append("on", TEXT_ID)
+                .append("whenMatched", List.of(
+                        new Document("$set", new Document(TEXT_RECENT, recentFrom(cutoff))),
+                        new Document("$set", new Document(TEXT_COUNT, new Document("$add", List.of("$$new." + TEXT_COUNT, recentSum(TEXT_COUNT))))
+                                .append(TEXT_QUANTITY, new Document("$add", List.of("$$new." + TEXT_QUANTITY, recentSum(TEXT_QUANTITY))))
+                                .append(TEXT_REVENUE, new Document("$add", List.of("$$new." + TEXT_REVENUE, recentSum(TEXT_REVENUE))))
+                                .append(TEXT_CUTOFF, "$$new." + TEXT_CUTOFF)
+                                .append(TEXT_REBUILT_AT, "$$new." + TEXT_REBUILT_AT))))
+                .append("whenNotMatched", "insert")));
+
+        Aggregation aggregation = Aggregation.newAggregation(operations)
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).skipOutput().build());
+        return reactiveMongoTemplate.aggregate(aggregation, SALES_COLLECTION, Document.class).then();
+    }
+
+    // Deltas recorded for sales from the cutoff minute on, which the aggregation did not see.
+    private static Document recentFrom(String cutoff) {
+        return new Document("$arrayToObject", new Document("$filter", new Document("input",
+                new Document("$objectToArray", new Document("$ifNull", List.of("$" + TEXT_RECENT, new Document()))))
+                .append("cond", new Document("$gte", List.of("$$this.k", cutoff)))));
+    }
+
+    private static Document recentSum(String field) {
+        return new Document("$sum", new Document("$map", new Document("input", new Document("$objectToArray", "$" + TEXT_RECENT))
+                .append("in", "$$this.v." + field)));
+    }
+
+    // Buckets are cut on the server's local calendar, the same one LocalDateTime sale dates are written in.
+    private static Document periodExpression(RollupGranularity granularity) {
+        return new Document("$dateToString", new Document("format", granularity.mongoFormat())
+                .append("date", "$" + TEXT_SALE_DATE)
+                .append("timezone", TimeZone.getDefault().getID()));
+    }
+
+    private static Object keyExpression(RollupDimension dimension) {
+        return switch (dimension) {
+            case ALL -> new Document("$literal", RollupDimension.ALL_KEY);
+            case PRODUCT -> "$" + TEXT_PRODUCT_ID;
+            case CATEGORY -> "$" + TEXT_PRODUCT + ".category_id";
+            case BRAND -> "$" + TEXT_PRODUCT + ".brand_id";
+        };
+    }
+}
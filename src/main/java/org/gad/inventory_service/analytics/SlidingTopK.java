@@ -0,0 +1,61 @@
+package org.gad.inventory_service.analytics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+// Ring of per-slice Space-Saving summaries covering the last slices * sliceLength. A slice is reset the first
+// time it is written in a new period, so memory stays at slices * capacity counters and old sales simply age out.
+final class SlidingTopK {
+    private final long sliceMillis;
+    private final int capacity;
+    private final SpaceSaving[] slices;
+    private final long[] slicePeriods;
+
+    SlidingTopK(Duration sliceLength, int sliceCount, int capacity) {
+        this.sliceMillis = sliceLength.toMillis();
+        this.capacity = capacity;
+        this.slices = new SpaceSaving[sliceCount];
+        this.slicePeriods = new long[sliceCount];
+        for (int i = 0; i < sliceCount; i++) {
+            slices[i] = new SpaceSaving(capacity);
+            slicePeriods[i] = Long.MIN_VALUE;
+        }
+    }
+
+    synchronized void offer(String key, long weight, Instant at, Instant now) {
+        long period = periodOf(at);
+        if (period <= periodOf(now) - slices.length || period > periodOf(now)) {
+            return;
+        }
+        int index = (int) Math.floorMod(period, (long) slices.length);
+        if (slicePeriods[index] != period) {
+            slices[index] = new SpaceSaving(capacity);
+            slicePeriods[index] = period;
+        }
+        slices[index].offer(key, weight);
+    }
+
+    synchronized List<HeavyHitter> top(int limit, Instant now) {
+        return merged(now).top(limit);
+    }
+
+    synchronized List<HeavyHitter> snapshot(Instant now) {
+        return merged(now).snapshot();
+    }
+
+    private SpaceSaving merged(Instant now) {
+        long current = periodOf(now);
+        SpaceSaving merged = new SpaceSaving(capacity);
+        for (int i = 0; i < slices.length; i++) {
+            if (slicePeriods[i] > current - slices.length && slicePeriods[i] <= current && !slices[i].isEmpty()) {
+                merged = merged.merge(slices[i]);
+            }
+        }
+        return merged;
+    }
+
+    private long periodOf(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), sliceMillis);
+    }
+}
@@ -0,0 +1,92 @@
+package org.gad.inventory_service.analytics;
+
+import java.util.*;
+
+// Space-Saving summary: at most capacity counters whatever the number of distinct keys. A new key evicts the
+// smallest counter and inherits its count as error, so every key sold more than total/capacity units is kept.
+// Two summaries merge by treating a key missing from a full summary as having that summary's smallest count.
+final class SpaceSaving {
+    private static final Comparator<HeavyHitter> RANKING = Comparator
+            .comparingLong(HeavyHitter::count).reversed()
+            .thenComparing(HeavyHitter::key);
+
+    private final int capacity;
+    private final Map<String, long[]> counters;
+
+    SpaceSaving(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    static SpaceSaving of(int capacity, Collection<HeavyHitter> snapshot) {
+        SpaceSaving summary = new SpaceSaving(capacity);
+        snapshot.stream()
+                .sorted(RANKING)
+                .limit(capacity)
+                .forEach(hitter -> summary.counters.put(hitter.key(), new long[]{hitter.count(), hitter.error()}));
+        return summary;
+    }
+
+    void offer(String key, long weight) {
+        long[] counter = counters.get(key);
+        if (counter != null) {
+            counter[0] += weight;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new long[]{weight, 0});
+            return;
+        }
+        Map.Entry<String, long[]> smallest = smallestCounter();
+        counters.remove(smallest.getKey());
+        long floor = smallest.getValue()[0];
+        counters.put(key, new long[]{floor + weight, floor});
+    }
+
+    SpaceSaving merge(SpaceSaving other) {
+        long thisFloor = floor();
+        long otherFloor = other.floor();
+        Set<String> keys = new HashSet<>(counters.keySet());
+        keys.addAll(other.counters.keySet());
+
+        List<HeavyHitter> combined = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            long[] mine = counters.get(key);
+            long[] theirs = other.counters.get(key);
+            long count = (mine != null ? mine[0] : thisFloor) + (theirs != null ? theirs[0] : otherFloor);
+            long error = (mine != null ? mine[1] : thisFloor) + (theirs != null ? theirs[1] : otherFloor);
+            combined.add(new HeavyHitter(key, count, error));
+        }
+        return of(Math.max(capacity, other.capacity), combined);
+    }
+
+    List<HeavyHitter> top(int limit) {
+        return snapshot().stream().limit(limit).toList();
+    }
+
+    List<HeavyHitter> snapshot() {
+        return counters.entrySet().stream()
+                .map(entry -> new HeavyHitter(entry.getKey(), entry.getValue()[0], entry.getValue()[1]))
+                .sorted(RANKING)
+                .toList();
+    }
+
+    boolean isEmpty() {
+        return counters.isEmpty();
+    }
+
+    // Only a full summary can have dropped a key; until then every count is exact.
+    private long floor() {
+        return counters.size() < capacity ? 0 : smallestCounter().getValue()[0];
+    }
+
+    private Map.Entry<String, long[]> smallestCounter() {
+        Map.Entry<String, long[]> smallest = null;
+        for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+            if (smallest == null || entry.getValue()[0] < smallest.getValue()[0]) {
+                smallest = entry;
+            }
+        }
+        return smallest;
+    }
+}
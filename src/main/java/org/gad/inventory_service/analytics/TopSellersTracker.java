@@ -0,0 +1,50 @@
+package org.gad.inventory_service.analytics;
+
+import org.gad.inventory_service.model.Sale;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Live best sellers by units over the last hour and day, kept in memory from the sales this instance records.
+// Memory is bounded by capacity counters per slice whatever the catalogue size; each instance only sees its own
+// sales, and snapshots from several instances combine with merge into the same guarantees over all of them.
+@Component
+public class TopSellersTracker {
+    private final int capacity;
+    private final Map<TopSellersWindow, SlidingTopK> windows = new EnumMap<>(TopSellersWindow.class);
+
+    public TopSellersTracker(@Value("${analytics.top-sellers.capacity}") int capacity) {
+        this.capacity = capacity;
+        for (TopSellersWindow window : TopSellersWindow.values()) {
+            windows.put(window, new SlidingTopK(window.sliceLength(), window.sliceCount(), capacity));
+        }
+    }
+
+    public void record(Sale sale) {
+        Instant soldAt = sale.getSaleDate().atZone(ZoneId.systemDefault()).toInstant();
+        Instant now = Instant.now();
+        windows.values().forEach(window -> window.offer(sale.getProductId(), sale.getQuantity(), soldAt, now));
+    }
+
+    public List<HeavyHitter> top(TopSellersWindow window, int limit) {
+        return windows.get(window).top(limit, Instant.now());
+    }
+
+    public List<HeavyHitter> snapshot(TopSellersWindow window) {
+        return windows.get(window).snapshot(Instant.now());
+    }
+
+    public List<HeavyHitter> merge(Collection<List<HeavyHitter>> snapshots, int limit) {
+        SpaceSaving merged = new SpaceSaving(capacity);
+        for (List<HeavyHitter> snapshot : snapshots) {
+            merged = merged.merge(SpaceSaving.of(capacity, snapshot));
+        }
+        return merged.top(limit);
+    }
+}
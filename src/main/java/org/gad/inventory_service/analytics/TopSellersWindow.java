@@ -0,0 +1,28 @@
+package org.gad.inventory_service.analytics;
+
+import java.time.Duration;
+
+public enum TopSellersWindow {
+    HOUR(Duration.ofMinutes(1), 60),
+    DAY(Duration.ofHours(1), 24);
+
+    private final Duration sliceLength;
+    private final int sliceCount;
+
+    TopSellersWindow(Duration sliceLength, int sliceCount) {
+        this.sliceLength = sliceLength;
+        this.sliceCount = sliceCount;
+    }
+
+    public Duration sliceLength() {
+        return sliceLength;
+    }
+
+    public int sliceCount() {
+        return sliceCount;
+    }
+
+    public static TopSellersWindow fromPath(String value) {
+        return valueOf(value.toUpperCase());
+    }
+}
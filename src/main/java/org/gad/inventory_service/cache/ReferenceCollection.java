@@ -0,0 +1,138 @@
+package org.gad.inventory_service.cache;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Whole-collection snapshot of one small reference collection. The snapshot is loaded once, shared by
+// concurrent readers, reloaded after the TTL and replaced immediately when the collection is written.
+final class ReferenceCollection<T> {
+    private final Supplier<Flux<T>> loader;
+    private final Function<String, Mono<T>> nameLoader;
+    private final Function<T, String> idOf;
+    private final Function<T, String> nameOf;
+    private final Duration ttl;
+    private final Duration minRefreshInterval;
+    private final AtomicReference<Mono<Snapshot<T>>> current = new AtomicReference<>();
+    private final AtomicLong lastLoadNanos = new AtomicLong(System.nanoTime());
+
+    ReferenceCollection(Supplier<Flux<T>> loader, Function<String, Mono<T>> nameLoader, Function<T, String> idOf,
+                        Function<T, String> nameOf, Duration ttl, Duration minRefreshInterval) {
+        this.loader = loader;
+        this.nameLoader = nameLoader;
+        this.idOf = idOf;
+        this.nameOf = nameOf;
+        this.ttl = ttl;
+        this.minRefreshInterval = minRefreshInterval;
+        invalidate();
+    }
+
+    void invalidate() {
+        lastLoadNanos.set(System.nanoTime());
+        current.set(Flux.defer(loader)
+                .collectList()
+                .map(entries -> new Snapshot<>(entries, idOf, nameOf))
+                .cache(snapshot -> ttl, error -> Duration.ZERO, () -> ttl));
+    }
+
+    // An id or name missing from the snapshot usually means it was written on another instance. Reload, but at most
+    // once per minRefreshInterval, so ids that no longer exist cannot turn every read into a full reload.
+    void refreshAfterMiss() {
+        long last = lastLoadNanos.get();
+        if (System.nanoTime() - last >= minRefreshInterval.toNanos() && lastLoadNanos.compareAndSet(last, System.nanoTime())) {
+            invalidate();
+        }
+    }
+
+    Mono<Void> load() {
+        return current.get().then();
+    }
+
+    Mono<Void> reload() {
+        return Mono.defer(() -> {
+            invalidate();
+            return load();
+        });
+    }
+
+    // Same matching as the *ByNameContainingIgnoreCase finders it replaces, preferring an exact match. A name the
+    // snapshot does not know is looked up with that finder, so entries written elsewhere resolve before the reload.
+    Mono<T> findByName(String name) {
+        if (name == null) {
+            return Mono.empty();
+        }
+        return current.get()
+                .flatMap(snapshot -> Mono.justOrEmpty(snapshot.findByName(name)))
+                .switchIfEmpty(Mono.defer(() -> {
+                    refreshAfterMiss();
+                    return nameLoader.apply(name);
+                }));
+    }
+
+    Mono<String> findNameById(String id) {
+        if (id == null) {
+            return Mono.empty();
+        }
+        return current.get().flatMap(snapshot -> Mono.justOrEmpty(snapshot.nameById().get(id)));
+    }
+
+    Mono<Map<String, String>> namesById() {
+        return current.get().map(Snapshot::nameById);
+    }
+
+    private record Snapshot<T>(List<T> entriesByName, Map<String, T> byLowerName, Map<String, String> nameById,
+                               Function<T, String> nameOf) {
+
+        Snapshot(List<T> entries, Function<T, String> idOf, Function<T, String> nameOf) {
+            this(sortedByName(entries, nameOf), indexByLowerName(entries, nameOf), indexNameById(entries, idOf, nameOf), nameOf);
+        }
+
+        Optional<T> findByName(String name) {
+            if (name == null) {
+                return Optional.empty();
+            }
+            String lowerName = name.toLowerCase(Locale.ROOT);
+            T exact = byLowerName.get(lowerName);
+            if (exact != null) {
+                return Optional.of(exact);
+            }
+            return entriesByName.stream()
+                    .filter(entry -> nameOf.apply(entry).toLowerCase(Locale.ROOT).contains(lowerName))
+                    .findFirst();
+        }
+
+        private static <T> List<T> sortedByName(List<T> entries, Function<T, String> nameOf) {
+            return entries.stream()
+                    .filter(entry -> nameOf.apply(entry) != null)
+                    .sorted(Comparator.comparing(nameOf))
+                    .toList();
+        }
+
+        private static <T> Map<String, T> indexByLowerName(List<T> entries, Function<T, String> nameOf) {
+            Map<String, T> index = new HashMap<>();
+            for (T entry : entries) {
+                String name = nameOf.apply(entry);
+                if (name != null) {
+                    index.putIfAbsent(name.toLowerCase(Locale.ROOT), entry);
+                }
+            }
+            return Map.copyOf(index);
+        }
+
+        private static <T> Map<String, String> indexNameById(List<T> entries, Function<T, String> idOf, Function<T, String> nameOf) {
+            Map<String, String> index = new HashMap<>();
+            for (T entry : entries) {
+                if (idOf.apply(entry) != null && nameOf.apply(entry) != null) {
+                    index.put(idOf.apply(entry), nameOf.apply(entry));
+                }
+            }
+            return Map.copyOf(index);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.gad.inventory_service.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.gad.inventory_service.event.ReferenceDataChangedEvent;
+import org.gad.inventory_service.model.Brand;
+import org.gad.inventory_service.model.Category;
+import org.gad.inventory_service.model.Provider;
+import org.gad.inventory_service.repository.BrandRepository;
+import org.gad.inventory_service.repository.CategoryRepository;
+import org.gad.inventory_service.repository.ProviderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.gad.inventory_service.utils.Constants.ERROR_LOADING_REFERENCE_DATA;
+
+@Slf4j
+@Component
+public class ReferenceDataCache {
+    private final ReferenceCollection<Category> categories;
+    private final ReferenceCollection<Brand> brands;
+    private final ReferenceCollection<Provider> providers;
+
+    public ReferenceDataCache(CategoryRepository categoryRepository,
+                              BrandRepository brandRepository,
+                              ProviderRepository providerRepository,
+                              @Value("${reference-cache.ttl}") Duration ttl,
+                              @Value("${reference-cache.min-refresh-interval}") Duration minRefreshInterval) {
+        this.categories = new ReferenceCollection<>(categoryRepository::findAll, categoryRepository::findCategoryByNameContainingIgnoreCase,
+                Category::getIdCategory, Category::getName, ttl, minRefreshInterval);
+        this.brands = new ReferenceCollection<>(brandRepository::findAll, brandRepository::findBrandByNameContainingIgnoreCase,
+                Brand::getIdBrand, Brand::getName, ttl, minRefreshInterval);
+        this.providers = new ReferenceCollection<>(providerRepository::findAll, providerRepository::findProviderByNameContainingIgnoreCase,
+                Provider::getIdProvider, Provider::getName, ttl, minRefreshInterval);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Mono.when(categories.load(), brands.load(), providers.load())
+                .subscribe(null, error -> log.error(ERROR_LOADING_REFERENCE_DATA, error.getMessage()));
+    }
+
+    // For writers that bypass the services and publish no ReferenceDataChangedEvent, such as the startup seed.
+    public Mono<Void> reload() {
+        return Mono.when(categories.reload(), brands.reload(), providers.reload());
+    }
+
+    @EventListener
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        switch (event.type()) {
+            case CATEGORY -> categories.invalidate();
+            case BRAND -> brands.invalidate();
+            case PROVIDER -> providers.invalidate();
+        }
+    }
+
+    public Mono<ReferenceNames> names() {
+        return Mono.zip(categories.namesById(), brands.namesById(), providers.namesById())
+                .map(names -> new ReferenceNames(names.getT1(), names.getT2(), names.getT3(), this));
+    }
+
+    public Mono<Category> findCategoryByName(String name) {
+        return categories.findByName(name);
+    }
+
+    public Mono<Brand> findBrandByName(String name) {
+        return brands.findByName(name);
+    }
+
+    public Mono<Provider> findProviderByName(String name) {
+        return providers.findByName(name);
+    }
+
+    public Mono<String> findCategoryNameById(String id) {
+        return categories.findNameById(id);
+    }
+
+    public Mono<String> findBrandNameById(String id) {
+        return brands.findNameById(id);
+    }
+
+    public Mono<String> findProviderNameById(String id) {
+        return providers.findNameById(id);
+    }
+
+    void onCategoryMiss() {
+        categories.refreshAfterMiss();
+    }
+
+    void onBrandMiss() {
+        brands.refreshAfterMiss();
+    }
+
+    void onProviderMiss() {
+        providers.refreshAfterMiss();
+    }
+}
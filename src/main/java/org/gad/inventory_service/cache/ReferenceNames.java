@@ -0,0 +1,44 @@
+package org.gad.inventory_service.cache;
+
+import java.util.Map;
+
+// Point-in-time id->name view over the three reference collections, resolved once per read and then
+// used synchronously for every product in it. Unknown ids fall back to the raw id, as before.
+public final class ReferenceNames {
+    private final Map<String, String> categoryNames;
+    private final Map<String, String> brandNames;
+    private final Map<String, String> providerNames;
+    private final ReferenceDataCache owner;
+
+    ReferenceNames(Map<String, String> categoryNames, Map<String, String> brandNames,
+                   Map<String, String> providerNames, ReferenceDataCache owner) {
+        this.categoryNames = categoryNames;
+        this.brandNames = brandNames;
+        this.providerNames = providerNames;
+        this.owner = owner;
+    }
+
+    public String categoryName(String id) {
+        return resolve(categoryNames, id, owner::onCategoryMiss);
+    }
+
+    public String brandName(String id) {
+        return resolve(brandNames, id, owner::onBrandMiss);
+    }
+
+    public String providerName(String id) {
+        return resolve(providerNames, id, owner::onProviderMiss);
+    }
+
+    private static String resolve(Map<String, String> names, String id, Runnable onMiss) {
+        if (id == null) {
+            return null;
+        }
+        String name = names.get(id);
+        if (name == null) {
+            onMiss.run();
+            return id;
+        }
+        return name;
+    }
+}
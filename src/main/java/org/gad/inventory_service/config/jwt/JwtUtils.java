@@ -1,64 +1,81 @@
 package org.gad.inventory_service.config.jwt;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import org.gad.inventory_service.config.security.UserSecurity;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.List;
+
+import static org.gad.inventory_service.utils.Constants.*;
 
 @Component
 public class JwtUtils {
+    private final Key signingKey;
+    private final JwtParser jwtParser;
+    private final int expirationTime;
 
-    @Value("${auth.token.jwt-secret}")
-    private String jwtSecret;
-    @Value("${auth.token.expiration-in-millis}")
-    private int expirationTime;
+    public JwtUtils(@Value("${auth.token.jwt-secret}") String jwtSecret,
+                    @Value("${auth.token.expiration-in-millis}") int expirationTime) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.expirationTime = expirationTime;
+    }
 
     public Mono<String> generateToken(Authentication authentication) {
         return Mono.fromCallable(() -> {
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+            List<String> authorities = userDetails.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .toList();
 
-            return Jwts.builder()
+            JwtBuilder builder = Jwts.builder()
                     .setSubject(userDetails.getUsername())
-                    .claim("roles", userDetails.getAuthorities())
+                    .claim(CLAIM_AUTHORITIES, authorities);
+            if (userDetails instanceof UserSecurity userSecurity) {
+                builder.claim(CLAIM_USER_ID, userSecurity.getIdUser())
+                        .claim(CLAIM_TOKEN_VERSION, userSecurity.getTokenVersion());
+            }
+
+            return builder
                     .setIssuedAt(new Date())
                     .setExpiration(new Date(System.currentTimeMillis() + expirationTime))
-                    .signWith(key(), SignatureAlgorithm.HS256)
+                    .signWith(signingKey, SignatureAlgorithm.HS256)
                     .compact();
         });
     }
 
-    private Key key(){
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    public Mono<Claims> parseClaims(String token) {
+        return Mono.fromCallable(() -> jwtParser.parseClaimsJws(token).getBody())
+                .onErrorMap(e -> e instanceof JwtException || e instanceof IllegalArgumentException,
+                        e -> new BadCredentialsException(MESSAGE_INVALID_TOKEN, e));
     }
 
-    public String getUsernameFromToken(String token){
-        return  Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token)
-                .getBody().getSubject();
-    }
-
-    public Mono<Boolean> validateTokenReactive(String token) {
-        return Mono.fromCallable(() -> {
-            try {
-                Jwts.parserBuilder()
-                        .setSigningKey(key())
-                        .build()
-                        .parseClaimsJws(token);
-                return true;
-            } catch (JwtException e) {
-                return false;
-            }
-        });
+    // Tokens issued before the uid/ver claims existed yield empty, and the caller falls back to a lookup.
+    public Mono<UserSecurity> principalFromClaims(Claims claims) {
+        String idUser = claims.get(CLAIM_USER_ID, String.class);
+        Integer tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Integer.class);
+        List<?> authorities = claims.get(CLAIM_AUTHORITIES, List.class);
+        if (idUser == null || tokenVersion == null || authorities == null) {
+            return Mono.empty();
+        }
+        return Mono.just(UserSecurity.buildFromClaims(idUser, claims.getSubject(), tokenVersion,
+                authorities.stream().map(String::valueOf).toList()));
     }
 }
@@ -0,0 +1,162 @@
+package org.gad.inventory_service.config.mongo;
+
+import com.mongodb.ExplainVerbosity;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.repository.core.support.AbstractRepositoryMetadata;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.gad.inventory_service.utils.Constants.*;
+
+// Indexes are declared on the entities (@Indexed/@CompoundIndex) next to the fields they cover; this
+// component creates them explicitly, checks they exist on the server, and explains every query shape in
+// QueryShapes so a query that falls back to a collection scan, or to an index scan over every key, is reported at
+// startup instead of in production.
+@Slf4j
+@Component
+public class MongoIndexManager {
+    private static final Set<String> FULL_RANGE_BOUNDS = Set.of("[MinKey, MaxKey]", "[MaxKey, MinKey]", "[\"\", {})", "({}, \"\"]");
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext;
+    private final IndexResolver indexResolver;
+    private final QueryMapper queryMapper;
+    private final boolean explainOnStartup;
+
+    public MongoIndexManager(ReactiveMongoTemplate reactiveMongoTemplate,
+                             @Value("${mongo.indexes.explain-on-startup}") boolean explainOnStartup) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.mappingContext = reactiveMongoTemplate.getConverter().getMappingContext();
+        this.indexResolver = IndexResolver.create(mappingContext);
+        this.queryMapper = new QueryMapper(reactiveMongoTemplate.getConverter());
+        this.explainOnStartup = explainOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensureIndexes()
+                .then(verifyIndexes())
+                .thenMany(explainOnStartup ? explainQueryShapes() : Flux.empty())
+                .filter(QueryPlanReport::uncovered)
+                .subscribe(
+                        report -> log.warn(report.collectionScan() ? COLLECTION_SCAN_DETECTED : FULL_INDEX_SCAN_DETECTED,
+                                report.query(), report.collection()),
+                        error -> log.error(ERROR_MANAGING_INDEXES, error.getMessage()));
+    }
+
+    public Mono<Void> ensureIndexes() {
+        return Flux.fromIterable(documentEntities())
+                .concatMap(entityClass -> Flux.fromIterable(indexResolver.resolveIndexFor(entityClass))
+                        .concatMap(definition -> reactiveMongoTemplate.indexOps(entityClass).ensureIndex(definition)))
+                .count()
+                .doOnNext(count -> log.info(INDEXES_ENSURED, count))
+                .then();
+    }
+
+    // Compared by key pattern rather than name: unnamed @Indexed fields get server-generated names.
+    public Mono<List<String>> verifyIndexes() {
+        return Flux.fromIterable(documentEntities())
+                .concatMap(entityClass -> {
+                    String collectionName = reactiveMongoTemplate.getCollectionName(entityClass);
+                    return reactiveMongoTemplate.getCollection(collectionName)
+                            .flatMapMany(collection -> collection.listIndexes())
+                            .map(index -> index.get("key", Document.class))
+                            .collect(Collectors.toSet())
+                            .flatMapMany(existing -> Flux.fromIterable(indexResolver.resolveIndexFor(entityClass))
+                                    .filter(definition -> !isPresent(definition, existing))
+                                    .map(definition -> collectionName + " " + definition.getIndexKeys().toJson()));
+                })
+                .doOnNext(missing -> log.warn(INDEX_MISSING, missing))
+                .collectList();
+    }
+
+    public Flux<QueryPlanReport> explainQueryShapes() {
+        return Flux.fromIterable(QueryShapes.ALL).concatMap(this::explain);
+    }
+
+    // The sample Query goes through the same QueryMapper as a template call, so property names, id conversion and
+    // custom converters end up in the explained filter exactly as in the real one.
+    private Mono<QueryPlanReport> explain(QueryShape shape) {
+        MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(
+                AbstractRepositoryMetadata.getMetadata(shape.repository()).getDomainType());
+        String collectionName = entity.getCollection();
+        Query query = shape.sample();
+        return reactiveMongoTemplate.getCollection(collectionName)
+                .flatMap(collection -> Mono.from(collection.find(queryMapper.getMappedObject(query.getQueryObject(), entity))
+                        .sort(queryMapper.getMappedSort(query.getSortObject(), entity))
+                        .limit(query.getLimit())
+                        .explain(Document.class, ExplainVerbosity.QUERY_PLANNER)))
+                .map(explain -> {
+                    Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+                    Set<String> stages = collectStages(winningPlan, new HashSet<>());
+                    return new QueryPlanReport(shape.query(), collectionName, winningStage(winningPlan),
+                            stages.contains(STAGE_COLLSCAN), scansWholeIndex(winningPlan), shape.scansAll());
+                });
+    }
+
+    private Set<Class<?>> documentEntities() {
+        return mappingContext.getPersistentEntities().stream()
+                .filter(entity -> entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class))
+                .<Class<?>>map(MongoPersistentEntity::getType)
+                .collect(Collectors.toSet());
+    }
+
+    // The server stores every text index under the same {_fts, _ftsx} key pattern, whatever fields it covers.
+    private static boolean isPresent(IndexDefinition definition, Set<Document> existingKeys) {
+        if (definition instanceof TextIndexDefinition) {
+            return existingKeys.stream().anyMatch(keys -> keys.containsKey(TEXT_INDEX_KEY));
+        }
+        return existingKeys.contains(definition.getIndexKeys());
+    }
+
+    // Classic plans nest stages under inputStage/inputStages; slot-based plans wrap them in queryPlan.
+    private static Set<String> collectStages(Object node, Set<String> stages) {
+        if (node instanceof Document document) {
+            if (document.get("stage") instanceof String stage) {
+                stages.add(stage);
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+        return stages;
+    }
+
+    // An index scan whose leading field is bounded by the whole key range, or by every string as an unanchored regex
+    // is, reads each key of the index: cheaper than a collection scan, but it still grows with the collection.
+    private static boolean scansWholeIndex(Object node) {
+        if (node instanceof Document document) {
+            if (STAGE_IXSCAN.equals(document.get("stage")) && document.get("indexBounds") instanceof Document bounds
+                    && !bounds.isEmpty() && bounds.values().iterator().next() instanceof List<?> leading
+                    && leading.stream().anyMatch(FULL_RANGE_BOUNDS::contains)) {
+                return true;
+            }
+            return document.values().stream().anyMatch(MongoIndexManager::scansWholeIndex);
+        }
+        return node instanceof List<?> list && list.stream().anyMatch(MongoIndexManager::scansWholeIndex);
+    }
+
+    private static String winningStage(Document winningPlan) {
+        Document plan = winningPlan.containsKey("queryPlan") ? winningPlan.get("queryPlan", Document.class) : winningPlan;
+        return plan.getString("stage");
+    }
+}
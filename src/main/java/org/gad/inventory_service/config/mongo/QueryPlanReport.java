@@ -0,0 +1,9 @@
+package org.gad.inventory_service.config.mongo;
+
+public record QueryPlanReport(String query, String collection, String winningStage, boolean collectionScan,
+                              boolean fullIndexScan, boolean scansAll) {
+
+    public boolean uncovered() {
+        return collectionScan || (fullIndexScan && !scansAll);
+    }
+}
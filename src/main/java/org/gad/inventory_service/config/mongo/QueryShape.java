@@ -0,0 +1,19 @@
+package org.gad.inventory_service.config.mongo;
+
+import org.springframework.data.mongodb.core.query.Query;
+
+// A repository query method with the Query it sends for sample arguments. scansAll marks a match no index can bound.
+public record QueryShape(Class<?> repository, String method, Query sample, boolean scansAll) {
+
+    public static QueryShape of(Class<?> repository, String method, Query sample) {
+        return new QueryShape(repository, method, sample, false);
+    }
+
+    public QueryShape scanningAll() {
+        return new QueryShape(repository, method, sample, true);
+    }
+
+    public String query() {
+        return repository.getSimpleName() + "." + method;
+    }
+}
@@ -0,0 +1,138 @@
+package org.gad.inventory_service.config.mongo;
+
+import org.gad.inventory_service.analytics.RollupWindow;
+import org.gad.inventory_service.model.RollupDimension;
+import org.gad.inventory_service.model.SalesRollup;
+import org.gad.inventory_service.repository.*;
+import org.gad.inventory_service.repository.custom.impl.*;
+import org.gad.inventory_service.utils.QueryUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.gad.inventory_service.utils.Constants.*;
+
+// One entry per repository query method, keyed "<Repository>.<method>", with sample arguments in their most
+// selective form. Custom methods use the query builders of their implementation; derived and @Query finders are
+// written out with Criteria, and QueryShapesTest checks them against the query Spring Data creates for the method.
+// The aggregation-based finders open with the same $match/$sort, which the server plans exactly like the equivalent
+// find, so they are explained as finds.
+// Substring matches (ContainingIgnoreCase, LikeIgnoreCase) read every key of their index and are marked scanningAll;
+// they only run on the small reference collections.
+public final class QueryShapes {
+    private static final String SAMPLE_ID = "000000000000000000000000";
+    private static final String SAMPLE_NAME = "sample";
+    private static final LocalDateTime SAMPLE_FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime SAMPLE_TO = LocalDateTime.of(2024, 12, 31, 23, 59);
+    private static final List<RollupWindow> SAMPLE_WINDOWS = RollupWindow.cover(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 11, 30));
+
+    public static final List<QueryShape> ALL = List.of(
+            QueryShape.of(BrandRepository.class, "findBrandByNameContainingIgnoreCase", nameContaining(SAMPLE_NAME)).scanningAll(),
+            QueryShape.of(CategoryRepository.class, "findCategoryByNameContainingIgnoreCase", nameContaining(SAMPLE_NAME)).scanningAll(),
+            QueryShape.of(PermissionRepository.class, "findByNamesLikeIgnoreCase",
+                    PermissionRepositoryCustomImpl.buildNamesLikeQuery(Set.of(SAMPLE_NAME))).scanningAll(),
+            QueryShape.of(ProductRepository.class, "findFirstByNamePrefix",
+                    ProductRepositoryCustomImpl.buildNamePrefixQuery(SAMPLE_NAME)),
+            QueryShape.of(ProductRepository.class, "findBySku",
+                    new Query(Criteria.where(TEXT_SKU).is("SKU-0001"))),
+            QueryShape.of(ProductRepository.class, "findAllBySkuIn",
+                    new Query(Criteria.where(TEXT_SKU).in(List.of("SKU-0001", "SKU-0002")))),
+            QueryShape.of(ProductRepository.class, "upsertBySku",
+                    ProductRepositoryCustomImpl.buildSkuQuery("SKU-0001")),
+            QueryShape.of(ProductRepository.class, "findByCriteria",
+                    ProductRepositoryCustomImpl.buildCriteriaQuery(SAMPLE_NAME, "category", "brand", "provider")),
+            QueryShape.of(ProductRepository.class, "searchByText",
+                    ProductRepositoryCustomImpl.buildTextQuery(SAMPLE_NAME, 20)),
+            QueryShape.of(ProductRepository.class, "findPage",
+                    ProductRepositoryCustomImpl.buildPageQuery(SAMPLE_ID, 20)),
+            QueryShape.of(ProviderRepository.class, "findProviderByNameContainingIgnoreCase", nameContaining(SAMPLE_NAME)).scanningAll(),
+            QueryShape.of(ProviderRepository.class, "findProviderByEmail",
+                    new Query(Criteria.where(TEXT_EMAIL).is("sample@mail.com"))),
+            QueryShape.of(ProviderRepository.class, "findProviderByRuc",
+                    new Query(Criteria.where(TEXT_RUC).is("12345678901"))),
+            QueryShape.of(ProviderRepository.class, "findProviderByDni",
+                    new Query(Criteria.where(TEXT_DNI).is("12345678"))),
+            QueryShape.of(RoleRepository.class, "findRoleByNameContainingIgnoreCase", nameContaining(SAMPLE_NAME)).scanningAll(),
+            QueryShape.of(RoleRepository.class, "renamePermission",
+                    RoleRepositoryCustomImpl.buildPermissionHoldersQuery("SAMPLE")),
+            QueryShape.of(RoleRepository.class, "removePermission",
+                    RoleRepositoryCustomImpl.buildPermissionHoldersQuery("SAMPLE")),
+            QueryShape.of(SaleRepository.class, "findSalesByProductId",
+                    new Query(Criteria.where(TEXT_PRODUCT_ID).is(SAMPLE_ID))),
+            QueryShape.of(SaleRepository.class, "findByOptionalDateRange",
+                    QueryUtils.buildOptionalRangeQuery(TEXT_SALE_DATE, SAMPLE_FROM, SAMPLE_TO)),
+            QueryShape.of(SaleRepository.class, "findByOptionalPriceTotalRange",
+                    QueryUtils.buildOptionalRangeQuery(TEXT_SALE_TOTAL_PRICE, BigDecimal.ONE, BigDecimal.TEN)),
+            QueryShape.of(SaleRepository.class, "findWithProductByOptionalDateRange",
+                    new Query(QueryUtils.buildOptionalRangeCriteria(TEXT_SALE_DATE, SAMPLE_FROM, SAMPLE_TO))),
+            QueryShape.of(SaleRepository.class, "findWithProductByOptionalPriceTotalRange",
+                    new Query(QueryUtils.buildOptionalRangeCriteria(TEXT_SALE_TOTAL_PRICE, BigDecimal.ONE, BigDecimal.TEN))),
+            QueryShape.of(SaleRepository.class, "findWithProductById",
+                    new Query(Criteria.where(TEXT_ID).is(SAMPLE_ID))),
+            QueryShape.of(SaleRepository.class, "findWithProductPage",
+                    QueryUtils.buildKeysetPageQuery(TEXT_SALE_DATE, SAMPLE_TO, SAMPLE_ID, 20)),
+            QueryShape.of(SaleRepository.class, "sumQuantityByProductSince",
+                    new Query(SaleRepositoryCustomImpl.buildQuantitySinceCriteria(SAMPLE_ID, SAMPLE_FROM))),
+            QueryShape.of(SalesRollupRepository.class, "incrementBuckets",
+                    SalesRollupRepositoryCustomImpl.buildBucketQuery("DAY:2024-01-01:PRODUCT:" + SAMPLE_ID, SalesRollup.stampOf(Instant.EPOCH), Instant.EPOCH)),
+            QueryShape.of(SalesRollupRepository.class, "findBuckets",
+                    SalesRollupRepositoryCustomImpl.buildBucketsQuery(RollupDimension.PRODUCT, SAMPLE_ID, SAMPLE_WINDOWS)),
+            QueryShape.of(SalesRollupRepository.class, "sumByKey",
+                    new Query(SalesRollupRepositoryCustomImpl.buildWindowsCriteria(RollupDimension.PRODUCT, SAMPLE_WINDOWS))),
+            QueryShape.of(StockLevelRepository.class, "incrementQuantity",
+                    StockLevelRepositoryCustomImpl.buildMovementQuery(SAMPLE_ID, SAMPLE_TO)),
+            QueryShape.of(StockLevelRepository.class, "resetQuantity",
+                    StockLevelRepositoryCustomImpl.buildCountQuery(SAMPLE_ID, SAMPLE_TO)),
+            QueryShape.of(StockLevelRepository.class, "reserveQuantity",
+                    StockLevelRepositoryCustomImpl.buildReserveQuery(SAMPLE_ID, 1, SAMPLE_TO)),
+            QueryShape.of(StockLevelRepository.class, "confirmReservation",
+                    StockLevelRepositoryCustomImpl.buildLevelQuery(SAMPLE_ID)),
+            QueryShape.of(StockLevelRepository.class, "cancelReservation",
+                    StockLevelRepositoryCustomImpl.buildLevelQuery(SAMPLE_ID)),
+            QueryShape.of(StockLevelRepository.class, "replaceIfUnchanged",
+                    StockLevelRepositoryCustomImpl.buildUnchangedQuery(SAMPLE_ID, 1L)),
+            QueryShape.of(StocktakingRepository.class, "findStocktakingByProductId",
+                    new Query(Criteria.where(TEXT_PRODUCT_ID).is(SAMPLE_ID))),
+            QueryShape.of(StocktakingRepository.class, "findFirstByProductIdOrderByStocktakingDateDesc",
+                    new Query(Criteria.where(TEXT_PRODUCT_ID).is(SAMPLE_ID))
+                            .with(Sort.by(Sort.Direction.DESC, TEXT_STOCKTAKING_DATE)).limit(1)),
+            QueryShape.of(StocktakingRepository.class, "findByOptionalDateRange",
+                    QueryUtils.buildOptionalRangeQuery(TEXT_STOCKTAKING_DATE, SAMPLE_FROM, SAMPLE_TO)),
+            QueryShape.of(StocktakingRepository.class, "findWithProductByOptionalDateRange",
+                    new Query(QueryUtils.buildOptionalRangeCriteria(TEXT_STOCKTAKING_DATE, SAMPLE_FROM, SAMPLE_TO))),
+            QueryShape.of(StocktakingRepository.class, "findWithProductById",
+                    new Query(Criteria.where(TEXT_ID).is(SAMPLE_ID))),
+            QueryShape.of(StocktakingRepository.class, "findWithProductPage",
+                    QueryUtils.buildKeysetPageQuery(TEXT_STOCKTAKING_DATE, SAMPLE_TO, SAMPLE_ID, 20)),
+            QueryShape.of(UserRepository.class, "findUserByUsername",
+                    new Query(Criteria.where(TEXT_USERNAME).is(SAMPLE_NAME))),
+            QueryShape.of(UserRepository.class, "findTokenVersionById",
+                    new Query(Criteria.where(TEXT_ID).is(SAMPLE_ID))),
+            QueryShape.of(UserRepository.class, "findUsersByNameLastName",
+                    UserRepositoryCustomImpl.buildNameLastNameQuery(SAMPLE_NAME, SAMPLE_NAME)),
+            QueryShape.of(UserRepository.class, "findUserByUsernameEmail",
+                    UserRepositoryCustomImpl.buildUsernameEmailQuery(SAMPLE_NAME, "sample@mail.com")),
+            QueryShape.of(UserRepository.class, "replaceEmbeddedRole",
+                    UserRepositoryCustomImpl.buildRoleHoldersQuery("ROLE_SAMPLE")),
+            QueryShape.of(UserRepository.class, "removeEmbeddedRole",
+                    UserRepositoryCustomImpl.buildRoleHoldersQuery("ROLE_SAMPLE")),
+            QueryShape.of(UserRepository.class, "renameEmbeddedPermission",
+                    UserRepositoryCustomImpl.buildPermissionHoldersQuery("SAMPLE")),
+            QueryShape.of(UserRepository.class, "removeEmbeddedPermission",
+                    UserRepositoryCustomImpl.buildPermissionHoldersQuery("SAMPLE"))
+    );
+
+    private QueryShapes() {
+    }
+
+    private static Query nameContaining(String name) {
+        return new Query(Criteria.where(TEXT_NAME).regex(".*" + name + ".*", "i"));
+    }
+}
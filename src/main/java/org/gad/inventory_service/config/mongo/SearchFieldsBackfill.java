@@ -0,0 +1,42 @@
+package org.gad.inventory_service.config.mongo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.gad.inventory_service.model.Product;
+import org.gad.inventory_service.model.Searchable;
+import org.gad.inventory_service.model.User;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.gad.inventory_service.utils.Constants.*;
+
+// Documents written before the normalized fields existed are re-saved once so SearchFieldsCallback fills them in.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchFieldsBackfill {
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        backfill()
+                .subscribe(
+                        count -> log.info(SEARCH_FIELDS_BACKFILLED, count),
+                        error -> log.error(ERROR_BACKFILLING_SEARCH_FIELDS, error.getMessage()));
+    }
+
+    public Mono<Long> backfill() {
+        Query missingNormalizedName = new Query(Criteria.where(TEXT_NAME_NORMALIZED).exists(false));
+        return Flux.<Searchable>concat(
+                        reactiveMongoTemplate.find(missingNormalizedName, Product.class),
+                        reactiveMongoTemplate.find(missingNormalizedName, User.class))
+                .concatMap(reactiveMongoTemplate::save)
+                .count();
+    }
+}
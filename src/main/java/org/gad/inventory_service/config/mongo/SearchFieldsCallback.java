@@ -0,0 +1,19 @@
+package org.gad.inventory_service.config.mongo;
+
+import org.gad.inventory_service.model.Searchable;
+import org.reactivestreams.Publisher;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveBeforeConvertCallback;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+// Runs on every save through the template or a repository, builder-created entities included, so the
+// normalized search fields can never drift from the names they are derived from.
+@Component
+public class SearchFieldsCallback implements ReactiveBeforeConvertCallback<Searchable> {
+
+    @Override
+    public Publisher<Searchable> onBeforeConvert(Searchable entity, String collection) {
+        entity.refreshSearchFields();
+        return Mono.just(entity);
+    }
+}
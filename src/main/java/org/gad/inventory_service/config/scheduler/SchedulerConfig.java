@@ -0,0 +1,37 @@
+package org.gad.inventory_service.config.scheduler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.gad.inventory_service.utils.Constants.AUTH_SCHEDULER_NAME;
+import static org.gad.inventory_service.utils.Constants.IMPORT_SCHEDULER_NAME;
+import static org.gad.inventory_service.utils.Constants.REPORT_SCHEDULER_NAME;
+
+@Configuration
+public class SchedulerConfig {
+
+    @Value("${schedulers.report.threads}")
+    private int reportThreads;
+    @Value("${schedulers.report.queue-capacity}")
+    private int reportQueueCapacity;
+    @Value("${schedulers.auth.threads}")
+    private int authThreads;
+    @Value("${schedulers.auth.queue-capacity}")
+    private int authQueueCapacity;
+    @Value("${schedulers.import.threads}")
+    private int importThreads;
+    @Value("${schedulers.import.queue-capacity}")
+    private int importQueueCapacity;
+
+    @Bean(destroyMethod = "dispose")
+    public WorkSchedulers workSchedulers(ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        return new WorkSchedulers(
+                WorkSchedulers.boundedPool(REPORT_SCHEDULER_NAME, reportThreads, reportQueueCapacity, registry),
+                WorkSchedulers.boundedPool(AUTH_SCHEDULER_NAME, authThreads, authQueueCapacity, registry),
+                WorkSchedulers.boundedPool(IMPORT_SCHEDULER_NAME, importThreads, importQueueCapacity, registry));
+    }
+}
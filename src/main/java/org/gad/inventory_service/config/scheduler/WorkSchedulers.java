@@ -0,0 +1,47 @@
+package org.gad.inventory_service.config.scheduler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Getter
+@RequiredArgsConstructor
+public class WorkSchedulers {
+    private final Scheduler reportScheduler;
+    private final Scheduler authScheduler;
+    private final Scheduler importScheduler;
+
+    // Fixed-size pool with a bounded queue: once every thread is busy and the queue is full, new work
+    // is rejected with RejectedExecutionException instead of piling up, and the caller answers 503.
+    public static Scheduler boundedPool(String name, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), daemonThreadFactory(name), new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+
+        ExecutorService monitored = meterRegistry != null
+                ? ExecutorServiceMetrics.monitor(meterRegistry, executor, name)
+                : executor;
+        return Schedulers.fromExecutorService(monitored, name);
+    }
+
+    public void dispose() {
+        reportScheduler.dispose();
+        authScheduler.dispose();
+        importScheduler.dispose();
+    }
+
+    private static CustomizableThreadFactory daemonThreadFactory(String name) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(name + "-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+}
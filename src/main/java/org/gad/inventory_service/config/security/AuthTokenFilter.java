@@ -1,5 +1,6 @@
 package org.gad.inventory_service.config.security;
 
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.gad.inventory_service.config.jwt.JwtUtils;
 import org.springframework.http.HttpHeaders;
@@ -11,6 +12,7 @@ import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextImpl;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
@@ -19,10 +21,14 @@ import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
 
+import static org.gad.inventory_service.utils.Constants.MESSAGE_TOKEN_REVOKED;
+
 @RequiredArgsConstructor
 public class AuthTokenFilter implements WebFilter {
     private final JwtUtils jwtUtils;
     private final ReactiveUserDetailsService userDetailsService;
+    private final TokenVersionCache tokenVersionCache;
+    private final boolean statelessAuthentication;
 
     @Override
     @NonNull
@@ -34,13 +40,8 @@ public class AuthTokenFilter implements WebFilter {
             return chain.filter(exchange);
         }
 
-        return jwtUtils.validateTokenReactive(token)
-                .filter(Boolean.TRUE::equals)
-                .switchIfEmpty(Mono.error(new BadCredentialsException("Invalid Token")))
-                .flatMap(valid -> {
-                    String username = jwtUtils.getUsernameFromToken(token);
-                    return userDetailsService.findByUsername(username);
-                })
+        return jwtUtils.parseClaims(token)
+                .flatMap(this::resolvePrincipal)
                 .flatMap(userDetails -> {
                     var auth = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
@@ -56,6 +57,18 @@ public class AuthTokenFilter implements WebFilter {
                 });
     }
 
+    private Mono<UserDetails> resolvePrincipal(Claims claims) {
+        if (!statelessAuthentication) {
+            return userDetailsService.findByUsername(claims.getSubject());
+        }
+        return jwtUtils.principalFromClaims(claims)
+                .flatMap(principal -> tokenVersionCache.isCurrent(principal.getIdUser(), principal.getTokenVersion())
+                        .filter(Boolean.TRUE::equals)
+                        .switchIfEmpty(Mono.error(new BadCredentialsException(MESSAGE_TOKEN_REVOKED)))
+                        .thenReturn((UserDetails) principal))
+                .switchIfEmpty(Mono.defer(() -> userDetailsService.findByUsername(claims.getSubject())));
+    }
+
     private String parseJwt(String headerAuth) {
         if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
             return headerAuth.substring(7);
@@ -1,6 +1,8 @@
 package org.gad.inventory_service.config.security;
 
 import lombok.RequiredArgsConstructor;
+import org.gad.inventory_service.config.scheduler.WorkSchedulers;
+import org.gad.inventory_service.exception.ServiceBusyException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -10,11 +12,16 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.gad.inventory_service.utils.Constants.MESSAGE_SERVICE_BUSY;
+
 @Component
 @RequiredArgsConstructor
 public class CustomReactiveAuthenticationManager implements ReactiveAuthenticationManager {
     private final ReactiveUserDetailsService userDetailsService;
     private final PasswordEncoder passwordEncoder;
+    private final WorkSchedulers workSchedulers;
 
     @Override
     public Mono<Authentication> authenticate(Authentication authentication) {
@@ -22,9 +29,11 @@ public class CustomReactiveAuthenticationManager implements ReactiveAuthenticati
         String rawPassword = authentication.getCredentials().toString();
 
         return userDetailsService.findByUsername(username)
-                .filter(user -> passwordEncoder.matches(rawPassword, user.getPassword()))
+                .filterWhen(user -> Mono.fromCallable(() -> passwordEncoder.matches(rawPassword, user.getPassword()))
+                        .subscribeOn(workSchedulers.getAuthScheduler()))
                 .map(user -> (Authentication) new UsernamePasswordAuthenticationToken(
                         user, null, user.getAuthorities()))
-                .switchIfEmpty(Mono.error(new BadCredentialsException("Invalid credentials")));
+                .switchIfEmpty(Mono.error(new BadCredentialsException("Invalid credentials")))
+                .onErrorMap(RejectedExecutionException.class, e -> new ServiceBusyException(MESSAGE_SERVICE_BUSY, e));
     }
 }
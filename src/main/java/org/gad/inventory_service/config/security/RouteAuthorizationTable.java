@@ -0,0 +1,141 @@
+package org.gad.inventory_service.config.security;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.*;
+
+import static org.gad.inventory_service.utils.Constants.PREFIX_ROLE;
+
+// Immutable, compiled form of the route rules: per HTTP method the rule paths form a trie of path segments and role
+// sets are bitmasks, so a decision is one walk down the request's segments plus one AND, with nothing allocated per
+// lookup. Segments are compared decoded (PathSegment.valueToMatch), the same values WebFlux routes on, so an encoded
+// path such as /api/v1/%75sers is held to the rules of /api/v1/users.
+public final class RouteAuthorizationTable {
+    private static final String ANY_SUFFIX = "/**";
+
+    private final Map<HttpMethod, Node> rootsByMethod;
+    private final Map<String, Long> roleBits;
+    private final int ruleCount;
+
+    private RouteAuthorizationTable(Map<HttpMethod, Node> rootsByMethod, Map<String, Long> roleBits, int ruleCount) {
+        this.rootsByMethod = rootsByMethod;
+        this.roleBits = roleBits;
+        this.ruleCount = ruleCount;
+    }
+
+    public static RouteAuthorizationTable compile(List<RouteRule> rules) {
+        Map<String, Long> roleBits = new HashMap<>();
+        Map<HttpMethod, Node> roots = new HashMap<>();
+
+        for (int order = 0; order < rules.size(); order++) {
+            RouteRule rule = rules.get(order);
+            long mask = 0L;
+            for (String role : rule.roles()) {
+                String authority = PREFIX_ROLE + role;
+                Long bit = roleBits.get(authority);
+                if (bit == null) {
+                    if (roleBits.size() == Long.SIZE) {
+                        throw new IllegalStateException("Route rules reference more than " + Long.SIZE + " roles");
+                    }
+                    bit = 1L << roleBits.size();
+                    roleBits.put(authority, bit);
+                }
+                mask |= bit;
+            }
+            boolean any = rule.path().endsWith(ANY_SUFFIX);
+            String path = any ? rule.path().substring(0, rule.path().length() - ANY_SUFFIX.length()) : rule.path();
+            if (path.contains("*") || path.contains("{")) {
+                throw new IllegalArgumentException("Route rule paths only support a trailing " + ANY_SUFFIX + ": " + rule.path());
+            }
+            Node node = roots.computeIfAbsent(HttpMethod.valueOf(rule.method()), method -> new Node());
+            for (PathContainer.Element element : PathContainer.parsePath(path).elements()) {
+                if (element instanceof PathContainer.PathSegment segment) {
+                    node = node.children.computeIfAbsent(segment.valueToMatch(), value -> new Node());
+                }
+            }
+            // Declaration order is kept so the first matching rule wins, as it did in the pathMatchers chain.
+            node.set(any, order, mask);
+        }
+
+        roots.values().forEach(Node::freeze);
+        return new RouteAuthorizationTable(Map.copyOf(roots), Map.copyOf(roleBits), rules.size());
+    }
+
+    public boolean isAllowed(HttpMethod method, PathContainer path, Collection<? extends GrantedAuthority> authorities) {
+        long required = requiredRoles(method, path);
+        return required == 0L || (required & roleMask(authorities)) != 0L;
+    }
+
+    public boolean isAllowed(HttpMethod method, String path, Collection<? extends GrantedAuthority> authorities) {
+        return isAllowed(method, PathContainer.parsePath(path), authorities);
+    }
+
+    public int ruleCount() {
+        return ruleCount;
+    }
+
+    // 0 means no rule matched and any authenticated principal is allowed. A "/**" rule on a node covers the node
+    // itself and everything below it; among all rules matching along the walk the earliest declared wins.
+    long requiredRoles(HttpMethod method, PathContainer path) {
+        Node node = rootsByMethod.get(method);
+        if (node == null) {
+            return 0L;
+        }
+        int bestOrder = Integer.MAX_VALUE;
+        long required = 0L;
+        for (PathContainer.Element element : path.elements()) {
+            if (!(element instanceof PathContainer.PathSegment segment)) {
+                continue;
+            }
+            if (node.anyOrder < bestOrder) {
+                bestOrder = node.anyOrder;
+                required = node.anyMask;
+            }
+            node = node.children.get(segment.valueToMatch());
+            if (node == null) {
+                return required;
+            }
+        }
+        if (node.anyOrder < bestOrder) {
+            bestOrder = node.anyOrder;
+            required = node.anyMask;
+        }
+        return node.exactOrder < bestOrder ? node.exactMask : required;
+    }
+
+    long roleMask(Collection<? extends GrantedAuthority> authorities) {
+        long mask = 0L;
+        for (GrantedAuthority authority : authorities) {
+            Long bit = roleBits.get(authority.getAuthority());
+            if (bit != null) {
+                mask |= bit;
+            }
+        }
+        return mask;
+    }
+
+    private static final class Node {
+        private Map<String, Node> children = new HashMap<>();
+        private int exactOrder = Integer.MAX_VALUE;
+        private long exactMask;
+        private int anyOrder = Integer.MAX_VALUE;
+        private long anyMask;
+
+        private void set(boolean any, int order, long mask) {
+            if (any && anyOrder == Integer.MAX_VALUE) {
+                anyOrder = order;
+                anyMask = mask;
+            } else if (!any && exactOrder == Integer.MAX_VALUE) {
+                exactOrder = order;
+                exactMask = mask;
+            }
+        }
+
+        private void freeze() {
+            children.values().forEach(Node::freeze);
+            children = Map.copyOf(children);
+        }
+    }
+}
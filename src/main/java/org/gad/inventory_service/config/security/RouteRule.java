@@ -0,0 +1,6 @@
+package org.gad.inventory_service.config.security;
+
+import java.util.Set;
+
+public record RouteRule(String method, String path, Set<String> roles) {
+}
@@ -0,0 +1,20 @@
+package org.gad.inventory_service.config.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "routerules")
+@RequiredArgsConstructor
+public class RouteRulesEndpoint {
+    private final RouteAuthorizationManager routeAuthorizationManager;
+
+    @WriteOperation
+    public Map<String, Integer> reload() {
+        return Map.of("rules", routeAuthorizationManager.reload());
+    }
+}
@@ -2,6 +2,7 @@ package org.gad.inventory_service.config.security;
 
 import lombok.RequiredArgsConstructor;
 import org.gad.inventory_service.config.jwt.JwtUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,7 +14,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 
-import static org.gad.inventory_service.utils.Constants.*;
+import static org.gad.inventory_service.utils.Constants.AUTH_LOGIN_URL;
 
 @Configuration
 @EnableWebFluxSecurity
@@ -23,59 +24,21 @@ public class SecurityConfig {
 
     @Bean
     public AuthTokenFilter authTokenFilter(JwtUtils jwtUtils,
-                                           ReactiveUserDetailsService userDetailsService) {
-        return new AuthTokenFilter(jwtUtils, userDetailsService);
+                                           ReactiveUserDetailsService userDetailsService,
+                                           TokenVersionCache tokenVersionCache,
+                                           @Value("${auth.token.stateless}") boolean statelessAuthentication) {
+        return new AuthTokenFilter(jwtUtils, userDetailsService, tokenVersionCache, statelessAuthentication);
     }
 
     @Bean
     public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
-                                                         AuthTokenFilter authTokenFilter) {
+                                                         AuthTokenFilter authTokenFilter,
+                                                         RouteAuthorizationManager routeAuthorizationManager) {
         return http
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
                 .authorizeExchange(exchanges -> exchanges
                         .pathMatchers(HttpMethod.POST, AUTH_LOGIN_URL).permitAll()
-
-                        .pathMatchers(HttpMethod.GET, BRAND_URL).hasAnyRole(ROLE_ADMIN, ROLE_INVENTORY_MANAGER, ROLE_ANALYST, ROLE_SUPPORT, ROLE_BASIC_USER)
-                        .pathMatchers(HttpMethod.GET, CATEGORY_URL).hasAnyRole(ROLE_ADMIN, ROLE_INVENTORY_MANAGER, ROLE_ANALYST, ROLE_SUPPORT, ROLE_BASIC_USER)
-                        .pathMatchers(HttpMethod.GET, PRODUCT_URL).hasAnyRole(ROLE_ADMIN, ROLE_INVENTORY_MANAGER, ROLE_SALESPERSON, ROLE_WAREHOUSE_STAFF, ROLE_ANALYST, ROLE_SUPPORT, ROLE_BASIC_USER)
-                        .pathMatchers(HttpMethod.GET, PROVIDER_URL).hasAnyRole(ROLE_ADMIN, ROLE_INVENTORY_MANAGER, ROLE_SALESPERSON, ROLE_WAREHOUSE_STAFF, ROLE_ANALYST, ROLE_SUPPORT, ROLE_BASIC_USER)
-                        .pathMatchers(HttpMethod.GET, SALE_URL).hasAnyRole(ROLE_ADMIN, ROLE_INVENTORY_MANAGER, ROLE_SALESPERSON, ROLE_ANALYST, ROLE_SUPPORT)
-                        .pathMatchers(HttpMethod.GET, STOCKTAKING_URL).hasAnyRole(ROLE_ADMIN, ROLE_INVENTORY_MANAGER, ROLE_WAREHOUSE_STAFF, ROLE_ANALYST, ROLE_SUPPORT)
-                        .pathMatchers(HttpMethod.GET, ROLE_URL).hasAnyRole(ROLE_ADMIN, ROLE_ANALYST, ROLE_SUPPORT)
-                        .pathMatchers(HttpMethod.GET, PERMISSION_URL).hasAnyRole(ROLE_ADMIN)
-                        .pathMatchers(HttpMethod.GET, USER_URL).hasAnyRole(ROLE_ADMIN, ROLE_ANALYST,ROLE_SUPPORT)
-
-                        .pathMatchers(HttpMethod.POST, BRAND_URL).hasAnyRole(ROLE_ADMIN, ROLE_INVENTORY_MANAGER)
-                        .pathMatchers(HttpMethod.POST, CATEGORY_URL).hasAnyRole(ROLE_ADMIN, ROLE_INVENTORY_MANAGER)
-                        .pathMatchers(HttpMethod.POST, PRODUCT_URL).hasAnyRole(ROLE_ADMIN, ROLE_INVENTORY_MANAGER)
-                        .pathMatchers(HttpMethod.POST, PROVIDER_URL).hasAnyRole(ROLE_ADMIN, ROLE_INVENTORY_MANAGER)
-                        .pathMatchers(HttpMethod.POST, SALE_URL).hasAnyRole(ROLE_ADMIN, ROLE_SALESPERSON)
-                        .pathMatchers(HttpMethod.POST, STOCKTAKING_URL).hasAnyRole(ROLE_ADMIN, ROLE_INVENTORY_MANAGER, ROLE_WAREHOUSE_STAFF)
-                        .pathMatchers(HttpMethod.POST, ROLE_URL).hasAnyRole(ROLE_ADMIN)
-                        .pathMatchers(HttpMethod.POST, PERMISSION_URL).hasAnyRole(ROLE_ADMIN)
-                        .pathMatchers(HttpMethod.POST, USER_URL).hasAnyRole(ROLE_ADMIN, ROLE_SUPPORT)
-
-                        .pathMatchers(HttpMethod.PUT, BRAND_URL).hasAnyRole(ROLE_ADMIN, ROLE_INVENTORY_MANAGER)
-                        .pathMatchers(HttpMethod.PUT, CATEGORY_URL).hasAnyRole(ROLE_ADMIN, ROLE_INVENTORY_MANAGER)
-                        .pathMatchers(HttpMethod.PUT, PRODUCT_URL).hasAnyRole(ROLE_ADMIN, ROLE_INVENTORY_MANAGER)
-                        .pathMatchers(HttpMethod.PUT, PROVIDER_URL).hasAnyRole(ROLE_ADMIN, ROLE_INVENTORY_MANAGER)
-                        .pathMatchers(HttpMethod.PUT, SALE_URL).hasAnyRole(ROLE_ADMIN, ROLE_SALESPERSON)
-                        .pathMatchers(HttpMethod.PUT, STOCKTAKING_URL).hasAnyRole(ROLE_ADMIN, ROLE_WAREHOUSE_STAFF)
-                        .pathMatchers(HttpMethod.PUT, ROLE_URL).hasAnyRole(ROLE_ADMIN, ROLE_SUPPORT)
-                        .pathMatchers(HttpMethod.PUT, PERMISSION_URL).hasAnyRole(ROLE_ADMIN)
-                        .pathMatchers(HttpMethod.PUT, USER_URL).hasAnyRole(ROLE_ADMIN, ROLE_SUPPORT)
-
-                        .pathMatchers(HttpMethod.DELETE, BRAND_URL).hasAnyRole(ROLE_ADMIN, ROLE_INVENTORY_MANAGER)
-                        .pathMatchers(HttpMethod.DELETE, CATEGORY_URL).hasAnyRole(ROLE_ADMIN, ROLE_INVENTORY_MANAGER)
-                        .pathMatchers(HttpMethod.DELETE, PRODUCT_URL).hasAnyRole(ROLE_ADMIN, ROLE_INVENTORY_MANAGER)
-                        .pathMatchers(HttpMethod.DELETE, PROVIDER_URL).hasAnyRole(ROLE_ADMIN, ROLE_INVENTORY_MANAGER)
-                        .pathMatchers(HttpMethod.DELETE, SALE_URL).hasAnyRole(ROLE_ADMIN, ROLE_SALESPERSON)
-                        .pathMatchers(HttpMethod.DELETE, STOCKTAKING_URL).hasAnyRole(ROLE_ADMIN, ROLE_WAREHOUSE_STAFF)
-                        .pathMatchers(HttpMethod.DELETE, ROLE_URL).hasAnyRole(ROLE_ADMIN)
-                        .pathMatchers(HttpMethod.DELETE, PERMISSION_URL).hasAnyRole(ROLE_ADMIN)
-                        .pathMatchers(HttpMethod.DELETE, USER_URL).hasAnyRole(ROLE_ADMIN)
-
-                        .anyExchange().authenticated()
+                        .anyExchange().access(routeAuthorizationManager)
                 )
                 .exceptionHandling(handling -> handling
                         .accessDeniedHandler(accessDeniedHandler)
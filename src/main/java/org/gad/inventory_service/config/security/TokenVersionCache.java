@@ -0,0 +1,47 @@
+package org.gad.inventory_service.config.security;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.gad.inventory_service.event.UserSecurityChangedEvent;
+import org.gad.inventory_service.model.User;
+import org.gad.inventory_service.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Component
+public class TokenVersionCache {
+    private final AsyncLoadingCache<String, Integer> versions;
+
+    // Changes made through this instance evict the affected versions at once; other instances that already cached
+    // the old version keep accepting a revoked token for at most the TTL.
+    public TokenVersionCache(UserRepository userRepository,
+                             @Value("${auth.token.version-cache-ttl}") Duration ttl,
+                             @Value("${auth.token.version-cache-size}") long maximumSize) {
+        this.versions = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .buildAsync((userId, executor) -> userRepository.findTokenVersionById(userId)
+                        .map(User::currentTokenVersion)
+                        .toFuture());
+    }
+
+    public Mono<Boolean> isCurrent(String userId, int tokenVersion) {
+        return Mono.fromFuture(versions.get(userId), true)
+                .map(currentVersion -> currentVersion == tokenVersion)
+                .defaultIfEmpty(false);
+    }
+
+    // Role and permission changes bump the version of users the event cannot name, so every cached version goes.
+    @EventListener
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        if (event.allUsers()) {
+            versions.synchronous().invalidateAll();
+        } else if (event.userId() != null) {
+            versions.synchronous().invalidate(event.userId());
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package org.gad.inventory_service.config.security;
 
 import lombok.*;
+import org.gad.inventory_service.model.Permission;
 import org.gad.inventory_service.model.Role;
 import org.gad.inventory_service.model.User;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @AllArgsConstructor
@@ -16,10 +22,16 @@ import java.util.stream.Stream;
 @Setter
 @Builder
 public class UserSecurity implements UserDetails{
+    // Authority names come from a small, fixed vocabulary of roles and permissions, so every principal
+    // shares one SimpleGrantedAuthority instance per name.
+    private static final ConcurrentMap<String, GrantedAuthority> AUTHORITY_POOL = new ConcurrentHashMap<>();
+
     private String idUser;
     private String username;
     private String password;
     private Set<Role> roles;
+    private int tokenVersion;
+    private Set<GrantedAuthority> authorities;
 
     public static UserSecurity buildUserDetails(User user) {
         return UserSecurity.builder()
@@ -27,21 +39,42 @@ public class UserSecurity implements UserDetails{
                 .username(user.getUsername())
                 .password(user.getPassword())
                 .roles(user.getRoles())
+                .tokenVersion(user.currentTokenVersion())
+                .authorities(authoritiesOf(user.getRoles()))
                 .build();
     }
 
-    @Override
-    public Collection<? extends GrantedAuthority> getAuthorities() {
-        var permissions = roles.stream()
+    public static UserSecurity buildFromClaims(String idUser, String username, int tokenVersion, Collection<String> authorities) {
+        return UserSecurity.builder()
+                .idUser(idUser)
+                .username(username)
+                .tokenVersion(tokenVersion)
+                .authorities(internAll(authorities.stream()))
+                .build();
+    }
+
+    private static Set<GrantedAuthority> authoritiesOf(Set<Role> roles) {
+        if (roles == null) {
+            return Set.of();
+        }
+        Stream<String> permissionNames = roles.stream()
+                .filter(role -> role.getPermissions() != null)
                 .flatMap(role -> role.getPermissions().stream())
-                .map(permission -> (GrantedAuthority) permission::getName)
-                .toList();
+                .map(Permission::getName);
+        Stream<String> roleNames = roles.stream()
+                .map(Role::getName);
+        return internAll(Stream.concat(permissionNames, roleNames));
+    }
 
-        var roleAuthorities = roles.stream()
-                .map(authority -> (GrantedAuthority) authority::getName)
-                .toList();
+    private static Set<GrantedAuthority> internAll(Stream<String> names) {
+        return names.filter(Objects::nonNull)
+                .map(name -> AUTHORITY_POOL.computeIfAbsent(name, SimpleGrantedAuthority::new))
+                .collect(Collectors.toUnmodifiableSet());
+    }
 
-        return Stream.concat(permissions.stream(), roleAuthorities.stream()).toList();
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities == null ? Set.of() : authorities;
     }
 
     @Override
@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
+import org.gad.inventory_service.dto.BrandDTO;
 import org.gad.inventory_service.dto.request.CreateBrandRequest;
 import org.gad.inventory_service.dto.response.DataResponse;
 import org.gad.inventory_service.dto.request.UpdateBrandRequest;
@@ -11,9 +12,11 @@ import org.gad.inventory_service.service.BrandService;
 import org.gad.inventory_service.utils.Constants;
 import org.gad.inventory_service.utils.UtilsMethods;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
@@ -41,6 +44,11 @@ public class BrandController {
                 );
     }
 
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<BrandDTO> streamAllBrands() {
+        return brandService.findAllBrands();
+    }
+
     @GetMapping("/search")
     public Mono<ResponseEntity<DataResponse>> findBrandByName(@RequestParam @NotBlank(message = Constants.MESSAGE_NAME_CANNOT_BE_EMPTY)
                                                               @Pattern(regexp = REGEX_ONLY_TEXT, message = MESSAGE_PARAMETER_NAME) String name) {
@@ -4,15 +4,18 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
+import org.gad.inventory_service.dto.CategoryDTO;
 import org.gad.inventory_service.dto.request.CreateCategoryRequest;
 import org.gad.inventory_service.dto.request.UpdateCategoryRequest;
 import org.gad.inventory_service.dto.response.DataResponse;
 import org.gad.inventory_service.service.CategoryService;
 import org.gad.inventory_service.utils.UtilsMethods;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
@@ -40,6 +43,11 @@ public class CategoryController {
                 );
     }
 
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<CategoryDTO> streamAllCategories() {
+        return categoryService.findAllCategories();
+    }
+
     @GetMapping("/search")
     public Mono<ResponseEntity<DataResponse>> findCategoryByName(@RequestParam @NotBlank(message = MESSAGE_NAME_CANNOT_BE_EMPTY)
                                                                  @Pattern(regexp = REGEX_ONLY_TEXT, message = MESSAGE_PARAMETER_NAME) String name) {
@@ -4,14 +4,17 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
+import org.gad.inventory_service.dto.PermissionDTO;
 import org.gad.inventory_service.dto.request.CreatePermissionRequest;
 import org.gad.inventory_service.dto.request.UpdatePermissionRequest;
 import org.gad.inventory_service.dto.response.DataResponse;
 import org.gad.inventory_service.service.PermissionService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
@@ -42,6 +45,11 @@ public class PermissionController {
                 });
     }
 
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<PermissionDTO> streamAllPermissions() {
+        return permissionService.getAllPermissions();
+    }
+
     @GetMapping("/{id}")
     public Mono<ResponseEntity<DataResponse>> getPermissionById(@PathVariable @Pattern(regexp = REGEX_ID, message = MESSAGE_INCORRECT_ID_FORMAT)
                                                                 @NotBlank(message = MESSAGE_ID_CANNOT_BE_EMPTY) String id) {
@@ -1,18 +1,27 @@
 package org.gad.inventory_service.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
+import org.gad.inventory_service.dto.ProductDTO;
+import org.gad.inventory_service.dto.ProductImportProgressDTO;
 import org.gad.inventory_service.dto.request.CreateProductRequest;
 import org.gad.inventory_service.dto.response.DataResponse;
 import org.gad.inventory_service.dto.request.UpdateProductRequest;
+import org.gad.inventory_service.service.ProductImportService;
 import org.gad.inventory_service.service.ProductService;
+import org.gad.inventory_service.service.StockLevelService;
 import org.gad.inventory_service.utils.UtilsMethods;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
@@ -25,6 +34,8 @@ import static org.gad.inventory_service.utils.Constants.*;
 @RequiredArgsConstructor
 public class ProductController {
     private final ProductService productService;
+    private final StockLevelService stockLevelService;
+    private final ProductImportService productImportService;
 
     @GetMapping
     public Mono<ResponseEntity<DataResponse>> getAllProducts() {
@@ -40,6 +51,27 @@ public class ProductController {
                 );
     }
 
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<ProductDTO> streamAllProducts() {
+        return productService.findAllProducts();
+    }
+
+    @GetMapping("/page")
+    public Mono<ResponseEntity<DataResponse>> getProductsPage(@RequestParam(required = false)
+                                                              @Pattern(regexp = REGEX_CURSOR, message = MESSAGE_PARAMETER_CURSOR) String cursor,
+                                                              @RequestParam(defaultValue = DEFAULT_PAGE_SIZE)
+                                                              @Min(value = 1, message = MESSAGE_PAGE_SIZE)
+                                                              @Max(value = MAX_PAGE_SIZE, message = MESSAGE_PAGE_SIZE) int limit) {
+        return productService.findProductsPage(cursor, limit)
+                .map(page -> ResponseEntity.ok(
+                        DataResponse.builder()
+                                .status(HttpStatus.OK.value())
+                                .message(MESSAGE_PRODUCTS_OK)
+                                .data(page)
+                                .timestamp(UtilsMethods.datetimeNowFormatted())
+                                .build()
+                ));
+    }
 
     @GetMapping("/search")
     public Mono<ResponseEntity<DataResponse>> getAllProducts(@RequestParam @Pattern(regexp = REGEX_ONLY_TEXT, message = MESSAGE_PARAMETER_NAME)
@@ -62,6 +94,52 @@ public class ProductController {
                 );
     }
 
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<ProductDTO> streamProductsByCriteria(@RequestParam @Pattern(regexp = REGEX_ONLY_TEXT, message = MESSAGE_PARAMETER_NAME)
+                                                     @NotBlank(message = MESSAGE_NAME_PRODUCT_CANNOT_BE_EMPTY) String name,
+                                                     @RequestParam @Pattern(regexp = REGEX_ONLY_TEXT, message = MESSAGE_PARAMETER_CATEGORY)
+                                                     @NotBlank(message = MESSAGE_NAME_CATEGORY_CANNOT_BE_EMPTY) String categoryName,
+                                                     @RequestParam @Pattern(regexp = REGEX_ONLY_TEXT, message = MESSAGE_PARAMETER_BRAND)
+                                                     @NotBlank(message = MESSAGE_NAME_BRAND_CANNOT_BE_EMPTY) String brandName,
+                                                     @RequestParam @Pattern(regexp = REGEX_ONLY_TEXT, message = MESSAGE_PARAMETER_PROVIDER)
+                                                     @NotBlank(message = MESSAGE_NAME_PROVIDER_CANNOT_BE_EMPTY) String providerName) {
+        return productService.findProductsByCriteria(name, categoryName, brandName, providerName);
+    }
+
+    @GetMapping("/search/text")
+    public Mono<ResponseEntity<DataResponse>> searchProducts(@RequestParam @NotBlank(message = MESSAGE_SEARCH_TEXT_CANNOT_BE_EMPTY) String text,
+                                                             @RequestParam(defaultValue = DEFAULT_PAGE_SIZE)
+                                                             @Min(value = 1, message = MESSAGE_PAGE_SIZE)
+                                                             @Max(value = MAX_PAGE_SIZE, message = MESSAGE_PAGE_SIZE) int limit) {
+        return productService.searchProducts(text, limit)
+                .collectList()
+                .map(products -> ResponseEntity.ok(
+                        DataResponse.builder()
+                                .status(HttpStatus.OK.value())
+                                .message(MESSAGE_PRODUCTS_OK)
+                                .data(products)
+                                .timestamp(UtilsMethods.datetimeNowFormatted())
+                                .build())
+                );
+    }
+
+    @GetMapping("/suggest")
+    public Mono<ResponseEntity<DataResponse>> suggestProducts(@RequestParam @NotBlank(message = MESSAGE_SUGGEST_QUERY_CANNOT_BE_EMPTY) String q,
+                                                              @RequestParam(defaultValue = DEFAULT_SUGGESTIONS)
+                                                              @Min(value = 1, message = MESSAGE_SUGGESTIONS_LIMIT)
+                                                              @Max(value = MAX_SUGGESTIONS, message = MESSAGE_SUGGESTIONS_LIMIT) int limit) {
+        return productService.suggestProducts(q, limit)
+                .collectList()
+                .map(suggestions -> ResponseEntity.ok(
+                        DataResponse.builder()
+                                .status(HttpStatus.OK.value())
+                                .message(MESSAGE_PRODUCT_SUGGESTIONS_OK)
+                                .data(suggestions)
+                                .timestamp(UtilsMethods.datetimeNowFormatted())
+                                .build())
+                );
+    }
+
     @GetMapping("/{id}")
     public Mono<ResponseEntity<DataResponse>> getProductById(@PathVariable @Pattern(regexp = REGEX_ID, message = MESSAGE_INCORRECT_ID_FORMAT)
                                                              @NotBlank(message = MESSAGE_ID_CANNOT_BE_EMPTY) String id) {
@@ -76,6 +154,20 @@ public class ProductController {
                 );
     }
 
+    @GetMapping("/{id}/stock")
+    public Mono<ResponseEntity<DataResponse>> getProductStock(@PathVariable @Pattern(regexp = REGEX_ID, message = MESSAGE_INCORRECT_ID_FORMAT)
+                                                              @NotBlank(message = MESSAGE_ID_CANNOT_BE_EMPTY) String id) {
+        return stockLevelService.findStockByProductId(id)
+                .map(stockLevel -> ResponseEntity.ok(
+                        DataResponse.builder()
+                                .status(HttpStatus.OK.value())
+                                .message(MESSAGE_STOCK_LEVEL_OK)
+                                .data(stockLevel)
+                                .timestamp(UtilsMethods.datetimeNowFormatted())
+                                .build())
+                );
+    }
+
     @PostMapping
     public Mono<ResponseEntity<DataResponse>> createProduct(@Valid @RequestBody CreateProductRequest createProductRequest) {
         return productService.createProduct(createProductRequest)
@@ -91,6 +183,12 @@ public class ProductController {
                 });
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<ProductImportProgressDTO> importProducts(@RequestPart("file") FilePart file) {
+        return productImportService.importCatalogue(file.filename(), file.content());
+    }
+
     @PutMapping("/{id}")
     public Mono<ResponseEntity<DataResponse>> updateProduct(@PathVariable @Pattern(regexp = REGEX_ID, message = MESSAGE_INCORRECT_ID_FORMAT)
                                                             @NotBlank(message = MESSAGE_ID_CANNOT_BE_EMPTY) String id,
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
+import org.gad.inventory_service.dto.ProviderDTO;
 import org.gad.inventory_service.dto.request.CreateProviderRequest;
 import org.gad.inventory_service.dto.request.UpdateProviderRequest;
 import org.gad.inventory_service.dto.response.DataResponse;
@@ -12,9 +13,11 @@ import org.gad.inventory_service.service.ProviderService;
 import org.gad.inventory_service.utils.Constants;
 import org.gad.inventory_service.utils.UtilsMethods;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
@@ -112,6 +115,11 @@ public class ProviderController {
                 );
     }
 
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<ProviderDTO> streamAllProviders() {
+        return providerService.findAllProviders();
+    }
+
     @PostMapping
     public Mono<ResponseEntity<DataResponse>> createProvider(@RequestBody @Valid CreateProviderRequest request) {
         return providerService.saveProvider(request)
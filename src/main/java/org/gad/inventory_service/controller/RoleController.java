@@ -4,15 +4,18 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
+import org.gad.inventory_service.dto.RoleDTO;
 import org.gad.inventory_service.dto.request.CreateRoleRequest;
 import org.gad.inventory_service.dto.request.UpdateRoleRequest;
 import org.gad.inventory_service.dto.response.DataResponse;
 import org.gad.inventory_service.service.RoleService;
 import org.gad.inventory_service.utils.UtilsMethods;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
@@ -42,6 +45,11 @@ public class RoleController {
                 );
     }
 
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<RoleDTO> streamAllRoles() {
+        return roleService.findAllRoles();
+    }
+
     @GetMapping("/{id}")
     public Mono<ResponseEntity<DataResponse>> findRoleById(@PathVariable @Pattern(regexp = REGEX_ID, message = MESSAGE_INCORRECT_ID_FORMAT)
                                                            @NotBlank(message = MESSAGE_ID_CANNOT_BE_EMPTY) String id) {
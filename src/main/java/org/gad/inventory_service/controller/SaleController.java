@@ -3,21 +3,27 @@ package org.gad.inventory_service.controller;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import lombok.RequiredArgsConstructor;
+import org.gad.inventory_service.analytics.TopSellersWindow;
+import org.gad.inventory_service.dto.SaleBatchResultDTO;
+import org.gad.inventory_service.dto.SaleDTO;
 import org.gad.inventory_service.dto.request.CreateSaleRequest;
 import org.gad.inventory_service.dto.request.UpdateSaleRequest;
 import org.gad.inventory_service.dto.response.DataResponse;
+import org.gad.inventory_service.model.RollupDimension;
 import org.gad.inventory_service.service.ExcelReportService;
+import org.gad.inventory_service.service.SaleBatchService;
 import org.gad.inventory_service.service.SaleService;
+import org.gad.inventory_service.service.SalesAnalyticsService;
 import org.gad.inventory_service.utils.UtilsMethods;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.math.BigDecimal;
 import java.net.URI;
@@ -32,6 +38,8 @@ import static org.gad.inventory_service.utils.UtilsMethods.datetimeNowFormatted;
 public class SaleController {
     private final SaleService saleService;
     private final ExcelReportService excelReportService;
+    private final SalesAnalyticsService salesAnalyticsService;
+    private final SaleBatchService saleBatchService;
 
     @GetMapping
     public Mono<ResponseEntity<DataResponse>> getAllSales() {
@@ -47,6 +55,28 @@ public class SaleController {
                 ));
     }
 
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<SaleDTO> streamAllSales() {
+        return saleService.getAllSales();
+    }
+
+    @GetMapping("/page")
+    public Mono<ResponseEntity<DataResponse>> getSalesPage(@RequestParam(required = false)
+                                                           @Pattern(regexp = REGEX_CURSOR, message = MESSAGE_PARAMETER_CURSOR) String cursor,
+                                                           @RequestParam(defaultValue = DEFAULT_PAGE_SIZE)
+                                                           @Min(value = 1, message = MESSAGE_PAGE_SIZE)
+                                                           @Max(value = MAX_PAGE_SIZE, message = MESSAGE_PAGE_SIZE) int limit) {
+        return saleService.getSalesPage(cursor, limit)
+                .map(page -> ResponseEntity.ok(
+                        DataResponse.builder()
+                                .status(HttpStatus.OK.value())
+                                .message(MESSAGE_SALES_OK)
+                                .data(page)
+                                .timestamp(datetimeNowFormatted())
+                                .build()
+                ));
+    }
+
     @GetMapping("/name-product")
     public Mono<ResponseEntity<DataResponse>> getSalesByNameProduct(@RequestParam @NotBlank(message = MESSAGE_PRODUCT_EMPTY)
                                                                     @Pattern(regexp = REGEX_ONLY_TEXT, message = MESSAGE_PARAMETER_NAME) String nameProduct) {
@@ -62,6 +92,12 @@ public class SaleController {
                 ));
     }
 
+    @GetMapping(value = "/name-product", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<SaleDTO> streamSalesByNameProduct(@RequestParam @NotBlank(message = MESSAGE_PRODUCT_EMPTY)
+                                                  @Pattern(regexp = REGEX_ONLY_TEXT, message = MESSAGE_PARAMETER_NAME) String nameProduct) {
+        return saleService.getSaleByNameProduct(nameProduct);
+    }
+
     @GetMapping("/price-range")
     public Mono<ResponseEntity<DataResponse>> getSalesByPriceRange(@RequestParam(required = false)
                                                                    @DecimalMin("0.00") BigDecimal minPrice,
@@ -79,6 +115,14 @@ public class SaleController {
                 ));
     }
 
+    @GetMapping(value = "/price-range", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<SaleDTO> streamSalesByPriceRange(@RequestParam(required = false)
+                                                 @DecimalMin("0.00") BigDecimal minPrice,
+                                                 @RequestParam(required = false)
+                                                 @DecimalMax("100000001.00") BigDecimal maxPrice) {
+        return saleService.getSaleByTotalPriceRange(minPrice, maxPrice);
+    }
+
     @GetMapping("/date-range")
     public Mono<ResponseEntity<DataResponse>> getSalesByDateRange(@RequestParam(required = false)
                                                                   @Pattern(regexp = REGEX_DATE_OR_TIME, message = MESSAGE_INVALID_DATE_OR_FORMAT) String startDate,
@@ -96,6 +140,92 @@ public class SaleController {
                 ));
     }
 
+    @GetMapping(value = "/date-range", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<SaleDTO> streamSalesByDateRange(@RequestParam(required = false)
+                                                @Pattern(regexp = REGEX_DATE_OR_TIME, message = MESSAGE_INVALID_DATE_OR_FORMAT) String startDate,
+                                                @RequestParam(required = false)
+                                                @Pattern(regexp = REGEX_DATE_OR_TIME, message = MESSAGE_INVALID_DATE_OR_FORMAT) String endDate) {
+        return saleService.getSaleByDateRange(startDate, endDate);
+    }
+
+    @GetMapping("/stats")
+    public Mono<ResponseEntity<DataResponse>> getSalesStats(@RequestParam
+                                                            @Pattern(regexp = REGEX_DATE_OR_TIME, message = MESSAGE_INVALID_DATE_OR_FORMAT) String from,
+                                                            @RequestParam
+                                                            @Pattern(regexp = REGEX_DATE_OR_TIME, message = MESSAGE_INVALID_DATE_OR_FORMAT) String to) {
+        return salesAnalyticsService.getTotals(from, to, RollupDimension.ALL, RollupDimension.ALL_KEY)
+                .map(stats -> ResponseEntity.ok(
+                        DataResponse.builder()
+                                .status(HttpStatus.OK.value())
+                                .message(MESSAGE_SALES_STATS_OK)
+                                .data(stats)
+                                .timestamp(datetimeNowFormatted())
+                                .build()
+                ));
+    }
+
+    @GetMapping("/stats/{dimension}")
+    public Mono<ResponseEntity<DataResponse>> getSalesStatsBreakdown(@PathVariable
+                                                                     @Pattern(regexp = REGEX_STATS_DIMENSION, message = MESSAGE_PARAMETER_DIMENSION) String dimension,
+                                                                     @RequestParam
+                                                                     @Pattern(regexp = REGEX_DATE_OR_TIME, message = MESSAGE_INVALID_DATE_OR_FORMAT) String from,
+                                                                     @RequestParam
+                                                                     @Pattern(regexp = REGEX_DATE_OR_TIME, message = MESSAGE_INVALID_DATE_OR_FORMAT) String to,
+                                                                     @RequestParam(defaultValue = DEFAULT_STATS_BREAKDOWN)
+                                                                     @Min(value = 1, message = MESSAGE_STATS_BREAKDOWN_LIMIT)
+                                                                     @Max(value = MAX_STATS_BREAKDOWN, message = MESSAGE_STATS_BREAKDOWN_LIMIT) int limit) {
+        return salesAnalyticsService.getBreakdown(from, to, RollupDimension.fromPath(dimension), limit)
+                .collectList()
+                .map(stats -> ResponseEntity.ok(
+                        DataResponse.builder()
+                                .status(HttpStatus.OK.value())
+                                .message(MESSAGE_SALES_STATS_OK)
+                                .data(stats)
+                                .timestamp(datetimeNowFormatted())
+                                .build()
+                ));
+    }
+
+    @GetMapping("/stats/{dimension}/{key}")
+    public Mono<ResponseEntity<DataResponse>> getSalesStatsByKey(@PathVariable
+                                                                 @Pattern(regexp = REGEX_STATS_DIMENSION, message = MESSAGE_PARAMETER_DIMENSION) String dimension,
+                                                                 @PathVariable
+                                                                 @Pattern(regexp = REGEX_ID, message = MESSAGE_INCORRECT_ID_FORMAT) String key,
+                                                                 @RequestParam
+                                                                 @Pattern(regexp = REGEX_DATE_OR_TIME, message = MESSAGE_INVALID_DATE_OR_FORMAT) String from,
+                                                                 @RequestParam
+                                                                 @Pattern(regexp = REGEX_DATE_OR_TIME, message = MESSAGE_INVALID_DATE_OR_FORMAT) String to) {
+        return salesAnalyticsService.getTotals(from, to, RollupDimension.fromPath(dimension), key)
+                .map(stats -> ResponseEntity.ok(
+                        DataResponse.builder()
+                                .status(HttpStatus.OK.value())
+                                .message(MESSAGE_SALES_STATS_OK)
+                                .data(stats)
+                                .timestamp(datetimeNowFormatted())
+                                .build()
+                ));
+    }
+
+    @GetMapping("/top-sellers")
+    public Mono<ResponseEntity<DataResponse>> getTopSellers(@RequestParam(defaultValue = DEFAULT_TOP_SELLERS_WINDOW)
+                                                            @Pattern(regexp = REGEX_TOP_SELLERS_WINDOW, message = MESSAGE_PARAMETER_WINDOW) String window,
+                                                            @RequestParam(defaultValue = DEFAULT_TOP_SELLERS)
+                                                            @Min(value = 1, message = MESSAGE_TOP_SELLERS_LIMIT)
+                                                            @Max(value = MAX_TOP_SELLERS, message = MESSAGE_TOP_SELLERS_LIMIT) int limit,
+                                                            @RequestParam(defaultValue = DEFAULT_LOW_STOCK_THRESHOLD)
+                                                            @Min(value = 0, message = MESSAGE_LOW_STOCK_THRESHOLD) long lowStockThreshold) {
+        return salesAnalyticsService.getTopSellers(TopSellersWindow.fromPath(window), limit, lowStockThreshold)
+                .collectList()
+                .map(topSellers -> ResponseEntity.ok(
+                        DataResponse.builder()
+                                .status(HttpStatus.OK.value())
+                                .message(MESSAGE_TOP_SELLERS_OK)
+                                .data(topSellers)
+                                .timestamp(datetimeNowFormatted())
+                                .build()
+                ));
+    }
+
     @GetMapping("/{id}")
     public Mono<ResponseEntity<DataResponse>> getSaleById(@PathVariable @Pattern(regexp = REGEX_ID, message = MESSAGE_INCORRECT_ID_FORMAT)
                                                           @NotBlank(message = MESSAGE_ID_CANNOT_BE_EMPTY) String id) {
@@ -111,22 +241,15 @@ public class SaleController {
     }
 
     @GetMapping("/excel")
-    public Mono<ResponseEntity<ByteArrayResource>> generateExcelReport(@RequestParam(required = false)
-                                                                       @Pattern(regexp = REGEX_DATE_OR_TIME, message = MESSAGE_INVALID_DATE_OR_FORMAT) String startDate,
-                                                                       @RequestParam(required = false)
-                                                                       @Pattern(regexp = REGEX_DATE_OR_TIME, message = MESSAGE_INVALID_DATE_OR_FORMAT) String endDate) {
-        return saleService.getSaleByDateRange(startDate, endDate)
-                .collectList()
-                .flatMap(excelReportService::generateSalesReport)
-                .publishOn(Schedulers.boundedElastic())
-                .map(excelBytes -> {
-                    ByteArrayResource resource = new ByteArrayResource(excelBytes);
-                    return ResponseEntity.ok()
-                            .header(HttpHeaders.CONTENT_DISPOSITION, CONTENT_DISPOSITION_EXCEL)
-                            .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                            .contentLength(excelBytes.length)
-                            .body(resource);
-                });
+    public Mono<ResponseEntity<Flux<DataBuffer>>> generateExcelReport(@RequestParam(required = false)
+                                                                      @Pattern(regexp = REGEX_DATE_OR_TIME, message = MESSAGE_INVALID_DATE_OR_FORMAT) String startDate,
+                                                                      @RequestParam(required = false)
+                                                                      @Pattern(regexp = REGEX_DATE_OR_TIME, message = MESSAGE_INVALID_DATE_OR_FORMAT) String endDate) {
+        Flux<DataBuffer> report = excelReportService.generateSalesReport(saleService.getSaleByDateRange(startDate, endDate));
+        return Mono.just(ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, CONTENT_DISPOSITION_EXCEL)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(report));
     }
 
     @PostMapping
@@ -144,6 +267,12 @@ public class SaleController {
                 });
     }
 
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<SaleBatchResultDTO> createSalesBatch(@RequestBody Flux<CreateSaleRequest> createSaleRequests) {
+        return saleBatchService.createSales(createSaleRequests);
+    }
+
     @PutMapping("/{id}")
     public Mono<ResponseEntity<DataResponse>> updateSale(@PathVariable @Pattern(regexp = REGEX_ID, message = MESSAGE_INCORRECT_ID_FORMAT)
                                                          @NotBlank(message = MESSAGE_ID_CANNOT_BE_EMPTY) String id,
@@ -1,18 +1,26 @@
 package org.gad.inventory_service.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
+import org.gad.inventory_service.dto.StocktakingDTO;
+import org.gad.inventory_service.dto.StocktakingImportProgressDTO;
 import org.gad.inventory_service.dto.request.CreateStocktakingRequest;
 import org.gad.inventory_service.dto.request.UpdateStocktakingRequest;
 import org.gad.inventory_service.dto.response.DataResponse;
+import org.gad.inventory_service.service.StocktakingImportService;
 import org.gad.inventory_service.service.StocktakingService;
 import org.gad.inventory_service.utils.UtilsMethods;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
@@ -25,6 +33,7 @@ import static org.gad.inventory_service.utils.Constants.*;
 @RequestMapping("/api/v1/stocktaking")
 public class StocktakingController {
     private final StocktakingService stocktakingService;
+    private final StocktakingImportService stocktakingImportService;
 
     @GetMapping
     public Mono<ResponseEntity<DataResponse>> getAllStocktaking() {
@@ -40,6 +49,28 @@ public class StocktakingController {
                 );
     }
 
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<StocktakingDTO> streamAllStocktaking() {
+        return stocktakingService.findAllStocktaking();
+    }
+
+    @GetMapping("/page")
+    public Mono<ResponseEntity<DataResponse>> getStocktakingPage(@RequestParam(required = false)
+                                                                 @Pattern(regexp = REGEX_CURSOR, message = MESSAGE_PARAMETER_CURSOR) String cursor,
+                                                                 @RequestParam(defaultValue = DEFAULT_PAGE_SIZE)
+                                                                 @Min(value = 1, message = MESSAGE_PAGE_SIZE)
+                                                                 @Max(value = MAX_PAGE_SIZE, message = MESSAGE_PAGE_SIZE) int limit) {
+        return stocktakingService.findStocktakingPage(cursor, limit)
+                .map(page -> ResponseEntity.ok(
+                        DataResponse.builder()
+                                .status(HttpStatus.OK.value())
+                                .message(MESSAGE_STOCKTAKING_OK)
+                                .data(page)
+                                .timestamp(UtilsMethods.datetimeNowFormatted())
+                                .build()
+                ));
+    }
+
     @GetMapping("/date-range")
     public Mono<ResponseEntity<DataResponse>> getStocktakingByDateRange(@RequestParam(required = false)
                                                                         @Pattern(regexp = REGEX_DATE_OR_TIME, message = MESSAGE_INVALID_DATE_OR_FORMAT) String startDate,
@@ -57,6 +88,14 @@ public class StocktakingController {
                 );
     }
 
+    @GetMapping(value = "/date-range", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<StocktakingDTO> streamStocktakingByDateRange(@RequestParam(required = false)
+                                                             @Pattern(regexp = REGEX_DATE_OR_TIME, message = MESSAGE_INVALID_DATE_OR_FORMAT) String startDate,
+                                                             @RequestParam(required = false)
+                                                             @Pattern(regexp = REGEX_DATE_OR_TIME, message = MESSAGE_INVALID_DATE_OR_FORMAT) String endDate) {
+        return stocktakingService.findAllStocktakingByDateBetween(startDate, endDate);
+    }
+
     @GetMapping("/product-name")
     public Mono<ResponseEntity<DataResponse>> getStocktakingByProductName(@RequestParam @NotBlank(message = MESSAGE_PRODUCT_EMPTY)
                                                                           @Pattern(regexp = REGEX_ONLY_TEXT, message = MESSAGE_PARAMETER_NAME) String productName) {
@@ -72,6 +111,12 @@ public class StocktakingController {
                 );
     }
 
+    @GetMapping(value = "/product-name", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<StocktakingDTO> streamStocktakingByProductName(@RequestParam @NotBlank(message = MESSAGE_PRODUCT_EMPTY)
+                                                               @Pattern(regexp = REGEX_ONLY_TEXT, message = MESSAGE_PARAMETER_NAME) String productName) {
+        return stocktakingService.findAllStocktakingByProductName(productName);
+    }
+
     @GetMapping("/{id}")
     public Mono<ResponseEntity<DataResponse>> getStocktakingById(@PathVariable @Pattern(regexp = REGEX_ID, message = MESSAGE_INCORRECT_ID_FORMAT)
                                                                  @NotBlank(message = MESSAGE_ID_CANNOT_BE_EMPTY) String id) {
@@ -101,6 +146,12 @@ public class StocktakingController {
                 });
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<StocktakingImportProgressDTO> importStocktaking(@RequestPart("file") FilePart file) {
+        return stocktakingImportService.importStocktaking(file.filename(), file.content());
+    }
+
     @PutMapping("/{id}")
     public Mono<ResponseEntity<DataResponse>> updateStocktaking(@PathVariable @Pattern(regexp = REGEX_ID, message = MESSAGE_INCORRECT_ID_FORMAT)
                                                                 @NotBlank(message = MESSAGE_ID_CANNOT_BE_EMPTY) String id,
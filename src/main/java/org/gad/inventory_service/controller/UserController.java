@@ -5,14 +5,17 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.RequiredArgsConstructor;
+import org.gad.inventory_service.dto.UserDTO;
 import org.gad.inventory_service.dto.request.CreateUserRequest;
 import org.gad.inventory_service.dto.request.UpdateUserRequest;
 import org.gad.inventory_service.dto.response.DataResponse;
 import org.gad.inventory_service.service.UserService;
 import org.gad.inventory_service.utils.UtilsMethods;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
@@ -39,6 +42,11 @@ public class UserController {
                 );
     }
 
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<UserDTO> streamAllUsers() {
+        return userService.findAllUsers();
+    }
+
     @GetMapping("/{id}")
     public Mono<ResponseEntity<DataResponse>> findUserById(@PathVariable @Pattern(regexp = REGEX_ID, message = MESSAGE_INCORRECT_ID_FORMAT)
                                                            @NotBlank(message = MESSAGE_ID_CANNOT_BE_EMPTY) String id) {
@@ -83,6 +91,14 @@ public class UserController {
                 );
     }
 
+    @GetMapping(value = "/search/name-or-lastname", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<UserDTO> streamUsersByNameOrLastName(@RequestParam(required = false)
+                                                     @Pattern(regexp = REGEX_ONLY_TEXT, message = MESSAGE_PARAMETER_NAME) String name,
+                                                     @RequestParam(required = false)
+                                                     @Pattern(regexp = REGEX_ONLY_TEXT, message = MESSAGE_PARAMETER_LAST_NAME) String lastName) {
+        return userService.findUsersByNameOrLastName(name, lastName);
+    }
+
     @PostMapping
     public Mono<ResponseEntity<DataResponse>> createUser(@RequestBody @Valid CreateUserRequest createUserRequest) {
         return userService.createUSer(createUserRequest)
@@ -0,0 +1,18 @@
+package org.gad.inventory_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record CursorPageDTO<T>(
+        List<T> items,
+
+        @JsonProperty("next_cursor")
+        String nextCursor,
+
+        @JsonProperty("has_next")
+        boolean hasNext
+) {
+}
@@ -0,0 +1,10 @@
+package org.gad.inventory_service.dto;
+
+import lombok.Builder;
+
+@Builder
+public record ImportRowErrorDTO(
+        long row,
+        String error
+) {
+}
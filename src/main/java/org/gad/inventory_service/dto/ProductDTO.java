@@ -10,6 +10,7 @@ public record ProductDTO(
         @JsonProperty("id_product")
         String idProduct,
         String name,
+        String sku,
         String description,
         BigDecimal price,
         @JsonProperty("category_name")
@@ -0,0 +1,21 @@
+package org.gad.inventory_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record ProductImportProgressDTO(
+        @JsonProperty("import_id")
+        String importId,
+        @JsonProperty("resumed_after_row")
+        long resumedAfterRow,
+        long processed,
+        long created,
+        long updated,
+        long rejected,
+        boolean done,
+        List<ImportRowErrorDTO> errors
+) {
+}
@@ -0,0 +1,12 @@
+package org.gad.inventory_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+
+@Builder
+public record ProductSuggestionDTO(
+        @JsonProperty("id_product")
+        String idProduct,
+        String name
+) {
+}
@@ -0,0 +1,12 @@
+package org.gad.inventory_service.dto;
+
+import lombok.Builder;
+
+@Builder
+public record SaleBatchItemDTO(
+        long index,
+        String status,
+        SaleDTO sale,
+        String error
+) {
+}
@@ -0,0 +1,16 @@
+package org.gad.inventory_service.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record SaleBatchResultDTO(
+        long received,
+        long created,
+        long rejected,
+        long unknown,
+        boolean done,
+        List<SaleBatchItemDTO> items
+) {
+}
@@ -0,0 +1,19 @@
+package org.gad.inventory_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+@Builder
+public record SalesStatsDTO(
+        String dimension,
+        String key,
+        String from,
+        String to,
+        @JsonProperty("sales_count")
+        long salesCount,
+        long quantity,
+        BigDecimal revenue
+) {
+}
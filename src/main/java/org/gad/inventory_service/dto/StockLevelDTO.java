@@ -0,0 +1,16 @@
+package org.gad.inventory_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+
+@Builder
+public record StockLevelDTO(
+        @JsonProperty("id_product")
+        String idProduct,
+        long quantity,
+        @JsonProperty("last_stocktaking_date")
+        String lastStocktakingDate,
+        @JsonProperty("updated_at")
+        String updatedAt
+) {
+}
@@ -0,0 +1,15 @@
+package org.gad.inventory_service.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record StocktakingImportProgressDTO(
+        long processed,
+        long imported,
+        long rejected,
+        boolean done,
+        List<ImportRowErrorDTO> errors
+) {
+}
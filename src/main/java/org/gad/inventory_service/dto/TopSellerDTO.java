@@ -0,0 +1,19 @@
+package org.gad.inventory_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+
+@Builder
+public record TopSellerDTO(
+        @JsonProperty("id_product")
+        String idProduct,
+        @JsonProperty("units_sold")
+        long unitsSold,
+        @JsonProperty("max_overcount")
+        long maxOvercount,
+        long stock,
+        @JsonProperty("low_stock")
+        boolean lowStock,
+        String window
+) {
+}
@@ -1,18 +1,34 @@
 package org.gad.inventory_service.dto.request;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.Min;
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import lombok.Builder;
 
+import static org.gad.inventory_service.utils.Constants.*;
+
 @Builder
 public record CreateSaleRequest(
+        @JsonProperty("product_id")
+        @Pattern(regexp = REGEX_ID, message = MESSAGE_INCORRECT_ID_FORMAT)
+        String productId,
+
+        @Pattern(regexp = REGEX_SKU, message = MESSAGE_INVALID_SKU)
+        String sku,
+
         @JsonProperty("name_product")
-        @NotBlank(message = "Product name cannot be blank")
         String nameProduct,
+
         @NotNull(message = "Quantity cannot be null")
         @Min(value = 1, message = "Quantity must be at least 1")
         Integer quantity
 ) {
+    @JsonIgnore
+    @AssertTrue(message = MESSAGE_PRODUCT_REFERENCE_REQUIRED)
+    public boolean isProductReferenced() {
+        return productId != null || sku != null || (nameProduct != null && !nameProduct.isBlank());
+    }
 }
@@ -6,11 +6,16 @@ import lombok.Builder;
 
 import java.math.BigDecimal;
 
+import static org.gad.inventory_service.utils.Constants.*;
+
 @Builder
 public record UpdateProductRequest(
         @NotBlank(message = "Name cannot be empty")
         String name,
 
+        @Pattern(regexp = REGEX_SKU, message = MESSAGE_INVALID_SKU)
+        String sku,
+
         @NotBlank(message = "Description cannot be empty")
         String description,
 
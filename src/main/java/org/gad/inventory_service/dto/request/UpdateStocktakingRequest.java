@@ -1,16 +1,26 @@
 package org.gad.inventory_service.dto.request;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.Min;
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 import lombok.Builder;
 
+import static org.gad.inventory_service.utils.Constants.*;
+
 @Builder
 public record UpdateStocktakingRequest(
+        @JsonProperty("product_id")
+        @Pattern(regexp = REGEX_ID, message = MESSAGE_INCORRECT_ID_FORMAT)
+        String productId,
+
+        @Pattern(regexp = REGEX_SKU, message = MESSAGE_INVALID_SKU)
+        String sku,
+
         @JsonProperty("product_name")
-        @NotBlank(message = "Product name cannot be blank")
         String productName,
 
         @NotNull(message = "Quantity cannot be null")
@@ -18,4 +28,9 @@ public record UpdateStocktakingRequest(
         @Positive(message = "Quantity must be positive")
         Integer quantity
 ) {
+    @JsonIgnore
+    @AssertTrue(message = MESSAGE_PRODUCT_REFERENCE_REQUIRED)
+    public boolean isProductReferenced() {
+        return productId != null || sku != null || (productName != null && !productName.isBlank());
+    }
 }
@@ -0,0 +1,18 @@
+package org.gad.inventory_service.event;
+
+import org.gad.inventory_service.model.Product;
+
+public record ProductChangedEvent(String productId, Product product) {
+
+    public static ProductChangedEvent saved(Product product) {
+        return new ProductChangedEvent(product.getIdProduct(), product);
+    }
+
+    public static ProductChangedEvent deleted(String productId) {
+        return new ProductChangedEvent(productId, null);
+    }
+
+    public boolean isDeletion() {
+        return product == null;
+    }
+}
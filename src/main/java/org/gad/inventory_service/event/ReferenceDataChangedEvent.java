@@ -0,0 +1,10 @@
+package org.gad.inventory_service.event;
+
+public record ReferenceDataChangedEvent(ReferenceType type) {
+
+    public enum ReferenceType {
+        CATEGORY,
+        BRAND,
+        PROVIDER
+    }
+}
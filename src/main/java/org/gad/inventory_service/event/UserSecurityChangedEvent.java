@@ -0,0 +1,23 @@
+package org.gad.inventory_service.event;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public record UserSecurityChangedEvent(String userId, Set<String> usernames, boolean allUsers) {
+
+    // Caches are keyed either by user id or by username, so both are carried; a username change names the old
+    // and the new one.
+    public static UserSecurityChangedEvent forUser(String userId, String... usernames) {
+        Set<String> affected = Arrays.stream(usernames)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet());
+        return new UserSecurityChangedEvent(userId, affected, false);
+    }
+
+    // Roles and permissions are embedded in every user, so a change to either can affect any principal.
+    public static UserSecurityChangedEvent forAllUsers() {
+        return new UserSecurityChangedEvent(null, Set.of(), true);
+    }
+}
@@ -14,7 +14,9 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
+import static org.gad.inventory_service.utils.Constants.MESSAGE_SERVICE_BUSY;
 import static org.gad.inventory_service.utils.Constants.MESSAGE_VALIDATION_INCORRECT;
 
 @RestControllerAdvice
@@ -58,8 +60,12 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(exchange, HttpStatus.NOT_FOUND, ex.getMessage(), null);
     }
 
-    @ExceptionHandler(ProviderAlreadyExistsException.class)
-    public Mono<ResponseEntity<ErrorResponse>> handleProviderAlreadyExistsException(ProviderAlreadyExistsException ex, ServerWebExchange exchange) {
+    @ExceptionHandler({
+            ProviderAlreadyExistsException.class,
+            ProductAlreadyExistsException.class,
+            OutOfStockException.class
+    })
+    public Mono<ResponseEntity<ErrorResponse>> handleConflictExceptions(RuntimeException ex, ServerWebExchange exchange) {
         return buildErrorResponse(exchange, HttpStatus.CONFLICT, ex.getMessage(), null);
     }
 
@@ -71,12 +77,22 @@ public class GlobalExceptionHandler {
     @ExceptionHandler({
             InvalidDateRangeException.class,
             InvalidDateFormatException.class,
-            InvalidPriceRangeException.class
+            InvalidPriceRangeException.class,
+            InvalidCursorException.class,
+            InvalidImportFileException.class
     })
     public Mono<ResponseEntity<ErrorResponse>> handleInvalidDateRangeException(RuntimeException ex, ServerWebExchange exchange) {
         return buildErrorResponse(exchange, HttpStatus.BAD_REQUEST, ex.getMessage(), null);
     }
 
+    @ExceptionHandler({
+            ServiceBusyException.class,
+            RejectedExecutionException.class
+    })
+    public Mono<ResponseEntity<ErrorResponse>> handleServiceBusyException(RuntimeException ex, ServerWebExchange exchange) {
+        return buildErrorResponse(exchange, HttpStatus.SERVICE_UNAVAILABLE, MESSAGE_SERVICE_BUSY, null);
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public Mono<ResponseEntity<ErrorResponse>> handleBadCredentialsException(BadCredentialsException ex, ServerWebExchange exchange) {
         return buildErrorResponse(exchange, HttpStatus.UNAUTHORIZED, ex.getMessage(), null);
@@ -0,0 +1,11 @@
+package org.gad.inventory_service.exception;
+
+public class InvalidImportFileException extends RuntimeException {
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+
+    public InvalidImportFileException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,11 @@
+package org.gad.inventory_service.exception;
+
+public class OutOfStockException extends RuntimeException {
+    public OutOfStockException(String message) {
+        super(message);
+    }
+
+    public OutOfStockException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,11 @@
+package org.gad.inventory_service.exception;
+
+public class ProductAlreadyExistsException extends RuntimeException {
+    public ProductAlreadyExistsException(String message) {
+        super(message);
+    }
+
+    public ProductAlreadyExistsException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,60 @@
+package org.gad.inventory_service.importer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+import static org.gad.inventory_service.utils.Constants.*;
+
+@Slf4j
+public final class ImportFiles {
+    private static final int DIGEST_BUFFER = 8192;
+
+    private ImportFiles() {
+    }
+
+    // Uploads are spooled to a temp file before reading: XLSX needs random access to the zip, and the request
+    // body is then consumed at disk speed instead of being held in memory until the import catches up.
+    public static <T> Flux<T> spooled(Flux<DataBuffer> content, String prefix, ImportFormat format, Function<Path, Flux<T>> reader) {
+        return Flux.using(
+                () -> Files.createTempFile(prefix, format.extension()),
+                file -> DataBufferUtils.write(content, file).thenMany(Flux.defer(() -> reader.apply(file))),
+                ImportFiles::deleteQuietly);
+    }
+
+    // Identifies an upload by content, so the same file sent again maps to the same import.
+    public static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(IMPORT_DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[DIGEST_BUFFER];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn(ERROR_DELETING_IMPORT_FILE, file, e.getMessage());
+        }
+    }
+}
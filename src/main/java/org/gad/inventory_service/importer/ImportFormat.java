@@ -0,0 +1,36 @@
+package org.gad.inventory_service.importer;
+
+import org.gad.inventory_service.exception.InvalidImportFileException;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.gad.inventory_service.utils.Constants.MESSAGE_UNSUPPORTED_IMPORT_FILE;
+
+public enum ImportFormat {
+    CSV(".csv"),
+    XLSX(".xlsx"),
+    NDJSON(".ndjson");
+
+    private final String extension;
+
+    ImportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static ImportFormat fromFilename(String filename, ImportFormat... accepted) {
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        for (ImportFormat format : accepted) {
+            if (name.endsWith(format.extension)) {
+                return format;
+            }
+        }
+        String extensions = Arrays.stream(accepted).map(ImportFormat::extension).collect(Collectors.joining(", "));
+        throw new InvalidImportFileException(String.format(MESSAGE_UNSUPPORTED_IMPORT_FILE, filename, extensions));
+    }
+}
@@ -0,0 +1,40 @@
+package org.gad.inventory_service.importer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Column positions taken from the header row. Names are matched loosely ("Product Name", "product-name" and
+// "product_name" are the same column) because headers usually come from hand-edited spreadsheets.
+public final class ImportHeader {
+    private final Map<String, Integer> columns;
+
+    private ImportHeader(Map<String, Integer> columns) {
+        this.columns = columns;
+    }
+
+    public static ImportHeader of(List<String> cells) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < cells.size(); i++) {
+            columns.putIfAbsent(normalize(cells.get(i)), i);
+        }
+        return new ImportHeader(columns);
+    }
+
+    public boolean has(String column) {
+        return columns.containsKey(column);
+    }
+
+    public String value(List<String> cells, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= cells.size() || cells.get(index).isEmpty()) {
+            return null;
+        }
+        return cells.get(index);
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT).replace(' ', '_').replace('-', '_');
+    }
+}
@@ -0,0 +1,9 @@
+package org.gad.inventory_service.importer;
+
+import java.util.List;
+
+@FunctionalInterface
+public interface RowHandler {
+    // rowNumber is the 1-based row of the source file, so rejections can point the user at the right line.
+    void row(long rowNumber, List<String> cells);
+}
@@ -0,0 +1,180 @@
+package org.gad.inventory_service.importer;
+
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.ooxml.POIXMLException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JRuntimeException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.gad.inventory_service.exception.InvalidImportFileException;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.gad.inventory_service.utils.Constants.*;
+
+// Pushes the rows of an uploaded CSV or XLSX file to a handler one at a time, so only the current row is held
+// in memory. XLSX goes through POI's event model (a SAX pass over the first sheet) instead of XSSFWorkbook,
+// which would load every cell; only the shared strings table is kept whole, as the format requires.
+public final class TabularFileReader {
+    private static final char BOM = '\uFEFF';
+    private static final int HEADER_LOOKAHEAD = 8192;
+
+    private TabularFileReader() {
+    }
+
+    public static void read(Path file, ImportFormat format, RowHandler handler) throws IOException {
+        switch (format) {
+            case CSV -> readCsv(file, handler);
+            case XLSX -> readXlsx(file, handler);
+            case NDJSON -> throw new InvalidImportFileException(String.format(MESSAGE_UNSUPPORTED_IMPORT_FILE,
+                    file.getFileName(), ImportFormat.CSV.extension() + ", " + ImportFormat.XLSX.extension()));
+        }
+    }
+
+    private static void readCsv(Path file, RowHandler handler) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            char delimiter = detectDelimiter(reader);
+            List<String> cells = new ArrayList<>();
+            StringBuilder cell = new StringBuilder();
+            boolean quoted = false;
+            long rowNumber = 1;
+            long rowStart = 1;
+            int read;
+            while ((read = reader.read()) != -1) {
+                char c = (char) read;
+                if (cell.length() > MAX_IMPORT_CELL_CHARS) {
+                    throw new InvalidImportFileException(MESSAGE_IMPORT_CELL_TOO_LONG + rowStart);
+                }
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            cell.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            rowNumber++;
+                        }
+                        cell.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == delimiter) {
+                    cells.add(cell.toString());
+                    cell.setLength(0);
+                } else if (c == '\n') {
+                    cells.add(cell.toString());
+                    cell.setLength(0);
+                    emit(handler, rowStart, cells);
+                    cells.clear();
+                    rowStart = ++rowNumber;
+                } else if (c != '\r') {
+                    cell.append(c);
+                }
+            }
+            if (quoted) {
+                throw new InvalidImportFileException(MESSAGE_IMPORT_UNCLOSED_QUOTE + rowStart);
+            }
+            if (!cells.isEmpty() || !cell.isEmpty()) {
+                cells.add(cell.toString());
+                emit(handler, rowStart, cells);
+            }
+        }
+    }
+
+    // Spreadsheets exported with a comma decimal separator use ';' between fields, so the header decides.
+    private static char detectDelimiter(BufferedReader reader) throws IOException {
+        reader.mark(1);
+        if (reader.read() != BOM) {
+            reader.reset();
+        }
+        reader.mark(HEADER_LOOKAHEAD);
+        String header = reader.readLine();
+        reader.reset();
+        if (header == null) {
+            return ',';
+        }
+        long semicolons = header.chars().filter(c -> c == ';').count();
+        long commas = header.chars().filter(c -> c == ',').count();
+        return semicolons > commas ? ';' : ',';
+    }
+
+    private static void readXlsx(Path file, RowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg, false);
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), strings,
+                    new SheetRows(handler), new DataFormatter(), false));
+            try (InputStream sheet = sheets.next()) {
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | OpenXML4JRuntimeException | SAXException | ParserConfigurationException
+                 | POIXMLException | UnsupportedFileFormatException e) {
+            throw new InvalidImportFileException(MESSAGE_INVALID_IMPORT_FILE, e);
+        }
+    }
+
+    // Blank rows are dropped here so callers never see trailing empty lines or formatted-but-empty sheet rows.
+    private static void emit(RowHandler handler, long rowNumber, List<String> cells) {
+        List<String> trimmed = cells.stream().map(String::trim).toList();
+        if (trimmed.stream().anyMatch(value -> !value.isEmpty())) {
+            handler.row(rowNumber, trimmed);
+        }
+    }
+
+    private static final class SheetRows implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final RowHandler handler;
+        private final List<String> cells = new ArrayList<>();
+
+        private SheetRows(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            emit(handler, rowNum + 1L, cells);
+        }
+
+        // Empty cells are not present in the sheet XML, so the reference places each value in its column.
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : cells.size();
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            cells.add(formattedValue != null ? formattedValue : "");
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.gad.inventory_service.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -17,6 +18,7 @@ public class Permission{
     @Id
     private String idPermission;
 
+    @Indexed
     @Field("name")
     private String name;
 
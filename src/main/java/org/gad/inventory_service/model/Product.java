@@ -1,27 +1,42 @@
 package org.gad.inventory_service.model;
 
 import lombok.*;
+import org.gad.inventory_service.utils.SearchUtils;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
-@Document(collection = "products")
+@Document(collection = "products", language = "none")
+@CompoundIndex(name = "product_criteria_idx", def = "{'category_id': 1, 'brand_id': 1, 'provider_id': 1, 'name_normalized': 1}")
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 @Getter
 @Setter
 @ToString
-public class Product {
+public class Product implements Searchable {
     @Id
     private String idProduct;
 
+    @TextIndexed(weight = 3)
     @Field("name")
     private String name;
 
+    @Indexed
+    @Field("name_normalized")
+    private String nameNormalized;
+
+    @Indexed(unique = true, sparse = true)
+    @Field("sku")
+    private String sku;
+
+    @TextIndexed
     @Field("description")
     private String description;
 
@@ -51,4 +66,9 @@ public class Product {
     public void updateTimestamp() {
         this.updatedAt = LocalDateTime.now();
     }
+
+    @Override
+    public void refreshSearchFields() {
+        this.nameNormalized = SearchUtils.normalize(name);
+    }
 }
@@ -0,0 +1,49 @@
+package org.gad.inventory_service.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+
+// Progress of a catalogue import, keyed by the SHA-256 of the uploaded file. It is written after every committed
+// window, so uploading the same file again after a failure skips the rows that were already upserted.
+@Document(collection = "product_import_checkpoints")
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+@ToString
+public class ProductImportCheckpoint {
+    @Id
+    private String idImport;
+
+    @Field("filename")
+    private String filename;
+
+    @Field("rows_committed")
+    private long rowsCommitted;
+
+    @Field("processed")
+    private long processed;
+
+    @Field("created")
+    private long created;
+
+    @Field("updated")
+    private long updated;
+
+    @Field("rejected")
+    private long rejected;
+
+    @Field("completed")
+    private boolean completed;
+
+    @Field("started_at")
+    private LocalDateTime startedAt;
+
+    @Field("updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -18,6 +18,7 @@ public class Provider {
     @Id
     private String idProvider;
 
+    @Indexed
     @Field("name")
     private String name;
 
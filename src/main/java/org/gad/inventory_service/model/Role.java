@@ -2,12 +2,15 @@ package org.gad.inventory_service.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.util.Set;
 
 @Document(collection = "roles")
+@CompoundIndex(name = "role_permission_name_idx", def = "{'permissions.name': 1}")
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
@@ -18,6 +21,7 @@ public class Role {
     @Id
     private String idRole;
 
+    @Indexed
     @Field("name")
     private String name;
 
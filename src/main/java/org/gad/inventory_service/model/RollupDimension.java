@@ -0,0 +1,14 @@
+package org.gad.inventory_service.model;
+
+public enum RollupDimension {
+    ALL,
+    PRODUCT,
+    CATEGORY,
+    BRAND;
+
+    public static final String ALL_KEY = "all";
+
+    public static RollupDimension fromPath(String value) {
+        return valueOf(value.toUpperCase());
+    }
+}
@@ -0,0 +1,36 @@
+package org.gad.inventory_service.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+// The period string of a bucket sorts lexically in date order, so a range of buckets is a single index range scan.
+public enum RollupGranularity {
+    DAY("%Y-%m-%d", DateTimeFormatter.ISO_LOCAL_DATE),
+    MONTH("%Y-%m", DateTimeFormatter.ofPattern("yyyy-MM"));
+
+    private final String mongoFormat;
+    private final DateTimeFormatter formatter;
+
+    RollupGranularity(String mongoFormat, DateTimeFormatter formatter) {
+        this.mongoFormat = mongoFormat;
+        this.formatter = formatter;
+    }
+
+    public String mongoFormat() {
+        return mongoFormat;
+    }
+
+    public String periodOf(LocalDateTime dateTime) {
+        return formatter.format(dateTime);
+    }
+
+    public String periodOf(LocalDate date) {
+        return formatter.format(date);
+    }
+
+    public String periodOf(YearMonth month) {
+        return formatter.format(month.atDay(1));
+    }
+}
@@ -2,6 +2,8 @@ package org.gad.inventory_service.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
@@ -10,6 +12,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Document(collection = "sales")
+@CompoundIndexes({
+        @CompoundIndex(name = "sale_date_id_idx", def = "{'sale_date': -1, '_id': -1}"),
+        @CompoundIndex(name = "sale_product_date_idx", def = "{'product_id': 1, 'sale_date': -1}")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
@@ -26,6 +32,7 @@ public class Sale {
     @Field("quantity")
     private Integer quantity;
 
+    @Indexed
     @Field("total_price")
     private BigDecimal totalPrice;
 
@@ -0,0 +1,68 @@
+package org.gad.inventory_service.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Pre-aggregated sales totals for one day or month of one product, category, brand or the whole store. The id is
+// derived from those four parts so every sale increments its buckets with plain upserts, and any date range is
+// answered from a handful of buckets instead of scanning sales.
+@Document(collection = "sales_rollups")
+@CompoundIndex(name = "sales_rollup_lookup_idx", def = "{'dimension': 1, 'key': 1, 'granularity': 1, 'period': 1}")
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+@ToString
+public class SalesRollup {
+    @Id
+    private String idRollup;
+
+    @Field("granularity")
+    private RollupGranularity granularity;
+
+    @Field("period")
+    private String period;
+
+    @Field("dimension")
+    private RollupDimension dimension;
+
+    @Field("key")
+    private String key;
+
+    @Field("count")
+    private long count;
+
+    @Field("quantity")
+    private long quantity;
+
+    @Field("revenue")
+    private BigDecimal revenue;
+
+    @Field("rebuilt_at")
+    private Instant rebuiltAt;
+
+    // Minute the sale behind a delta was created in, and when the write behind it was stored; only carried to
+    // incrementBuckets, never stored on a bucket.
+    @Transient
+    private String stamp;
+
+    @Transient
+    private Instant writtenAt;
+
+    public static String idOf(RollupGranularity granularity, String period, RollupDimension dimension, String key) {
+        return granularity + ":" + period + ":" + dimension + ":" + key;
+    }
+
+    // Fixed width so stamps compare as strings in filters and pipelines the same way the minutes compare.
+    public static String stampOf(Instant instant) {
+        return String.format("m%010d", Math.floorDiv(instant.getEpochSecond(), 60));
+    }
+}
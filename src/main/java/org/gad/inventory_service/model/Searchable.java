@@ -0,0 +1,5 @@
+package org.gad.inventory_service.model;
+
+public interface Searchable {
+    void refreshSearchFields();
+}
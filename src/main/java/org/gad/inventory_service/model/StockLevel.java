@@ -0,0 +1,39 @@
+package org.gad.inventory_service.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+
+// Current stock per product, keyed by the product id so reads are a single _id lookup. Sales reserve from it with
+// a conditional decrement and each stocktaking resets it; StockLevelReconciler rebuilds it from history. Units
+// reserved for sales that are not written yet are tracked in reserved, and every write bumps version so the
+// rebuild can detect a concurrent change.
+@Document(collection = "stock_levels")
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+@ToString
+public class StockLevel {
+    @Id
+    private String productId;
+
+    @Field("quantity")
+    private long quantity;
+
+    @Field("reserved")
+    private long reserved;
+
+    @Field("last_stocktaking_date")
+    private LocalDateTime lastStocktakingDate;
+
+    @Field("updated_at")
+    private LocalDateTime updatedAt;
+
+    @Field("version")
+    private long version;
+}
@@ -2,12 +2,18 @@ package org.gad.inventory_service.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
 import java.time.LocalDateTime;
 
 @Document(collection = "stocktaking")
+@CompoundIndexes({
+        @CompoundIndex(name = "stocktaking_date_id_idx", def = "{'stocktaking_date': -1, '_id': -1}"),
+        @CompoundIndex(name = "stocktaking_product_date_idx", def = "{'product_id': 1, 'stocktaking_date': -1}")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
@@ -1,7 +1,10 @@
 package org.gad.inventory_service.model;
 
 import lombok.*;
+import org.gad.inventory_service.utils.SearchUtils;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
@@ -10,13 +13,18 @@ import java.time.LocalDateTime;
 import java.util.Set;
 
 @Document(collection = "users")
+@CompoundIndexes({
+        @CompoundIndex(name = "user_name_last_name_idx", def = "{'name_normalized': 1, 'last_name_normalized': 1}"),
+        @CompoundIndex(name = "user_role_name_idx", def = "{'roles.name': 1}"),
+        @CompoundIndex(name = "user_role_permission_name_idx", def = "{'roles.permissions.name': 1}")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 @Getter
 @Setter
 @ToString(exclude = {"password"})
-public class User {
+public class User implements Searchable {
     @Id
     private String idUser;
 
@@ -26,6 +34,13 @@ public class User {
     @Field("last_name")
     private String lastName;
 
+    @Field("name_normalized")
+    private String nameNormalized;
+
+    @Indexed
+    @Field("last_name_normalized")
+    private String lastNameNormalized;
+
     @Indexed(unique = true)
     @Field("username")
     private String username;
@@ -54,7 +69,25 @@ public class User {
     @Field("updated_at")
     private LocalDateTime updatedAt;
 
+    @Builder.Default
+    @Field("token_version")
+    private Integer tokenVersion = 0;
+
     public void updateTimeStamp() {
         this.updatedAt = LocalDateTime.now();
     }
+
+    @Override
+    public void refreshSearchFields() {
+        this.nameNormalized = SearchUtils.normalize(name);
+        this.lastNameNormalized = SearchUtils.normalize(lastName);
+    }
+
+    public int currentTokenVersion() {
+        return tokenVersion == null ? 0 : tokenVersion;
+    }
+
+    public void revokeTokens() {
+        this.tokenVersion = currentTokenVersion() + 1;
+    }
 }
@@ -0,0 +1,13 @@
+package org.gad.inventory_service.model.projection;
+
+import lombok.Builder;
+
+import java.util.Map;
+
+@Builder
+public record BulkUpsertView(
+        int inserted,
+        int matched,
+        Map<Integer, String> failed
+) {
+}
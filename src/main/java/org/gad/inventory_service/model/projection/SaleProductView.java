@@ -0,0 +1,17 @@
+package org.gad.inventory_service.model.projection;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Builder
+public record SaleProductView(
+        String idSale,
+        String productId,
+        String productName,
+        Integer quantity,
+        BigDecimal totalPrice,
+        LocalDateTime saleDate
+) {
+}
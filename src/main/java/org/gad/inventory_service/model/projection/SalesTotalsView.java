@@ -0,0 +1,14 @@
+package org.gad.inventory_service.model.projection;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+@Builder
+public record SalesTotalsView(
+        String key,
+        long count,
+        long quantity,
+        BigDecimal revenue
+) {
+}
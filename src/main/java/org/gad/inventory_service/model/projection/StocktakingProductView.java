@@ -0,0 +1,16 @@
+package org.gad.inventory_service.model.projection;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+@Builder
+public record StocktakingProductView(
+        String idStocktaking,
+        String productId,
+        String productName,
+        Integer quantity,
+        LocalDateTime stocktakingDate,
+        String performedBy
+) {
+}
@@ -0,0 +1,8 @@
+package org.gad.inventory_service.repository;
+
+import org.gad.inventory_service.model.ProductImportCheckpoint;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+
+public interface ProductImportCheckpointRepository extends ReactiveMongoRepository<ProductImportCheckpoint, String> {
+}
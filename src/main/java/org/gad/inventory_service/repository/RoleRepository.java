@@ -1,10 +1,11 @@
 package org.gad.inventory_service.repository;
 
 import org.gad.inventory_service.model.Role;
+import org.gad.inventory_service.repository.custom.RoleRepositoryCustom;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import reactor.core.publisher.Mono;
 
 
-public interface RoleRepository extends ReactiveMongoRepository<Role, String> {
+public interface RoleRepository extends ReactiveMongoRepository<Role, String>, RoleRepositoryCustom {
     Mono<Role> findRoleByNameContainingIgnoreCase(String name);
 }
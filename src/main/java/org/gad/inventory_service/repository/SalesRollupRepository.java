@@ -0,0 +1,9 @@
+package org.gad.inventory_service.repository;
+
+import org.gad.inventory_service.model.SalesRollup;
+import org.gad.inventory_service.repository.custom.SalesRollupRepositoryCustom;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+
+public interface SalesRollupRepository extends ReactiveMongoRepository<SalesRollup, String>, SalesRollupRepositoryCustom {
+}
@@ -0,0 +1,9 @@
+package org.gad.inventory_service.repository;
+
+import org.gad.inventory_service.model.StockLevel;
+import org.gad.inventory_service.repository.custom.StockLevelRepositoryCustom;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+
+public interface StockLevelRepository extends ReactiveMongoRepository<StockLevel, String>, StockLevelRepositoryCustom {
+}
@@ -4,8 +4,10 @@ import org.gad.inventory_service.model.Stocktaking;
 import org.gad.inventory_service.repository.custom.StocktakingRepositoryCustom;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 
 public interface StocktakingRepository extends ReactiveMongoRepository<Stocktaking, String>, StocktakingRepositoryCustom {
     Flux<Stocktaking> findStocktakingByProductId(String productId);
+    Mono<Stocktaking> findFirstByProductIdOrderByStocktakingDateDesc(String productId);
 }
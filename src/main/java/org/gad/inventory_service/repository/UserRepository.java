@@ -2,10 +2,14 @@ package org.gad.inventory_service.repository;
 
 import org.gad.inventory_service.model.User;
 import org.gad.inventory_service.repository.custom.UserRepositoryCustom;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import reactor.core.publisher.Mono;
 
 
 public interface UserRepository extends ReactiveMongoRepository<User, String>, UserRepositoryCustom {
     Mono<User> findUserByUsername(String username);
+
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'token_version': 1 }")
+    Mono<User> findTokenVersionById(String id);
 }
@@ -1,7 +1,11 @@
 package org.gad.inventory_service.repository.custom;
 
 import org.gad.inventory_service.model.Product;
+import org.gad.inventory_service.model.projection.BulkUpsertView;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
 
 
 public interface ProductRepositoryCustom {
@@ -9,4 +13,8 @@ public interface ProductRepositoryCustom {
                                  String categoryId,
                                  String brandId,
                                  String providerId);
+    Flux<Product> findPage(String lastId, int limit);
+    Mono<Product> findFirstByNamePrefix(String name);
+    Flux<Product> searchByText(String text, int limit);
+    Mono<BulkUpsertView> upsertBySku(List<Product> products);
 }
@@ -0,0 +1,8 @@
+package org.gad.inventory_service.repository.custom;
+
+import reactor.core.publisher.Mono;
+
+public interface RoleRepositoryCustom {
+    Mono<Long> renamePermission(String permissionName, String newName);
+    Mono<Long> removePermission(String permissionName);
+}
@@ -1,12 +1,22 @@
 package org.gad.inventory_service.repository.custom;
 
 import org.gad.inventory_service.model.Sale;
+import org.gad.inventory_service.model.projection.SaleProductView;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 public interface SaleRepositoryCustom {
     Flux<Sale> findByOptionalDateRange(LocalDateTime startDate, LocalDateTime endDate);
     Flux<Sale> findByOptionalPriceTotalRange(BigDecimal minPrice, BigDecimal maxPrice);
+    Flux<SaleProductView> findWithProductByOptionalDateRange(LocalDateTime startDate, LocalDateTime endDate);
+    Flux<SaleProductView> findWithProductByOptionalPriceTotalRange(BigDecimal minPrice, BigDecimal maxPrice);
+    Mono<SaleProductView> findWithProductById(String id);
+    Flux<SaleProductView> findWithProductPage(LocalDateTime lastDate, String lastId, int limit);
+    Mono<Long> sumQuantityByProductSince(String productId, LocalDateTime since);
+    Mono<Map<Integer, String>> insertUnordered(List<Sale> sales);
 }
@@ -0,0 +1,16 @@
+package org.gad.inventory_service.repository.custom;
+
+import org.gad.inventory_service.analytics.RollupWindow;
+import org.gad.inventory_service.model.RollupDimension;
+import org.gad.inventory_service.model.SalesRollup;
+import org.gad.inventory_service.model.projection.SalesTotalsView;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface SalesRollupRepositoryCustom {
+    Mono<Void> incrementBuckets(List<SalesRollup> deltas);
+    Flux<SalesRollup> findBuckets(RollupDimension dimension, String key, List<RollupWindow> windows);
+    Flux<SalesTotalsView> sumByKey(RollupDimension dimension, List<RollupWindow> windows, int limit);
+}
@@ -0,0 +1,16 @@
+package org.gad.inventory_service.repository.custom;
+
+import org.gad.inventory_service.model.StockLevel;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface StockLevelRepositoryCustom {
+    Mono<Void> incrementQuantity(String productId, long delta, LocalDateTime occurredAt);
+    Mono<Void> resetQuantity(String productId, long quantity, LocalDateTime countedAt);
+    Mono<StockLevel> reserveQuantity(String productId, long quantity);
+    Mono<StockLevel> reserveQuantity(String productId, long quantity, LocalDateTime occurredAt);
+    Mono<Void> confirmReservation(String productId, long quantity);
+    Mono<Void> cancelReservation(String productId, long quantity);
+    Mono<Boolean> replaceIfUnchanged(StockLevel rebuilt, StockLevel seen);
+}
@@ -1,10 +1,15 @@
 package org.gad.inventory_service.repository.custom;
 
 import org.gad.inventory_service.model.Stocktaking;
+import org.gad.inventory_service.model.projection.StocktakingProductView;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 
 public interface StocktakingRepositoryCustom {
     Flux<Stocktaking> findByOptionalDateRange(LocalDateTime startDate, LocalDateTime endDate);
+    Flux<StocktakingProductView> findWithProductByOptionalDateRange(LocalDateTime startDate, LocalDateTime endDate);
+    Mono<StocktakingProductView> findWithProductById(String id);
+    Flux<StocktakingProductView> findWithProductPage(LocalDateTime lastDate, String lastId, int limit);
 }
@@ -1,5 +1,6 @@
 package org.gad.inventory_service.repository.custom;
 
+import org.gad.inventory_service.model.Role;
 import org.gad.inventory_service.model.User;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -7,4 +8,8 @@ import reactor.core.publisher.Mono;
 public interface UserRepositoryCustom {
     Flux<User> findUsersByNameLastName(String name, String lastName);
     Mono<User> findUserByUsernameEmail(String username, String email);
+    Mono<Long> replaceEmbeddedRole(String roleName, Role role);
+    Mono<Long> removeEmbeddedRole(String roleName);
+    Mono<Long> renameEmbeddedPermission(String permissionName, String newName);
+    Mono<Long> removeEmbeddedPermission(String permissionName);
 }
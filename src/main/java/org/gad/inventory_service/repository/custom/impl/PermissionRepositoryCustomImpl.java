@@ -19,12 +19,15 @@ public class PermissionRepositoryCustomImpl implements PermissionRepositoryCusto
 
     @Override
     public Flux<Permission> findByNamesLikeIgnoreCase(Set<String> names) {
+        return reactiveMongoTemplate.find(buildNamesLikeQuery(names), Permission.class);
+    }
+
+    public static Query buildNamesLikeQuery(Set<String> names) {
         Criteria criteria = new Criteria().orOperator(
                 names.stream()
                         .map(name -> Criteria.where("name").regex(".*" + Pattern.quote(name) + ".*", "i"))
                         .toArray(Criteria[]::new)
         );
-        Query query = new Query(criteria);
-        return reactiveMongoTemplate.find(query, Permission.class);
+        return new Query(criteria);
     }
 }
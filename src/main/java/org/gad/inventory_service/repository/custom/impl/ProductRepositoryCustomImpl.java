@@ -1,17 +1,38 @@
 package org.gad.inventory_service.repository.custom.impl;
 
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.gad.inventory_service.model.Product;
+import org.gad.inventory_service.model.projection.BulkUpsertView;
 import org.gad.inventory_service.repository.custom.ProductRepositoryCustom;
+import org.gad.inventory_service.utils.QueryUtils;
+import org.gad.inventory_service.utils.SearchUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.util.regex.Pattern;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.gad.inventory_service.utils.Constants.TEXT_ID;
+import static org.gad.inventory_service.utils.Constants.TEXT_NAME_NORMALIZED;
+import static org.gad.inventory_service.utils.Constants.TEXT_SKU;
 
 
 @Slf4j
@@ -25,12 +46,87 @@ public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
                                         String categoryId,
                                         String brandId,
                                         String providerId) {
+        return reactiveMongoTemplate.find(buildCriteriaQuery(name, categoryId, brandId, providerId), Product.class);
+    }
+
+    @Override
+    public Flux<Product> findPage(String lastId, int limit) {
+        return reactiveMongoTemplate.find(buildPageQuery(lastId, limit), Product.class);
+    }
+
+    @Override
+    public Mono<Product> findFirstByNamePrefix(String name) {
+        return reactiveMongoTemplate.findOne(buildNamePrefixQuery(name), Product.class);
+    }
+
+    @Override
+    public Flux<Product> searchByText(String text, int limit) {
+        return reactiveMongoTemplate.find(buildTextQuery(text, limit), Product.class);
+    }
+
+    // One unordered bulk write keyed by the unique SKU: existing products keep their id, activity flag and creation
+    // date, new ones are inserted. The write skips the convert callbacks, so the normalized name is set here.
+    @Override
+    public Mono<BulkUpsertView> upsertBySku(List<Product> products) {
+        if (products.isEmpty()) {
+            return Mono.just(new BulkUpsertView(0, 0, Map.of()));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        ReactiveBulkOperations bulkOperations = reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        products.forEach(product -> bulkOperations.upsert(
+                buildSkuQuery(product.getSku()),
+                new Update()
+                        .set("name", product.getName())
+                        .set(TEXT_NAME_NORMALIZED, SearchUtils.normalize(product.getName()))
+                        .set("description", product.getDescription())
+                        .set("price", product.getPrice())
+                        .set("category_id", product.getCategoryId())
+                        .set("brand_id", product.getBrandId())
+                        .set("provider_id", product.getProviderId())
+                        .set("updated_at", now)
+                        .setOnInsert("is_active", true)
+                        .setOnInsert("created_at", now)));
+        return bulkOperations.execute()
+                .map(result -> upsertView(result, List.of()))
+                .onErrorResume(BulkOperationException.class, error -> Mono.just(upsertView(error.getResult(), error.getErrors())))
+                .onErrorResume(MongoBulkWriteException.class, error -> Mono.just(upsertView(error.getWriteResult(), error.getWriteErrors())));
+    }
+
+    // The query builders are public so MongoIndexManager explains the same queries these methods send.
+    public static Query buildCriteriaQuery(String name, String categoryId, String brandId, String providerId) {
         Query query = new Query();
-        query.addCriteria(Criteria.where("name").regex(Pattern.quote(name), "i"));
+        query.addCriteria(Criteria.where(TEXT_NAME_NORMALIZED).regex(SearchUtils.prefixRegex(name)));
         query.addCriteria(Criteria.where("category_id").is(categoryId));
         query.addCriteria(Criteria.where("brand_id").is(brandId));
         query.addCriteria(Criteria.where("provider_id").is(providerId));
+        return query.with(Sort.by(Sort.Direction.ASC, TEXT_NAME_NORMALIZED));
+    }
+
+    public static Query buildPageQuery(String lastId, int limit) {
+        return new Query(QueryUtils.buildKeysetCriteria(null, null, lastId))
+                .with(Sort.by(Sort.Direction.DESC, TEXT_ID))
+                .limit(limit);
+    }
+
+    // An exact name sorts first among the names sharing its prefix, so it wins over longer matches.
+    public static Query buildNamePrefixQuery(String name) {
+        return new Query(Criteria.where(TEXT_NAME_NORMALIZED).regex(SearchUtils.prefixRegex(name)))
+                .with(Sort.by(Sort.Direction.ASC, TEXT_NAME_NORMALIZED))
+                .limit(1);
+    }
+
+    public static Query buildTextQuery(String text, int limit) {
+        return TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text))
+                .sortByScore()
+                .limit(limit);
+    }
+
+    public static Query buildSkuQuery(String sku) {
+        return Query.query(Criteria.where(TEXT_SKU).is(sku));
+    }
 
-        return reactiveMongoTemplate.find(query, Product.class);
+    private static BulkUpsertView upsertView(BulkWriteResult result, List<BulkWriteError> errors) {
+        return new BulkUpsertView(result.getUpserts().size(), result.getMatchedCount(),
+                errors.stream().collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getMessage, (first, second) -> first)));
     }
 }
@@ -0,0 +1,46 @@
+package org.gad.inventory_service.repository.custom.impl;
+
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.gad.inventory_service.model.Role;
+import org.gad.inventory_service.repository.custom.RoleRepositoryCustom;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import static org.gad.inventory_service.utils.Constants.*;
+
+@Repository
+@RequiredArgsConstructor
+public class RoleRepositoryCustomImpl implements RoleRepositoryCustom {
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    // Roles keep a copy of each permission, as users keep a copy of each role; both copies follow the permission.
+    @Override
+    public Mono<Long> renamePermission(String permissionName, String newName) {
+        Update update = new Update()
+                .set(TEXT_PERMISSIONS + ".$[permission]." + TEXT_NAME, newName)
+                .filterArray(Criteria.where("permission." + TEXT_NAME).is(permissionName));
+        return updateHolders(permissionName, update);
+    }
+
+    @Override
+    public Mono<Long> removePermission(String permissionName) {
+        Update update = new Update()
+                .pull(TEXT_PERMISSIONS, new Document(TEXT_NAME, permissionName));
+        return updateHolders(permissionName, update);
+    }
+
+    public static Query buildPermissionHoldersQuery(String permissionName) {
+        return Query.query(Criteria.where(TEXT_PERMISSIONS_NAME).is(permissionName));
+    }
+
+    private Mono<Long> updateHolders(String permissionName, Update update) {
+        return reactiveMongoTemplate.updateMulti(buildPermissionHoldersQuery(permissionName), update, Role.class)
+                .map(UpdateResult::getModifiedCount);
+    }
+}
@@ -1,19 +1,32 @@
 package org.gad.inventory_service.repository.custom.impl;
 
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
 import org.gad.inventory_service.model.Sale;
+import org.gad.inventory_service.model.projection.SaleProductView;
 import org.gad.inventory_service.repository.custom.SaleRepositoryCustom;
 import org.gad.inventory_service.utils.QueryUtils;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
-import static org.gad.inventory_service.utils.Constants.TEXT_SALE_DATE;
-import static org.gad.inventory_service.utils.Constants.TEXT_SALE_TOTAL_PRICE;
+import static org.gad.inventory_service.utils.Constants.*;
 
 @Repository
 @RequiredArgsConstructor
@@ -31,4 +44,94 @@ public class SaleRepositoryCustomImpl implements SaleRepositoryCustom {
         Query query = QueryUtils.buildOptionalRangeQuery(TEXT_SALE_TOTAL_PRICE, minPrice, maxPrice);
         return reactiveMongoTemplate.find(query, Sale.class);
     }
+
+    @Override
+    public Flux<SaleProductView> findWithProductByOptionalDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return aggregateWithProduct(QueryUtils.buildOptionalRangeCriteria(TEXT_SALE_DATE, startDate, endDate));
+    }
+
+    @Override
+    public Flux<SaleProductView> findWithProductByOptionalPriceTotalRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        return aggregateWithProduct(QueryUtils.buildOptionalRangeCriteria(TEXT_SALE_TOTAL_PRICE, minPrice, maxPrice));
+    }
+
+    @Override
+    public Mono<SaleProductView> findWithProductById(String id) {
+        return aggregateWithProduct(Criteria.where(TEXT_ID).is(id)).next();
+    }
+
+    @Override
+    public Flux<SaleProductView> findWithProductPage(LocalDateTime lastDate, String lastId, int limit) {
+        return aggregateWithProduct(QueryUtils.buildKeysetPageStages(TEXT_SALE_DATE, lastDate, lastId, limit));
+    }
+
+    @Override
+    public Mono<Long> sumQuantityByProductSince(String productId, LocalDateTime since) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(buildQuantitySinceCriteria(productId, since)),
+                Aggregation.group(TEXT_PRODUCT_ID).sum(TEXT_QUANTITY).as(TEXT_QUANTITY));
+
+        return reactiveMongoTemplate.aggregate(aggregation, Sale.class, Document.class)
+                .next()
+                .map(result -> result.get(TEXT_QUANTITY, Number.class).longValue())
+                .defaultIfEmpty(0L);
+    }
+
+    // One unordered bulk insert per chunk: the driver sends it as insert commands of up to maxWriteBatchSize
+    // documents and a failing document does not stop the others. Returns the failed positions with their errors;
+    // any other error leaves the outcome of every position unknown and is propagated.
+    @Override
+    public Mono<Map<Integer, String>> insertUnordered(List<Sale> sales) {
+        if (sales.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Sale.class)
+                .insert(sales)
+                .execute()
+                .map(result -> Map.<Integer, String>of())
+                .onErrorResume(error -> writeErrorsOf(error) != null, error -> Mono.just(failedPositions(writeErrorsOf(error))));
+    }
+
+    public static Criteria buildQuantitySinceCriteria(String productId, LocalDateTime since) {
+        Criteria criteria = Criteria.where(TEXT_PRODUCT_ID).is(productId);
+        if (since != null) {
+            criteria = criteria.and(TEXT_SALE_DATE).gt(since);
+        }
+        return criteria;
+    }
+
+    // The translator may wrap the driver's bulk error, e.g. in a DuplicateKeyException.
+    private static List<BulkWriteError> writeErrorsOf(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BulkOperationException bulkError) {
+                return bulkError.getErrors();
+            }
+            if (cause instanceof MongoBulkWriteException bulkError) {
+                return bulkError.getWriteErrors();
+            }
+        }
+        return null;
+    }
+
+    private static Map<Integer, String> failedPositions(List<BulkWriteError> errors) {
+        return errors.stream().collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getMessage, (first, second) -> first));
+    }
+
+    private Flux<SaleProductView> aggregateWithProduct(Criteria criteria) {
+        return aggregateWithProduct(List.of(Aggregation.match(criteria)));
+    }
+
+    private Flux<SaleProductView> aggregateWithProduct(List<AggregationOperation> filterStages) {
+        List<AggregationOperation> operations = new ArrayList<>(filterStages);
+        operations.addAll(QueryUtils.buildProductLookupStages(TEXT_PRODUCT_ID));
+        operations.add(Aggregation.project()
+                .and(TEXT_ID).as("idSale")
+                .and(TEXT_PRODUCT_ID).as("productId")
+                .and(TEXT_PRODUCT_NAME).as("productName")
+                .and("quantity").as("quantity")
+                .and(TEXT_SALE_TOTAL_PRICE).as("totalPrice")
+                .and(TEXT_SALE_DATE).as("saleDate"));
+
+        return reactiveMongoTemplate.aggregate(Aggregation.newAggregation(Sale.class, operations), SaleProductView.class);
+    }
 }
@@ -0,0 +1,121 @@
+package org.gad.inventory_service.repository.custom.impl;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import lombok.RequiredArgsConstructor;
+import org.gad.inventory_service.analytics.RollupWindow;
+import org.gad.inventory_service.model.RollupDimension;
+import org.gad.inventory_service.model.SalesRollup;
+import org.gad.inventory_service.model.projection.SalesTotalsView;
+import org.gad.inventory_service.repository.custom.SalesRollupRepositoryCustom;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.gad.inventory_service.utils.Constants.*;
+
+@Repository
+@RequiredArgsConstructor
+public class SalesRollupRepositoryCustomImpl implements SalesRollupRepositoryCustom {
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    // All buckets touched by one sale go out in a single unordered bulk write; $inc keeps concurrent sales on the
+    // same bucket from overwriting each other and negative deltas undo a sale. A new bucket is stamped with its
+    // creation time so a rebuild running at the same moment does not remove it as stale.
+    // Each delta is also kept under recent.<minute of its sale> so a rebuild can carry it past its cutoff. Once a bucket
+    // has been rebuilt up to a cutoff, a delta of an older sale whose write was stored before the rebuild read the
+    // sales is already in its totals: the filter stops matching, the upsert collides on _id and that duplicate key is
+    // dropped like any other already-applied update. Writes stored after the read, such as a later edit or delete of
+    // an old sale, still apply.
+    @Override
+    public Mono<Void> incrementBuckets(List<SalesRollup> deltas) {
+        if (deltas.isEmpty()) {
+            return Mono.empty();
+        }
+        ReactiveBulkOperations bulkOperations = reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SalesRollup.class);
+        deltas.forEach(delta -> {
+            String stamp = delta.getStamp() != null ? delta.getStamp() : SalesRollup.stampOf(Instant.now());
+            Instant writtenAt = delta.getWrittenAt() != null ? delta.getWrittenAt() : Instant.now();
+            String recent = TEXT_RECENT + "." + stamp + ".";
+            bulkOperations.upsert(
+                    buildBucketQuery(delta.getIdRollup(), stamp, writtenAt),
+                    new Update()
+                            .setOnInsert(TEXT_GRANULARITY, delta.getGranularity())
+                            .setOnInsert(TEXT_PERIOD, delta.getPeriod())
+                            .setOnInsert(TEXT_DIMENSION, delta.getDimension())
+                            .setOnInsert(TEXT_KEY, delta.getKey())
+                            .setOnInsert(TEXT_REBUILT_AT, Instant.now())
+                            .inc(TEXT_COUNT, delta.getCount())
+                            .inc(TEXT_QUANTITY, delta.getQuantity())
+                            .inc(TEXT_REVENUE, delta.getRevenue())
+                            .inc(recent + TEXT_COUNT, delta.getCount())
+                            .inc(recent + TEXT_QUANTITY, delta.getQuantity())
+                            .inc(recent + TEXT_REVENUE, delta.getRevenue()));
+        });
+        return bulkOperations.execute()
+                .then()
+                .onErrorResume(SalesRollupRepositoryCustomImpl::onlyFencedOut, error -> Mono.empty());
+    }
+
+    @Override
+    public Flux<SalesRollup> findBuckets(RollupDimension dimension, String key, List<RollupWindow> windows) {
+        return reactiveMongoTemplate.find(buildBucketsQuery(dimension, key, windows), SalesRollup.class);
+    }
+
+    @Override
+    public Flux<SalesTotalsView> sumByKey(RollupDimension dimension, List<RollupWindow> windows, int limit) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(buildWindowsCriteria(dimension, windows)),
+                Aggregation.group(TEXT_KEY)
+                        .sum(TEXT_COUNT).as(TEXT_COUNT)
+                        .sum(TEXT_QUANTITY).as(TEXT_QUANTITY)
+                        .sum(TEXT_REVENUE).as(TEXT_REVENUE),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, TEXT_REVENUE)),
+                Aggregation.limit(limit),
+                Aggregation.project(TEXT_COUNT, TEXT_QUANTITY, TEXT_REVENUE).and(TEXT_KEY).previousOperation());
+
+        return reactiveMongoTemplate.aggregate(aggregation, SalesRollup.class, SalesTotalsView.class);
+    }
+
+    public static Query buildBucketQuery(String idRollup, String stamp, Instant writtenAt) {
+        return Query.query(Criteria.where(TEXT_ID).is(idRollup)
+                .orOperator(Criteria.where(TEXT_CUTOFF).is(null),
+                        Criteria.where(TEXT_CUTOFF).lte(stamp),
+                        Criteria.where(TEXT_REBUILT_AT).lt(writtenAt)));
+    }
+
+    public static Query buildBucketsQuery(RollupDimension dimension, String key, List<RollupWindow> windows) {
+        return Query.query(Criteria.where(TEXT_DIMENSION).is(dimension)
+                .and(TEXT_KEY).is(key)
+                .orOperator(windowCriteria(windows)));
+    }
+
+    public static Criteria buildWindowsCriteria(RollupDimension dimension, List<RollupWindow> windows) {
+        return Criteria.where(TEXT_DIMENSION).is(dimension).orOperator(windowCriteria(windows));
+    }
+
+    private static boolean onlyFencedOut(Throwable error) {
+        Throwable cause = error instanceof DuplicateKeyException ? error.getCause() : error;
+        return cause instanceof MongoBulkWriteException bulkError
+                && bulkError.getWriteErrors().stream().allMatch(writeError -> writeError.getCategory() == ErrorCategory.DUPLICATE_KEY);
+    }
+
+    private static Criteria[] windowCriteria(List<RollupWindow> windows) {
+        return windows.stream()
+                .map(window -> Criteria.where(TEXT_GRANULARITY).is(window.granularity())
+                        .and(TEXT_PERIOD).gte(window.fromPeriod()).lte(window.toPeriod()))
+                .toArray(Criteria[]::new);
+    }
+}
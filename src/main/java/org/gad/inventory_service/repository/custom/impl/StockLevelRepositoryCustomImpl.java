@@ -0,0 +1,145 @@
+package org.gad.inventory_service.repository.custom.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.gad.inventory_service.model.StockLevel;
+import org.gad.inventory_service.repository.custom.StockLevelRepositoryCustom;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static org.gad.inventory_service.utils.Constants.*;
+
+@Repository
+@RequiredArgsConstructor
+public class StockLevelRepositoryCustomImpl implements StockLevelRepositoryCustom {
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    // Movements dated at or before the last stocktaking are already part of that count, so they only apply
+    // while the level's stocktaking date is older than the movement.
+    @Override
+    public Mono<Void> incrementQuantity(String productId, long delta, LocalDateTime occurredAt) {
+        Update update = new Update()
+                .inc(TEXT_QUANTITY, delta)
+                .inc(TEXT_VERSION, 1)
+                .set(TEXT_UPDATED_AT, LocalDateTime.now());
+        return upsertIgnoringStale(buildMovementQuery(productId, occurredAt), update);
+    }
+
+    @Override
+    public Mono<Void> resetQuantity(String productId, long quantity, LocalDateTime countedAt) {
+        Update update = new Update()
+                .set(TEXT_QUANTITY, quantity)
+                .set(TEXT_LAST_STOCKTAKING_DATE, countedAt)
+                .inc(TEXT_VERSION, 1)
+                .set(TEXT_UPDATED_AT, LocalDateTime.now());
+        return upsertIgnoringStale(buildCountQuery(productId, countedAt), update);
+    }
+
+    // Check and decrement happen in one findAndModify on the product's document, so concurrent tills serialise on
+    // the server and can never take the level below zero. The units stay in reserved until the sale is written.
+    // Empty when there is not enough stock.
+    @Override
+    public Mono<StockLevel> reserveQuantity(String productId, long quantity) {
+        return reserveQuantity(productId, quantity, null);
+    }
+
+    // With a date, under the same guard as incrementQuantity: a level counted at or after it is also left alone.
+    @Override
+    public Mono<StockLevel> reserveQuantity(String productId, long quantity, LocalDateTime occurredAt) {
+        Update update = new Update()
+                .inc(TEXT_QUANTITY, -quantity)
+                .inc(TEXT_RESERVED, quantity)
+                .inc(TEXT_VERSION, 1)
+                .set(TEXT_UPDATED_AT, LocalDateTime.now());
+        return reactiveMongoTemplate.findAndModify(buildReserveQuery(productId, quantity, occurredAt), update,
+                FindAndModifyOptions.options().returnNew(true), StockLevel.class);
+    }
+
+    // The sale is stored, so its units are now counted by the sales history instead of by reserved.
+    @Override
+    public Mono<Void> confirmReservation(String productId, long quantity) {
+        Update update = new Update()
+                .inc(TEXT_RESERVED, -quantity)
+                .inc(TEXT_VERSION, 1)
+                .set(TEXT_UPDATED_AT, LocalDateTime.now());
+        return reactiveMongoTemplate.updateFirst(buildLevelQuery(productId), update, StockLevel.class)
+                .then();
+    }
+
+    @Override
+    public Mono<Void> cancelReservation(String productId, long quantity) {
+        Update update = new Update()
+                .inc(TEXT_QUANTITY, quantity)
+                .inc(TEXT_RESERVED, -quantity)
+                .inc(TEXT_VERSION, 1)
+                .set(TEXT_UPDATED_AT, LocalDateTime.now());
+        return reactiveMongoTemplate.updateFirst(buildLevelQuery(productId), update, StockLevel.class)
+                .then();
+    }
+
+    // Compare-and-set on version: false when any other write touched the level after it was read, or when a level
+    // was created after it was found missing. Levels written before versioning have no version field, read as 0.
+    @Override
+    public Mono<Boolean> replaceIfUnchanged(StockLevel rebuilt, StockLevel seen) {
+        if (seen == null) {
+            rebuilt.setVersion(1L);
+            return reactiveMongoTemplate.insert(rebuilt)
+                    .thenReturn(true)
+                    .onErrorResume(DuplicateKeyException.class, error -> Mono.just(false));
+        }
+        Update update = new Update()
+                .set(TEXT_QUANTITY, rebuilt.getQuantity())
+                .set(TEXT_RESERVED, rebuilt.getReserved())
+                .set(TEXT_LAST_STOCKTAKING_DATE, rebuilt.getLastStocktakingDate())
+                .set(TEXT_UPDATED_AT, rebuilt.getUpdatedAt())
+                .inc(TEXT_VERSION, 1);
+        return reactiveMongoTemplate.updateFirst(buildUnchangedQuery(rebuilt.getProductId(), seen.getVersion()), update, StockLevel.class)
+                .map(result -> result.getMatchedCount() == 1);
+    }
+
+    public static Query buildMovementQuery(String productId, LocalDateTime occurredAt) {
+        return Query.query(Criteria.where(TEXT_ID).is(productId)
+                .orOperator(Criteria.where(TEXT_LAST_STOCKTAKING_DATE).lt(occurredAt),
+                        Criteria.where(TEXT_LAST_STOCKTAKING_DATE).isNull()));
+    }
+
+    public static Query buildCountQuery(String productId, LocalDateTime countedAt) {
+        return Query.query(Criteria.where(TEXT_ID).is(productId)
+                .orOperator(Criteria.where(TEXT_LAST_STOCKTAKING_DATE).lte(countedAt),
+                        Criteria.where(TEXT_LAST_STOCKTAKING_DATE).isNull()));
+    }
+
+    public static Query buildReserveQuery(String productId, long quantity, LocalDateTime occurredAt) {
+        Criteria criteria = Criteria.where(TEXT_ID).is(productId)
+                .and(TEXT_QUANTITY).gte(quantity);
+        if (occurredAt != null) {
+            criteria = criteria.orOperator(Criteria.where(TEXT_LAST_STOCKTAKING_DATE).lt(occurredAt),
+                    Criteria.where(TEXT_LAST_STOCKTAKING_DATE).isNull());
+        }
+        return Query.query(criteria);
+    }
+
+    public static Query buildLevelQuery(String productId) {
+        return Query.query(Criteria.where(TEXT_ID).is(productId));
+    }
+
+    public static Query buildUnchangedQuery(String productId, long version) {
+        return Query.query(Criteria.where(TEXT_ID).is(productId)
+                .and(TEXT_VERSION).is(version == 0L ? null : version));
+    }
+
+    // When the level exists but a newer stocktaking fails the date guard, the upsert tries to insert a second
+    // document with the same _id; that duplicate key is the "nothing to apply" outcome.
+    private Mono<Void> upsertIgnoringStale(Query query, Update update) {
+        return reactiveMongoTemplate.upsert(query, update, StockLevel.class)
+                .onErrorResume(DuplicateKeyException.class, error -> Mono.empty())
+                .then();
+    }
+}
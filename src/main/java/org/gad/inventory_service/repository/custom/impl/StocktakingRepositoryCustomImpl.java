@@ -2,16 +2,23 @@ package org.gad.inventory_service.repository.custom.impl;
 
 import lombok.RequiredArgsConstructor;
 import org.gad.inventory_service.model.Stocktaking;
+import org.gad.inventory_service.model.projection.StocktakingProductView;
 import org.gad.inventory_service.repository.custom.StocktakingRepositoryCustom;
 import org.gad.inventory_service.utils.QueryUtils;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
-import static org.gad.inventory_service.utils.Constants.TEXT_STOCKTAKING_DATE;
+import static org.gad.inventory_service.utils.Constants.*;
 
 @Repository
 @RequiredArgsConstructor
@@ -23,4 +30,37 @@ public class StocktakingRepositoryCustomImpl implements StocktakingRepositoryCus
         Query query = QueryUtils.buildOptionalRangeQuery(TEXT_STOCKTAKING_DATE, startDate, endDate);
         return reactiveMongoTemplate.find(query, Stocktaking.class);
     }
+
+    @Override
+    public Flux<StocktakingProductView> findWithProductByOptionalDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return aggregateWithProduct(QueryUtils.buildOptionalRangeCriteria(TEXT_STOCKTAKING_DATE, startDate, endDate));
+    }
+
+    @Override
+    public Mono<StocktakingProductView> findWithProductById(String id) {
+        return aggregateWithProduct(Criteria.where(TEXT_ID).is(id)).next();
+    }
+
+    @Override
+    public Flux<StocktakingProductView> findWithProductPage(LocalDateTime lastDate, String lastId, int limit) {
+        return aggregateWithProduct(QueryUtils.buildKeysetPageStages(TEXT_STOCKTAKING_DATE, lastDate, lastId, limit));
+    }
+
+    private Flux<StocktakingProductView> aggregateWithProduct(Criteria criteria) {
+        return aggregateWithProduct(List.of(Aggregation.match(criteria)));
+    }
+
+    private Flux<StocktakingProductView> aggregateWithProduct(List<AggregationOperation> filterStages) {
+        List<AggregationOperation> operations = new ArrayList<>(filterStages);
+        operations.addAll(QueryUtils.buildProductLookupStages(TEXT_PRODUCT_ID));
+        operations.add(Aggregation.project()
+                .and(TEXT_ID).as("idStocktaking")
+                .and(TEXT_PRODUCT_ID).as("productId")
+                .and(TEXT_PRODUCT_NAME).as("productName")
+                .and("quantity").as("quantity")
+                .and(TEXT_STOCKTAKING_DATE).as("stocktakingDate")
+                .and(TEXT_PERFORMED_BY).as("performedBy"));
+
+        return reactiveMongoTemplate.aggregate(Aggregation.newAggregation(Stocktaking.class, operations), StocktakingProductView.class);
+    }
 }
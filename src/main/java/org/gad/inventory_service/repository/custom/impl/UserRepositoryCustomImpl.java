@@ -1,11 +1,16 @@
 package org.gad.inventory_service.repository.custom.impl;
 
+import com.mongodb.client.result.UpdateResult;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.gad.inventory_service.model.Role;
 import org.gad.inventory_service.model.User;
 import org.gad.inventory_service.repository.custom.UserRepositoryCustom;
+import org.gad.inventory_service.utils.SearchUtils;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 import reactor.core.publisher.Flux;
@@ -13,7 +18,8 @@ import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
+
+import static org.gad.inventory_service.utils.Constants.*;
 
 @Repository
 @RequiredArgsConstructor
@@ -23,19 +29,27 @@ public class UserRepositoryCustomImpl implements UserRepositoryCustom {
 
     @Override
     public Flux<User> findUsersByNameLastName(String name, String lastName) {
+        return reactiveMongoTemplate.find(buildNameLastNameQuery(name, lastName), User.class);
+    }
+
+    @Override
+    public Mono<User> findUserByUsernameEmail(String username, String email) {
+        return reactiveMongoTemplate.findOne(buildUsernameEmailQuery(username, email), User.class);
+    }
+
+    public static Query buildNameLastNameQuery(String name, String lastName) {
         Query query = new Query();
         if (name != null){
-            query.addCriteria(Criteria.where("name").regex(".*" + Pattern.quote(name.trim()) + ".*", "i"));
+            query.addCriteria(Criteria.where(TEXT_NAME_NORMALIZED).regex(SearchUtils.prefixRegex(name)));
         }
 
         if (lastName != null) {
-            query.addCriteria(Criteria.where("lastName").regex(".*" + Pattern.quote(lastName.trim()) + ".*", "i"));
+            query.addCriteria(Criteria.where(TEXT_LAST_NAME_NORMALIZED).regex(SearchUtils.prefixRegex(lastName)));
         }
-        return reactiveMongoTemplate.find(query, User.class);
+        return query;
     }
 
-    @Override
-    public Mono<User> findUserByUsernameEmail(String username, String email) {
+    public static Query buildUsernameEmailQuery(String username, String email) {
         Query query = new Query();
         if (StringUtils.hasText(username)) {
             query.addCriteria(Criteria.where("username").is(username.trim()));
@@ -44,6 +58,56 @@ public class UserRepositoryCustomImpl implements UserRepositoryCustom {
         if (StringUtils.hasText(email)) {
             query.addCriteria(Criteria.where("email").is(email.trim()));
         }
-        return reactiveMongoTemplate.findOne(query, User.class);
+        return query;
+    }
+
+    // Users carry a copy of every role they hold, and the JWTs issued to them carry the authorities from it. Each
+    // change below rewrites the copies and bumps token_version in the same write, so tokens minted from the old
+    // copy fail the version check and the next login picks up the new authorities.
+    @Override
+    public Mono<Long> replaceEmbeddedRole(String roleName, Role role) {
+        Update update = new Update()
+                .set(TEXT_ROLES + ".$[role]", role)
+                .filterArray(Criteria.where("role." + TEXT_NAME).is(roleName))
+                .inc(TEXT_TOKEN_VERSION, 1);
+        return revokeTokens(buildRoleHoldersQuery(roleName), update);
+    }
+
+    @Override
+    public Mono<Long> removeEmbeddedRole(String roleName) {
+        Update update = new Update()
+                .pull(TEXT_ROLES, new Document(TEXT_NAME, roleName))
+                .inc(TEXT_TOKEN_VERSION, 1);
+        return revokeTokens(buildRoleHoldersQuery(roleName), update);
+    }
+
+    @Override
+    public Mono<Long> renameEmbeddedPermission(String permissionName, String newName) {
+        Update update = new Update()
+                .set(TEXT_ROLES + ".$[]." + TEXT_PERMISSIONS + ".$[permission]." + TEXT_NAME, newName)
+                .filterArray(Criteria.where("permission." + TEXT_NAME).is(permissionName))
+                .inc(TEXT_TOKEN_VERSION, 1);
+        return revokeTokens(buildPermissionHoldersQuery(permissionName), update);
+    }
+
+    @Override
+    public Mono<Long> removeEmbeddedPermission(String permissionName) {
+        Update update = new Update()
+                .pull(TEXT_ROLES + ".$[]." + TEXT_PERMISSIONS, new Document(TEXT_NAME, permissionName))
+                .inc(TEXT_TOKEN_VERSION, 1);
+        return revokeTokens(buildPermissionHoldersQuery(permissionName), update);
+    }
+
+    public static Query buildRoleHoldersQuery(String roleName) {
+        return Query.query(Criteria.where(TEXT_ROLES_NAME).is(roleName));
+    }
+
+    public static Query buildPermissionHoldersQuery(String permissionName) {
+        return Query.query(Criteria.where(TEXT_ROLES_PERMISSIONS_NAME).is(permissionName));
+    }
+
+    private Mono<Long> revokeTokens(Query holders, Update update) {
+        return reactiveMongoTemplate.updateMulti(holders, update, User.class)
+                .map(UpdateResult::getModifiedCount);
     }
 }
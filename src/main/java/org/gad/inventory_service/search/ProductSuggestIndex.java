@@ -0,0 +1,108 @@
+package org.gad.inventory_service.search;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.gad.inventory_service.event.ProductChangedEvent;
+import org.gad.inventory_service.model.Product;
+import org.gad.inventory_service.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.gad.inventory_service.utils.Constants.*;
+
+// Type-ahead over active product names. Local writes are applied as they happen through ProductChangedEvent;
+// the periodic rebuild picks up writes made by other instances or outside ProductServiceImpl. Local writes that
+// land while a rebuild is reading are recorded and replayed onto the new index before it replaces the old one,
+// so a rebuild whose read missed them does not undo them.
+@Slf4j
+@Component
+public class ProductSuggestIndex {
+    private final ProductRepository productRepository;
+    private final Duration rebuildInterval;
+    private final AtomicReference<TrigramIndex> index = new AtomicReference<>(new TrigramIndex());
+    private final Object swapLock = new Object();
+    private List<ProductChangedEvent> changesDuringRebuild;
+    private Disposable rebuilds;
+
+    public ProductSuggestIndex(ProductRepository productRepository,
+                               @Value("${suggest.rebuild-interval}") Duration rebuildInterval) {
+        this.productRepository = productRepository;
+        this.rebuildInterval = rebuildInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuilds = Flux.interval(Duration.ZERO, rebuildInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> rebuild()
+                        .onErrorResume(error -> {
+                            log.error(ERROR_REBUILDING_SUGGEST_INDEX, error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (rebuilds != null) {
+            rebuilds.dispose();
+        }
+    }
+
+    public Mono<Void> rebuild() {
+        return Mono.fromRunnable(() -> {
+                    synchronized (swapLock) {
+                        changesDuringRebuild = new ArrayList<>();
+                    }
+                })
+                .thenMany(productRepository.findAll())
+                .filter(Product::isActive)
+                .collect(TrigramIndex::new, (built, product) -> built.upsert(product.getIdProduct(), product.getName()))
+                .doOnNext(built -> {
+                    synchronized (swapLock) {
+                        changesDuringRebuild.forEach(change -> apply(built, change));
+                        changesDuringRebuild = null;
+                        index.set(built);
+                    }
+                    log.info(SUGGEST_INDEX_REBUILT, built.size());
+                })
+                .doFinally(signal -> {
+                    synchronized (swapLock) {
+                        changesDuringRebuild = null;
+                    }
+                })
+                .then();
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        synchronized (swapLock) {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+            apply(index.get(), event);
+        }
+    }
+
+    public List<ProductSuggestion> suggest(String query, int limit) {
+        return index.get().suggest(query, limit);
+    }
+
+    private static void apply(TrigramIndex target, ProductChangedEvent event) {
+        if (event.isDeletion() || !event.product().isActive()) {
+            target.remove(event.productId());
+        } else {
+            target.upsert(event.productId(), event.product().getName());
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package org.gad.inventory_service.search;
+
+public record ProductSuggestion(String productId, String name, double score) {
+}
@@ -0,0 +1,234 @@
+package org.gad.inventory_service.search;
+
+import org.gad.inventory_service.utils.SearchUtils;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Inverted index from name trigrams to product slots. Postings are sorted int arrays, so a lookup touches
+// only the products sharing a trigram with the query, and its scratch space is sized by those postings rather
+// than by the catalogue.
+final class TrigramIndex {
+    private static final String WORD_PADDING = "  ";
+    private static final double PREFIX_BONUS = 1.0;
+    private static final double WORD_PREFIX_BONUS = 0.5;
+    private static final Comparator<ProductSuggestion> RANKING = Comparator
+            .comparingDouble(ProductSuggestion::score).reversed()
+            .thenComparingInt(suggestion -> suggestion.name().length())
+            .thenComparing(ProductSuggestion::name);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<String, Integer> slotById = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    void upsert(String productId, String name) {
+        String normalized = SearchUtils.normalize(name);
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+            if (normalized == null || normalized.isEmpty()) {
+                return;
+            }
+            Entry entry = new Entry(productId, name, normalized, trigrams(normalized, true));
+            int slot = freeSlots.isEmpty() ? entries.size() : freeSlots.pop();
+            if (slot == entries.size()) {
+                entries.add(entry);
+            } else {
+                entries.set(slot, entry);
+            }
+            slotById.put(productId, slot);
+            for (long trigram : entry.trigrams()) {
+                postings.computeIfAbsent(trigram, key -> new Postings()).add(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String productId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Scores each candidate by the share of query trigrams it contains (at least half are required, which
+    // tolerates a typo), boosts names or words starting with the query, and keeps the best `limit` in a heap.
+    List<ProductSuggestion> suggest(String query, int limit) {
+        String normalizedQuery = SearchUtils.normalize(query);
+        if (normalizedQuery == null || normalizedQuery.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        long[] queryTrigrams = trigrams(normalizedQuery, false);
+        int minMatches = Math.max(1, (queryTrigrams.length + 1) / 2);
+        String wordPrefix = " " + normalizedQuery;
+
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[queryTrigrams.length];
+            int postingCount = 0;
+            for (int i = 0; i < queryTrigrams.length; i++) {
+                lists[i] = postings.get(queryTrigrams[i]);
+                postingCount += lists[i] == null ? 0 : lists[i].size;
+            }
+            SlotCounter matches = new SlotCounter(postingCount);
+            for (Postings list : lists) {
+                if (list == null) {
+                    continue;
+                }
+                for (int i = 0; i < list.size; i++) {
+                    matches.increment(list.slots[i]);
+                }
+            }
+
+            PriorityQueue<ProductSuggestion> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            for (int i = 0; i < matches.capacity(); i++) {
+                int count = matches.countAt(i);
+                if (count < minMatches) {
+                    continue;
+                }
+                Entry entry = entries.get(matches.slotAt(i));
+                double score = (double) count / queryTrigrams.length;
+                if (entry.normalized().startsWith(normalizedQuery)) {
+                    score += PREFIX_BONUS;
+                } else if (entry.normalized().contains(wordPrefix)) {
+                    score += WORD_PREFIX_BONUS;
+                }
+                best.offer(new ProductSuggestion(entry.productId(), entry.name(), score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            List<ProductSuggestion> ranked = new ArrayList<>(best);
+            ranked.sort(RANKING);
+            return ranked;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(String productId) {
+        Integer slot = slotById.remove(productId);
+        if (slot == null) {
+            return;
+        }
+        for (long trigram : entries.get(slot).trigrams()) {
+            Postings list = postings.get(trigram);
+            list.remove(slot);
+            if (list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+        entries.set(slot, null);
+        freeSlots.push(slot);
+    }
+
+    // Each word is padded with two leading blanks so its first letters form trigrams of their own, which is
+    // what makes one- and two-letter prefixes searchable. Indexed words also get a trailing blank; the query's
+    // last word does not, since the user may still be typing it.
+    static long[] trigrams(String normalized, boolean complete) {
+        long[] codes = new long[16];
+        int count = 0;
+        for (String word : normalized.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = WORD_PADDING + word + (complete ? " " : "");
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                if (count == codes.length) {
+                    codes = Arrays.copyOf(codes, count * 2);
+                }
+                codes[count++] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+            }
+        }
+        long[] sorted = Arrays.copyOf(codes, count);
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, distinct);
+    }
+
+    private record Entry(String productId, String name, String normalized, long[] trigrams) {
+    }
+
+    // Match count per candidate slot, open addressing with linear probing. Sized for twice the postings the query
+    // touches, which bounds the candidates, so the table never fills and needs no resize.
+    private static final class SlotCounter {
+        private final int[] slots;
+        private final int[] counts;
+        private final int mask;
+
+        SlotCounter(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(2, expected) * 2 - 1) << 1;
+            this.slots = new int[capacity];
+            this.counts = new int[capacity];
+            this.mask = capacity - 1;
+        }
+
+        void increment(int slot) {
+            int i = (slot * 0x9E3779B9) & mask;
+            while (counts[i] != 0 && slots[i] != slot) {
+                i = (i + 1) & mask;
+            }
+            slots[i] = slot;
+            counts[i]++;
+        }
+
+        int capacity() {
+            return slots.length;
+        }
+
+        int slotAt(int i) {
+            return slots[i];
+        }
+
+        int countAt(int i) {
+            return counts[i];
+        }
+    }
+
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            int position = Arrays.binarySearch(slots, 0, size, slot);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            System.arraycopy(slots, insertAt, slots, insertAt + 1, size - insertAt);
+            slots[insertAt] = slot;
+            size++;
+        }
+
+        void remove(int slot) {
+            int position = Arrays.binarySearch(slots, 0, size, slot);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(slots, position + 1, slots, position, size - position - 1);
+            size--;
+        }
+    }
+}
@@ -1,10 +1,9 @@
 package org.gad.inventory_service.service;
 
 import org.gad.inventory_service.dto.SaleDTO;
-import reactor.core.publisher.Mono;
-
-import java.util.List;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
 
 public interface ExcelReportService {
-    Mono<byte[]> generateSalesReport(List<SaleDTO> sales);
+    Flux<DataBuffer> generateSalesReport(Flux<SaleDTO> sales);
 }
@@ -1,7 +1,9 @@
 package org.gad.inventory_service.service;
 
 import org.gad.inventory_service.dto.request.CreateProductRequest;
+import org.gad.inventory_service.dto.CursorPageDTO;
 import org.gad.inventory_service.dto.ProductDTO;
+import org.gad.inventory_service.dto.ProductSuggestionDTO;
 import org.gad.inventory_service.dto.request.UpdateProductRequest;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -9,11 +11,14 @@ import reactor.core.publisher.Mono;
 
 public interface ProductService {
     Flux<ProductDTO> findAllProducts();
+    Mono<CursorPageDTO<ProductDTO>> findProductsPage(String cursor, int limit);
     Mono<ProductDTO> findProductById(String id);
     Flux<ProductDTO> findProductsByCriteria(String name,
                                   String categoryName,
                                   String brandName,
                                   String providerName);
+    Flux<ProductDTO> searchProducts(String text, int limit);
+    Flux<ProductSuggestionDTO> suggestProducts(String query, int limit);
     Mono<ProductDTO> createProduct(CreateProductRequest createProductRequest);
     Mono<ProductDTO> updateProduct(String id, UpdateProductRequest updateProductRequest);
     Mono<Void> deleteProductById(String id);
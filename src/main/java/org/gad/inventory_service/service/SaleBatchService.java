@@ -0,0 +1,10 @@
+package org.gad.inventory_service.service;
+
+import org.gad.inventory_service.dto.SaleBatchResultDTO;
+import org.gad.inventory_service.dto.request.CreateSaleRequest;
+import reactor.core.publisher.Flux;
+
+
+public interface SaleBatchService {
+    Flux<SaleBatchResultDTO> createSales(Flux<CreateSaleRequest> requests);
+}
@@ -1,5 +1,6 @@
 package org.gad.inventory_service.service;
 
+import org.gad.inventory_service.dto.CursorPageDTO;
 import org.gad.inventory_service.dto.SaleDTO;
 import org.gad.inventory_service.dto.request.CreateSaleRequest;
 import org.gad.inventory_service.dto.request.UpdateSaleRequest;
@@ -10,6 +11,7 @@ import java.math.BigDecimal;
 
 public interface SaleService {
     Flux<SaleDTO> getAllSales();
+    Mono<CursorPageDTO<SaleDTO>> getSalesPage(String cursor, int limit);
     Flux<SaleDTO> getSaleByNameProduct(String nameProduct);
     Flux<SaleDTO> getSaleByTotalPriceRange(BigDecimal minPrice, BigDecimal maxPrice);
     Flux<SaleDTO> getSaleByDateRange(String startDate, String endDate);
@@ -0,0 +1,23 @@
+package org.gad.inventory_service.service;
+
+import org.gad.inventory_service.analytics.TopSellersWindow;
+import org.gad.inventory_service.dto.SalesStatsDTO;
+import org.gad.inventory_service.dto.TopSellerDTO;
+import org.gad.inventory_service.model.Product;
+import org.gad.inventory_service.model.RollupDimension;
+import org.gad.inventory_service.model.Sale;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+
+public interface SalesAnalyticsService {
+    Mono<Void> recordSale(Sale sale, Product product);
+    Mono<Void> recordSales(List<Sale> sales, Map<String, Product> productsById);
+    Mono<Void> revertSale(Sale sale);
+    Mono<SalesStatsDTO> getTotals(String from, String to, RollupDimension dimension, String key);
+    Flux<SalesStatsDTO> getBreakdown(String from, String to, RollupDimension dimension, int limit);
+    Flux<TopSellerDTO> getTopSellers(TopSellersWindow window, int limit, long lowStockThreshold);
+}
@@ -0,0 +1,22 @@
+package org.gad.inventory_service.service;
+
+import org.gad.inventory_service.dto.StockLevelDTO;
+import org.gad.inventory_service.model.Sale;
+import org.gad.inventory_service.model.Stocktaking;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+
+public interface StockLevelService {
+    Mono<StockLevelDTO> findStockByProductId(String productId);
+    Mono<Void> reserve(String productId, int quantity);
+    Mono<Integer> reserve(String productId, int quantity, LocalDateTime soldAt);
+    Mono<Void> confirmReservation(String productId, int quantity);
+    Mono<Void> cancelReservation(String productId, int quantity);
+    Mono<Void> release(String productId, int quantity, LocalDateTime soldAt);
+    Mono<Void> revertSale(Sale sale);
+    Mono<Void> applyStocktaking(Stocktaking stocktaking);
+    Mono<Void> reconcileProduct(String productId);
+    Mono<Long> reconcileAll();
+}
@@ -0,0 +1,9 @@
+package org.gad.inventory_service.service;
+
+import org.gad.inventory_service.dto.StocktakingImportProgressDTO;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+
+public interface StocktakingImportService {
+    Flux<StocktakingImportProgressDTO> importStocktaking(String filename, Flux<DataBuffer> content);
+}
@@ -1,5 +1,6 @@
 package org.gad.inventory_service.service;
 
+import org.gad.inventory_service.dto.CursorPageDTO;
 import org.gad.inventory_service.dto.StocktakingDTO;
 import org.gad.inventory_service.dto.request.CreateStocktakingRequest;
 import org.gad.inventory_service.dto.request.UpdateStocktakingRequest;
@@ -9,6 +10,7 @@ import reactor.core.publisher.Mono;
 
 public interface StocktakingService {
     Flux<StocktakingDTO> findAllStocktaking();
+    Mono<CursorPageDTO<StocktakingDTO>> findStocktakingPage(String cursor, int limit);
     Flux<StocktakingDTO> findAllStocktakingByDateBetween(String dateStart, String dateEnd);
     Flux<StocktakingDTO> findAllStocktakingByProductName(String productName);
     Mono<StocktakingDTO> findStocktakingById(String id);
@@ -5,16 +5,19 @@ import lombok.extern.slf4j.Slf4j;
 import org.gad.inventory_service.dto.BrandDTO;
 import org.gad.inventory_service.dto.request.CreateBrandRequest;
 import org.gad.inventory_service.dto.request.UpdateBrandRequest;
+import org.gad.inventory_service.event.ReferenceDataChangedEvent;
 import org.gad.inventory_service.exception.BrandNotFoundException;
 import org.gad.inventory_service.model.Brand;
 import org.gad.inventory_service.repository.BrandRepository;
 import org.gad.inventory_service.service.BrandService;
 import org.gad.inventory_service.utils.Constants;
 import org.gad.inventory_service.utils.Mappers;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import static org.gad.inventory_service.event.ReferenceDataChangedEvent.ReferenceType.BRAND;
 import static org.gad.inventory_service.utils.Constants.*;
 
 
@@ -23,6 +26,7 @@ import static org.gad.inventory_service.utils.Constants.*;
 @RequiredArgsConstructor
 public class BrandServiceImpl implements BrandService {
     private final BrandRepository brandRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Mono<BrandDTO> findBrandById(String id) {
@@ -52,6 +56,7 @@ public class BrandServiceImpl implements BrandService {
 
         return brandRepository.save(brandToSave)
                 .map(Mappers::brandToDTO)
+                .doOnSuccess(changed -> eventPublisher.publishEvent(new ReferenceDataChangedEvent(BRAND)))
                 .doOnError(error -> log.error(ERROR_SAVING_BRAND, error.getMessage()));
     }
 
@@ -65,6 +70,7 @@ public class BrandServiceImpl implements BrandService {
                     return brandRepository.save(brand);
                 })
                 .map(Mappers::brandToDTO)
+                .doOnSuccess(changed -> eventPublisher.publishEvent(new ReferenceDataChangedEvent(BRAND)))
                 .doOnError(error -> log.error(ERROR_UPDATING_BRAND, error.getMessage()));
     }
 
@@ -72,6 +78,7 @@ public class BrandServiceImpl implements BrandService {
     public Mono<Void> deleteBrandById(String id) {
         return findById(id)
                 .flatMap(brand -> brandRepository.deleteById(brand.getIdBrand()))
+                .doOnSuccess(changed -> eventPublisher.publishEvent(new ReferenceDataChangedEvent(BRAND)))
                 .doOnError(error -> log.error(ERROR_DELETING_BRAND, error.getMessage()));
     }
 
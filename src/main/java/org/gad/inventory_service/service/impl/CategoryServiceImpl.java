@@ -5,16 +5,19 @@ import lombok.extern.slf4j.Slf4j;
 import org.gad.inventory_service.dto.CategoryDTO;
 import org.gad.inventory_service.dto.request.CreateCategoryRequest;
 import org.gad.inventory_service.dto.request.UpdateCategoryRequest;
+import org.gad.inventory_service.event.ReferenceDataChangedEvent;
 import org.gad.inventory_service.exception.CategoryNotFoundException;
 import org.gad.inventory_service.model.Category;
 import org.gad.inventory_service.repository.CategoryRepository;
 import org.gad.inventory_service.service.CategoryService;
 import org.gad.inventory_service.utils.Constants;
 import org.gad.inventory_service.utils.Mappers;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import static org.gad.inventory_service.event.ReferenceDataChangedEvent.ReferenceType.CATEGORY;
 import static org.gad.inventory_service.utils.Constants.*;
 
 @Slf4j
@@ -22,6 +25,7 @@ import static org.gad.inventory_service.utils.Constants.*;
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Mono<CategoryDTO> findCategoryById(String id) {
@@ -51,6 +55,7 @@ public class CategoryServiceImpl implements CategoryService {
 
         return categoryRepository.save(category)
                 .map(Mappers::categoryToDTO)
+                .doOnSuccess(changed -> eventPublisher.publishEvent(new ReferenceDataChangedEvent(CATEGORY)))
                 .doOnError(error -> log.error(CATEGORY_SAVING_BRAND, error.getMessage()));
     }
 
@@ -64,6 +69,7 @@ public class CategoryServiceImpl implements CategoryService {
                     return categoryRepository.save(category);
                 })
                 .map(Mappers::categoryToDTO)
+                .doOnSuccess(changed -> eventPublisher.publishEvent(new ReferenceDataChangedEvent(CATEGORY)))
                 .doOnError(error -> log.error(CATEGORY_UPDATING_BRAND, error.getMessage()));
     }
 
@@ -73,6 +79,7 @@ public class CategoryServiceImpl implements CategoryService {
 
         return categoryMono
                 .flatMap(category -> categoryRepository.deleteById(category.getIdCategory()))
+                .doOnSuccess(changed -> eventPublisher.publishEvent(new ReferenceDataChangedEvent(CATEGORY)))
                 .doOnError(error -> log.error(CATEGORY_DELETING_BRAND, error.getMessage()));
     }
 
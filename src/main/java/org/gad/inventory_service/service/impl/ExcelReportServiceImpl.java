@@ -3,16 +3,21 @@ package org.gad.inventory_service.service.impl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.gad.inventory_service.config.scheduler.WorkSchedulers;
 import org.gad.inventory_service.dto.SaleDTO;
 import org.gad.inventory_service.exception.ExcelReportGenerationException;
+import org.gad.inventory_service.exception.ServiceBusyException;
 import org.gad.inventory_service.service.ExcelReportService;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.stereotype.Service;
-import reactor.core.publisher.Mono;
+import reactor.core.publisher.Flux;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.List;
+import java.io.OutputStream;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.gad.inventory_service.utils.Constants.*;
 
@@ -20,38 +25,72 @@ import static org.gad.inventory_service.utils.Constants.*;
 @Service
 @RequiredArgsConstructor
 public class ExcelReportServiceImpl implements ExcelReportService {
+    private static final int ROW_ACCESS_WINDOW = 100;
+    private static final int SALES_PREFETCH = 256;
+    private static final int WIDTH_SAMPLE_ROWS = 200;
+    private static final int MAX_COLUMN_CHARS = 255;
+    private static final int CHUNK_SIZE = 8192;
+
+    private final WorkSchedulers workSchedulers;
 
     @Override
-    public Mono<byte[]> generateSalesReport(List<SaleDTO> sales) {
-        return Mono.fromCallable(() -> generateExcelBytes(sales))
-                .doOnError(e -> log.error(FAILED_GENERATE_REPORT, e))
-                .onErrorMap(e -> e instanceof ExcelReportGenerationException ? e :
-                        new ExcelReportGenerationException(ERROR_GENERATING_REPORT, e));
+    public Flux<DataBuffer> generateSalesReport(Flux<SaleDTO> sales) {
+        if (sales == null) {
+            return Flux.error(new ExcelReportGenerationException(ERROR_GENERATING_REPORT));
+        }
+        // The writer runs inline on the report worker that subscribes; demand is requested straight from the
+        // downstream thread (requestOnSeparateThread = false) so it never queues behind the blocked worker.
+        return Flux.defer(() -> DataBufferUtils.outputStreamPublisher(outputStream -> writeWorkbook(sales, outputStream),
+                        DefaultDataBufferFactory.sharedInstance, Runnable::run, CHUNK_SIZE))
+                .subscribeOn(workSchedulers.getReportScheduler(), false)
+                .onErrorMap(RejectedExecutionException.class, e -> new ServiceBusyException(MESSAGE_SERVICE_BUSY, e))
+                .doOnError(e -> log.error(FAILED_GENERATE_REPORT, e));
     }
 
-    private byte[] generateExcelBytes(List<SaleDTO> sales) throws IOException {
-        try (Workbook workbook = new XSSFWorkbook();
-             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-
+    // Rows are pulled from the source in bounded batches and only the last ROW_ACCESS_WINDOW
+    // rows stay in memory; older rows are flushed to a compressed temp file until write().
+    private void writeWorkbook(Flux<SaleDTO> sales, OutputStream outputStream) {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
             Sheet sheet = workbook.createSheet(SHEET_NAME);
-            createHeaderRow(workbook, sheet);
-            populateDataRows(sheet, sales);
-            autoSizeColumns(sheet);
+            int[] columnChars = createHeaderRow(workbook, sheet);
 
+            int rowNum = 1;
+            for (SaleDTO sale : sales.toIterable(SALES_PREFETCH)) {
+                Row row = sheet.createRow(rowNum);
+                row.createCell(0).setCellValue(sale.idSale());
+                row.createCell(1).setCellValue(sale.nameProduct());
+                row.createCell(2).setCellValue(sale.quantity());
+                row.createCell(3).setCellValue(sale.totalPrice().doubleValue());
+                row.createCell(4).setCellValue(sale.saleDate());
+                if (rowNum <= WIDTH_SAMPLE_ROWS) {
+                    sampleColumnWidths(columnChars, sale);
+                }
+                rowNum++;
+            }
+
+            applyColumnWidths(sheet, columnChars);
             workbook.write(outputStream);
-            return outputStream.toByteArray();
+        } catch (IOException e) {
+            throw new ExcelReportGenerationException(ERROR_GENERATING_REPORT, e);
+        } finally {
+            workbook.dispose();
         }
     }
 
-    private void createHeaderRow(Workbook workbook, Sheet sheet) {
+    private int[] createHeaderRow(Workbook workbook, Sheet sheet) {
         CellStyle headerStyle = createHeaderStyle(workbook);
         Row headerRow = sheet.createRow(0);
+        int[] columnChars = new int[REPORT_HEADERS.length];
 
         for (int i = 0; i < REPORT_HEADERS.length; i++) {
             Cell cell = headerRow.createCell(i);
             cell.setCellValue(REPORT_HEADERS[i]);
             cell.setCellStyle(headerStyle);
+            columnChars[i] = REPORT_HEADERS[i].length();
         }
+        return columnChars;
     }
 
     private CellStyle createHeaderStyle(Workbook workbook) {
@@ -62,21 +101,18 @@ public class ExcelReportServiceImpl implements ExcelReportService {
         return style;
     }
 
-    private void populateDataRows(Sheet sheet, List<SaleDTO> sales) {
-        int rowNum = 1;
-        for (SaleDTO sale : sales) {
-            Row row = sheet.createRow(rowNum++);
-            row.createCell(0).setCellValue(sale.idSale());
-            row.createCell(1).setCellValue(sale.nameProduct());
-            row.createCell(2).setCellValue(sale.quantity());
-            row.createCell(3).setCellValue(sale.totalPrice().doubleValue());
-            row.createCell(4).setCellValue(sale.saleDate());
+    private void sampleColumnWidths(int[] columnChars, SaleDTO sale) {
+        Object[] values = {sale.idSale(), sale.nameProduct(), sale.quantity(), sale.totalPrice(), sale.saleDate()};
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                columnChars[i] = Math.max(columnChars[i], String.valueOf(values[i]).length());
+            }
         }
     }
 
-    private void autoSizeColumns(Sheet sheet) {
-        for (int i = 0; i < REPORT_HEADERS.length; i++) {
-            sheet.autoSizeColumn(i);
+    private void applyColumnWidths(Sheet sheet, int[] columnChars) {
+        for (int i = 0; i < columnChars.length; i++) {
+            sheet.setColumnWidth(i, Math.min(columnChars[i] + 2, MAX_COLUMN_CHARS) * 256);
         }
     }
 }
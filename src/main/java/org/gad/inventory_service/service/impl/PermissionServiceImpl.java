@@ -5,11 +5,15 @@ import lombok.extern.slf4j.Slf4j;
 import org.gad.inventory_service.dto.PermissionDTO;
 import org.gad.inventory_service.dto.request.CreatePermissionRequest;
 import org.gad.inventory_service.dto.request.UpdatePermissionRequest;
+import org.gad.inventory_service.event.UserSecurityChangedEvent;
 import org.gad.inventory_service.exception.PermissionNotFoundException;
 import org.gad.inventory_service.model.Permission;
 import org.gad.inventory_service.repository.PermissionRepository;
+import org.gad.inventory_service.repository.RoleRepository;
+import org.gad.inventory_service.repository.UserRepository;
 import org.gad.inventory_service.service.PermissionService;
 import org.gad.inventory_service.utils.Mappers;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -21,6 +25,9 @@ import static org.gad.inventory_service.utils.Constants.*;
 @RequiredArgsConstructor
 public class PermissionServiceImpl implements PermissionService {
     private final PermissionRepository permissionRepository;
+    private final RoleRepository roleRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Flux<PermissionDTO> getAllPermissions() {
@@ -54,9 +61,16 @@ public class PermissionServiceImpl implements PermissionService {
         return permissionRepository.findById(id)
                 .switchIfEmpty(Mono.error(new PermissionNotFoundException(PERMISSION_NOT_FOUND_ID + id)))
                 .flatMap(existingPermission -> {
+                    String previousName = existingPermission.getName();
                     existingPermission.setName(formatPermissionName(updatePermissionRequest.name()));
-                    return permissionRepository.save(existingPermission);
+                    return permissionRepository.save(existingPermission)
+                            .flatMap(saved -> roleRepository.renamePermission(previousName, saved.getName())
+                                    .doOnNext(count -> log.info(ROLES_PERMISSION_UPDATED, count, previousName))
+                                    .then(userRepository.renameEmbeddedPermission(previousName, saved.getName()))
+                                    .doOnNext(count -> log.info(USER_TOKENS_REVOKED, count, previousName))
+                                    .thenReturn(saved));
                 })
+                .doOnSuccess(updated -> eventPublisher.publishEvent(UserSecurityChangedEvent.forAllUsers()))
                 .map(Mappers::permissionToDTO)
                 .doOnError(error -> log.error(ERROR_UPDATING_PERMISSION, id, error.getMessage()));
     }
@@ -65,7 +79,13 @@ public class PermissionServiceImpl implements PermissionService {
     public Mono<Void> deletePermissionById(String id) {
         return permissionRepository.findById(id)
                 .switchIfEmpty(Mono.error(new PermissionNotFoundException(PERMISSION_NOT_FOUND_ID + id)))
-                .flatMap(permission -> permissionRepository.deleteById(permission.getIdPermission()))
+                .flatMap(permission -> permissionRepository.deleteById(permission.getIdPermission())
+                        .then(roleRepository.removePermission(permission.getName()))
+                        .doOnNext(count -> log.info(ROLES_PERMISSION_UPDATED, count, permission.getName()))
+                        .then(userRepository.removeEmbeddedPermission(permission.getName()))
+                        .doOnNext(count -> log.info(USER_TOKENS_REVOKED, count, permission.getName()))
+                        .then())
+                .doOnSuccess(deleted -> eventPublisher.publishEvent(UserSecurityChangedEvent.forAllUsers()))
                 .doOnError(error -> log.error(ERROR_DELETING_PERMISSION, id, error.getMessage()));
     }
 
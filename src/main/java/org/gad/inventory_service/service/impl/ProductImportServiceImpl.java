@@ -0,0 +1,394 @@
+package org.gad.inventory_service.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.gad.inventory_service.cache.ReferenceDataCache;
+import org.gad.inventory_service.config.scheduler.WorkSchedulers;
+import org.gad.inventory_service.dto.ImportRowErrorDTO;
+import org.gad.inventory_service.dto.ProductImportProgressDTO;
+import org.gad.inventory_service.dto.request.CreateProductRequest;
+import org.gad.inventory_service.event.ProductChangedEvent;
+import org.gad.inventory_service.exception.InvalidImportFileException;
+import org.gad.inventory_service.exception.ServiceBusyException;
+import org.gad.inventory_service.importer.ImportFiles;
+import org.gad.inventory_service.importer.ImportFormat;
+import org.gad.inventory_service.importer.ImportHeader;
+import org.gad.inventory_service.importer.TabularFileReader;
+import org.gad.inventory_service.model.Brand;
+import org.gad.inventory_service.model.Category;
+import org.gad.inventory_service.model.Product;
+import org.gad.inventory_service.model.ProductImportCheckpoint;
+import org.gad.inventory_service.model.Provider;
+import org.gad.inventory_service.model.projection.BulkUpsertView;
+import org.gad.inventory_service.repository.ProductImportCheckpointRepository;
+import org.gad.inventory_service.repository.ProductRepository;
+import org.gad.inventory_service.service.ProductImportService;
+import org.gad.inventory_service.utils.UtilsMethods;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.gad.inventory_service.utils.Constants.*;
+
+// Bulk counterpart of ProductServiceImpl.createProduct for loading a supplier catalogue. The upload is spooled and
+// read row by row on the import scheduler; rows are gathered into windows and each window is deduplicated by SKU,
+// resolved against the in-memory reference data and written as one unordered bulk of upserts keyed by SKU, so an
+// existing product is updated instead of failing on the unique index. A checkpoint keyed by the file's SHA-256 is
+// saved after every window; sending the same file again after a failure continues after the last committed row.
+@Slf4j
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+    private final ProductRepository productRepository;
+    private final ProductImportCheckpointRepository checkpointRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WorkSchedulers workSchedulers;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int windowSize;
+
+    public ProductImportServiceImpl(ProductRepository productRepository,
+                                    ProductImportCheckpointRepository checkpointRepository,
+                                    ReferenceDataCache referenceDataCache,
+                                    ApplicationEventPublisher eventPublisher,
+                                    WorkSchedulers workSchedulers,
+                                    Validator validator,
+                                    ObjectMapper objectMapper,
+                                    @Value("${product.import.window-size}") int windowSize) {
+        this.productRepository = productRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.eventPublisher = eventPublisher;
+        this.workSchedulers = workSchedulers;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public Flux<ProductImportProgressDTO> importCatalogue(String filename, Flux<DataBuffer> content) {
+        return Mono.fromCallable(() -> ImportFormat.fromFilename(filename, ImportFormat.CSV, ImportFormat.XLSX, ImportFormat.NDJSON))
+                .flatMapMany(format -> ImportFiles.spooled(content, PRODUCT_IMPORT_FILE_PREFIX, format,
+                        file -> read(file, format, filename)))
+                .onErrorMap(RejectedExecutionException.class, e -> new ServiceBusyException(MESSAGE_SERVICE_BUSY, e))
+                .doOnError(error -> log.error(ERROR_IMPORTING_PRODUCTS, error.getMessage()));
+    }
+
+    // Same push model as StocktakingImportServiceImpl: each full window is written and checkpointed with block() on
+    // the import worker before the reader moves on.
+    private Flux<ProductImportProgressDTO> read(Path file, ImportFormat format, String filename) {
+        return Flux.<ProductImportProgressDTO>create(sink -> {
+                    ImportRun run = null;
+                    try {
+                        run = new ImportRun(checkpoint(file, filename), format, sink);
+                        if (format == ImportFormat.NDJSON) {
+                            readNdjson(file, run);
+                        } else {
+                            TabularFileReader.read(file, format, run::row);
+                        }
+                        run.finish();
+                        sink.complete();
+                    } catch (CancellationException e) {
+                        log.debug(PRODUCT_IMPORT_CANCELLED, run.checkpoint.getIdImport(), run.checkpoint.getRowsCommitted());
+                    } catch (IOException | RuntimeException e) {
+                        sink.error(e);
+                    }
+                })
+                .subscribeOn(workSchedulers.getImportScheduler());
+    }
+
+    // A completed checkpoint is not reused: importing the same file again is a fresh run over every row.
+    private ProductImportCheckpoint checkpoint(Path file, String filename) throws IOException {
+        String importId = ImportFiles.sha256(file);
+        LocalDateTime now = LocalDateTime.now();
+        return checkpointRepository.findById(importId)
+                .filter(checkpoint -> !checkpoint.isCompleted())
+                .doOnNext(checkpoint -> log.info(PRODUCT_IMPORT_RESUMED, importId, checkpoint.getRowsCommitted()))
+                .defaultIfEmpty(ProductImportCheckpoint.builder()
+                        .idImport(importId)
+                        .filename(filename)
+                        .startedAt(now)
+                        .updatedAt(now)
+                        .build())
+                .block();
+    }
+
+    // NDJSON rows are the same JSON objects POST /api/v1/products accepts, one per line.
+    private void readNdjson(Path file, ImportRun run) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String text;
+            long row = 0;
+            while ((text = reader.readLine()) != null) {
+                row++;
+                if (!text.isBlank()) {
+                    run.json(row, text);
+                }
+            }
+        }
+    }
+
+    // Only failures of the whole bulk propagate; they stop the import with the checkpoint at the previous window.
+    private Mono<BulkUpsertView> importWindow(List<Line> lines) {
+        lines.forEach(this::validate);
+        List<Line> unique = deduplicate(lines);
+
+        return Mono.zip(
+                        resolve(unique, CreateProductRequest::categoryName, name -> referenceDataCache.findCategoryByName(name).map(Category::getIdCategory)),
+                        resolve(unique, CreateProductRequest::brandName, name -> referenceDataCache.findBrandByName(name).map(Brand::getIdBrand)),
+                        resolve(unique, CreateProductRequest::providerName, name -> referenceDataCache.findProviderByName(name).map(Provider::getIdProvider)))
+                .flatMap(references -> {
+                    List<Line> resolved = new ArrayList<>();
+                    for (Line line : unique) {
+                        line.resolve(references.getT1(), references.getT2(), references.getT3());
+                        if (line.error == null) {
+                            resolved.add(line);
+                        }
+                    }
+                    return upsert(resolved);
+                });
+    }
+
+    private Mono<BulkUpsertView> upsert(List<Line> lines) {
+        if (lines.isEmpty()) {
+            return Mono.just(new BulkUpsertView(0, 0, Map.of()));
+        }
+        return productRepository.upsertBySku(lines.stream().map(line -> line.product).toList())
+                .flatMap(result -> {
+                    result.failed().forEach((index, error) -> lines.get(index).error = error);
+                    List<String> skus = lines.stream()
+                            .filter(line -> line.error == null)
+                            .map(line -> line.product.getSku())
+                            .toList();
+                    if (skus.isEmpty()) {
+                        return Mono.just(result);
+                    }
+                    return productRepository.findAllBySkuIn(skus)
+                            .doOnNext(saved -> eventPublisher.publishEvent(ProductChangedEvent.saved(saved)))
+                            .then(Mono.just(result));
+                });
+    }
+
+    // Within a window the last row for a SKU wins, matching what sequential creates and updates would leave behind.
+    private static List<Line> deduplicate(List<Line> lines) {
+        Map<String, Line> bySku = new LinkedHashMap<>();
+        for (Line line : lines) {
+            if (line.error != null) {
+                continue;
+            }
+            Line previous = bySku.put(line.request.sku(), line);
+            if (previous != null) {
+                previous.error = MESSAGE_IMPORT_DUPLICATE_SKU + line.row;
+            }
+        }
+        return List.copyOf(bySku.values());
+    }
+
+    private Mono<Map<String, String>> resolve(List<Line> lines,
+                                              Function<CreateProductRequest, String> reference,
+                                              Function<String, Mono<String>> finder) {
+        Set<String> names = lines.stream()
+                .map(line -> reference.apply(line.request))
+                .collect(Collectors.toSet());
+        return Flux.fromIterable(names)
+                .flatMap(name -> finder.apply(name).map(id -> Map.entry(name, id)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private void validate(Line line) {
+        if (line.error != null) {
+            return;
+        }
+        Set<ConstraintViolation<CreateProductRequest>> violations = validator.validate(line.request);
+        if (!violations.isEmpty()) {
+            line.error = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(TEXT_ERROR_SEPARATOR));
+        } else if (line.request.sku() == null || line.request.sku().isBlank()) {
+            line.error = MESSAGE_IMPORT_SKU_REQUIRED;
+        }
+    }
+
+    private final class ImportRun {
+        private final ProductImportCheckpoint checkpoint;
+        private final ImportFormat format;
+        private final FluxSink<ProductImportProgressDTO> sink;
+        private final long resumedAfterRow;
+        private final List<Line> window = new ArrayList<>();
+        private ImportHeader header;
+        private long lastRow;
+
+        private ImportRun(ProductImportCheckpoint checkpoint, ImportFormat format, FluxSink<ProductImportProgressDTO> sink) {
+            this.checkpoint = checkpoint;
+            this.format = format;
+            this.sink = sink;
+            this.resumedAfterRow = checkpoint.getRowsCommitted();
+            this.lastRow = checkpoint.getRowsCommitted();
+        }
+
+        private void row(long rowNumber, List<String> cells) {
+            if (header == null) {
+                header = header(cells);
+                return;
+            }
+            add(rowNumber, () -> line(rowNumber, cells));
+        }
+
+        private void json(long rowNumber, String text) {
+            add(rowNumber, () -> {
+                try {
+                    return new Line(rowNumber, objectMapper.readValue(text, CreateProductRequest.class), null);
+                } catch (JsonProcessingException e) {
+                    return new Line(rowNumber, null, MESSAGE_IMPORT_INVALID_JSON);
+                }
+            });
+        }
+
+        // Rows up to the checkpoint were committed by an earlier attempt and are skipped unparsed.
+        private void add(long rowNumber, Supplier<Line> line) {
+            if (sink.isCancelled()) {
+                throw new CancellationException();
+            }
+            if (rowNumber <= resumedAfterRow) {
+                return;
+            }
+            window.add(line.get());
+            lastRow = rowNumber;
+            if (window.size() >= windowSize) {
+                flush(false);
+            }
+        }
+
+        private void finish() {
+            if (format != ImportFormat.NDJSON && header == null) {
+                throw new InvalidImportFileException(MESSAGE_PRODUCT_IMPORT_MISSING_COLUMNS);
+            }
+            flush(true);
+            log.info(PRODUCT_IMPORT_FINISHED, checkpoint.getIdImport(), checkpoint.getProcessed(),
+                    checkpoint.getCreated(), checkpoint.getUpdated(), checkpoint.getRejected());
+        }
+
+        private ImportHeader header(List<String> cells) {
+            ImportHeader header = ImportHeader.of(cells);
+            boolean complete = Stream.of(IMPORT_COLUMN_NAME, IMPORT_COLUMN_SKU, IMPORT_COLUMN_DESCRIPTION, IMPORT_COLUMN_PRICE,
+                            IMPORT_COLUMN_CATEGORY_NAME, IMPORT_COLUMN_BRAND_NAME, IMPORT_COLUMN_PROVIDER_NAME)
+                    .allMatch(header::has);
+            if (!complete) {
+                throw new InvalidImportFileException(MESSAGE_PRODUCT_IMPORT_MISSING_COLUMNS);
+            }
+            return header;
+        }
+
+        private Line line(long row, List<String> cells) {
+            String price = header.value(cells, IMPORT_COLUMN_PRICE);
+            BigDecimal parsedPrice = null;
+            String error = null;
+            if (price != null) {
+                try {
+                    parsedPrice = new BigDecimal(price);
+                } catch (NumberFormatException e) {
+                    error = MESSAGE_IMPORT_INVALID_PRICE;
+                }
+            }
+            CreateProductRequest request = CreateProductRequest.builder()
+                    .name(header.value(cells, IMPORT_COLUMN_NAME))
+                    .sku(header.value(cells, IMPORT_COLUMN_SKU))
+                    .description(header.value(cells, IMPORT_COLUMN_DESCRIPTION))
+                    .price(parsedPrice)
+                    .categoryName(header.value(cells, IMPORT_COLUMN_CATEGORY_NAME))
+                    .brandName(header.value(cells, IMPORT_COLUMN_BRAND_NAME))
+                    .providerName(header.value(cells, IMPORT_COLUMN_PROVIDER_NAME))
+                    .build();
+            return new Line(row, request, error);
+        }
+
+        // The checkpoint only moves once the window is written, so a failed window is retried on the next upload.
+        private void flush(boolean done) {
+            BulkUpsertView result = window.isEmpty()
+                    ? new BulkUpsertView(0, 0, Map.of())
+                    : importWindow(List.copyOf(window)).block();
+            List<ImportRowErrorDTO> errors = window.stream()
+                    .filter(line -> line.error != null)
+                    .map(line -> ImportRowErrorDTO.builder().row(line.row).error(line.error).build())
+                    .toList();
+            checkpoint.setRowsCommitted(lastRow);
+            checkpoint.setProcessed(checkpoint.getProcessed() + window.size());
+            checkpoint.setCreated(checkpoint.getCreated() + result.inserted());
+            checkpoint.setUpdated(checkpoint.getUpdated() + result.matched());
+            checkpoint.setRejected(checkpoint.getRejected() + errors.size());
+            checkpoint.setCompleted(done);
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            checkpointRepository.save(checkpoint).block();
+            window.clear();
+            sink.next(ProductImportProgressDTO.builder()
+                    .importId(checkpoint.getIdImport())
+                    .resumedAfterRow(resumedAfterRow)
+                    .processed(checkpoint.getProcessed())
+                    .created(checkpoint.getCreated())
+                    .updated(checkpoint.getUpdated())
+                    .rejected(checkpoint.getRejected())
+                    .done(done)
+                    .errors(errors)
+                    .build());
+        }
+    }
+
+    private static final class Line {
+        private final long row;
+        private final CreateProductRequest request;
+        private Product product;
+        private String error;
+
+        private Line(long row, CreateProductRequest request, String error) {
+            this.row = row;
+            this.request = request;
+            this.error = error;
+        }
+
+        // Same messages as ProductServiceImpl's lookups.
+        private void resolve(Map<String, String> categories, Map<String, String> brands, Map<String, String> providers) {
+            String categoryId = categories.get(request.categoryName());
+            String brandId = brands.get(request.brandName());
+            String providerId = providers.get(request.providerName());
+            if (categoryId == null) {
+                error = CATEGORY_NOT_FOUND_NAME + request.categoryName();
+            } else if (brandId == null) {
+                error = BRAND_NOT_FOUND_NAME + request.brandName();
+            } else if (providerId == null) {
+                error = PROVIDER_NOT_FOUND_NAME + request.providerName();
+            } else {
+                product = Product.builder()
+                        .name(request.name())
+                        .sku(request.sku())
+                        .description(request.description())
+                        .price(UtilsMethods.formatPrice(request.price()))
+                        .categoryId(categoryId)
+                        .brandId(brandId)
+                        .providerId(providerId)
+                        .build();
+            }
+        }
+    }
+}
@@ -1,48 +1,94 @@
 package org.gad.inventory_service.service.impl;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.gad.inventory_service.cache.ReferenceDataCache;
+import org.gad.inventory_service.cache.ReferenceNames;
 import org.gad.inventory_service.dto.request.CreateProductRequest;
+import org.gad.inventory_service.dto.CursorPageDTO;
 import org.gad.inventory_service.dto.ProductDTO;
+import org.gad.inventory_service.dto.ProductSuggestionDTO;
 import org.gad.inventory_service.dto.request.UpdateProductRequest;
+import org.gad.inventory_service.event.ProductChangedEvent;
 import org.gad.inventory_service.exception.BrandNotFoundException;
 import org.gad.inventory_service.exception.CategoryNotFoundException;
+import org.gad.inventory_service.exception.ProductAlreadyExistsException;
 import org.gad.inventory_service.exception.ProductNotFoundException;
 import org.gad.inventory_service.exception.ProviderNotFoundException;
+import org.gad.inventory_service.exception.ServiceBusyException;
 import org.gad.inventory_service.model.Brand;
 import org.gad.inventory_service.model.Category;
 import org.gad.inventory_service.model.Product;
 import org.gad.inventory_service.model.Provider;
-import org.gad.inventory_service.repository.BrandRepository;
-import org.gad.inventory_service.repository.CategoryRepository;
 import org.gad.inventory_service.repository.ProductRepository;
-import org.gad.inventory_service.repository.ProviderRepository;
+import org.gad.inventory_service.search.ProductSuggestIndex;
 import org.gad.inventory_service.service.ProductService;
 import org.gad.inventory_service.utils.Constants;
+import org.gad.inventory_service.utils.CursorUtils;
 import org.gad.inventory_service.utils.Mappers;
 import org.gad.inventory_service.utils.UtilsMethods;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
 
 import static org.gad.inventory_service.utils.Constants.*;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ProductServiceImpl implements ProductService {
     private final ProductRepository productRepository;
-    private final CategoryRepository categoryRepository;
-    private final BrandRepository brandRepository;
-    private final ProviderRepository providerRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final ProductSuggestIndex productSuggestIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration lookupTimeout;
+
+    public ProductServiceImpl(ProductRepository productRepository,
+                              ReferenceDataCache referenceDataCache,
+                              ProductSuggestIndex productSuggestIndex,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${product.lookup-timeout}") Duration lookupTimeout) {
+        this.productRepository = productRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.productSuggestIndex = productSuggestIndex;
+        this.eventPublisher = eventPublisher;
+        this.lookupTimeout = lookupTimeout;
+    }
 
     @Override
     public Flux<ProductDTO> findAllProducts() {
-        return productRepository.findAll()
-                .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_FLUX)))
-                .map(product -> Mappers.productToDTO(product, product.getCategoryId(), product.getBrandId(), product.getProviderId()))
+        return referenceDataCache.names()
+                .flatMapMany(names -> productRepository.findAll()
+                        .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_FLUX)))
+                        .map(product -> toProductDTO(product, names)))
+                .doOnError(error -> log.error(Constants.ERROR_SEARCHING_PRODUCT, error.getMessage()));
+    }
+
+    @Override
+    public Mono<CursorPageDTO<ProductDTO>> findProductsPage(String cursor, int limit) {
+        return Mono.fromCallable(() -> CursorUtils.decodeCursor(cursor))
+                .flatMap(lastSeen -> productRepository.findPage(lastSeen.id(), limit + 1)
+                        .collectList())
+                .zipWith(referenceDataCache.names())
+                .map(productsAndNames -> {
+                    List<Product> products = productsAndNames.getT1();
+                    ReferenceNames names = productsAndNames.getT2();
+                    boolean hasNext = products.size() > limit;
+                    List<Product> pageProducts = hasNext ? products.subList(0, limit) : products;
+
+                    return CursorPageDTO.<ProductDTO>builder()
+                            .items(pageProducts.stream()
+                                    .map(product -> toProductDTO(product, names))
+                                    .toList())
+                            .nextCursor(hasNext ? CursorUtils.encodeCursor(pageProducts.get(limit - 1).getIdProduct()) : null)
+                            .hasNext(hasNext)
+                            .build();
+                })
                 .doOnError(error -> log.error(Constants.ERROR_SEARCHING_PRODUCT, error.getMessage()));
     }
 
@@ -50,8 +96,8 @@ public class ProductServiceImpl implements ProductService {
     public Mono<ProductDTO> findProductById(String id) {
         return productRepository.findById(id)
                 .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_ID + id)))
-                .map(productSaved -> Mappers.productToDTO(productSaved,
-                        productSaved.getCategoryId(), productSaved.getBrandId(), productSaved.getProviderId()))
+                .flatMap(product -> referenceDataCache.names()
+                        .map(names -> toProductDTO(product, names)))
                 .doOnError(error -> log.error(Constants.ERROR_SEARCHING_PRODUCT, error.getMessage()));
     }
 
@@ -77,65 +123,78 @@ public class ProductServiceImpl implements ProductService {
                 .doOnError(error -> log.error(ERROR_SEARCHING_PRODUCT, error.getMessage()));
     }
 
+    @Override
+    public Flux<ProductDTO> searchProducts(String text, int limit) {
+        return referenceDataCache.names()
+                .flatMapMany(names -> productRepository.searchByText(text, limit)
+                        .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_TEXT + text)))
+                        .map(product -> toProductDTO(product, names)))
+                .doOnError(error -> log.error(ERROR_SEARCHING_PRODUCT, error.getMessage()));
+    }
+
+    @Override
+    public Flux<ProductSuggestionDTO> suggestProducts(String query, int limit) {
+        return Flux.defer(() -> Flux.fromIterable(productSuggestIndex.suggest(query, limit)))
+                .map(Mappers::productSuggestionToDTO);
+    }
+
     @Override
     public Mono<ProductDTO> createProduct(CreateProductRequest createProductRequest) {
-        return findCategoryByName(createProductRequest.categoryName())
-                .flatMap(category ->
-                        findBrandByName(createProductRequest.brandName())
-                                .flatMap(brand ->
-                                        findProviderByName(createProductRequest.providerName())
-                                                .flatMap(provider -> {
-                                                    Product newProduct = new Product();
-                                                    newProduct.setName(createProductRequest.name());
-                                                    newProduct.setDescription(createProductRequest.description());
-                                                    newProduct.setPrice(UtilsMethods.formatPrice(createProductRequest.price()));
-                                                    newProduct.setCategoryId(category.getIdCategory());
-                                                    newProduct.setBrandId(brand.getIdBrand());
-                                                    newProduct.setProviderId(provider.getIdProvider());
-
-                                                    return productRepository.save(newProduct)
-                                                            .map(saved -> Mappers.productToDTO(
-                                                                    saved,
-                                                                    category.getName(),
-                                                                    brand.getName(),
-                                                                    provider.getName()
-                                                            ));
-                                                })
-                                )
-                )
+        return Mono.zip(
+                        findCategoryByName(createProductRequest.categoryName()),
+                        findBrandByName(createProductRequest.brandName()),
+                        findProviderByName(createProductRequest.providerName()))
+                .flatMap(tuple -> {
+                    Category category = tuple.getT1();
+                    Brand brand = tuple.getT2();
+                    Provider provider = tuple.getT3();
+
+                    Product newProduct = new Product();
+                    newProduct.setName(createProductRequest.name());
+                    newProduct.setSku(createProductRequest.sku());
+                    newProduct.setDescription(createProductRequest.description());
+                    newProduct.setPrice(UtilsMethods.formatPrice(createProductRequest.price()));
+                    newProduct.setCategoryId(category.getIdCategory());
+                    newProduct.setBrandId(brand.getIdBrand());
+                    newProduct.setProviderId(provider.getIdProvider());
+
+                    return productRepository.save(newProduct)
+                            .onErrorMap(DuplicateKeyException.class, error -> new ProductAlreadyExistsException(PRODUCT_SKU_ALREADY_EXISTS + newProduct.getSku(), error))
+                            .doOnNext(saved -> eventPublisher.publishEvent(ProductChangedEvent.saved(saved)))
+                            .map(saved -> Mappers.productToDTO(saved, category.getName(), brand.getName(), provider.getName()));
+                })
                 .doOnError(error -> log.error(ERROR_CREATING_PRODUCTS, error.getMessage()));
     }
 
+    // Category, brand and provider resolve from the in-memory ReferenceDataCache; only the product read goes to
+    // the database, so it alone is bounded and fails the request with 503 instead of holding it open.
     @Override
     public Mono<ProductDTO> updateProduct(String id, UpdateProductRequest updateProductRequest) {
-        return findById(id)
-                .flatMap(existingProduct ->
-                        findCategoryByName(updateProductRequest.categoryName())
-                                .flatMap(category ->
-                                        findBrandByName(updateProductRequest.brandName())
-                                                .flatMap(brand ->
-                                                        findProviderByName(updateProductRequest.providerName())
-                                                                .flatMap(provider -> {
-                                                                    Product updatedProduct = buildProductFromRequest(
-                                                                            existingProduct,
-                                                                            updateProductRequest.name(),
-                                                                            updateProductRequest.description(),
-                                                                            UtilsMethods.formatPrice(updateProductRequest.price()),
-                                                                            category.getIdCategory(),
-                                                                            brand.getIdBrand(),
-                                                                            provider.getIdProvider()
-                                                                    );
-                                                                    return productRepository.save(updatedProduct)
-                                                                            .map(saved -> Mappers.productToDTO(
-                                                                                    saved,
-                                                                                    category.getName(),
-                                                                                    brand.getName(),
-                                                                                    provider.getName()
-                                                                            ));
-                                                                })
-                                                )
-                                )
-                )
+        return Mono.zip(
+                        findById(id).timeout(lookupTimeout, Mono.error(() -> new ServiceBusyException(MESSAGE_LOOKUP_TIMEOUT))),
+                        findCategoryByName(updateProductRequest.categoryName()),
+                        findBrandByName(updateProductRequest.brandName()),
+                        findProviderByName(updateProductRequest.providerName()))
+                .flatMap(tuple -> {
+                    Category category = tuple.getT2();
+                    Brand brand = tuple.getT3();
+                    Provider provider = tuple.getT4();
+
+                    Product updatedProduct = buildProductFromRequest(
+                            tuple.getT1(),
+                            updateProductRequest.name(),
+                            updateProductRequest.sku(),
+                            updateProductRequest.description(),
+                            UtilsMethods.formatPrice(updateProductRequest.price()),
+                            category.getIdCategory(),
+                            brand.getIdBrand(),
+                            provider.getIdProvider()
+                    );
+                    return productRepository.save(updatedProduct)
+                            .onErrorMap(DuplicateKeyException.class, error -> new ProductAlreadyExistsException(PRODUCT_SKU_ALREADY_EXISTS + updatedProduct.getSku(), error))
+                            .doOnNext(saved -> eventPublisher.publishEvent(ProductChangedEvent.saved(saved)))
+                            .map(saved -> Mappers.productToDTO(saved, category.getName(), brand.getName(), provider.getName()));
+                })
                 .doOnError(error -> log.error(ERROR_UPDATING_PRODUCT, error.getMessage()));
     }
 
@@ -143,31 +202,42 @@ public class ProductServiceImpl implements ProductService {
     public Mono<Void> deleteProductById(String id) {
         return findById(id)
                 .flatMap(product -> productRepository.deleteById(product.getIdProduct()))
+                .doOnSuccess(deleted -> eventPublisher.publishEvent(ProductChangedEvent.deleted(id)))
                 .doOnError(error -> log.error(ERROR_DELETING_PRODUCT, error.getMessage()));
     }
 
+    private ProductDTO toProductDTO(Product product, ReferenceNames names) {
+        return Mappers.productToDTO(product,
+                names.categoryName(product.getCategoryId()),
+                names.brandName(product.getBrandId()),
+                names.providerName(product.getProviderId()));
+    }
+
     private Mono<Product> findById(String id) {
         return productRepository.findById(id)
                 .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_ID + id)));
     }
 
     private Mono<Category> findCategoryByName(String name) {
-        return categoryRepository.findCategoryByNameContainingIgnoreCase(name)
+        return referenceDataCache.findCategoryByName(name)
                 .switchIfEmpty(Mono.error(new CategoryNotFoundException(CATEGORY_NOT_FOUND_NAME + name)));
     }
 
     private Mono<Brand> findBrandByName(String name) {
-        return brandRepository.findBrandByNameContainingIgnoreCase(name)
+        return referenceDataCache.findBrandByName(name)
                 .switchIfEmpty(Mono.error(new BrandNotFoundException(BRAND_NOT_FOUND_NAME + name)));
     }
 
     private Mono<Provider> findProviderByName(String name) {
-        return providerRepository.findProviderByNameContainingIgnoreCase(name)
+        return referenceDataCache.findProviderByName(name)
                 .switchIfEmpty(Mono.error(new ProviderNotFoundException(PROVIDER_NOT_FOUND_NAME + name)));
     }
 
-    private Product buildProductFromRequest(Product product, String name, String description, BigDecimal price, String categoryId, String brandId, String providerId) {
+    private Product buildProductFromRequest(Product product, String name, String sku, String description, BigDecimal price, String categoryId, String brandId, String providerId) {
         product.setName(name);
+        if (sku != null) {
+            product.setSku(sku);
+        }
         product.setDescription(description);
         product.setPrice(price);
         product.setCategoryId(categoryId);
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.gad.inventory_service.dto.request.CreateProviderRequest;
 import org.gad.inventory_service.dto.ProviderDTO;
 import org.gad.inventory_service.dto.request.UpdateProviderRequest;
+import org.gad.inventory_service.event.ReferenceDataChangedEvent;
 import org.gad.inventory_service.exception.ProviderAlreadyExistsException;
 import org.gad.inventory_service.exception.ProviderNotFoundException;
 import org.gad.inventory_service.model.Provider;
@@ -12,6 +13,7 @@ import org.gad.inventory_service.repository.ProviderRepository;
 import org.gad.inventory_service.service.ProviderService;
 import org.gad.inventory_service.utils.Constants;
 import org.gad.inventory_service.utils.Mappers;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -19,6 +21,7 @@ import reactor.core.publisher.Mono;
 
 import java.util.Objects;
 
+import static org.gad.inventory_service.event.ReferenceDataChangedEvent.ReferenceType.PROVIDER;
 import static org.gad.inventory_service.utils.Constants.*;
 
 
@@ -27,6 +30,7 @@ import static org.gad.inventory_service.utils.Constants.*;
 @RequiredArgsConstructor
 public class ProviderServiceImpl implements ProviderService {
     private final ProviderRepository providerRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Mono<ProviderDTO> findProviderById(String id) {
@@ -85,6 +89,7 @@ public class ProviderServiceImpl implements ProviderService {
                     return providerRepository.save(providerToSave)
                             .map(Mappers::providerToDTO);
                 }))
+                .doOnSuccess(changed -> eventPublisher.publishEvent(new ReferenceDataChangedEvent(PROVIDER)))
                 .doOnError(error -> log.error(ERROR_SAVING_PROVIDER, error.getMessage()));
     }
 
@@ -111,6 +116,7 @@ public class ProviderServiceImpl implements ProviderService {
                                 }))
                 )
                 .map(Mappers::providerToDTO)
+                .doOnSuccess(changed -> eventPublisher.publishEvent(new ReferenceDataChangedEvent(PROVIDER)))
                 .doOnError(error -> log.error(ERROR_UPDATING_PROVIDER, error.getMessage()));
     }
 
@@ -118,6 +124,7 @@ public class ProviderServiceImpl implements ProviderService {
     public Mono<Void> deleteProviderById(String id) {
         return findById(id)
                 .flatMap(provider -> providerRepository.deleteById(provider.getIdProvider()))
+                .doOnSuccess(changed -> eventPublisher.publishEvent(new ReferenceDataChangedEvent(PROVIDER)))
                 .doOnError(error -> log.error(ERROR_DELETING_PROVIDER, error.getMessage()));
     }
 
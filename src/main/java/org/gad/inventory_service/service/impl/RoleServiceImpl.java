@@ -5,13 +5,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.gad.inventory_service.dto.RoleDTO;
 import org.gad.inventory_service.dto.request.CreateRoleRequest;
 import org.gad.inventory_service.dto.request.UpdateRoleRequest;
+import org.gad.inventory_service.event.UserSecurityChangedEvent;
 import org.gad.inventory_service.exception.RoleNotFoundException;
 import org.gad.inventory_service.model.Permission;
 import org.gad.inventory_service.model.Role;
 import org.gad.inventory_service.repository.PermissionRepository;
 import org.gad.inventory_service.repository.RoleRepository;
+import org.gad.inventory_service.repository.UserRepository;
 import org.gad.inventory_service.service.RoleService;
 import org.gad.inventory_service.utils.Mappers;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -27,6 +30,8 @@ import static org.gad.inventory_service.utils.Constants.*;
 public class RoleServiceImpl implements RoleService {
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Flux<RoleDTO> findAllRoles() {
@@ -74,11 +79,16 @@ public class RoleServiceImpl implements RoleService {
                     return roleRepository.findById(id)
                             .switchIfEmpty(Mono.error(new RoleNotFoundException(ROLE_NOT_FOUND_ID + id)))
                             .flatMap(existingRole -> {
+                                String previousName = existingRole.getName();
                                 existingRole.setName(role.name());
                                 existingRole.setPermissions(convertStringToPermissions(role.permissions()));
-                                return roleRepository.save(existingRole);
+                                return roleRepository.save(existingRole)
+                                        .flatMap(saved -> userRepository.replaceEmbeddedRole(previousName, saved)
+                                                .doOnNext(count -> log.info(USER_TOKENS_REVOKED, count, previousName))
+                                                .thenReturn(saved));
                             });
                 })
+                .doOnSuccess(updated -> eventPublisher.publishEvent(UserSecurityChangedEvent.forAllUsers()))
                 .map(Mappers::roleToDTO)
                 .doOnError(error -> log.error(ERROR_UPDATING_ROLE_BY_ID, id, error.getMessage()));
     }
@@ -87,7 +97,11 @@ public class RoleServiceImpl implements RoleService {
     public Mono<Void> deleteRoleById(String id) {
         return roleRepository.findById(id)
                 .switchIfEmpty(Mono.error(new RoleNotFoundException(ROLE_NOT_FOUND_ID + id)))
-                .flatMap(existingRole -> roleRepository.deleteById(existingRole.getIdRole()))
+                .flatMap(existingRole -> roleRepository.deleteById(existingRole.getIdRole())
+                        .then(userRepository.removeEmbeddedRole(existingRole.getName()))
+                        .doOnNext(count -> log.info(USER_TOKENS_REVOKED, count, existingRole.getName()))
+                        .then())
+                .doOnSuccess(deleted -> eventPublisher.publishEvent(UserSecurityChangedEvent.forAllUsers()))
                 .doOnError(error -> log.error(ERROR_DELETING_ROLE_BY_ID, id, error.getMessage()));
     }
 
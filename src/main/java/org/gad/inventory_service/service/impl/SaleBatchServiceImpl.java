@@ -0,0 +1,311 @@
+package org.gad.inventory_service.service.impl;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.gad.inventory_service.analytics.TopSellersTracker;
+import org.gad.inventory_service.dto.SaleBatchItemDTO;
+import org.gad.inventory_service.dto.SaleBatchResultDTO;
+import org.gad.inventory_service.dto.request.CreateSaleRequest;
+import org.gad.inventory_service.exception.OutOfStockException;
+import org.gad.inventory_service.exception.ProductNotFoundException;
+import org.gad.inventory_service.model.Product;
+import org.gad.inventory_service.model.Sale;
+import org.gad.inventory_service.repository.ProductRepository;
+import org.gad.inventory_service.repository.SaleRepository;
+import org.gad.inventory_service.service.SaleBatchService;
+import org.gad.inventory_service.service.SalesAnalyticsService;
+import org.gad.inventory_service.service.StockLevelService;
+import org.gad.inventory_service.utils.Mappers;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.gad.inventory_service.utils.Constants.*;
+
+// Bulk counterpart of SaleServiceImpl.createSale for terminals syncing in bursts. The stream is cut into chunks;
+// per chunk each distinct product reference is looked up once, stock is reserved once per product, all sales go
+// out in one unordered bulk insert and the rollups in one bulk write. Items fail individually; each chunk's results
+// are streamed in request order as soon as it is done, followed by a final event with the totals.
+@Slf4j
+@Service
+public class SaleBatchServiceImpl implements SaleBatchService {
+    private final SaleRepository saleRepository;
+    private final ProductRepository productRepository;
+    private final StockLevelService stockLevelService;
+    private final SalesAnalyticsService salesAnalyticsService;
+    private final TopSellersTracker topSellersTracker;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public SaleBatchServiceImpl(SaleRepository saleRepository,
+                                ProductRepository productRepository,
+                                StockLevelService stockLevelService,
+                                SalesAnalyticsService salesAnalyticsService,
+                                TopSellersTracker topSellersTracker,
+                                Validator validator,
+                                @Value("${sales.batch.chunk-size}") int chunkSize) {
+        this.saleRepository = saleRepository;
+        this.productRepository = productRepository;
+        this.stockLevelService = stockLevelService;
+        this.salesAnalyticsService = salesAnalyticsService;
+        this.topSellersTracker = topSellersTracker;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public Flux<SaleBatchResultDTO> createSales(Flux<CreateSaleRequest> requests) {
+        return Flux.defer(() -> {
+                    Map<String, Mono<Product>> products = new ConcurrentHashMap<>();
+                    BatchTotals totals = new BatchTotals();
+                    return requests.index()
+                            .buffer(chunkSize)
+                            .concatMap(chunk -> createChunk(chunk, products).collectList().map(totals::add))
+                            .concatWith(Mono.fromSupplier(totals::done))
+                            .doOnComplete(() -> log.info(SALE_BATCH_PROCESSED, totals.created, totals.rejected, totals.unknown));
+                })
+                .doOnError(error -> log.error(ERROR_CREATING_SALE_BATCH, error.getMessage()));
+    }
+
+    private Flux<SaleBatchItemDTO> createChunk(List<Tuple2<Long, CreateSaleRequest>> chunk, Map<String, Mono<Product>> products) {
+        return Flux.fromIterable(chunk)
+                .map(item -> new Line(item.getT1(), item.getT2()))
+                .flatMapSequential(line -> resolve(line, products), SALE_BATCH_RESOLVE_CONCURRENCY)
+                .collectList()
+                .flatMap(this::reserve)
+                .flatMap(this::insert)
+                .flatMapMany(lines -> record(lines)
+                        .thenMany(Flux.fromIterable(lines).map(this::toItem)));
+    }
+
+    // Resolutions are cached for the whole request, failures included, so a product named by a thousand lines
+    // costs one lookup and an unknown one is not looked up again.
+    private Mono<Line> resolve(Line line, Map<String, Mono<Product>> products) {
+        String violations = validate(line.request);
+        if (violations != null) {
+            return Mono.just(line.reject(violations));
+        }
+        CreateSaleRequest request = line.request;
+        return products.computeIfAbsent(referenceOf(request),
+                        reference -> resolveProduct(request.productId(), request.sku(), request.nameProduct()).cache())
+                .map(line::accept)
+                .onErrorResume(error -> Mono.just(line.reject(error.getMessage())));
+    }
+
+    // One conditional decrement per product covers all its lines; only when that fails are the lines reserved one
+    // by one, so as many as the stock allows still go through.
+    private Mono<List<Line>> reserve(List<Line> lines) {
+        Map<String, List<Line>> byProduct = lines.stream()
+                .filter(Line::isAccepted)
+                .collect(Collectors.groupingBy(line -> line.sale.getProductId(), LinkedHashMap::new, Collectors.toList()));
+
+        return Flux.fromIterable(byProduct.entrySet())
+                .flatMap(group -> reserveGroup(group.getKey(), group.getValue()), SALE_BATCH_RESOLVE_CONCURRENCY)
+                .then(Mono.just(lines));
+    }
+
+    private Mono<Void> reserveGroup(String productId, List<Line> group) {
+        int total = group.stream().mapToInt(line -> line.sale.getQuantity()).sum();
+        return stockLevelService.reserve(productId, total)
+                .onErrorResume(OutOfStockException.class, error -> Flux.fromIterable(group)
+                        .concatMap(line -> stockLevelService.reserve(productId, line.sale.getQuantity())
+                                .onErrorResume(lineError -> {
+                                    line.reject(lineError.getMessage());
+                                    return Mono.empty();
+                                }))
+                        .then())
+                .onErrorResume(error -> {
+                    group.forEach(line -> line.reject(error.getMessage()));
+                    return Mono.empty();
+                });
+    }
+
+    // Lines the bulk write reports as failed give their units back; the reservations of the stored ones are confirmed
+    // with one write per product. When the insert fails without saying which documents were written, some may be
+    // stored: those lines are reported as unknown and their reservations are left for the reconciler to settle.
+    private Mono<List<Line>> insert(List<Line> lines) {
+        List<Line> reserved = lines.stream().filter(Line::isAccepted).toList();
+        if (reserved.isEmpty()) {
+            return Mono.just(lines);
+        }
+        return saleRepository.insertUnordered(reserved.stream().map(line -> line.sale).toList())
+                .flatMap(failed -> Flux.fromIterable(failed.entrySet())
+                        .concatMap(failure -> {
+                            Line line = reserved.get(failure.getKey());
+                            line.reject(failure.getValue());
+                            return stockLevelService.cancelReservation(line.sale.getProductId(), line.sale.getQuantity());
+                        })
+                        .then(Mono.defer(() -> confirm(reserved))))
+                .onErrorResume(error -> {
+                    log.warn(SALE_BATCH_OUTCOME_UNKNOWN, reserved.size(), error.getMessage());
+                    reserved.forEach(line -> line.unknown(error.getMessage()));
+                    return Mono.empty();
+                })
+                .thenReturn(lines);
+    }
+
+    private Mono<Void> confirm(List<Line> reserved) {
+        Map<String, Integer> stored = reserved.stream()
+                .filter(Line::isAccepted)
+                .collect(Collectors.groupingBy(line -> line.sale.getProductId(), LinkedHashMap::new,
+                        Collectors.summingInt(line -> line.sale.getQuantity())));
+        return Flux.fromIterable(stored.entrySet())
+                .flatMap(product -> stockLevelService.confirmReservation(product.getKey(), product.getValue()),
+                        SALE_BATCH_RESOLVE_CONCURRENCY)
+                .then();
+    }
+
+    private Mono<Void> record(List<Line> lines) {
+        List<Line> created = lines.stream().filter(Line::isAccepted).toList();
+        if (created.isEmpty()) {
+            return Mono.empty();
+        }
+        created.forEach(line -> topSellersTracker.record(line.sale));
+        Map<String, Product> productsById = created.stream()
+                .collect(Collectors.toMap(line -> line.product.getIdProduct(), line -> line.product, (first, second) -> first));
+        return salesAnalyticsService.recordSales(created.stream().map(line -> line.sale).toList(), productsById);
+    }
+
+    private SaleBatchItemDTO toItem(Line line) {
+        if (line.unknown) {
+            return SaleBatchItemDTO.builder()
+                    .index(line.index)
+                    .status(SALE_BATCH_STATUS_UNKNOWN)
+                    .sale(Mappers.saleToDTO(line.sale, line.product.getName()))
+                    .error(line.error)
+                    .build();
+        }
+        if (line.isAccepted()) {
+            return SaleBatchItemDTO.builder()
+                    .index(line.index)
+                    .status(SALE_BATCH_STATUS_CREATED)
+                    .sale(Mappers.saleToDTO(line.sale, line.product.getName()))
+                    .build();
+        }
+        return SaleBatchItemDTO.builder()
+                .index(line.index)
+                .status(SALE_BATCH_STATUS_REJECTED)
+                .error(line.error)
+                .build();
+    }
+
+    private String validate(CreateSaleRequest request) {
+        Set<ConstraintViolation<CreateSaleRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(TEXT_ERROR_SEPARATOR));
+    }
+
+    private static String referenceOf(CreateSaleRequest request) {
+        if (request.productId() != null) {
+            return "id:" + request.productId();
+        }
+        if (request.sku() != null) {
+            return "sku:" + request.sku();
+        }
+        return "name:" + request.nameProduct();
+    }
+
+    private Mono<Product> resolveProduct(String productId, String sku, String nameProduct) {
+        if (productId != null) {
+            return productRepository.findById(productId)
+                    .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_ID + productId)));
+        }
+        if (sku != null) {
+            return productRepository.findBySku(sku)
+                    .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_SKU + sku)));
+        }
+        return productRepository.findFirstByNamePrefix(nameProduct)
+                .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_NAME + nameProduct)));
+    }
+
+    // Running totals of the whole request; each chunk's event carries only that chunk's items.
+    private static final class BatchTotals {
+        private long received;
+        private long created;
+        private long rejected;
+        private long unknown;
+
+        private SaleBatchResultDTO add(List<SaleBatchItemDTO> items) {
+            for (SaleBatchItemDTO item : items) {
+                received++;
+                switch (item.status()) {
+                    case SALE_BATCH_STATUS_CREATED -> created++;
+                    case SALE_BATCH_STATUS_UNKNOWN -> unknown++;
+                    default -> rejected++;
+                }
+            }
+            return result(false, items);
+        }
+
+        private SaleBatchResultDTO done() {
+            return result(true, List.of());
+        }
+
+        private SaleBatchResultDTO result(boolean done, List<SaleBatchItemDTO> items) {
+            return SaleBatchResultDTO.builder()
+                    .received(received)
+                    .created(created)
+                    .rejected(rejected)
+                    .unknown(unknown)
+                    .done(done)
+                    .items(items)
+                    .build();
+        }
+    }
+
+    private static final class Line {
+        private final long index;
+        private final CreateSaleRequest request;
+        private Product product;
+        private Sale sale;
+        private String error;
+        private boolean unknown;
+
+        private Line(long index, CreateSaleRequest request) {
+            this.index = index;
+            this.request = request;
+        }
+
+        // Ids are assigned up front so each created item can report its sale id without reading the insert back.
+        private Line accept(Product product) {
+            this.product = product;
+            this.sale = Sale.builder()
+                    .idSale(new ObjectId().toHexString())
+                    .productId(product.getIdProduct())
+                    .saleDate(LocalDateTime.now())
+                    .quantity(request.quantity())
+                    .totalPrice(product.getPrice().multiply(BigDecimal.valueOf(request.quantity())))
+                    .build();
+            return this;
+        }
+
+        private Line reject(String error) {
+            this.error = error;
+            return this;
+        }
+
+        private void unknown(String error) {
+            this.error = error;
+            this.unknown = true;
+        }
+
+        private boolean isAccepted() {
+            return sale != null && error == null;
+        }
+    }
+}
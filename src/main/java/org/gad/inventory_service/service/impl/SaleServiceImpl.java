@@ -2,23 +2,32 @@ package org.gad.inventory_service.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.gad.inventory_service.analytics.TopSellersTracker;
+import org.gad.inventory_service.dto.CursorPageDTO;
 import org.gad.inventory_service.dto.SaleDTO;
 import org.gad.inventory_service.dto.request.CreateSaleRequest;
 import org.gad.inventory_service.dto.request.UpdateSaleRequest;
 import org.gad.inventory_service.exception.*;
 import org.gad.inventory_service.model.Product;
 import org.gad.inventory_service.model.Sale;
+import org.gad.inventory_service.model.projection.SaleProductView;
 import org.gad.inventory_service.repository.ProductRepository;
 import org.gad.inventory_service.repository.SaleRepository;
 import org.gad.inventory_service.service.SaleService;
+import org.gad.inventory_service.service.SalesAnalyticsService;
+import org.gad.inventory_service.service.StockLevelService;
 import org.gad.inventory_service.utils.Constants;
+import org.gad.inventory_service.utils.CursorUtils;
 import org.gad.inventory_service.utils.Mappers;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
 
 import static org.gad.inventory_service.utils.Constants.*;
 import static org.gad.inventory_service.utils.UtilsMethods.*;
@@ -30,17 +39,45 @@ import static org.gad.inventory_service.utils.UtilsMethods.parseFlexibleDateEnd;
 public class SaleServiceImpl implements SaleService {
     private final SaleRepository saleRepository;
     private final ProductRepository productRepository;
+    private final StockLevelService stockLevelService;
+    private final SalesAnalyticsService salesAnalyticsService;
+    private final TopSellersTracker topSellersTracker;
 
     @Override
     public Flux<SaleDTO> getAllSales() {
-        return findSales(saleRepository.findAll(), SALE_NOT_FOUND_FLUX, ERROR_SEARCHING_SALE);
+        return findSales(saleRepository.findWithProductByOptionalDateRange(null, null), SALE_NOT_FOUND_FLUX, ERROR_SEARCHING_SALE);
+    }
+
+    @Override
+    public Mono<CursorPageDTO<SaleDTO>> getSalesPage(String cursor, int limit) {
+        return Mono.fromCallable(() -> CursorUtils.decodeCursor(cursor))
+                .flatMap(lastSeen -> saleRepository.findWithProductPage(lastSeen.sortDate(), lastSeen.id(), limit + 1)
+                        .collectList())
+                .flatMap(views -> {
+                    boolean hasNext = views.size() > limit;
+                    List<SaleProductView> pageViews = hasNext ? views.subList(0, limit) : views;
+                    SaleProductView last = hasNext ? pageViews.get(limit - 1) : null;
+
+                    return Flux.fromIterable(pageViews)
+                            .handle(this::toSaleDTO)
+                            .collectList()
+                            .map(sales -> CursorPageDTO.<SaleDTO>builder()
+                                    .items(sales)
+                                    .nextCursor(last != null ? CursorUtils.encodeCursor(last.saleDate(), last.idSale()) : null)
+                                    .hasNext(hasNext)
+                                    .build());
+                })
+                .doOnError(error -> log.error(ERROR_SEARCHING_SALE, error.getMessage()));
     }
 
     @Override
     public Flux<SaleDTO> getSaleByNameProduct(String nameProduct) {
-        return productRepository.findProductByNameContainingIgnoreCase(nameProduct)
+        return productRepository.findFirstByNamePrefix(nameProduct)
                 .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_NAME + nameProduct)))
-                .flatMapMany(product -> findSales(saleRepository.findSalesByProductId(product.getIdProduct()), SALE_NOT_FOUND_NAME + nameProduct, ERROR_SEARCHING_SALE_NAME));
+                .flatMapMany(product -> saleRepository.findSalesByProductId(product.getIdProduct())
+                        .switchIfEmpty(Mono.error(new SalesNotFoundException(SALE_NOT_FOUND_NAME + nameProduct)))
+                        .map(sale -> Mappers.saleToDTO(sale, product.getName())))
+                .doOnError(error -> log.error(ERROR_SEARCHING_SALE_NAME, error.getMessage()));
     }
 
     @Override
@@ -56,22 +93,14 @@ public class SaleServiceImpl implements SaleService {
 
         if (minPrice != null && maxPrice != null) {
             return validatePriceTotal(priceMinFormatted, priceMaxFormatted)
-                    .thenMany(saleRepository.findByOptionalPriceTotalRange(priceMinFormatted, priceMaxFormatted))
+                    .thenMany(saleRepository.findWithProductByOptionalPriceTotalRange(priceMinFormatted, priceMaxFormatted))
                     .switchIfEmpty(Mono.error(new SalesNotFoundException(SALE_NOT_FOUND_BETWEEN_PRICES + minPrice + TEXT_AND + maxPrice)))
-                    .flatMap(sale -> {
-                        Mono<Product> productMono = productRepository.findById(sale.getProductId())
-                                .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_ID + sale.getProductId())));
-                        return productMono.map(product -> Mappers.saleToDTO(sale, product.getName()));
-                    })
+                    .handle(this::toSaleDTO)
                     .doOnError(error -> log.error(Constants.ERROR_SEARCHING_SALE_BETWEEN_PRICES, error.getMessage()));
         } else {
-            return saleRepository.findByOptionalPriceTotalRange(priceMinFormatted, priceMaxFormatted)
+            return saleRepository.findWithProductByOptionalPriceTotalRange(priceMinFormatted, priceMaxFormatted)
                     .switchIfEmpty(Mono.error(new SalesNotFoundException(SALE_NOT_FOUND_BETWEEN_PRICES + minPrice + TEXT_AND + maxPrice)))
-                    .flatMap(sale -> {
-                        Mono<Product> productMono = productRepository.findById(sale.getProductId())
-                                .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_ID + sale.getProductId())));
-                        return productMono.map(product -> Mappers.saleToDTO(sale, product.getName()));
-                    })
+                    .handle(this::toSaleDTO)
                     .doOnError(error -> log.error(ERROR_SEARCHING_SALE_BETWEEN_PRICES, error.getMessage()));
         }
     }
@@ -90,42 +119,29 @@ public class SaleServiceImpl implements SaleService {
 
         if (startDate != null && endDate != null) {
             return validateStocktakingDates(start, end)
-                    .thenMany(saleRepository.findByOptionalDateRange(start, end))
+                    .thenMany(saleRepository.findWithProductByOptionalDateRange(start, end))
                     .switchIfEmpty(Mono.error(new SalesNotFoundException(SALE_NOT_FOUND_BETWEEN_DATES + startDate + TEXT_AND + endDate)))
-                    .flatMap(sale -> {
-                        Mono<Product> productMono = productRepository.findById(sale.getProductId())
-                                .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_ID + sale.getProductId())));
-                        return productMono.map(product -> Mappers.saleToDTO(sale, product.getName()));
-                    })
+                    .handle(this::toSaleDTO)
                     .doOnError(error -> log.error(ERROR_SEARCHING_SALE_BETWEEN_DATES, error.getMessage()));
         } else {
-            return saleRepository.findByOptionalDateRange(start, end)
+            return saleRepository.findWithProductByOptionalDateRange(start, end)
                     .switchIfEmpty(Mono.error(new SalesNotFoundException(SALE_NOT_FOUND_BETWEEN_DATES + startDate + TEXT_AND + endDate)))
-                    .flatMap(sale -> {
-                        Mono<Product> productMono = productRepository.findById(sale.getProductId())
-                                .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_ID + sale.getProductId())));
-                        return productMono.map(product -> Mappers.saleToDTO(sale, product.getName()));
-                    })
+                    .handle(this::toSaleDTO)
                     .doOnError(error -> log.error(Constants.ERROR_SEARCHING_SALE_BETWEEN_DATES, error.getMessage()));
         }
     }
 
     @Override
     public Mono<SaleDTO> getSaleById(String id) {
-        return saleRepository.findById(id)
+        return saleRepository.findWithProductById(id)
                 .switchIfEmpty(Mono.error(new SalesNotFoundException(SALE_NOT_FOUND_ID + id)))
-                .flatMap(sale -> {
-                    Mono<Product> productMono = productRepository.findById(sale.getProductId())
-                            .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_ID + sale.getProductId())));
-                    return productMono.map(product -> Mappers.saleToDTO(sale, product.getName()));
-                })
+                .handle(this::toSaleDTO)
                 .doOnError(error -> log.error(ERROR_SEARCHING_SALE_UUID, error.getMessage()));
     }
 
     @Override
     public Mono<SaleDTO> createSale(CreateSaleRequest createSaleRequest) {
-        return productRepository.findProductByNameContainingIgnoreCase(createSaleRequest.nameProduct())
-                .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_NAME + createSaleRequest.nameProduct())))
+        return resolveProduct(createSaleRequest.productId(), createSaleRequest.sku(), createSaleRequest.nameProduct())
                 .flatMap(product -> {
                     Sale sale = Sale.builder()
                             .productId(product.getIdProduct())
@@ -133,7 +149,9 @@ public class SaleServiceImpl implements SaleService {
                             .quantity(createSaleRequest.quantity())
                             .totalPrice(calculateTotalPrice(createSaleRequest.quantity(), product.getPrice()))
                             .build();
-                    return saleRepository.save(sale)
+                    return saveWithReservation(sale, null)
+                            .doOnNext(topSellersTracker::record)
+                            .flatMap(saleSaved -> salesAnalyticsService.recordSale(saleSaved, product).thenReturn(saleSaved))
                             .map(saleSaved -> Mappers.saleToDTO(saleSaved, product.getName()));
                 })
                 .doOnError(error -> log.error(ERROR_CREATING_SALE, error.getMessage()));
@@ -144,13 +162,22 @@ public class SaleServiceImpl implements SaleService {
         return saleRepository.findById(id)
                 .switchIfEmpty(Mono.error(new SalesNotFoundException(SALE_NOT_FOUND_ID + id)))
                 .flatMap(sale ->
-                        productRepository.findProductByNameContainingIgnoreCase(updateSaleRequest.nameProduct())
-                                .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_NAME + updateSaleRequest.nameProduct())))
+                        resolveProduct(updateSaleRequest.productId(), updateSaleRequest.sku(), updateSaleRequest.nameProduct())
                                 .flatMap(product -> {
+                                    Sale previous = Sale.builder()
+                                            .idSale(sale.getIdSale())
+                                            .productId(sale.getProductId())
+                                            .quantity(sale.getQuantity())
+                                            .totalPrice(sale.getTotalPrice())
+                                            .saleDate(sale.getSaleDate())
+                                            .build();
                                     sale.setProductId(product.getIdProduct());
                                     sale.setQuantity(updateSaleRequest.quantity());
                                     sale.setTotalPrice(calculateTotalPrice(updateSaleRequest.quantity(), product.getPrice()));
-                                    return saleRepository.save(sale)
+                                    return saveWithReservation(sale, previous)
+                                            .flatMap(saleUpdated -> salesAnalyticsService.revertSale(previous)
+                                                    .then(salesAnalyticsService.recordSale(saleUpdated, product))
+                                                    .thenReturn(saleUpdated))
                                             .map(saleUpdated -> Mappers.saleToDTO(saleUpdated, product.getName()));
                                 })
                 )
@@ -161,10 +188,56 @@ public class SaleServiceImpl implements SaleService {
     public Mono<Void> deleteSaleById(String id) {
         return saleRepository.findById(id)
                 .switchIfEmpty(Mono.error(new SalesNotFoundException(SALE_NOT_FOUND_ID + id)))
-                .flatMap(sale -> saleRepository.deleteById(sale.getIdSale()))
+                .flatMap(sale -> saleRepository.deleteById(sale.getIdSale())
+                        .then(stockLevelService.revertSale(sale))
+                        .then(salesAnalyticsService.revertSale(sale)))
                 .doOnError(error -> log.error(ERROR_DELETING_SALE, error.getMessage()));
     }
 
+    // Stock is reserved before the sale is written so an out-of-stock request never leaves a sale behind, and the
+    // reservation is confirmed once it is, so the reconciler knows which units are still in flight. When an update
+    // keeps the product only the extra units are reserved, and units it no longer needs are handed back once the
+    // new version is saved. Both sides skip a level whose last stocktaking already counted the sale's date.
+    private Mono<Sale> saveWithReservation(Sale sale, Sale previous) {
+        boolean sameProduct = previous != null && Objects.equals(previous.getProductId(), sale.getProductId());
+        int needed = sameProduct ? Math.max(sale.getQuantity() - previous.getQuantity(), 0) : sale.getQuantity();
+
+        return stockLevelService.reserve(sale.getProductId(), needed, sale.getSaleDate())
+                .flatMap(reserved -> saleRepository.save(sale)
+                        .onErrorResume(error -> stockLevelService.cancelReservation(sale.getProductId(), reserved)
+                                .then(Mono.error(error)))
+                        .flatMap(saved -> stockLevelService.confirmReservation(saved.getProductId(), reserved)
+                                .then(settlePrevious(saved, previous, sameProduct))
+                                .thenReturn(saved)));
+    }
+
+    private Mono<Void> settlePrevious(Sale saved, Sale previous, boolean sameProduct) {
+        if (previous == null) {
+            return Mono.empty();
+        }
+        if (sameProduct) {
+            int returned = previous.getQuantity() - saved.getQuantity();
+            return returned > 0
+                    ? stockLevelService.release(previous.getProductId(), returned, previous.getSaleDate())
+                    : Mono.empty();
+        }
+        return stockLevelService.revertSale(previous);
+    }
+
+    // The id and the SKU are both unique-index point lookups; the name prefix is only a fallback for older clients.
+    private Mono<Product> resolveProduct(String productId, String sku, String nameProduct) {
+        if (productId != null) {
+            return productRepository.findById(productId)
+                    .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_ID + productId)));
+        }
+        if (sku != null) {
+            return productRepository.findBySku(sku)
+                    .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_SKU + sku)));
+        }
+        return productRepository.findFirstByNamePrefix(nameProduct)
+                .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_NAME + nameProduct)));
+    }
+
     private BigDecimal calculateTotalPrice(Integer quantity, BigDecimal priceProduct) {
         return priceProduct.multiply(BigDecimal.valueOf(quantity));
     }
@@ -184,14 +257,18 @@ public class SaleServiceImpl implements SaleService {
         return Mono.empty();
     }
 
-    private Flux<SaleDTO> findSales(Flux<Sale> saleFlux, String errorMessage, String logMessage) {
+    private Flux<SaleDTO> findSales(Flux<SaleProductView> saleFlux, String errorMessage, String logMessage) {
         return saleFlux
                 .switchIfEmpty(Mono.error(new SalesNotFoundException(errorMessage)))
-                .flatMap(sale -> {
-                    Mono<Product> productMono = productRepository.findById(sale.getProductId())
-                            .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_ID + sale.getProductId())));
-                    return productMono.map(product -> Mappers.saleToDTO(sale, product.getName()));
-                })
+                .handle(this::toSaleDTO)
                 .doOnError(error -> log.error(logMessage, error.getMessage()));
     }
+
+    private void toSaleDTO(SaleProductView view, SynchronousSink<SaleDTO> sink) {
+        if (view.productName() == null) {
+            sink.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_ID + view.productId()));
+            return;
+        }
+        sink.next(Mappers.saleViewToDTO(view));
+    }
 }
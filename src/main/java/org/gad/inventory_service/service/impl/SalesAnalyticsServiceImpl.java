@@ -0,0 +1,193 @@
+package org.gad.inventory_service.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.gad.inventory_service.analytics.HeavyHitter;
+import org.gad.inventory_service.analytics.RollupWindow;
+import org.gad.inventory_service.analytics.TopSellersTracker;
+import org.gad.inventory_service.analytics.TopSellersWindow;
+import org.gad.inventory_service.dto.SalesStatsDTO;
+import org.gad.inventory_service.dto.TopSellerDTO;
+import org.gad.inventory_service.exception.InvalidDateRangeException;
+import org.gad.inventory_service.model.*;
+import org.gad.inventory_service.repository.ProductRepository;
+import org.gad.inventory_service.repository.SalesRollupRepository;
+import org.gad.inventory_service.repository.StockLevelRepository;
+import org.gad.inventory_service.service.SalesAnalyticsService;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.gad.inventory_service.utils.Constants.*;
+import static org.gad.inventory_service.utils.UtilsMethods.parseFlexibleDateEnd;
+import static org.gad.inventory_service.utils.UtilsMethods.parseFlexibleDateStart;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesAnalyticsServiceImpl implements SalesAnalyticsService {
+    private final SalesRollupRepository salesRollupRepository;
+    private final ProductRepository productRepository;
+    private final StockLevelRepository stockLevelRepository;
+    private final TopSellersTracker topSellersTracker;
+
+    @Override
+    public Mono<Void> recordSale(Sale sale, Product product) {
+        return applyDeltas(sale, product, 1);
+    }
+
+    // Category and brand come from the product as it is now; if it has been deleted only the store-wide and
+    // product buckets are corrected, and the next rebuild settles the rest.
+    // Sales of one batch mostly share their day, month and store buckets, so deltas are summed per bucket first
+    // and the whole batch costs one bulk write of distinct buckets; only sales created in the same minute share a delta.
+    @Override
+    public Mono<Void> recordSales(List<Sale> sales, Map<String, Product> productsById) {
+        Map<List<String>, SalesRollup> deltas = new LinkedHashMap<>();
+        sales.forEach(sale -> deltasOf(sale, productsById.get(sale.getProductId()), 1)
+                .forEach(delta -> deltas.merge(List.of(delta.getIdRollup(), delta.getStamp()), delta, SalesAnalyticsServiceImpl::combine)));
+        return salesRollupRepository.incrementBuckets(new ArrayList<>(deltas.values()))
+                .onErrorResume(error -> {
+                    log.error(ERROR_UPDATING_SALES_ROLLUPS_BATCH, sales.size(), error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public Mono<Void> revertSale(Sale sale) {
+        return productRepository.findById(sale.getProductId())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(product -> applyDeltas(sale, product.orElse(null), -1))
+                .onErrorResume(error -> logRollupFailure(sale, error));
+    }
+
+    @Override
+    public Mono<SalesStatsDTO> getTotals(String from, String to, RollupDimension dimension, String key) {
+        LocalDate start = parseFlexibleDateStart(from).toLocalDate();
+        LocalDate end = parseFlexibleDateEnd(to).toLocalDate();
+        return validateDates(start, end)
+                .thenMany(Flux.defer(() -> salesRollupRepository.findBuckets(dimension, key, RollupWindow.cover(start, end))))
+                .collectList()
+                .map(buckets -> SalesStatsDTO.builder()
+                        .dimension(dimension.name().toLowerCase())
+                        .key(key)
+                        .from(start.toString())
+                        .to(end.toString())
+                        .salesCount(buckets.stream().mapToLong(SalesRollup::getCount).sum())
+                        .quantity(buckets.stream().mapToLong(SalesRollup::getQuantity).sum())
+                        .revenue(buckets.stream().map(SalesRollup::getRevenue).reduce(BigDecimal.ZERO, BigDecimal::add))
+                        .build())
+                .doOnError(error -> log.error(ERROR_SEARCHING_SALES_STATS, error.getMessage()));
+    }
+
+    @Override
+    public Flux<SalesStatsDTO> getBreakdown(String from, String to, RollupDimension dimension, int limit) {
+        LocalDate start = parseFlexibleDateStart(from).toLocalDate();
+        LocalDate end = parseFlexibleDateEnd(to).toLocalDate();
+        return validateDates(start, end)
+                .thenMany(Flux.defer(() -> salesRollupRepository.sumByKey(dimension, RollupWindow.cover(start, end), limit)))
+                .map(totals -> SalesStatsDTO.builder()
+                        .dimension(dimension.name().toLowerCase())
+                        .key(totals.key())
+                        .from(start.toString())
+                        .to(end.toString())
+                        .salesCount(totals.count())
+                        .quantity(totals.quantity())
+                        .revenue(totals.revenue())
+                        .build())
+                .doOnError(error -> log.error(ERROR_SEARCHING_SALES_STATS, error.getMessage()));
+    }
+
+    // Ranking never touches Mongo; the only query is one _id lookup of the stock levels of the returned products.
+    @Override
+    public Flux<TopSellerDTO> getTopSellers(TopSellersWindow window, int limit, long lowStockThreshold) {
+        return Mono.fromCallable(() -> topSellersTracker.top(window, limit))
+                .flatMapMany(hitters -> stockLevelRepository.findAllById(hitters.stream().map(HeavyHitter::key).toList())
+                        .collectMap(StockLevel::getProductId, StockLevel::getQuantity)
+                        .flatMapMany(stock -> Flux.fromIterable(hitters)
+                                .map(hitter -> {
+                                    long available = stock.getOrDefault(hitter.key(), 0L);
+                                    return TopSellerDTO.builder()
+                                            .idProduct(hitter.key())
+                                            .unitsSold(hitter.count())
+                                            .maxOvercount(hitter.error())
+                                            .stock(available)
+                                            .lowStock(available <= lowStockThreshold)
+                                            .window(window.name().toLowerCase())
+                                            .build();
+                                })))
+                .doOnError(error -> log.error(ERROR_SEARCHING_TOP_SELLERS, error.getMessage()));
+    }
+
+    private Mono<Void> applyDeltas(Sale sale, Product product, int sign) {
+        return salesRollupRepository.incrementBuckets(deltasOf(sale, product, sign))
+                .onErrorResume(error -> logRollupFailure(sale, error));
+    }
+
+    private List<SalesRollup> deltasOf(Sale sale, Product product, int sign) {
+        List<SalesRollup> deltas = new ArrayList<>();
+        String stamp = SalesRollup.stampOf(createdAt(sale));
+        Instant writtenAt = Instant.now();
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            String period = granularity.periodOf(sale.getSaleDate());
+            deltas.add(delta(granularity, period, RollupDimension.ALL, RollupDimension.ALL_KEY, sale, sign, stamp, writtenAt));
+            deltas.add(delta(granularity, period, RollupDimension.PRODUCT, sale.getProductId(), sale, sign, stamp, writtenAt));
+            if (product != null && product.getCategoryId() != null) {
+                deltas.add(delta(granularity, period, RollupDimension.CATEGORY, product.getCategoryId(), sale, sign, stamp, writtenAt));
+            }
+            if (product != null && product.getBrandId() != null) {
+                deltas.add(delta(granularity, period, RollupDimension.BRAND, product.getBrandId(), sale, sign, stamp, writtenAt));
+            }
+        }
+        return deltas;
+    }
+
+    // Every delta of a sale, including an update or delete long after it, is stamped with the minute the sale was
+    // created in, which decides whether a rollup rebuild aggregates the sale at all, and with the time it is built,
+    // always after the write it describes was stored, which decides whether that rebuild already saw the write.
+    private static Instant createdAt(Sale sale) {
+        return sale.getIdSale() != null && ObjectId.isValid(sale.getIdSale()) ? new ObjectId(sale.getIdSale()).getDate().toInstant() : Instant.now();
+    }
+
+    private static SalesRollup combine(SalesRollup first, SalesRollup second) {
+        first.setCount(first.getCount() + second.getCount());
+        first.setQuantity(first.getQuantity() + second.getQuantity());
+        first.setRevenue(first.getRevenue().add(second.getRevenue()));
+        return first;
+    }
+
+    private SalesRollup delta(RollupGranularity granularity, String period, RollupDimension dimension, String key, Sale sale, int sign, String stamp, Instant writtenAt) {
+        return SalesRollup.builder()
+                .idRollup(SalesRollup.idOf(granularity, period, dimension, key))
+                .granularity(granularity)
+                .period(period)
+                .dimension(dimension)
+                .key(key)
+                .count(sign)
+                .quantity((long) sign * sale.getQuantity())
+                .revenue(sale.getTotalPrice().multiply(BigDecimal.valueOf(sign)))
+                .stamp(stamp)
+                .writtenAt(writtenAt)
+                .build();
+    }
+
+    private Mono<Void> validateDates(LocalDate start, LocalDate end) {
+        if (start.isAfter(end)) {
+            return Mono.error(new InvalidDateRangeException(MESSAGE_INVALID_DATE_RANGE));
+        }
+        return Mono.empty();
+    }
+
+    // Like the stock projection, a failed bucket update must not fail a sale that is already stored; the periodic
+    // rebuild recomputes the buckets from the sales themselves.
+    private Mono<Void> logRollupFailure(Sale sale, Throwable error) {
+        log.error(ERROR_UPDATING_SALES_ROLLUPS, sale.getIdSale(), error.getMessage());
+        return Mono.empty();
+    }
+}
@@ -0,0 +1,195 @@
+package org.gad.inventory_service.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.gad.inventory_service.dto.StockLevelDTO;
+import org.gad.inventory_service.exception.OutOfStockException;
+import org.gad.inventory_service.exception.ProductNotFoundException;
+import org.gad.inventory_service.model.Product;
+import org.gad.inventory_service.model.Sale;
+import org.gad.inventory_service.model.StockLevel;
+import org.gad.inventory_service.model.Stocktaking;
+import org.gad.inventory_service.repository.ProductRepository;
+import org.gad.inventory_service.repository.SaleRepository;
+import org.gad.inventory_service.repository.StockLevelRepository;
+import org.gad.inventory_service.repository.StocktakingRepository;
+import org.gad.inventory_service.service.StockLevelService;
+import org.gad.inventory_service.utils.Mappers;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.gad.inventory_service.utils.Constants.*;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockLevelServiceImpl implements StockLevelService {
+    private final StockLevelRepository stockLevelRepository;
+    private final StocktakingRepository stocktakingRepository;
+    private final SaleRepository saleRepository;
+    private final ProductRepository productRepository;
+
+    @Override
+    public Mono<StockLevelDTO> findStockByProductId(String productId) {
+        return stockLevelRepository.findById(productId)
+                .switchIfEmpty(Mono.defer(() -> productRepository.findById(productId)
+                        .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_ID + productId)))
+                        .map(product -> StockLevel.builder().productId(product.getIdProduct()).build())))
+                .map(Mappers::stockLevelToDTO)
+                .doOnError(error -> log.error(ERROR_SEARCHING_STOCK_LEVEL, error.getMessage()));
+    }
+
+    @Override
+    public Mono<Void> reserve(String productId, int quantity) {
+        if (quantity <= 0) {
+            return Mono.empty();
+        }
+        return stockLevelRepository.reserveQuantity(productId, quantity)
+                .switchIfEmpty(Mono.defer(() -> stockLevelRepository.findById(productId)
+                        .map(StockLevel::getQuantity)
+                        .defaultIfEmpty(0L)
+                        .flatMap(available -> outOfStock(productId, quantity, available))))
+                .then();
+    }
+
+    // Units of a sale dated at or before the last stocktaking are part of that count, so, as release() does not
+    // hand them back, nothing is reserved for them. Emits the units actually reserved.
+    @Override
+    public Mono<Integer> reserve(String productId, int quantity, LocalDateTime soldAt) {
+        if (quantity <= 0) {
+            return Mono.just(0);
+        }
+        return stockLevelRepository.reserveQuantity(productId, quantity, soldAt)
+                .map(level -> quantity)
+                .switchIfEmpty(Mono.defer(() -> stockLevelRepository.findById(productId)
+                        .flatMap(level -> countedSince(level, soldAt)
+                                ? Mono.just(0)
+                                : outOfStock(productId, quantity, level.getQuantity()))
+                        .switchIfEmpty(Mono.defer(() -> outOfStock(productId, quantity, 0L)))));
+    }
+
+    @Override
+    public Mono<Void> confirmReservation(String productId, int quantity) {
+        if (quantity <= 0) {
+            return Mono.empty();
+        }
+        return stockLevelRepository.confirmReservation(productId, quantity)
+                .onErrorResume(error -> logProjectionFailure(productId, error));
+    }
+
+    @Override
+    public Mono<Void> cancelReservation(String productId, int quantity) {
+        if (quantity <= 0) {
+            return Mono.empty();
+        }
+        return stockLevelRepository.cancelReservation(productId, quantity)
+                .onErrorResume(error -> logProjectionFailure(productId, error));
+    }
+
+    @Override
+    public Mono<Void> release(String productId, int quantity, LocalDateTime soldAt) {
+        if (quantity <= 0) {
+            return Mono.empty();
+        }
+        return stockLevelRepository.incrementQuantity(productId, quantity, soldAt)
+                .onErrorResume(error -> logProjectionFailure(productId, error));
+    }
+
+    @Override
+    public Mono<Void> revertSale(Sale sale) {
+        return release(sale.getProductId(), sale.getQuantity(), sale.getSaleDate());
+    }
+
+    @Override
+    public Mono<Void> applyStocktaking(Stocktaking stocktaking) {
+        return stockLevelRepository.resetQuantity(stocktaking.getProductId(), stocktaking.getQuantity(), stocktaking.getStocktakingDate())
+                .onErrorResume(error -> logProjectionFailure(stocktaking.getProductId(), error));
+    }
+
+    @Override
+    public Mono<Void> reconcileProduct(String productId) {
+        return reconcileProduct(productId, 1)
+                .onErrorResume(error -> logProjectionFailure(productId, error));
+    }
+
+    // The level is read before the history and written back only if its version is unchanged, so a reservation,
+    // release or count landing in between makes the write miss and the rebuild start over instead of being
+    // overwritten. Units still reserved for sales not written yet are kept out of the rebuilt quantity.
+    private Mono<Void> reconcileProduct(String productId, int attempt) {
+        return stockLevelRepository.findById(productId)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(seen -> rebuild(productId, seen.orElse(null)))
+                .flatMap(written -> {
+                    if (written) {
+                        return Mono.<Void>empty();
+                    }
+                    if (attempt >= STOCK_RECONCILE_MAX_ATTEMPTS) {
+                        log.warn(STOCK_LEVEL_RECONCILE_CONTENDED, productId, attempt);
+                        return Mono.<Void>empty();
+                    }
+                    return reconcileProduct(productId, attempt + 1);
+                });
+    }
+
+    private Mono<Boolean> rebuild(String productId, StockLevel seen) {
+        long reserved = pendingReservations(seen);
+        return stocktakingRepository.findFirstByProductIdOrderByStocktakingDateDesc(productId)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(lastCount -> {
+                    LocalDateTime countedAt = lastCount.map(Stocktaking::getStocktakingDate).orElse(null);
+                    long counted = lastCount.map(Stocktaking::getQuantity).orElse(0);
+                    return saleRepository.sumQuantityByProductSince(productId, countedAt)
+                            .map(sold -> StockLevel.builder()
+                                    .productId(productId)
+                                    .quantity(counted - sold - reserved)
+                                    .reserved(reserved)
+                                    .lastStocktakingDate(countedAt)
+                                    .updatedAt(LocalDateTime.now())
+                                    .build());
+                })
+                .flatMap(rebuilt -> stockLevelRepository.replaceIfUnchanged(rebuilt, seen));
+    }
+
+    // Every reserve, confirm and cancel refreshes updated_at, so a level idle for longer than any request can take
+    // has nothing in flight: what is left in reserved belongs to a request that died before confirming, and is dropped.
+    private static long pendingReservations(StockLevel seen) {
+        if (seen == null || seen.getReserved() <= 0) {
+            return 0L;
+        }
+        boolean idle = seen.getUpdatedAt() == null
+                || seen.getUpdatedAt().isBefore(LocalDateTime.now().minusMinutes(STOCK_RESERVATION_TIMEOUT_MINUTES));
+        return idle ? 0L : seen.getReserved();
+    }
+
+    private static boolean countedSince(StockLevel level, LocalDateTime soldAt) {
+        return soldAt != null && level.getLastStocktakingDate() != null && !level.getLastStocktakingDate().isBefore(soldAt);
+    }
+
+    private static <T> Mono<T> outOfStock(String productId, int quantity, long available) {
+        return Mono.error(new OutOfStockException(OUT_OF_STOCK + productId + TEXT_REQUESTED + quantity + TEXT_AVAILABLE + available));
+    }
+
+    // Rebuilds every level from the latest stocktaking plus the sales after it, repairing any drift left by
+    // a projection update that failed after its sale or stocktaking was saved.
+    @Override
+    public Mono<Long> reconcileAll() {
+        return productRepository.findAll()
+                .map(Product::getIdProduct)
+                .flatMap(productId -> reconcileProduct(productId).thenReturn(productId), STOCK_RECONCILE_CONCURRENCY)
+                .count()
+                .doOnNext(reconciled -> log.info(STOCK_LEVELS_RECONCILED, reconciled))
+                .doOnError(error -> log.error(ERROR_RECONCILING_STOCK_LEVELS, error.getMessage()));
+    }
+
+    // The sale or stocktaking is already stored when the projection is updated; failing the request here would
+    // invite a retry that records it twice, so the level is left for the reconciler instead.
+    private Mono<Void> logProjectionFailure(String productId, Throwable error) {
+        log.error(ERROR_UPDATING_STOCK_LEVEL, productId, error.getMessage());
+        return Mono.empty();
+    }
+}
@@ -0,0 +1,311 @@
+package org.gad.inventory_service.service.impl;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.gad.inventory_service.config.scheduler.WorkSchedulers;
+import org.gad.inventory_service.dto.ImportRowErrorDTO;
+import org.gad.inventory_service.dto.StocktakingImportProgressDTO;
+import org.gad.inventory_service.dto.request.CreateStocktakingRequest;
+import org.gad.inventory_service.exception.InvalidImportFileException;
+import org.gad.inventory_service.exception.ServiceBusyException;
+import org.gad.inventory_service.importer.ImportFiles;
+import org.gad.inventory_service.importer.ImportFormat;
+import org.gad.inventory_service.importer.ImportHeader;
+import org.gad.inventory_service.importer.TabularFileReader;
+import org.gad.inventory_service.model.Product;
+import org.gad.inventory_service.model.Stocktaking;
+import org.gad.inventory_service.repository.ProductRepository;
+import org.gad.inventory_service.repository.StocktakingRepository;
+import org.gad.inventory_service.service.StockLevelService;
+import org.gad.inventory_service.service.StocktakingImportService;
+import org.gad.inventory_service.service.UserService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.gad.inventory_service.utils.Constants.*;
+
+// Bulk counterpart of StocktakingServiceImpl.createStocktaking for whole warehouse counts. The upload is spooled
+// to a temp file and read row by row on the import scheduler; rows are gathered into chunks and each chunk costs
+// three product lookups at most (ids, SKUs, names), one insertMany and one stock level update per product, so
+// memory stays bounded by the chunk size whatever the file size. A progress event is emitted after every chunk.
+@Slf4j
+@Service
+public class StocktakingImportServiceImpl implements StocktakingImportService {
+    private final StocktakingRepository stocktakingRepository;
+    private final ProductRepository productRepository;
+    private final UserService userService;
+    private final StockLevelService stockLevelService;
+    private final WorkSchedulers workSchedulers;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public StocktakingImportServiceImpl(StocktakingRepository stocktakingRepository,
+                                        ProductRepository productRepository,
+                                        UserService userService,
+                                        StockLevelService stockLevelService,
+                                        WorkSchedulers workSchedulers,
+                                        Validator validator,
+                                        @Value("${stocktaking.import.chunk-size}") int chunkSize) {
+        this.stocktakingRepository = stocktakingRepository;
+        this.productRepository = productRepository;
+        this.userService = userService;
+        this.stockLevelService = stockLevelService;
+        this.workSchedulers = workSchedulers;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    // The user is resolved once per upload instead of once per row.
+    @Override
+    public Flux<StocktakingImportProgressDTO> importStocktaking(String filename, Flux<DataBuffer> content) {
+        return Mono.fromCallable(() -> ImportFormat.fromFilename(filename, ImportFormat.CSV, ImportFormat.XLSX))
+                .flatMapMany(format -> userService.getAuthenticatedUser()
+                        .flatMapMany(user -> ImportFiles.spooled(content, STOCKTAKING_IMPORT_FILE_PREFIX, format,
+                                file -> read(file, format, user.idUser()))))
+                .onErrorMap(RejectedExecutionException.class, e -> new ServiceBusyException(MESSAGE_SERVICE_BUSY, e))
+                .doOnError(error -> log.error(ERROR_IMPORTING_STOCKTAKING, error.getMessage()));
+    }
+
+    // The reader pushes rows and cannot be paused, so each full chunk is written with block() on the import
+    // worker; that is what bounds memory. Progress events are one per chunk and small, so buffering them is fine.
+    private Flux<StocktakingImportProgressDTO> read(Path file, ImportFormat format, String performedBy) {
+        return Flux.<StocktakingImportProgressDTO>create(sink -> {
+                    ImportRun run = new ImportRun(performedBy, sink);
+                    try {
+                        TabularFileReader.read(file, format, run::row);
+                        run.finish();
+                        sink.complete();
+                    } catch (CancellationException e) {
+                        log.debug(STOCKTAKING_IMPORT_CANCELLED, run.processed);
+                    } catch (IOException | RuntimeException e) {
+                        sink.error(e);
+                    }
+                })
+                .subscribeOn(workSchedulers.getImportScheduler());
+    }
+
+    private Mono<List<ImportRowErrorDTO>> importChunk(List<Line> lines, String performedBy) {
+        lines.forEach(this::validate);
+        List<Line> valid = lines.stream().filter(line -> line.error == null).toList();
+
+        return Mono.zip(
+                        lookup(valid, CreateStocktakingRequest::productId, productRepository::findAllById, Product::getIdProduct),
+                        lookup(valid, request -> request.productId() == null ? request.sku() : null,
+                                productRepository::findAllBySkuIn, Product::getSku),
+                        lookupByName(valid))
+                .flatMap(products -> {
+                    LocalDateTime countedAt = LocalDateTime.now();
+                    List<Line> resolved = new ArrayList<>();
+                    for (Line line : valid) {
+                        line.resolve(products.getT1(), products.getT2(), products.getT3());
+                        if (line.error == null) {
+                            resolved.add(line);
+                        }
+                    }
+                    return save(resolved, countedAt, performedBy);
+                })
+                .onErrorResume(error -> {
+                    log.error(ERROR_IMPORTING_STOCKTAKING_CHUNK, valid.size(), error.getMessage());
+                    valid.forEach(line -> line.error = error.getMessage());
+                    return Mono.empty();
+                })
+                .then(Mono.fromSupplier(() -> lines.stream()
+                        .filter(line -> line.error != null)
+                        .map(line -> ImportRowErrorDTO.builder().row(line.row).error(line.error).build())
+                        .toList()));
+    }
+
+    // Counts of the same product within a chunk share a timestamp, so only the last one feeds the stock level.
+    private Mono<Void> save(List<Line> lines, LocalDateTime countedAt, String performedBy) {
+        if (lines.isEmpty()) {
+            return Mono.empty();
+        }
+        List<Stocktaking> stocktakings = lines.stream()
+                .map(line -> Stocktaking.builder()
+                        .productId(line.product.getIdProduct())
+                        .quantity(line.request.quantity())
+                        .stocktakingDate(countedAt)
+                        .performedBy(performedBy)
+                        .build())
+                .toList();
+
+        return stocktakingRepository.insert(stocktakings)
+                .collect(Collectors.toMap(Stocktaking::getProductId, Function.identity(), (first, second) -> second, LinkedHashMap::new))
+                .flatMapMany(latest -> Flux.fromIterable(latest.values()))
+                .flatMap(stockLevelService::applyStocktaking, STOCKTAKING_IMPORT_CONCURRENCY)
+                .then()
+                .onErrorResume(error -> {
+                    log.error(ERROR_IMPORTING_STOCKTAKING_CHUNK, lines.size(), error.getMessage());
+                    lines.forEach(line -> line.error = error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Map<String, Product>> lookup(List<Line> lines,
+                                              Function<CreateStocktakingRequest, String> reference,
+                                              Function<Collection<String>, Flux<Product>> finder,
+                                              Function<Product, String> key) {
+        Set<String> references = lines.stream()
+                .map(line -> reference.apply(line.request))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (references.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return finder.apply(references).collectMap(key);
+    }
+
+    private Mono<Map<String, Product>> lookupByName(List<Line> lines) {
+        Set<String> names = lines.stream()
+                .filter(line -> line.request.productId() == null && line.request.sku() == null)
+                .map(line -> line.request.productName())
+                .collect(Collectors.toSet());
+        return Flux.fromIterable(names)
+                .flatMap(name -> productRepository.findFirstByNamePrefix(name)
+                        .map(product -> Map.entry(name, product)), STOCKTAKING_IMPORT_CONCURRENCY)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private void validate(Line line) {
+        if (line.error != null) {
+            return;
+        }
+        Set<ConstraintViolation<CreateStocktakingRequest>> violations = validator.validate(line.request);
+        if (!violations.isEmpty()) {
+            line.error = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(TEXT_ERROR_SEPARATOR));
+        }
+    }
+
+    private final class ImportRun {
+        private final String performedBy;
+        private final FluxSink<StocktakingImportProgressDTO> sink;
+        private final List<Line> chunk = new ArrayList<>();
+        private ImportHeader header;
+        private long processed;
+        private long rejected;
+
+        private ImportRun(String performedBy, FluxSink<StocktakingImportProgressDTO> sink) {
+            this.performedBy = performedBy;
+            this.sink = sink;
+        }
+
+        private void row(long rowNumber, List<String> cells) {
+            if (sink.isCancelled()) {
+                throw new CancellationException();
+            }
+            if (header == null) {
+                header = header(cells);
+                return;
+            }
+            chunk.add(line(rowNumber, cells));
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        private void finish() {
+            if (header == null) {
+                throw new InvalidImportFileException(MESSAGE_IMPORT_MISSING_COLUMNS);
+            }
+            if (!chunk.isEmpty()) {
+                flush();
+            }
+            sink.next(progress(true, List.of()));
+            log.info(STOCKTAKING_IMPORT_FINISHED, processed, processed - rejected, rejected);
+        }
+
+        private ImportHeader header(List<String> cells) {
+            ImportHeader header = ImportHeader.of(cells);
+            boolean referenced = header.has(IMPORT_COLUMN_PRODUCT_ID) || header.has(IMPORT_COLUMN_SKU) || header.has(IMPORT_COLUMN_PRODUCT_NAME);
+            if (!header.has(IMPORT_COLUMN_QUANTITY) || !referenced) {
+                throw new InvalidImportFileException(MESSAGE_IMPORT_MISSING_COLUMNS);
+            }
+            return header;
+        }
+
+        private Line line(long row, List<String> cells) {
+            String quantity = header.value(cells, IMPORT_COLUMN_QUANTITY);
+            Integer parsedQuantity = null;
+            String error = null;
+            if (quantity != null) {
+                try {
+                    parsedQuantity = new BigDecimal(quantity).intValueExact();
+                } catch (NumberFormatException | ArithmeticException e) {
+                    error = MESSAGE_IMPORT_INVALID_QUANTITY;
+                }
+            }
+            CreateStocktakingRequest request = CreateStocktakingRequest.builder()
+                    .productId(header.value(cells, IMPORT_COLUMN_PRODUCT_ID))
+                    .sku(header.value(cells, IMPORT_COLUMN_SKU))
+                    .productName(header.value(cells, IMPORT_COLUMN_PRODUCT_NAME))
+                    .quantity(parsedQuantity)
+                    .build();
+            return new Line(row, request, error);
+        }
+
+        private void flush() {
+            List<ImportRowErrorDTO> errors = importChunk(List.copyOf(chunk), performedBy).block();
+            processed += chunk.size();
+            rejected += errors.size();
+            chunk.clear();
+            sink.next(progress(false, errors));
+        }
+
+        // Rejected rows are reported once, in the event of the chunk they belong to; the final done event only
+        // carries the totals, so a run holds no more than one chunk however large the file is.
+        private StocktakingImportProgressDTO progress(boolean done, List<ImportRowErrorDTO> errors) {
+            return StocktakingImportProgressDTO.builder()
+                    .processed(processed)
+                    .imported(processed - rejected)
+                    .rejected(rejected)
+                    .done(done)
+                    .errors(errors)
+                    .build();
+        }
+    }
+
+    private static final class Line {
+        private final long row;
+        private final CreateStocktakingRequest request;
+        private Product product;
+        private String error;
+
+        private Line(long row, CreateStocktakingRequest request, String error) {
+            this.row = row;
+            this.request = request;
+            this.error = error;
+        }
+
+        // Same precedence and messages as StocktakingServiceImpl.resolveProduct.
+        private void resolve(Map<String, Product> byId, Map<String, Product> bySku, Map<String, Product> byName) {
+            if (request.productId() != null) {
+                product = byId.get(request.productId());
+                error = product == null ? PRODUCT_NOT_FOUND_ID + request.productId() : null;
+            } else if (request.sku() != null) {
+                product = bySku.get(request.sku());
+                error = product == null ? PRODUCT_NOT_FOUND_SKU + request.sku() : null;
+            } else {
+                product = byName.get(request.productName());
+                error = product == null ? STOCKTAKING_NOT_FOUND_NAME + request.productName() : null;
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.gad.inventory_service.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.gad.inventory_service.dto.CursorPageDTO;
 import org.gad.inventory_service.dto.StocktakingDTO;
 import org.gad.inventory_service.dto.request.CreateStocktakingRequest;
 import org.gad.inventory_service.dto.request.UpdateStocktakingRequest;
@@ -10,17 +11,23 @@ import org.gad.inventory_service.exception.ProductNotFoundException;
 import org.gad.inventory_service.exception.StockTakingNotFoundException;
 import org.gad.inventory_service.model.Product;
 import org.gad.inventory_service.model.Stocktaking;
+import org.gad.inventory_service.model.projection.StocktakingProductView;
 import org.gad.inventory_service.repository.ProductRepository;
 import org.gad.inventory_service.repository.StocktakingRepository;
+import org.gad.inventory_service.service.StockLevelService;
 import org.gad.inventory_service.service.StocktakingService;
 import org.gad.inventory_service.service.UserService;
 import org.gad.inventory_service.utils.Constants;
+import org.gad.inventory_service.utils.CursorUtils;
 import org.gad.inventory_service.utils.Mappers;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
 
 import static org.gad.inventory_service.utils.Constants.*;
 import static org.gad.inventory_service.utils.UtilsMethods.*;
@@ -33,10 +40,33 @@ public class StocktakingServiceImpl implements StocktakingService {
     private final StocktakingRepository stocktakingRepository;
     private final ProductRepository productRepository;
     private final UserService userService;
+    private final StockLevelService stockLevelService;
 
     @Override
     public Flux<StocktakingDTO> findAllStocktaking() {
-        return findStocktaking(stocktakingRepository.findAll(), STOCKTAKING_NOT_FOUND);
+        return findStocktaking(stocktakingRepository.findWithProductByOptionalDateRange(null, null), STOCKTAKING_NOT_FOUND);
+    }
+
+    @Override
+    public Mono<CursorPageDTO<StocktakingDTO>> findStocktakingPage(String cursor, int limit) {
+        return Mono.fromCallable(() -> CursorUtils.decodeCursor(cursor))
+                .flatMap(lastSeen -> stocktakingRepository.findWithProductPage(lastSeen.sortDate(), lastSeen.id(), limit + 1)
+                        .collectList())
+                .flatMap(views -> {
+                    boolean hasNext = views.size() > limit;
+                    List<StocktakingProductView> pageViews = hasNext ? views.subList(0, limit) : views;
+                    StocktakingProductView last = hasNext ? pageViews.get(limit - 1) : null;
+
+                    return Flux.fromIterable(pageViews)
+                            .handle(this::toStocktakingDTO)
+                            .collectList()
+                            .map(stocktakings -> CursorPageDTO.<StocktakingDTO>builder()
+                                    .items(stocktakings)
+                                    .nextCursor(last != null ? CursorUtils.encodeCursor(last.stocktakingDate(), last.idStocktaking()) : null)
+                                    .hasNext(hasNext)
+                                    .build());
+                })
+                .doOnError(error -> log.error(Constants.ERROR_SEARCHING_STOCKTAKING, error.getMessage()));
     }
 
     @Override
@@ -53,44 +83,37 @@ public class StocktakingServiceImpl implements StocktakingService {
 
         if (startDate != null && endDate != null) {
             return validateStocktakingDates(startDate, endDate)
-                    .thenMany(stocktakingRepository.findByOptionalDateRange(startDate, endDate))
+                    .thenMany(stocktakingRepository.findWithProductByOptionalDateRange(startDate, endDate))
                     .switchIfEmpty(Mono.error(new StockTakingNotFoundException(STOCKTAKING_NOT_FOUND_BETWEEEN_DATES + dateStart + " and " + dateEnd)))
-                    .flatMap(stocktaking -> {
-                        Mono<Product> productMono = productRepository.findById(stocktaking.getProductId())
-                                .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_ID + stocktaking.getProductId())));
-                        return productMono.map(product -> Mappers.stocktakingToDTO(stocktaking, product.getName()));
-                    })
+                    .handle(this::toStocktakingDTO)
                     .doOnError(error -> log.error(ERROR_SEARCHING_STOCKTAKING, error.getMessage()));
         } else {
-            return stocktakingRepository.findByOptionalDateRange(startDate, endDate)
+            return stocktakingRepository.findWithProductByOptionalDateRange(startDate, endDate)
                     .switchIfEmpty(Mono.error(new StockTakingNotFoundException(STOCKTAKING_NOT_FOUND_BETWEEEN_DATES + dateStart + " and " + dateEnd)))
-                    .flatMap(stocktaking -> {
-                        Mono<Product> productMono = productRepository.findById(stocktaking.getProductId())
-                                .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_ID + stocktaking.getProductId())));
-                        return productMono.map(product -> Mappers.stocktakingToDTO(stocktaking, product.getName()));
-                    })
+                    .handle(this::toStocktakingDTO)
                     .doOnError(error -> log.error(Constants.ERROR_SEARCHING_STOCKTAKING, error.getMessage()));
         }
     }
 
     @Override
     public Flux<StocktakingDTO> findAllStocktakingByProductName(String productName) {
-        return productRepository.findProductByNameContainingIgnoreCase(productName)
+        return productRepository.findFirstByNamePrefix(productName)
                 .switchIfEmpty(Mono.error(new ProductNotFoundException(STOCKTAKING_NOT_FOUND_NAME + productName)))
-                .flatMapMany(product -> findStocktaking(stocktakingRepository.findStocktakingByProductId(product.getIdProduct()),
-                        STOCKTAKING_NOT_FOUND_NAME + productName));
+                .flatMapMany(product -> stocktakingRepository.findStocktakingByProductId(product.getIdProduct())
+                        .switchIfEmpty(Flux.error(new StockTakingNotFoundException(STOCKTAKING_NOT_FOUND_NAME + productName)))
+                        .map(stocktaking -> Mappers.stocktakingToDTO(stocktaking, product.getName())))
+                .doOnError(error -> log.error(Constants.ERROR_SEARCHING_STOCKTAKING, error.getMessage()));
     }
 
     @Override
     public Mono<StocktakingDTO> findStocktakingById(String id) {
-        return findStocktaking(stocktakingRepository.findById(id),
+        return findStocktaking(stocktakingRepository.findWithProductById(id),
                 STOCKTAKING_NOT_FOUND_ID + id);
     }
 
     @Override
     public Mono<StocktakingDTO> createStocktaking(CreateStocktakingRequest createStocktakingDTO) {
-        return productRepository.findProductByNameContainingIgnoreCase(createStocktakingDTO.productName())
-                .switchIfEmpty(Mono.error(new ProductNotFoundException(STOCKTAKING_NOT_FOUND_NAME + createStocktakingDTO.productName())))
+        return resolveProduct(createStocktakingDTO.productId(), createStocktakingDTO.sku(), createStocktakingDTO.productName())
                 .flatMap(product ->
                         userService.getAuthenticatedUser()
                                 .map(userAuthenticated -> Stocktaking.builder()
@@ -102,6 +125,7 @@ public class StocktakingServiceImpl implements StocktakingService {
                                 )
                                 .flatMap(stocktakingToSave ->
                                         stocktakingRepository.save(stocktakingToSave)
+                                                .flatMap(savedStocktaking -> stockLevelService.applyStocktaking(savedStocktaking).thenReturn(savedStocktaking))
                                                 .map(savedStocktaking -> Mappers.stocktakingToDTO(savedStocktaking, product.getName()))
                                 )
                 )
@@ -112,23 +136,25 @@ public class StocktakingServiceImpl implements StocktakingService {
     public Mono<StocktakingDTO> updateStocktaking(String id, UpdateStocktakingRequest updateStocktakingRequest) {
         return stocktakingRepository.findById(id)
                 .switchIfEmpty(Mono.error(new StockTakingNotFoundException(STOCKTAKING_NOT_FOUND_ID + id)))
-                .flatMap(stocktaking ->
-                        productRepository.findProductByNameContainingIgnoreCase(updateStocktakingRequest.productName())
-                                .switchIfEmpty(Mono.error(new ProductNotFoundException(STOCKTAKING_NOT_FOUND_NAME + updateStocktakingRequest.productName())))
-                                .flatMap(product ->
-                                        userService.getAuthenticatedUser()
-                                                .map(userAuthenticated -> {
-                                                    stocktaking.setProductId(product.getIdProduct());
-                                                    stocktaking.setQuantity(updateStocktakingRequest.quantity());
-                                                    stocktaking.setPerformedBy(userAuthenticated.idUser());
-                                                    return stocktaking;
-                                                })
-                                                .flatMap(updatedStocktaking ->
-                                                        stocktakingRepository.save(updatedStocktaking)
-                                                                .map(savedStocktaking -> Mappers.stocktakingToDTO(savedStocktaking, product.getName()))
-                                                )
-                                )
-                )
+                .flatMap(stocktaking -> {
+                    String previousProductId = stocktaking.getProductId();
+                    return resolveProduct(updateStocktakingRequest.productId(), updateStocktakingRequest.sku(), updateStocktakingRequest.productName())
+                            .flatMap(product ->
+                                    userService.getAuthenticatedUser()
+                                            .map(userAuthenticated -> {
+                                                stocktaking.setProductId(product.getIdProduct());
+                                                stocktaking.setQuantity(updateStocktakingRequest.quantity());
+                                                stocktaking.setPerformedBy(userAuthenticated.idUser());
+                                                return stocktaking;
+                                            })
+                                            .flatMap(updatedStocktaking ->
+                                                    stocktakingRepository.save(updatedStocktaking)
+                                                            .flatMap(savedStocktaking -> reconcileStockLevels(previousProductId, savedStocktaking.getProductId())
+                                                                    .thenReturn(savedStocktaking))
+                                                            .map(savedStocktaking -> Mappers.stocktakingToDTO(savedStocktaking, product.getName()))
+                                            )
+                            );
+                })
                 .doOnError(error -> log.error(ERROR_UPDATING_STOCKTAKING, error.getMessage()));
     }
 
@@ -136,10 +162,34 @@ public class StocktakingServiceImpl implements StocktakingService {
     public Mono<Void> deleteStocktakingById(String id) {
         return stocktakingRepository.findById(id)
                 .switchIfEmpty(Mono.error(new StockTakingNotFoundException(STOCKTAKING_NOT_FOUND_ID + id)))
-                .flatMap(stocktaking -> stocktakingRepository.deleteById(stocktaking.getIdStocktaking()))
+                .flatMap(stocktaking -> stocktakingRepository.deleteById(stocktaking.getIdStocktaking())
+                        .then(stockLevelService.reconcileProduct(stocktaking.getProductId())))
                 .doOnError(error -> log.error(ERROR_DELETING_STOCKTAKING, error.getMessage()));
     }
 
+    // An edited or removed count may or may not be the latest one for its product, so the level is rebuilt
+    // from history rather than adjusted.
+    private Mono<Void> reconcileStockLevels(String previousProductId, String productId) {
+        Mono<Void> current = stockLevelService.reconcileProduct(productId);
+        return Objects.equals(previousProductId, productId)
+                ? current
+                : current.then(stockLevelService.reconcileProduct(previousProductId));
+    }
+
+    // The id and the SKU are both unique-index point lookups; the name prefix is only a fallback for older clients.
+    private Mono<Product> resolveProduct(String productId, String sku, String productName) {
+        if (productId != null) {
+            return productRepository.findById(productId)
+                    .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_ID + productId)));
+        }
+        if (sku != null) {
+            return productRepository.findBySku(sku)
+                    .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_SKU + sku)));
+        }
+        return productRepository.findFirstByNamePrefix(productName)
+                .switchIfEmpty(Mono.error(new ProductNotFoundException(STOCKTAKING_NOT_FOUND_NAME + productName)));
+    }
+
     private Mono<Void> validateStocktakingDates(LocalDateTime dateStart, LocalDateTime dateEnd) {
         if (dateStart.isAfter(dateEnd)) {
             return Mono.error(new InvalidDateRangeException(MESSAGE_INVALID_DATE_RANGE));
@@ -148,25 +198,25 @@ public class StocktakingServiceImpl implements StocktakingService {
         return Mono.empty();
     }
 
-    private Mono<StocktakingDTO> findStocktaking(Mono<Stocktaking> stocktakingMono, String errorMessage) {
+    private Mono<StocktakingDTO> findStocktaking(Mono<StocktakingProductView> stocktakingMono, String errorMessage) {
         return stocktakingMono
                 .switchIfEmpty(Mono.error(new StockTakingNotFoundException(errorMessage)))
-                .flatMap(stocktaking -> {
-                    Mono<Product> productMono = productRepository.findById(stocktaking.getProductId())
-                            .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_ID + stocktaking.getProductId())));
-                    return productMono.map(product -> Mappers.stocktakingToDTO(stocktaking, product.getName()));
-                })
+                .handle(this::toStocktakingDTO)
                 .doOnError(error -> log.error(Constants.ERROR_SEARCHING_STOCKTAKING, error.getMessage()));
     }
 
-    private Flux<StocktakingDTO> findStocktaking(Flux<Stocktaking> stocktakingFlux, String errorMessage) {
+    private Flux<StocktakingDTO> findStocktaking(Flux<StocktakingProductView> stocktakingFlux, String errorMessage) {
         return stocktakingFlux
                 .switchIfEmpty(Flux.error(new StockTakingNotFoundException(errorMessage)))
-                .flatMap(stocktaking -> {
-                    Mono<Product> productMono = productRepository.findById(stocktaking.getProductId())
-                            .switchIfEmpty(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_ID + stocktaking.getProductId())));
-                    return productMono.map(product -> Mappers.stocktakingToDTO(stocktaking, product.getName()));
-                })
+                .handle(this::toStocktakingDTO)
                 .doOnError(error -> log.error(Constants.ERROR_SEARCHING_STOCKTAKING, error.getMessage()));
     }
+
+    private void toStocktakingDTO(StocktakingProductView view, SynchronousSink<StocktakingDTO> sink) {
+        if (view.productName() == null) {
+            sink.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_ID + view.productId()));
+            return;
+        }
+        sink.next(Mappers.stocktakingViewToDTO(view));
+    }
 }
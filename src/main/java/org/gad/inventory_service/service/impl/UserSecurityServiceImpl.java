@@ -1,23 +1,59 @@
 package org.gad.inventory_service.service.impl;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.gad.inventory_service.config.security.UserSecurity;
+import org.gad.inventory_service.event.UserSecurityChangedEvent;
 import org.gad.inventory_service.repository.UserRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+
+import static org.gad.inventory_service.utils.Constants.USER_DETAILS_CACHE_NAME;
+
 @Service
-@RequiredArgsConstructor
 public class UserSecurityServiceImpl implements ReactiveUserDetailsService {
     private final UserRepository userRepository;
+    private final AsyncCache<String, UserSecurity> userDetailsCache;
+
+    public UserSecurityServiceImpl(UserRepository userRepository,
+                                   ObjectProvider<MeterRegistry> meterRegistry,
+                                   @Value("${auth.user-cache.ttl}") Duration ttl,
+                                   @Value("${auth.user-cache.size}") long maximumSize) {
+        this.userRepository = userRepository;
+        this.userDetailsCache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .buildAsync();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, userDetailsCache, USER_DETAILS_CACHE_NAME));
+    }
 
     @Override
     public Mono<UserDetails> findByUsername(String username) {
-        return userRepository.findUserByUsername(username)
+        // suppressCancel: the cached future is shared, so one cancelled request must not cancel it for the others
+        return Mono.fromFuture(userDetailsCache.get(username, (key, executor) -> userRepository.findUserByUsername(key)
+                        .map(UserSecurity::buildUserDetails)
+                        .toFuture()), true)
                 .switchIfEmpty(Mono.error(new UsernameNotFoundException("User not found with username: " + username)))
-                .map(UserSecurity::buildUserDetails);
+                .cast(UserDetails.class);
+    }
+
+    @EventListener
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        if (event.allUsers()) {
+            userDetailsCache.synchronous().invalidateAll();
+        } else {
+            userDetailsCache.synchronous().invalidateAll(event.usernames());
+        }
     }
 }
@@ -6,6 +6,7 @@ import org.gad.inventory_service.dto.UserAuthenticatedDTO;
 import org.gad.inventory_service.dto.UserDTO;
 import org.gad.inventory_service.dto.request.CreateUserRequest;
 import org.gad.inventory_service.dto.request.UpdateUserRequest;
+import org.gad.inventory_service.event.UserSecurityChangedEvent;
 import org.gad.inventory_service.exception.RoleNotFoundException;
 import org.gad.inventory_service.exception.UserNotFoundException;
 import org.gad.inventory_service.model.User;
@@ -13,6 +14,7 @@ import org.gad.inventory_service.repository.RoleRepository;
 import org.gad.inventory_service.repository.UserRepository;
 import org.gad.inventory_service.service.UserService;
 import org.gad.inventory_service.utils.Mappers;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -20,6 +22,7 @@ import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Objects;
 import java.util.Set;
 
 import static org.gad.inventory_service.utils.Constants.*;
@@ -31,6 +34,7 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Mono<UserAuthenticatedDTO> getAuthenticatedUser() {
@@ -100,7 +104,9 @@ public class UserServiceImpl implements UserService {
     public Mono<UserDTO> updateUser(String id, UpdateUserRequest updateUserRequest) {
         return userRepository.findById(id)
                 .switchIfEmpty(Mono.error(new UserNotFoundException(USER_NOT_FOUND_ID + id)))
-                .map(user -> {
+                .flatMap(user -> {
+                    String previousUsername = user.getUsername();
+                    boolean credentialsChanged = !Objects.equals(previousUsername, updateUserRequest.username());
                     user.setName(updateUserRequest.name());
                     user.setLastName(updateUserRequest.lastName());
                     user.setUsername(updateUserRequest.username());
@@ -109,10 +115,15 @@ public class UserServiceImpl implements UserService {
                     user.updateTimeStamp();
                     if (!passwordEncoder.matches(updateUserRequest.password(), user.getPassword())) {
                         user.setPassword(passwordEncoder.encode(updateUserRequest.password()));
+                        credentialsChanged = true;
                     }
-                    return user;
+                    if (credentialsChanged) {
+                        user.revokeTokens();
+                    }
+                    return userRepository.save(user)
+                            .doOnSuccess(saved -> eventPublisher.publishEvent(
+                                    UserSecurityChangedEvent.forUser(saved.getIdUser(), previousUsername, updateUserRequest.username())));
                 })
-                .flatMap(userRepository::save)
                 .map(Mappers::userToDTO)
                 .doOnError(error -> log.error(ERROR_UPDATING_USER, error.getMessage()));
     }
@@ -121,7 +132,8 @@ public class UserServiceImpl implements UserService {
     public Mono<Void> deleteUserById(String id) {
         return userRepository.findById(id)
                 .switchIfEmpty(Mono.error(new UserNotFoundException(USER_NOT_FOUND_ID + id)))
-                .flatMap(user -> userRepository.deleteById(user.getIdUser()))
+                .flatMap(user -> userRepository.deleteById(user.getIdUser())
+                        .doOnSuccess(deleted -> eventPublisher.publishEvent(UserSecurityChangedEvent.forUser(user.getIdUser(), user.getUsername()))))
                 .doOnError(error -> log.error(ERROR_DELETING_USER, error.getMessage()));
     }
 }
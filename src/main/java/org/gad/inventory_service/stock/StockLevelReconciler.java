@@ -0,0 +1,44 @@
+package org.gad.inventory_service.stock;
+
+import jakarta.annotation.PreDestroy;
+import org.gad.inventory_service.service.StockLevelService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+// Periodically rebuilds stock_levels from sales and stocktaking history. The first pass runs one interval
+// after startup so it does not compete with the initial traffic and warm-up work.
+@Component
+public class StockLevelReconciler {
+    private final StockLevelService stockLevelService;
+    private final Duration reconcileInterval;
+    private Disposable reconciliations;
+
+    public StockLevelReconciler(StockLevelService stockLevelService,
+                                @Value("${stock.reconcile-interval}") Duration reconcileInterval) {
+        this.stockLevelService = stockLevelService;
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconciliations = Flux.interval(reconcileInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> stockLevelService.reconcileAll()
+                        .onErrorResume(error -> Mono.empty()))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (reconciliations != null) {
+            reconciliations.dispose();
+        }
+    }
+}
@@ -132,6 +132,12 @@ public class Constants {
     public static final String REGEX_DATE_OR_TIME = "^\\d{4}-\\d{2}-\\d{2}(?:[ T]\\d{2}:\\d{2}:\\d{2})?$";
     public static final String REGEX_ONLY_TEST_AND_NUMBERS = "^[a-zA-Z0-9]+$";
     public static final String MESSAGE_INVALID_DATE_OR_FORMAT = "Invalid date format. It must be YYYY-MM-DD O YYY-MM-DD HH: mm: SS";
+    public static final String REGEX_CURSOR = "^[A-Za-z0-9_-]*$";
+    public static final String MESSAGE_PARAMETER_CURSOR = "Parameter cursor is not a valid page token";
+    public static final String MESSAGE_INVALID_CURSOR = "Invalid page cursor: ";
+    public static final String DEFAULT_PAGE_SIZE = "20";
+    public static final long MAX_PAGE_SIZE = 100;
+    public static final String MESSAGE_PAGE_SIZE = "Parameter limit must be between 1 and 100";
     public static final String MESSAGE_ONLY_TEST_AND_NUMBERS = "Only letters and numbers are accepted";
     public static final String INVALID_EMAIL_FORMAT = "Invalid email format";
     public static final String MESSAGE_PARAMETER_LAST_NAME = "Parameter Last Name only accepts letters";
@@ -203,6 +209,7 @@ public class Constants {
     public static final String MESSAGE_STOCKTAKING_CREATED = "Stocktaking created successfully";
     public static final String MESSAGE_STOCKTAKING_UPDATED = "Stocktaking updated successfully";
     public static final String TEXT_STOCKTAKING_DATE = "stocktaking_date";
+    public static final String TEXT_PERFORMED_BY = "performed_by";
     public static final String MESSAGE_INVALID_DATE_FORMAT = "Invalid date format: ";
     public static final String MESSAGE_INVALID_DATE_RANGE = "Start date cannot be after end date";
 
@@ -228,9 +235,163 @@ public class Constants {
 
     public static final String TEXT_SALE_DATE = "sale_date";
     public static final String TEXT_SALE_TOTAL_PRICE = "total_price";
+    public static final String TEXT_ID = "_id";
+    public static final String TEXT_PRODUCT_ID = "product_id";
+    public static final String TEXT_PRODUCT = "product";
+    public static final String TEXT_PRODUCT_NAME = "product.name";
+    public static final String TEXT_PRODUCT_OBJECT_ID = "product_object_id";
+    public static final String TEXT_OBJECT_ID_TYPE = "objectId";
+    public static final String PRODUCTS_COLLECTION = "products";
     public static final String ERROR_SEARCHING_AUTHENTICATED_USER = "Error searching authenticated user: {}";
     public static final String LOGIN_TOKEN_SUCCESS = "Login and Token generated successfully";
 
     public static final String FAILED_GENERATE_REPORT = "Failed to generate sales report";
     public static final String ERROR_GENERATING_REPORT = "Error generating sales report: {}";
+
+    public static final String REPORT_SCHEDULER_NAME = "report-worker";
+    public static final String AUTH_SCHEDULER_NAME = "auth-worker";
+    public static final String IMPORT_SCHEDULER_NAME = "import-worker";
+    public static final String MESSAGE_SERVICE_BUSY = "Server is busy, please retry later";
+    public static final String MESSAGE_INVALID_TOKEN = "Invalid Token";
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_AUTHORITIES = "authorities";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+    public static final String MESSAGE_TOKEN_REVOKED = "Token has been revoked";
+    public static final String USER_DETAILS_CACHE_NAME = "userDetails";
+    public static final String ROUTE_RULES_RELOADED = "Loaded {} route authorization rules from {}";
+    public static final String ERROR_LOADING_REFERENCE_DATA = "Error loading reference data: {}";
+    public static final String MESSAGE_LOOKUP_TIMEOUT = "Timed out resolving product references, please retry later";
+    public static final String STAGE_COLLSCAN = "COLLSCAN";
+    public static final String INDEXES_ENSURED = "Ensured {} Mongo indexes";
+    public static final String INDEX_MISSING = "Index missing on collection {}";
+    public static final String COLLECTION_SCAN_DETECTED = "Query {} on collection {} is planned as a collection scan";
+    public static final String ERROR_MANAGING_INDEXES = "Error managing Mongo indexes: {}";
+    public static final String TEXT_INDEX_KEY = "_fts";
+    public static final String TEXT_NAME_NORMALIZED = "name_normalized";
+    public static final String TEXT_LAST_NAME_NORMALIZED = "last_name_normalized";
+    public static final String SEARCH_FIELDS_BACKFILLED = "Backfilled search fields on {} documents";
+    public static final String ERROR_BACKFILLING_SEARCH_FIELDS = "Error backfilling search fields: {}";
+    public static final String PRODUCT_NOT_FOUND_TEXT = "No products match the search: ";
+    public static final String MESSAGE_SEARCH_TEXT_CANNOT_BE_EMPTY = "Search text cannot be empty";
+    public static final String SUGGEST_INDEX_REBUILT = "Product suggest index rebuilt with {} products";
+    public static final String ERROR_REBUILDING_SUGGEST_INDEX = "Error rebuilding product suggest index: {}";
+    public static final long MAX_SUGGESTIONS = 20;
+    public static final String DEFAULT_SUGGESTIONS = "10";
+    public static final String MESSAGE_SUGGESTIONS_LIMIT = "Parameter limit must be between 1 and 20";
+    public static final String MESSAGE_SUGGEST_QUERY_CANNOT_BE_EMPTY = "Parameter q cannot be empty";
+    public static final String MESSAGE_PRODUCT_SUGGESTIONS_OK = "Product suggestions retrieved successfully";
+    public static final String REGEX_SKU = "^[A-Za-z0-9-]{4,32}$";
+    public static final String MESSAGE_INVALID_SKU = "SKU must be 4 to 32 letters, digits or hyphens";
+    public static final String MESSAGE_PRODUCT_REFERENCE_REQUIRED = "A product id, SKU or product name is required";
+    public static final String PRODUCT_NOT_FOUND_SKU = "Product not found with SKU: ";
+    public static final String PRODUCT_SKU_ALREADY_EXISTS = "Product with SKU already exists: ";
+    public static final String TEXT_QUANTITY = "quantity";
+    public static final String TEXT_UPDATED_AT = "updated_at";
+    public static final String TEXT_LAST_STOCKTAKING_DATE = "last_stocktaking_date";
+    public static final int STOCK_RECONCILE_CONCURRENCY = 4;
+    public static final String MESSAGE_STOCK_LEVEL_OK = "Stock level retrieved successfully";
+    public static final String STOCK_LEVELS_RECONCILED = "Stock levels reconciled for {} products";
+    public static final String ERROR_UPDATING_STOCK_LEVEL = "Error updating stock level for product {}: {}";
+    public static final String ERROR_RECONCILING_STOCK_LEVELS = "Error reconciling stock levels: {}";
+    public static final String ERROR_SEARCHING_STOCK_LEVEL = "Error searching stock level: {}";
+    public static final String OUT_OF_STOCK = "Insufficient stock for product ";
+    public static final String TEXT_REQUESTED = ": requested ";
+    public static final String TEXT_AVAILABLE = ", available ";
+    public static final String TEXT_GRANULARITY = "granularity";
+    public static final String TEXT_PERIOD = "period";
+    public static final String TEXT_DIMENSION = "dimension";
+    public static final String TEXT_KEY = "key";
+    public static final String TEXT_COUNT = "count";
+    public static final String TEXT_REVENUE = "revenue";
+    public static final String TEXT_REBUILT_AT = "rebuilt_at";
+    public static final String SALES_COLLECTION = "sales";
+    public static final String SALES_ROLLUPS_COLLECTION = "sales_rollups";
+    public static final String REGEX_STATS_DIMENSION = "^(product|category|brand)$";
+    public static final String MESSAGE_PARAMETER_DIMENSION = "Parameter dimension must be product, category or brand";
+    public static final String DEFAULT_STATS_BREAKDOWN = "10";
+    public static final long MAX_STATS_BREAKDOWN = 100;
+    public static final String MESSAGE_STATS_BREAKDOWN_LIMIT = "Parameter limit must be between 1 and 100";
+    public static final String MESSAGE_SALES_STATS_OK = "Sales statistics retrieved successfully";
+    public static final String SALES_ROLLUPS_REBUILT = "Sales rollups rebuilt with {} buckets";
+    public static final String ERROR_REBUILDING_SALES_ROLLUPS = "Error rebuilding sales rollups: {}";
+    public static final String ERROR_UPDATING_SALES_ROLLUPS = "Error updating sales rollups for sale {}: {}";
+    public static final String ERROR_SEARCHING_SALES_STATS = "Error searching sales statistics: {}";
+    public static final String REGEX_TOP_SELLERS_WINDOW = "^(hour|day)$";
+    public static final String MESSAGE_PARAMETER_WINDOW = "Parameter window must be hour or day";
+    public static final String DEFAULT_TOP_SELLERS_WINDOW = "hour";
+    public static final String DEFAULT_TOP_SELLERS = "10";
+    public static final long MAX_TOP_SELLERS = 50;
+    public static final String MESSAGE_TOP_SELLERS_LIMIT = "Parameter limit must be between 1 and 50";
+    public static final String DEFAULT_LOW_STOCK_THRESHOLD = "10";
+    public static final String MESSAGE_LOW_STOCK_THRESHOLD = "Parameter lowStockThreshold cannot be negative";
+    public static final String MESSAGE_TOP_SELLERS_OK = "Top sellers retrieved successfully";
+    public static final String ERROR_SEARCHING_TOP_SELLERS = "Error searching top sellers: {}";
+    public static final String ERROR_UPDATING_SALES_ROLLUPS_BATCH = "Error updating sales rollups for a batch of {} sales: {}";
+    public static final int SALE_BATCH_RESOLVE_CONCURRENCY = 16;
+    public static final String SALE_BATCH_STATUS_CREATED = "created";
+    public static final String SALE_BATCH_STATUS_REJECTED = "rejected";
+    public static final String SALE_BATCH_STATUS_UNKNOWN = "unknown";
+    public static final String TEXT_ERROR_SEPARATOR = "; ";
+    public static final String SALE_BATCH_PROCESSED = "Sale batch processed: {} created, {} rejected, {} unknown";
+    public static final String ERROR_CREATING_SALE_BATCH = "Error creating sale batch: {}";
+    public static final String SALE_BATCH_OUTCOME_UNKNOWN = "Insert of {} batch sales failed with an unknown outcome, leaving their reservations to the reconciler: {}";
+    public static final String STOCKTAKING_IMPORT_FILE_PREFIX = "stocktaking-import-";
+    public static final int STOCKTAKING_IMPORT_CONCURRENCY = 16;
+    public static final int MAX_IMPORT_CELL_CHARS = 32767;
+    public static final String IMPORT_COLUMN_PRODUCT_ID = "product_id";
+    public static final String IMPORT_COLUMN_SKU = "sku";
+    public static final String IMPORT_COLUMN_PRODUCT_NAME = "product_name";
+    public static final String IMPORT_COLUMN_QUANTITY = "quantity";
+    public static final String MESSAGE_UNSUPPORTED_IMPORT_FILE = "Unsupported import file %s, expected one of: %s";
+    public static final String MESSAGE_INVALID_IMPORT_FILE = "Import file is not a readable spreadsheet";
+    public static final String MESSAGE_IMPORT_CELL_TOO_LONG = "Import file has a cell longer than 32767 characters at row ";
+    public static final String MESSAGE_IMPORT_UNCLOSED_QUOTE = "Import file has an unclosed quote starting at row ";
+    public static final String MESSAGE_IMPORT_MISSING_COLUMNS = "Import file header must have a quantity column and one of product_id, sku or product_name";
+    public static final String MESSAGE_IMPORT_INVALID_QUANTITY = "Quantity must be a whole number";
+    public static final String STOCKTAKING_IMPORT_FINISHED = "Stocktaking import finished: {} rows, {} imported, {} rejected";
+    public static final String STOCKTAKING_IMPORT_CANCELLED = "Stocktaking import cancelled after {} rows";
+    public static final String ERROR_IMPORTING_STOCKTAKING = "Error importing stocktaking: {}";
+    public static final String ERROR_IMPORTING_STOCKTAKING_CHUNK = "Error importing a chunk of {} stocktaking rows: {}";
+    public static final String ERROR_DELETING_IMPORT_FILE = "Error deleting import file {}: {}";
+    public static final String TEXT_SKU = "sku";
+    public static final String IMPORT_DIGEST_ALGORITHM = "SHA-256";
+    public static final String PRODUCT_IMPORT_FILE_PREFIX = "product-import-";
+    public static final String IMPORT_COLUMN_NAME = "name";
+    public static final String IMPORT_COLUMN_DESCRIPTION = "description";
+    public static final String IMPORT_COLUMN_PRICE = "price";
+    public static final String IMPORT_COLUMN_CATEGORY_NAME = "category_name";
+    public static final String IMPORT_COLUMN_BRAND_NAME = "brand_name";
+    public static final String IMPORT_COLUMN_PROVIDER_NAME = "provider_name";
+    public static final String MESSAGE_PRODUCT_IMPORT_MISSING_COLUMNS = "Import file header must have the columns name, sku, description, price, category_name, brand_name and provider_name";
+    public static final String MESSAGE_IMPORT_INVALID_PRICE = "Price must be a decimal number";
+    public static final String MESSAGE_IMPORT_INVALID_JSON = "Line is not a valid product JSON object";
+    public static final String MESSAGE_IMPORT_SKU_REQUIRED = "SKU is required to import a product";
+    public static final String MESSAGE_IMPORT_DUPLICATE_SKU = "SKU repeated later in the file, superseded by row ";
+    public static final String PRODUCT_IMPORT_RESUMED = "Resuming product import {} after row {}";
+    public static final String PRODUCT_IMPORT_FINISHED = "Product import {} finished: {} rows, {} created, {} updated, {} rejected";
+    public static final String PRODUCT_IMPORT_CANCELLED = "Product import {} cancelled after row {}";
+    public static final String ERROR_IMPORTING_PRODUCTS = "Error importing products: {}";
+    public static final String TEXT_RESERVED = "reserved";
+    public static final String TEXT_VERSION = "version";
+    public static final int STOCK_RECONCILE_MAX_ATTEMPTS = 5;
+    public static final long STOCK_RESERVATION_TIMEOUT_MINUTES = 5;
+    public static final String STOCK_LEVEL_RECONCILE_CONTENDED = "Stock level for product {} kept changing, reconcile gave up after {} attempts";
+    public static final String TEXT_NAME = "name";
+    public static final String TEXT_ROLES = "roles";
+    public static final String TEXT_PERMISSIONS = "permissions";
+    public static final String TEXT_ROLES_NAME = "roles.name";
+    public static final String TEXT_ROLES_PERMISSIONS_NAME = "roles.permissions.name";
+    public static final String TEXT_TOKEN_VERSION = "token_version";
+    public static final String USER_TOKENS_REVOKED = "Tokens revoked for {} users holding {}";
+    public static final String TEXT_CUTOFF = "cutoff";
+    public static final String TEXT_RECENT = "recent";
+    public static final long SALES_ROLLUP_SETTLE_MINUTES = 5;
+    public static final String STAGE_IXSCAN = "IXSCAN";
+    public static final String FULL_INDEX_SCAN_DETECTED = "Query {} on collection {} is planned as a scan of every index key";
+    public static final String TEXT_PERMISSIONS_NAME = "permissions.name";
+    public static final String ROLES_PERMISSION_UPDATED = "Updated permission in {} roles: {}";
+    public static final String TEXT_USERNAME = "username";
+    public static final String TEXT_EMAIL = "email";
+    public static final String TEXT_RUC = "ruc";
+    public static final String TEXT_DNI = "dni";
 }
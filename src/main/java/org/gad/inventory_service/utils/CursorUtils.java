@@ -0,0 +1,51 @@
+package org.gad.inventory_service.utils;
+
+import org.gad.inventory_service.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import static org.gad.inventory_service.utils.Constants.*;
+
+public class CursorUtils {
+    private static final String SEPARATOR = "|";
+
+    private CursorUtils() {
+    }
+
+    public record PageCursor(LocalDateTime sortDate, String id) {
+        public static final PageCursor FIRST_PAGE = new PageCursor(null, null);
+    }
+
+    public static String encodeCursor(LocalDateTime sortDate, String id) {
+        String raw = (sortDate != null ? sortDate.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String encodeCursor(String id) {
+        return encodeCursor(null, id);
+    }
+
+    public static PageCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return PageCursor.FIRST_PAGE;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new InvalidCursorException(MESSAGE_INVALID_CURSOR + cursor);
+            }
+            String id = raw.substring(separatorIndex + 1);
+            if (!id.matches(REGEX_ID)) {
+                throw new InvalidCursorException(MESSAGE_INVALID_CURSOR + cursor);
+            }
+            LocalDateTime sortDate = separatorIndex == 0 ? null : LocalDateTime.parse(raw.substring(0, separatorIndex));
+            return new PageCursor(sortDate, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(MESSAGE_INVALID_CURSOR + cursor, e);
+        }
+    }
+}
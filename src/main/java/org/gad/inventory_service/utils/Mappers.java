@@ -2,6 +2,9 @@ package org.gad.inventory_service.utils;
 
 import org.gad.inventory_service.dto.*;
 import org.gad.inventory_service.model.*;
+import org.gad.inventory_service.model.projection.SaleProductView;
+import org.gad.inventory_service.model.projection.StocktakingProductView;
+import org.gad.inventory_service.search.ProductSuggestion;
 
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -17,6 +20,7 @@ public class Mappers {
         return ProductDTO.builder()
                 .idProduct(product.getIdProduct())
                 .name(product.getName())
+                .sku(product.getSku())
                 .description(product.getDescription())
                 .price(product.getPrice())
                 .categoryName(categoryName)
@@ -66,6 +70,18 @@ public class Mappers {
                 .build();
     }
 
+    public static StockLevelDTO stockLevelToDTO(StockLevel stockLevel) {
+        if (stockLevel == null) return null;
+        return StockLevelDTO.builder()
+                .idProduct(stockLevel.getProductId())
+                .quantity(stockLevel.getQuantity())
+                .lastStocktakingDate(stockLevel.getLastStocktakingDate() != null
+                        ? localDateTimeFormatted(stockLevel.getLastStocktakingDate())
+                        : null)
+                .updatedAt(localDateTimeFormatted(stockLevel.getUpdatedAt()))
+                .build();
+    }
+
     public static SaleDTO saleToDTO(Sale sale, String productName) {
         if (sale == null) return null;
         return SaleDTO.builder()
@@ -77,6 +93,28 @@ public class Mappers {
                 .build();
     }
 
+    public static StocktakingDTO stocktakingViewToDTO(StocktakingProductView view) {
+        if (view == null) return null;
+        return StocktakingDTO.builder()
+                .idStocktaking(view.idStocktaking())
+                .productName(view.productName())
+                .quantity(view.quantity())
+                .stocktakingDate(localDateTimeFormatted(view.stocktakingDate()))
+                .performedBy(view.performedBy())
+                .build();
+    }
+
+    public static SaleDTO saleViewToDTO(SaleProductView view) {
+        if (view == null) return null;
+        return SaleDTO.builder()
+                .idSale(view.idSale())
+                .nameProduct(view.productName())
+                .saleDate(localDateTimeFormatted(view.saleDate()))
+                .quantity(view.quantity())
+                .totalPrice(view.totalPrice())
+                .build();
+    }
+
     public static UserDTO userToDTO(User user) {
         if (user == null) return null;
         return UserDTO.builder()
@@ -132,4 +170,12 @@ public class Mappers {
                 .map(Permission::getName)
                 .collect(Collectors.toSet());
     }
+
+    public static ProductSuggestionDTO productSuggestionToDTO(ProductSuggestion suggestion) {
+        if (suggestion == null) return null;
+        return ProductSuggestionDTO.builder()
+                .idProduct(suggestion.productId())
+                .name(suggestion.name())
+                .build();
+    }
 }
@@ -1,8 +1,17 @@
 package org.gad.inventory_service.utils;
 
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 
+import java.util.List;
+
+import static org.gad.inventory_service.utils.Constants.*;
+
 
 public class QueryUtils {
     private QueryUtils() {
@@ -11,17 +20,74 @@ public class QueryUtils {
     public static <T extends Comparable<T>> Query buildOptionalRangeQuery(String fieldName,
                                                     T minValue,
                                                     T maxValue) {
-        Criteria criteria;
+        if (minValue == null && maxValue == null) {
+            return new Query();
+        }
+        return new Query(buildOptionalRangeCriteria(fieldName, minValue, maxValue));
+    }
 
+    public static <T extends Comparable<T>> Criteria buildOptionalRangeCriteria(String fieldName,
+                                                                              T minValue,
+                                                                              T maxValue) {
         if (minValue != null && maxValue != null) {
-            criteria = Criteria.where(fieldName).gte(minValue).lte(maxValue);
+            return Criteria.where(fieldName).gte(minValue).lte(maxValue);
         } else if (minValue != null) {
-            criteria = Criteria.where(fieldName).gte(minValue);
+            return Criteria.where(fieldName).gte(minValue);
         } else if (maxValue != null) {
-            criteria = Criteria.where(fieldName).lte(maxValue);
-        } else {
-            return new Query();
+            return Criteria.where(fieldName).lte(maxValue);
+        }
+        return new Criteria();
+    }
+
+    // Keyset pages are ordered newest first by (sortField, _id); the next page starts strictly
+    // after the last row returned, so no skip is needed whatever the page depth.
+    public static Criteria buildKeysetCriteria(String sortField, Object lastSortValue, String lastId) {
+        if (lastId == null) {
+            return new Criteria();
         }
-        return new Query(criteria);
+        ObjectId lastObjectId = new ObjectId(lastId);
+        if (sortField == null || lastSortValue == null) {
+            return Criteria.where(TEXT_ID).lt(lastObjectId);
+        }
+        return new Criteria().orOperator(
+                Criteria.where(sortField).lt(lastSortValue),
+                new Criteria().andOperator(
+                        Criteria.where(sortField).is(lastSortValue),
+                        Criteria.where(TEXT_ID).lt(lastObjectId))
+        );
+    }
+
+    public static List<AggregationOperation> buildKeysetPageStages(String sortField, Object lastSortValue, String lastId, int limit) {
+        return List.of(
+                Aggregation.match(buildKeysetCriteria(sortField, lastSortValue, lastId)),
+                Aggregation.sort(keysetSort(sortField)),
+                Aggregation.limit(limit)
+        );
+    }
+
+    // The find the page stages open with, which the server plans the same way.
+    public static Query buildKeysetPageQuery(String sortField, Object lastSortValue, String lastId, int limit) {
+        return new Query(buildKeysetCriteria(sortField, lastSortValue, lastId))
+                .with(keysetSort(sortField))
+                .limit(limit);
+    }
+
+    private static Sort keysetSort(String sortField) {
+        return Sort.by(Sort.Direction.DESC, sortField, TEXT_ID);
+    }
+
+    // product_id is stored as a plain string while products._id is an ObjectId,
+    // so the key is converted before the join; non-hex ids fall back to the raw value.
+    public static List<AggregationOperation> buildProductLookupStages(String productIdField) {
+        return List.of(
+                Aggregation.addFields()
+                        .addField(TEXT_PRODUCT_OBJECT_ID)
+                        .withValueOf(ConvertOperators.valueOf(productIdField)
+                                .convertTo(TEXT_OBJECT_ID_TYPE)
+                                .onErrorReturnValueOf(productIdField))
+                        .build(),
+                Aggregation.lookup(PRODUCTS_COLLECTION, TEXT_PRODUCT_OBJECT_ID, TEXT_ID, TEXT_PRODUCT),
+                Aggregation.unwind(TEXT_PRODUCT, true)
+        );
     }
 }
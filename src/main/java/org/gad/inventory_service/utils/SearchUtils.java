@@ -0,0 +1,29 @@
+package org.gad.inventory_service.utils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public class SearchUtils {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SearchUtils() {
+    }
+
+    // Lower-case, accent-free, single-spaced form stored next to searchable names, so that
+    // case/accent-insensitive matching becomes a plain case-sensitive comparison an index can serve.
+    public static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        String withoutAccents = DIACRITICS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(withoutAccents).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    // Anchored, case-sensitive and quoted, so Mongo turns it into tight index bounds on the normalized field.
+    public static String prefixRegex(String value) {
+        return "^" + Pattern.quote(normalize(value));
+    }
+}
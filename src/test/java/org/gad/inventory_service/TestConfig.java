@@ -49,6 +49,11 @@ public class TestConfig {
         return Mockito.mock(PermissionService.class);
     }
 
+    @Bean
+    public ProductImportService productImportService() {
+        return Mockito.mock(ProductImportService.class);
+    }
+
     @Bean
     public ProductService productService() {
         return Mockito.mock(ProductService.class);
@@ -69,11 +74,31 @@ public class TestConfig {
         return Mockito.mock(SaleService.class);
     }
 
+    @Bean
+    public SaleBatchService saleBatchService() {
+        return Mockito.mock(SaleBatchService.class);
+    }
+
+    @Bean
+    public SalesAnalyticsService salesAnalyticsService() {
+        return Mockito.mock(SalesAnalyticsService.class);
+    }
+
     @Bean
     public ExcelReportService excelReportService() {
         return Mockito.mock(ExcelReportService.class);
     }
 
+    @Bean
+    public StockLevelService stockLevelService() {
+        return Mockito.mock(StockLevelService.class);
+    }
+
+    @Bean
+    public StocktakingImportService stocktakingImportService() {
+        return Mockito.mock(StocktakingImportService.class);
+    }
+
     @Bean
     public StocktakingService stocktakingService() {
         return Mockito.mock(StocktakingService.class);
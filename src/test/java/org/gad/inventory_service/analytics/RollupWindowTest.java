@@ -0,0 +1,43 @@
+package org.gad.inventory_service.analytics;
+
+import org.gad.inventory_service.model.RollupGranularity;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RollupWindowTest {
+
+    @Test
+    void cover_ShouldUseDays_WhenRangeHasNoWholeMonth() {
+        List<RollupWindow> windows = RollupWindow.cover(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 2, 10));
+
+        assertEquals(List.of(new RollupWindow(RollupGranularity.DAY, "2024-01-15", "2024-02-10")), windows);
+    }
+
+    @Test
+    void cover_ShouldUseMonthsOnly_WhenRangeIsWholeMonths() {
+        List<RollupWindow> windows = RollupWindow.cover(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31));
+
+        assertEquals(List.of(new RollupWindow(RollupGranularity.MONTH, "2024-01", "2024-03")), windows);
+    }
+
+    @Test
+    void cover_ShouldSplitPartialMonthsIntoDays_WhenRangeSpansSeveralMonths() {
+        List<RollupWindow> windows = RollupWindow.cover(LocalDate.of(2024, 1, 20), LocalDate.of(2024, 5, 3));
+
+        assertEquals(List.of(
+                new RollupWindow(RollupGranularity.DAY, "2024-01-20", "2024-01-31"),
+                new RollupWindow(RollupGranularity.MONTH, "2024-02", "2024-04"),
+                new RollupWindow(RollupGranularity.DAY, "2024-05-01", "2024-05-03")), windows);
+    }
+
+    @Test
+    void cover_ShouldReturnSingleDay_WhenRangeIsOneDay() {
+        List<RollupWindow> windows = RollupWindow.cover(LocalDate.of(2024, 2, 29), LocalDate.of(2024, 2, 29));
+
+        assertEquals(List.of(new RollupWindow(RollupGranularity.DAY, "2024-02-29", "2024-02-29")), windows);
+    }
+}
@@ -0,0 +1,52 @@
+package org.gad.inventory_service.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingTopKTest {
+    private static final Instant START = Instant.parse("2024-06-01T10:00:00Z");
+
+    @Test
+    void top_ShouldCombineSlicesInsideWindow() {
+        SlidingTopK window = new SlidingTopK(Duration.ofMinutes(1), 60, 20);
+        window.offer("a", 2, START, START);
+        window.offer("a", 3, START.plusSeconds(600), START.plusSeconds(600));
+        window.offer("b", 4, START.plusSeconds(1200), START.plusSeconds(1200));
+
+        assertEquals(List.of(new HeavyHitter("a", 5, 0), new HeavyHitter("b", 4, 0)), window.top(5, START.plusSeconds(1800)));
+    }
+
+    @Test
+    void top_ShouldDropSales_WhenTheyAgeOutOfWindow() {
+        SlidingTopK window = new SlidingTopK(Duration.ofMinutes(1), 60, 20);
+        window.offer("old", 50, START, START);
+        window.offer("recent", 1, START.plusSeconds(3000), START.plusSeconds(3000));
+
+        Instant now = START.plus(Duration.ofMinutes(61));
+        assertEquals(List.of(new HeavyHitter("recent", 1, 0)), window.top(5, now));
+    }
+
+    @Test
+    void offer_ShouldResetSlice_WhenRingWrapsAround() {
+        SlidingTopK window = new SlidingTopK(Duration.ofMinutes(1), 60, 20);
+        window.offer("old", 50, START, START);
+        Instant later = START.plus(Duration.ofMinutes(60));
+        window.offer("new", 1, later, later);
+
+        assertEquals(List.of(new HeavyHitter("new", 1, 0)), window.top(5, later));
+    }
+
+    @Test
+    void offer_ShouldIgnoreSale_WhenOlderThanWindow() {
+        SlidingTopK window = new SlidingTopK(Duration.ofHours(1), 24, 20);
+        Instant now = START.plus(Duration.ofDays(2));
+        window.offer("late", 5, START, now);
+
+        assertTrue(window.top(5, now).isEmpty());
+    }
+}
@@ -0,0 +1,67 @@
+package org.gad.inventory_service.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingTest {
+
+    @Test
+    void offer_ShouldCountExactly_WhenKeysFitInCapacity() {
+        SpaceSaving summary = new SpaceSaving(3);
+        summary.offer("a", 2);
+        summary.offer("b", 5);
+        summary.offer("a", 1);
+
+        assertEquals(List.of(new HeavyHitter("b", 5, 0), new HeavyHitter("a", 3, 0)), summary.top(10));
+    }
+
+    @Test
+    void offer_ShouldKeepHeavyHitters_WhenLongTailOverflowsCapacity() {
+        SpaceSaving summary = new SpaceSaving(10);
+        IntStream.range(0, 1000).forEach(i -> {
+            summary.offer("best", 3);
+            summary.offer("second", 2);
+            summary.offer("tail-" + i, 1);
+        });
+
+        List<HeavyHitter> top = summary.top(2);
+        assertEquals("best", top.get(0).key());
+        assertEquals("second", top.get(1).key());
+        assertTrue(top.get(0).count() >= 3000);
+        assertTrue(top.get(0).guaranteedCount() <= 3000);
+        assertEquals(10, summary.snapshot().size());
+    }
+
+    @Test
+    void merge_ShouldAddCountsOfSameKey_WhenSummariesAreNotFull() {
+        SpaceSaving first = new SpaceSaving(5);
+        first.offer("a", 4);
+        first.offer("b", 1);
+        SpaceSaving second = new SpaceSaving(5);
+        second.offer("a", 2);
+        second.offer("c", 3);
+
+        assertEquals(List.of(new HeavyHitter("a", 6, 0), new HeavyHitter("c", 3, 0), new HeavyHitter("b", 1, 0)),
+                first.merge(second).top(3));
+    }
+
+    @Test
+    void merge_ShouldBoundMissingKeysByFloor_WhenSummaryIsFull() {
+        SpaceSaving full = new SpaceSaving(2);
+        full.offer("a", 10);
+        full.offer("b", 4);
+        SpaceSaving other = new SpaceSaving(2);
+        other.offer("c", 7);
+
+        HeavyHitter c = full.merge(other).top(3).stream()
+                .filter(hitter -> hitter.key().equals("c"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(11, c.count());
+        assertEquals(4, c.error());
+    }
+}
@@ -0,0 +1,170 @@
+package org.gad.inventory_service.cache;
+
+import org.gad.inventory_service.event.ReferenceDataChangedEvent;
+import org.gad.inventory_service.model.Brand;
+import org.gad.inventory_service.model.Category;
+import org.gad.inventory_service.model.Provider;
+import org.gad.inventory_service.repository.BrandRepository;
+import org.gad.inventory_service.repository.CategoryRepository;
+import org.gad.inventory_service.repository.ProviderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataCacheTest {
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private BrandRepository brandRepository;
+
+    @Mock
+    private ProviderRepository providerRepository;
+
+    private ReferenceDataCache referenceDataCache;
+
+    @BeforeEach
+    void setUp() {
+        referenceDataCache = new ReferenceDataCache(categoryRepository, brandRepository, providerRepository,
+                Duration.ofMinutes(10), Duration.ZERO);
+    }
+
+    @Test
+    void findCategoryByName_ShouldPreferExactMatch_WhenSeveralNamesContainIt() {
+        when(categoryRepository.findAll()).thenReturn(Flux.just(
+                Category.builder().idCategory("c1").name("Home Electronics").build(),
+                Category.builder().idCategory("c2").name("Electronics").build()));
+
+        StepVerifier.create(referenceDataCache.findCategoryByName("electronics"))
+                .expectNextMatches(category -> category.getIdCategory().equals("c2"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findBrandByName_ShouldMatchSubstringIgnoringCase_WhenNoExactMatch() {
+        when(brandRepository.findAll()).thenReturn(Flux.just(Brand.builder().idBrand("b1").name("TechBrand").build()));
+        when(brandRepository.findBrandByNameContainingIgnoreCase("unknown")).thenReturn(Mono.empty());
+
+        StepVerifier.create(referenceDataCache.findBrandByName("techb"))
+                .expectNextMatches(brand -> brand.getIdBrand().equals("b1"))
+                .verifyComplete();
+        StepVerifier.create(referenceDataCache.findBrandByName("unknown"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findCategoryByName_ShouldFallBackToRepositoryAndReload_WhenNameIsMissingFromSnapshot() {
+        Category garden = Category.builder().idCategory("c2").name("Garden").build();
+        when(categoryRepository.findAll())
+                .thenReturn(Flux.just(Category.builder().idCategory("c1").name("Electronics").build()))
+                .thenReturn(Flux.just(Category.builder().idCategory("c1").name("Electronics").build(), garden));
+        when(categoryRepository.findCategoryByNameContainingIgnoreCase("Garden")).thenReturn(Mono.just(garden));
+
+        StepVerifier.create(referenceDataCache.findCategoryByName("Garden"))
+                .expectNext(garden)
+                .verifyComplete();
+        StepVerifier.create(referenceDataCache.findCategoryByName("Garden"))
+                .expectNextMatches(category -> category.getIdCategory().equals("c2"))
+                .verifyComplete();
+
+        verify(categoryRepository, times(1)).findCategoryByNameContainingIgnoreCase("Garden");
+        verify(categoryRepository, times(2)).findAll();
+    }
+
+    @Test
+    void reload_ShouldReplaceSnapshotsLoadedBeforeTheCollectionsWereWritten() {
+        when(categoryRepository.findAll())
+                .thenReturn(Flux.empty())
+                .thenReturn(Flux.just(Category.builder().idCategory("c1").name("Electronics").build()));
+        when(brandRepository.findAll()).thenReturn(Flux.empty());
+        when(providerRepository.findAll()).thenReturn(Flux.empty());
+
+        referenceDataCache.warmUp();
+        StepVerifier.create(referenceDataCache.reload())
+                .verifyComplete();
+
+        StepVerifier.create(referenceDataCache.findCategoryNameById("c1"))
+                .expectNext("Electronics")
+                .verifyComplete();
+        verify(categoryRepository, times(2)).findAll();
+    }
+
+    @Test
+    void findProviderNameById_ShouldLoadCollectionOnce_WhenQueriedRepeatedly() {
+        when(providerRepository.findAll()).thenReturn(Flux.just(Provider.builder().idProvider("p1").name("TechProvider").build()));
+
+        StepVerifier.create(referenceDataCache.findProviderNameById("p1"))
+                .expectNext("TechProvider")
+                .verifyComplete();
+        StepVerifier.create(referenceDataCache.findProviderByName("TechProvider"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(providerRepository, times(1)).findAll();
+    }
+
+    @Test
+    void onReferenceDataChanged_ShouldReloadOnlyTheChangedCollection() {
+        when(brandRepository.findAll())
+                .thenReturn(Flux.just(Brand.builder().idBrand("b1").name("OldName").build()))
+                .thenReturn(Flux.just(Brand.builder().idBrand("b1").name("NewName").build()));
+
+        StepVerifier.create(referenceDataCache.findBrandNameById("b1"))
+                .expectNext("OldName")
+                .verifyComplete();
+        referenceDataCache.onReferenceDataChanged(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.ReferenceType.BRAND));
+        StepVerifier.create(referenceDataCache.findBrandNameById("b1"))
+                .expectNext("NewName")
+                .verifyComplete();
+
+        verify(brandRepository, times(2)).findAll();
+        verifyNoInteractions(categoryRepository, providerRepository);
+    }
+
+    @Test
+    void names_ShouldResolveKnownIdsAndFallBackToIdForUnknownOnes() {
+        when(categoryRepository.findAll()).thenReturn(Flux.just(Category.builder().idCategory("c1").name("Electronics").build()));
+        when(brandRepository.findAll()).thenReturn(Flux.just(Brand.builder().idBrand("b1").name("TechBrand").build()));
+        when(providerRepository.findAll()).thenReturn(Flux.just(Provider.builder().idProvider("p1").name("TechProvider").build()));
+
+        StepVerifier.create(referenceDataCache.names())
+                .assertNext(names -> {
+                    assertEquals("Electronics", names.categoryName("c1"));
+                    assertEquals("TechBrand", names.brandName("b1"));
+                    assertEquals("TechProvider", names.providerName("p1"));
+                    assertEquals("unknown", names.categoryName("unknown"));
+                    assertNull(names.brandName(null));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void names_ShouldReloadCollection_WhenAnUnknownIdIsResolved() {
+        when(categoryRepository.findAll())
+                .thenReturn(Flux.just(Category.builder().idCategory("c1").name("Electronics").build()))
+                .thenReturn(Flux.just(Category.builder().idCategory("c1").name("Electronics").build(),
+                        Category.builder().idCategory("c2").name("Garden").build()));
+        when(brandRepository.findAll()).thenReturn(Flux.empty());
+        when(providerRepository.findAll()).thenReturn(Flux.empty());
+
+        StepVerifier.create(referenceDataCache.names())
+                .assertNext(names -> assertEquals("c2", names.categoryName("c2")))
+                .verifyComplete();
+        StepVerifier.create(referenceDataCache.names())
+                .assertNext(names -> assertEquals("Garden", names.categoryName("c2")))
+                .verifyComplete();
+
+        verify(categoryRepository, times(2)).findAll();
+    }
+}
@@ -0,0 +1,104 @@
+package org.gad.inventory_service.config.mongo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.test.StepVerifier;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataMongoTest
+@Testcontainers
+class MongoIndexManagerTest {
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:8.0");
+
+    // Inserts send no filter, so there is no plan to explain.
+    private static final Set<String> WRITE_ONLY_METHODS = Set.of("SaleRepository.insertUnordered");
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    private MongoIndexManager mongoIndexManager;
+
+    @BeforeEach
+    void setUp() {
+        mongoIndexManager = new MongoIndexManager(reactiveMongoTemplate, false);
+        mongoIndexManager.ensureIndexes().block();
+    }
+
+    @Test
+    void verifyIndexes_ShouldReportNothingMissing_AfterEnsureIndexes() {
+        StepVerifier.create(mongoIndexManager.verifyIndexes())
+                .assertNext(missing -> assertTrue(missing.isEmpty(), () -> "Missing indexes: " + missing))
+                .verifyComplete();
+    }
+
+    @Test
+    void explainQueryShapes_ShouldNotPlanAnyCollectionOrFullIndexScan() {
+        StepVerifier.create(mongoIndexManager.explainQueryShapes()
+                        .filter(QueryPlanReport::uncovered)
+                        .map(QueryPlanReport::query)
+                        .collectList())
+                .assertNext(scans -> assertTrue(scans.isEmpty(), () -> "Queries without index coverage: " + scans))
+                .verifyComplete();
+    }
+
+    @Test
+    void explainQueryShapes_ShouldReportSubstringMatchesAsFullIndexScans() {
+        StepVerifier.create(mongoIndexManager.explainQueryShapes()
+                        .filter(QueryPlanReport::scansAll)
+                        .collectList())
+                .assertNext(reports -> {
+                    assertEquals(5, reports.size());
+                    assertTrue(reports.stream().allMatch(report -> report.fullIndexScan() && !report.collectionScan()),
+                            () -> "Shapes marked scanningAll that no longer scan a whole index: " + reports);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void queryShapes_ShouldCoverEveryRepositoryQueryMethod() {
+        Set<String> repositoryQueries = new TreeSet<>();
+        Repositories repositories = new Repositories(applicationContext);
+        repositories.forEach(domainType -> repositories.getRepositoryInformationFor(domainType)
+                .map(RepositoryInformation::getRepositoryInterface)
+                .ifPresent(repositoryInterface -> declaredQueryMethods(repositoryInterface)
+                        .forEach(method -> repositoryQueries.add(repositoryInterface.getSimpleName() + "." + method.getName()))));
+        repositoryQueries.removeAll(WRITE_ONLY_METHODS);
+        Set<String> declaredShapes = QueryShapes.ALL.stream()
+                .map(QueryShape::query)
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        assertFalse(repositoryQueries.isEmpty());
+        assertEquals(repositoryQueries, declaredShapes,
+                "Every repository query needs a QueryShapes entry so its index coverage is checked");
+    }
+
+    private static Stream<Method> declaredQueryMethods(Class<?> repositoryInterface) {
+        return Stream.concat(Stream.of(repositoryInterface), Arrays.stream(repositoryInterface.getInterfaces()))
+                .filter(type -> type.getPackageName().startsWith("org.gad.inventory_service"))
+                .flatMap(type -> Arrays.stream(type.getDeclaredMethods()))
+                .filter(method -> !method.isDefault() && !method.isSynthetic());
+    }
+}
@@ -0,0 +1,103 @@
+package org.gad.inventory_service.config.mongo;
+
+import com.mongodb.reactivestreams.client.MongoClients;
+import org.gad.inventory_service.config.MongoConfig;
+import org.gad.inventory_service.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.SimpleReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.repository.core.support.AbstractRepositoryMetadata;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryShapesTest {
+    private static final String SAMPLE_ID = "000000000000000000000000";
+
+    // The arguments each derived or @Query finder is called with in QueryShapes.
+    private static final Map<String, Object[]> FINDER_ARGUMENTS = Map.ofEntries(
+            Map.entry("BrandRepository.findBrandByNameContainingIgnoreCase", new Object[]{"sample"}),
+            Map.entry("CategoryRepository.findCategoryByNameContainingIgnoreCase", new Object[]{"sample"}),
+            Map.entry("ProductRepository.findBySku", new Object[]{"SKU-0001"}),
+            Map.entry("ProductRepository.findAllBySkuIn", new Object[]{List.of("SKU-0001", "SKU-0002")}),
+            Map.entry("ProviderRepository.findProviderByNameContainingIgnoreCase", new Object[]{"sample"}),
+            Map.entry("ProviderRepository.findProviderByEmail", new Object[]{"sample@mail.com"}),
+            Map.entry("ProviderRepository.findProviderByRuc", new Object[]{"12345678901"}),
+            Map.entry("ProviderRepository.findProviderByDni", new Object[]{"12345678"}),
+            Map.entry("RoleRepository.findRoleByNameContainingIgnoreCase", new Object[]{"sample"}),
+            Map.entry("SaleRepository.findSalesByProductId", new Object[]{SAMPLE_ID}),
+            Map.entry("StocktakingRepository.findStocktakingByProductId", new Object[]{SAMPLE_ID}),
+            Map.entry("StocktakingRepository.findFirstByProductIdOrderByStocktakingDateDesc", new Object[]{SAMPLE_ID}),
+            Map.entry("UserRepository.findUserByUsername", new Object[]{"sample"}),
+            Map.entry("UserRepository.findTokenVersionById", new Object[]{SAMPLE_ID})
+    );
+
+    private MongoMappingContext mappingContext;
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+    private QueryMapper queryMapper;
+
+    // The template only creates queries here, so its client never opens a connection.
+    @BeforeEach
+    void setUp() {
+        MongoCustomConversions conversions = new MongoConfig().customConversions();
+        mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.setAutoIndexCreation(false);
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        reactiveMongoTemplate = new ReactiveMongoTemplate(
+                new SimpleReactiveMongoDatabaseFactory(MongoClients.create("mongodb://localhost:1"), "inventory"), converter);
+        queryMapper = new QueryMapper(converter);
+    }
+
+    @Test
+    void finderArguments_ShouldCoverEveryDerivedAndAnnotatedFinder() {
+        Set<String> finders = QueryShapes.ALL.stream()
+                .map(QueryShape::repository)
+                .distinct()
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods())
+                        .map(method -> repository.getSimpleName() + "." + method.getName()))
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        assertEquals(finders, new TreeSet<>(FINDER_ARGUMENTS.keySet()));
+    }
+
+    @Test
+    void finderShapes_ShouldSendTheQuerySpringDataCreatesForTheMethod() {
+        List<QueryShape> finderShapes = QueryShapes.ALL.stream()
+                .filter(shape -> FINDER_ARGUMENTS.containsKey(shape.query()))
+                .toList();
+
+        assertEquals(FINDER_ARGUMENTS.size(), finderShapes.size());
+        finderShapes.forEach(shape -> {
+            Query created = RepositoryQueries.create(reactiveMongoTemplate, shape.repository(), shape.method(),
+                    FINDER_ARGUMENTS.get(shape.query())).block();
+            assertNotNull(created, shape.query());
+            assertEquals(mapped(shape.repository(), created), mapped(shape.repository(), shape.sample()), shape.query());
+        });
+    }
+
+    // Regex values have no equals, so the mapped queries are compared as JSON.
+    private String mapped(Class<?> repository, Query query) {
+        MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(
+                AbstractRepositoryMetadata.getMetadata(repository).getDomainType());
+        return queryMapper.getMappedObject(query.getQueryObject(), entity).toJson()
+                + " sort " + queryMapper.getMappedSort(query.getSortObject(), entity).toJson()
+                + " limit " + query.getLimit();
+    }
+}
@@ -0,0 +1,62 @@
+package org.gad.inventory_service.config.mongo;
+
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.query.ConvertingParameterAccessor;
+import org.springframework.data.mongodb.repository.query.MongoParametersParameterAccessor;
+import org.springframework.data.mongodb.repository.query.ReactiveMongoQueryMethod;
+import org.springframework.data.mongodb.repository.query.ReactivePartTreeMongoQuery;
+import org.springframework.data.mongodb.repository.query.ReactiveStringBasedMongoQuery;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.core.support.AbstractRepositoryMetadata;
+import org.springframework.data.repository.query.ValueExpressionDelegate;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+// Builds the Query of a derived or @Query repository method with the same Spring Data classes that run it, so the
+// Criteria written out in QueryShapes can be checked against the query the repository really sends.
+final class RepositoryQueries {
+    private static final SpelAwareProxyProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    private RepositoryQueries() {
+    }
+
+    static Mono<Query> create(ReactiveMongoOperations operations, Class<?> repository, String methodName, Object[] arguments) {
+        ReactiveMongoQueryMethod queryMethod = new ReactiveMongoQueryMethod(method(repository, methodName, arguments.length),
+                AbstractRepositoryMetadata.getMetadata(repository), PROJECTIONS, operations.getConverter().getMappingContext());
+        ConvertingParameterAccessor accessor = new ConvertingParameterAccessor(operations.getConverter(),
+                new MongoParametersParameterAccessor(queryMethod, arguments));
+        return queryMethod.hasAnnotatedQuery()
+                ? new AnnotatedQuery(queryMethod, operations).create(accessor)
+                : new DerivedQuery(queryMethod, operations).create(accessor);
+    }
+
+    private static Method method(Class<?> repository, String methodName, int parameterCount) {
+        return Arrays.stream(repository.getMethods())
+                .filter(method -> method.getName().equals(methodName) && method.getParameterCount() == parameterCount)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(repository.getSimpleName() + " has no method " + methodName));
+    }
+
+    private static final class DerivedQuery extends ReactivePartTreeMongoQuery {
+        private DerivedQuery(ReactiveMongoQueryMethod method, ReactiveMongoOperations operations) {
+            super(method, operations, ValueExpressionDelegate.create());
+        }
+
+        private Mono<Query> create(ConvertingParameterAccessor accessor) {
+            return createQuery(accessor);
+        }
+    }
+
+    private static final class AnnotatedQuery extends ReactiveStringBasedMongoQuery {
+        private AnnotatedQuery(ReactiveMongoQueryMethod method, ReactiveMongoOperations operations) {
+            super(method, operations, ValueExpressionDelegate.create());
+        }
+
+        private Mono<Query> create(ConvertingParameterAccessor accessor) {
+            return createQuery(accessor);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.gad.inventory_service.config.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteAuthorizationTableTest {
+    private RouteAuthorizationTable table;
+
+    @BeforeEach
+    void setUp() {
+        table = RouteAuthorizationTable.compile(List.of(
+                new RouteRule("GET", "/api/v1/sales/**", Set.of("ADMIN", "ANALYST")),
+                new RouteRule("POST", "/api/v1/sales/**", Set.of("ADMIN", "SALESPERSON")),
+                new RouteRule("DELETE", "/api/v1/users/**", Set.of("ADMIN")),
+                new RouteRule("DELETE", "/api/v1/users/**", Set.of("SUPPORT")),
+                new RouteRule("GET", "/api/v1/reports", Set.of("ANALYST"))
+        ));
+    }
+
+    @Test
+    void isAllowed_ShouldGrant_WhenPrincipalHasAnyRequiredRole() {
+        assertTrue(table.isAllowed(HttpMethod.GET, "/api/v1/sales/page", authorities("ROLE_ANALYST")));
+        assertTrue(table.isAllowed(HttpMethod.POST, "/api/v1/sales", authorities("READ", "ROLE_SALESPERSON")));
+    }
+
+    @Test
+    void isAllowed_ShouldDeny_WhenPrincipalLacksRequiredRoles() {
+        assertFalse(table.isAllowed(HttpMethod.POST, "/api/v1/sales", authorities("ROLE_ANALYST")));
+        assertFalse(table.isAllowed(HttpMethod.GET, "/api/v1/sales/excel", authorities("ANALYST")));
+    }
+
+    @Test
+    void isAllowed_ShouldKeepFirstRule_WhenRulesOverlap() {
+        assertTrue(table.isAllowed(HttpMethod.DELETE, "/api/v1/users/1", authorities("ROLE_ADMIN")));
+        assertFalse(table.isAllowed(HttpMethod.DELETE, "/api/v1/users/1", authorities("ROLE_SUPPORT")));
+    }
+
+    @Test
+    void isAllowed_ShouldRespectSegmentBoundaries_WhenMatchingPrefixes() {
+        assertTrue(table.isAllowed(HttpMethod.GET, "/api/v1/salesforce", authorities()));
+        assertFalse(table.isAllowed(HttpMethod.GET, "/api/v1/reports", authorities("ROLE_ADMIN")));
+        assertTrue(table.isAllowed(HttpMethod.GET, "/api/v1/reports/2024", authorities()));
+    }
+
+    @Test
+    void isAllowed_ShouldOnlyRequireAuthentication_WhenNoRuleMatches() {
+        assertTrue(table.isAllowed(HttpMethod.PUT, "/api/v1/sales/1", authorities()));
+        assertTrue(table.isAllowed(HttpMethod.GET, "/api/v1/users/me", authorities()));
+    }
+
+    @Test
+    void isAllowed_ShouldMatchDecodedSegments_WhenPathIsEncoded() {
+        assertFalse(table.isAllowed(HttpMethod.DELETE, "/api/v1/%75sers/1", authorities("ROLE_SUPPORT")));
+        assertFalse(table.isAllowed(HttpMethod.GET, "/api/v1/sal%65s", authorities()));
+        assertFalse(table.isAllowed(HttpMethod.GET, "/api/v1/sales;jsessionid=1/page", authorities()));
+        assertFalse(table.isAllowed(HttpMethod.GET, "/api//v1/sales", authorities()));
+        assertTrue(table.isAllowed(HttpMethod.GET, "/api/v1/%73ales/page", authorities("ROLE_ADMIN")));
+    }
+
+    @Test
+    void isAllowed_ShouldKeepDeclarationOrder_WhenExactAndPrefixRulesOverlap() {
+        RouteAuthorizationTable overlapping = RouteAuthorizationTable.compile(List.of(
+                new RouteRule("GET", "/api/v1/**", Set.of("ADMIN")),
+                new RouteRule("GET", "/api/v1/sales", Set.of("ANALYST"))
+        ));
+
+        assertFalse(overlapping.isAllowed(HttpMethod.GET, "/api/v1/sales", authorities("ROLE_ANALYST")));
+        assertTrue(overlapping.isAllowed(HttpMethod.GET, "/api/v1", authorities("ROLE_ADMIN")));
+        assertFalse(overlapping.isAllowed(HttpMethod.GET, "/api/v1", authorities("ROLE_ANALYST")));
+    }
+
+    @Test
+    void compile_ShouldFail_WhenRulePathHasInnerWildcard() {
+        List<RouteRule> rules = List.of(new RouteRule("GET", "/api/*/sales", Set.of("ADMIN")));
+
+        assertThrows(IllegalArgumentException.class, () -> RouteAuthorizationTable.compile(rules));
+    }
+
+    @Test
+    void compile_ShouldFail_WhenRulesReferenceMoreThan64Roles() {
+        Set<String> roles = new HashSet<>();
+        for (int i = 0; i <= Long.SIZE; i++) {
+            roles.add("ROLE" + i);
+        }
+        List<RouteRule> rules = List.of(new RouteRule("GET", "/api/v1/sales/**", roles));
+
+        assertThrows(IllegalStateException.class, () -> RouteAuthorizationTable.compile(rules));
+    }
+
+    private List<GrantedAuthority> authorities(String... names) {
+        return Arrays.stream(names)
+                .map(name -> (GrantedAuthority) new SimpleGrantedAuthority(name))
+                .toList();
+    }
+}
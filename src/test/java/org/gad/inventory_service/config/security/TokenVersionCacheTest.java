@@ -0,0 +1,64 @@
+package org.gad.inventory_service.config.security;
+
+import org.gad.inventory_service.event.UserSecurityChangedEvent;
+import org.gad.inventory_service.model.User;
+import org.gad.inventory_service.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionCacheTest {
+    @Mock
+    private UserRepository userRepository;
+
+    private TokenVersionCache tokenVersionCache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tokenVersionCache = new TokenVersionCache(userRepository, Duration.ofMinutes(10), 100);
+        user = User.builder().idUser("user-12345").username("johndoe").build();
+    }
+
+    @Test
+    void isCurrent_ShouldRejectOldVersion_WhenUserEventNamesTheUser() {
+        when(userRepository.findTokenVersionById("user-12345"))
+                .thenAnswer(invocation -> Mono.just(user));
+
+        StepVerifier.create(tokenVersionCache.isCurrent("user-12345", 0))
+                .expectNext(true)
+                .verifyComplete();
+        user.revokeTokens();
+        tokenVersionCache.onUserSecurityChanged(UserSecurityChangedEvent.forUser("user-12345", "johndoe"));
+        StepVerifier.create(tokenVersionCache.isCurrent("user-12345", 0))
+                .expectNext(false)
+                .verifyComplete();
+
+        verify(userRepository, times(2)).findTokenVersionById("user-12345");
+    }
+
+    @Test
+    void isCurrent_ShouldKeepCachedVersion_WhenEventNamesAnotherUser() {
+        when(userRepository.findTokenVersionById("user-12345"))
+                .thenAnswer(invocation -> Mono.just(user));
+
+        StepVerifier.create(tokenVersionCache.isCurrent("user-12345", 0))
+                .expectNext(true)
+                .verifyComplete();
+        tokenVersionCache.onUserSecurityChanged(UserSecurityChangedEvent.forUser("user-67890", "janedoe"));
+        StepVerifier.create(tokenVersionCache.isCurrent("user-12345", 0))
+                .expectNext(true)
+                .verifyComplete();
+
+        verify(userRepository, times(1)).findTokenVersionById("user-12345");
+    }
+}
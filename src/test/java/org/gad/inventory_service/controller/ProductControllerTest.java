@@ -1,7 +1,11 @@
 package org.gad.inventory_service.controller;
 
 import org.gad.inventory_service.TestConfig;
+import org.gad.inventory_service.dto.ImportRowErrorDTO;
 import org.gad.inventory_service.dto.ProductDTO;
+import org.gad.inventory_service.dto.ProductImportProgressDTO;
+import org.gad.inventory_service.dto.ProductSuggestionDTO;
+import org.gad.inventory_service.dto.StockLevelDTO;
 import org.gad.inventory_service.dto.request.CreateProductRequest;
 import org.gad.inventory_service.dto.request.UpdateProductRequest;
 import org.gad.inventory_service.dto.response.DataResponse;
@@ -10,7 +14,9 @@ import org.gad.inventory_service.exception.BrandNotFoundException;
 import org.gad.inventory_service.exception.CategoryNotFoundException;
 import org.gad.inventory_service.exception.ProductNotFoundException;
 import org.gad.inventory_service.exception.ProviderNotFoundException;
+import org.gad.inventory_service.service.ProductImportService;
 import org.gad.inventory_service.service.ProductService;
+import org.gad.inventory_service.service.StockLevelService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -18,17 +24,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static org.gad.inventory_service.utils.Constants.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 @WebFluxTest(ProductController.class)
@@ -38,6 +48,12 @@ class ProductControllerTest {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private StockLevelService stockLevelService;
+
+    @Autowired
+    private ProductImportService productImportService;
+
     @Autowired
     private WebTestClient webTestClient;
 
@@ -284,6 +300,65 @@ class ProductControllerTest {
                 });
     }
 
+    @Test
+    void searchProducts_ShouldReturnProductsAndStatus200_WhenTextMatches() {
+        when(productService.searchProducts("galaxy", 20)).thenReturn(products);
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/v1/products/search/text")
+                        .queryParam("text", "galaxy")
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(DataResponse.class)
+                .value(dataResponse -> {
+                    assertNotNull(dataResponse);
+                    assertEquals(200, dataResponse.status());
+                    assertEquals("Products retrieved successfully", dataResponse.message());
+                    assertNotNull(dataResponse.data());
+                });
+    }
+
+    @Test
+    void searchProducts_ShouldReturnStatus400_WhenTextIsBlank() {
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/v1/products/search/text")
+                        .queryParam("text", " ")
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void suggestProducts_ShouldReturnSuggestionsAndStatus200() {
+        when(productService.suggestProducts("iph", 10)).thenReturn(Flux.just(
+                ProductSuggestionDTO.builder().idProduct(idProduct).name("iPhone 13").build()));
+
+        webTestClient.get()
+                .uri("/api/v1/products/suggest?q=iph")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(DataResponse.class)
+                .value(dataResponse -> {
+                    assertNotNull(dataResponse);
+                    assertEquals(200, dataResponse.status());
+                    assertEquals(MESSAGE_PRODUCT_SUGGESTIONS_OK, dataResponse.message());
+                    assertNotNull(dataResponse.data());
+                });
+    }
+
+    @Test
+    void suggestProducts_ShouldReturnStatus400_WhenLimitIsOutOfRange() {
+        webTestClient.get()
+                .uri("/api/v1/products/suggest?q=iph&limit=50")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
     @Test
     void getProductById_ShouldReturnProductAndStatus200_WhenProductExists() {
         when(productService.findProductById(anyString())).thenReturn(product);
@@ -325,6 +400,43 @@ class ProductControllerTest {
                 });
     }
 
+    @Test
+    void getProductStock_ShouldReturnStockLevelAndStatus200_WhenProductExists() {
+        when(stockLevelService.findStockByProductId(idProduct)).thenReturn(Mono.just(
+                StockLevelDTO.builder()
+                        .idProduct(idProduct)
+                        .quantity(42)
+                        .build()));
+
+        webTestClient.get()
+                .uri("/api/v1/products/{id}/stock", idProduct)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(DataResponse.class)
+                .value(dataResponse -> {
+                    assertNotNull(dataResponse);
+                    assertEquals(200, dataResponse.status());
+                    assertEquals(MESSAGE_STOCK_LEVEL_OK, dataResponse.message());
+                    assertNotNull(dataResponse.data());
+                });
+    }
+
+    @Test
+    void getProductStock_ShouldReturnStatus404_WhenProductDoesNotExist() {
+        when(stockLevelService.findStockByProductId(idProduct))
+                .thenReturn(Mono.error(new ProductNotFoundException(PRODUCT_NOT_FOUND_ID + idProduct)));
+
+        webTestClient.get()
+                .uri("/api/v1/products/{id}/stock", idProduct)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(ErrorResponse.class)
+                .value(errorResponse -> assertEquals(PRODUCT_NOT_FOUND_ID + idProduct, errorResponse.message()));
+    }
+
     @Test
     void createProduct_ShouldReturnCreatedProductAndStatus201_WhenProductIsCreated() {
         when(productService.createProduct(any(CreateProductRequest.class))).thenReturn(product);
@@ -427,4 +539,32 @@ class ProductControllerTest {
                     assertNotNull(errorResponse.path());
                 });
     }
-}
\ No newline at end of file
+
+    @Test
+    void importProducts_ShouldStreamProgress_WhenFileIsUploaded() {
+        when(productImportService.importCatalogue(eq("catalogue.csv"), any()))
+                .thenReturn(Flux.just(
+                        ProductImportProgressDTO.builder().importId("import1").processed(500).created(480).updated(19).rejected(1)
+                                .errors(List.of(new ImportRowErrorDTO(42, BRAND_NOT_FOUND_NAME + "Unknown"))).build(),
+                        ProductImportProgressDTO.builder().importId("import1").processed(600).created(575).updated(24).rejected(1)
+                                .done(true).errors(List.of()).build()));
+
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("file", "name,sku\nMouse,SKU-0001\n".getBytes()).filename("catalogue.csv");
+
+        Flux<ProductImportProgressDTO> progress = webTestClient.post()
+                .uri("/api/v1/products/import")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body.build())
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(ProductImportProgressDTO.class)
+                .getResponseBody();
+
+        StepVerifier.create(progress)
+                .expectNextMatches(event -> "import1".equals(event.importId()) && event.errors().get(0).row() == 42 && !event.done())
+                .expectNextMatches(event -> event.created() == 575 && event.done())
+                .verifyComplete();
+    }
+}
@@ -1,31 +1,47 @@
 package org.gad.inventory_service.controller;
 
 import org.gad.inventory_service.TestConfig;
+import org.gad.inventory_service.analytics.TopSellersWindow;
+import org.gad.inventory_service.dto.CursorPageDTO;
+import org.gad.inventory_service.dto.SaleBatchItemDTO;
+import org.gad.inventory_service.dto.SaleBatchResultDTO;
 import org.gad.inventory_service.dto.SaleDTO;
+import org.gad.inventory_service.dto.SalesStatsDTO;
+import org.gad.inventory_service.dto.TopSellerDTO;
 import org.gad.inventory_service.dto.request.CreateSaleRequest;
 import org.gad.inventory_service.dto.request.UpdateSaleRequest;
 import org.gad.inventory_service.dto.response.DataResponse;
 import org.gad.inventory_service.dto.response.ErrorResponse;
 import org.gad.inventory_service.exception.ExcelReportGenerationException;
+import org.gad.inventory_service.exception.InvalidCursorException;
+import org.gad.inventory_service.exception.InvalidDateRangeException;
+import org.gad.inventory_service.exception.OutOfStockException;
 import org.gad.inventory_service.exception.ProductNotFoundException;
 import org.gad.inventory_service.exception.SalesNotFoundException;
+import org.gad.inventory_service.exception.ServiceBusyException;
+import org.gad.inventory_service.model.RollupDimension;
 import org.gad.inventory_service.service.ExcelReportService;
+import org.gad.inventory_service.service.SaleBatchService;
 import org.gad.inventory_service.service.SaleService;
+import org.gad.inventory_service.service.SalesAnalyticsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static org.gad.inventory_service.utils.Constants.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -45,6 +61,12 @@ class SaleControllerTest {
     @Autowired
     private ExcelReportService excelReportService;
 
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @Autowired
+    private SaleBatchService saleBatchService;
+
     private final String idSale = "665c2e2f8b3e2a6b7c8d9e0f";
     private Flux<SaleDTO> sales;
     private Mono<SaleDTO> sale;
@@ -116,6 +138,47 @@ class SaleControllerTest {
                 });
     }
 
+    @Test
+    void streamAllSales_ShouldStreamSalesAsNdjson_WhenAcceptIsNdjson() {
+        when(saleService.getAllSales()).thenReturn(sales);
+
+        Flux<SaleDTO> body = webTestClient.get()
+                .uri("/api/v1/sales")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(SaleDTO.class)
+                .getResponseBody();
+
+        StepVerifier.create(body)
+                .expectNextMatches(saleDTO -> saleDTO.nameProduct().equals("Product A"))
+                .expectNextMatches(saleDTO -> saleDTO.nameProduct().equals("Product B"))
+                .verifyComplete();
+    }
+
+    @Test
+    void streamSalesByDateRange_ShouldStreamSalesAsServerSentEvents_WhenAcceptIsEventStream() {
+        when(saleService.getSaleByDateRange(anyString(), anyString())).thenReturn(sales);
+
+        Flux<SaleDTO> body = webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/v1/sales/date-range")
+                        .queryParam("startDate", "2023-01-01")
+                        .queryParam("endDate", "2023-12-31")
+                        .build())
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .returnResult(SaleDTO.class)
+                .getResponseBody();
+
+        StepVerifier.create(body)
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
     @Test
     void getAllSales_ShouldThrowAndReturnStatus404_WhenProductOfResultNotExists() {
         when(saleService.getAllSales()).thenThrow(new ProductNotFoundException(PRODUCT_NOT_FOUND_ID + idSale));
@@ -453,11 +516,61 @@ class SaleControllerTest {
                 });
     }
 
+    @Test
+    void getSalesPage_ShouldReturnPageAndStatus200_WhenSalesExist() {
+        when(saleService.getSalesPage(isNull(), eq(20))).thenReturn(Mono.just(CursorPageDTO.<SaleDTO>builder()
+                .items(List.of(SaleDTO.builder().nameProduct("Product A").build()))
+                .hasNext(false)
+                .build()));
+
+        webTestClient.get()
+                .uri("/api/v1/sales/page")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(DataResponse.class)
+                .value(dataResponse -> {
+                    assertNotNull(dataResponse);
+                    assertEquals(200, dataResponse.status());
+                    assertEquals("Sales retrieved successfully", dataResponse.message());
+                    assertNotNull(dataResponse.data());
+                });
+    }
+
+    @Test
+    void getSalesPage_ShouldReturnStatus400_WhenLimitIsOutOfRange() {
+        webTestClient.get()
+                .uri("/api/v1/sales/page?limit=0")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ErrorResponse.class)
+                .value(errorResponse -> {
+                    assertNotNull(errorResponse);
+                    assertEquals(400, errorResponse.status());
+                    assertNotNull(errorResponse.errors());
+                });
+    }
+
+    @Test
+    void getSalesPage_ShouldReturnStatus400_WhenCursorIsInvalid() {
+        when(saleService.getSalesPage(anyString(), anyInt())).thenReturn(Mono.error(new InvalidCursorException(MESSAGE_INVALID_CURSOR + "abc")));
+
+        webTestClient.get()
+                .uri("/api/v1/sales/page?cursor=abc")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ErrorResponse.class)
+                .value(errorResponse -> assertEquals(MESSAGE_INVALID_CURSOR + "abc", errorResponse.message()));
+    }
+
     @Test
     void generateExcelReport_ShouldReturnExcelFileAndStatus200_WhenSalesExist() {
         byte[] dummyExcelBytes = "ExcelDummyData".getBytes(StandardCharsets.UTF_8);
         when(saleService.getSaleByDateRange(anyString(), anyString())).thenReturn(sales);
-        when(excelReportService.generateSalesReport(anyList())).thenReturn(Mono.just(dummyExcelBytes));
+        when(excelReportService.generateSalesReport(any())).thenReturn(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(dummyExcelBytes)));
 
         webTestClient.get()
                 .uri(uriBuilder -> uriBuilder.path("/api/v1/sales/excel")
@@ -530,8 +643,8 @@ class SaleControllerTest {
     @Test
     void generateExcelReport_ShouldThrowAndReturnStatus500_WhenExcelGenerationFails() {
         when(saleService.getSaleByDateRange(anyString(), anyString())).thenReturn(sales);
-        when(excelReportService.generateSalesReport(anyList()))
-                .thenReturn(Mono.error(new ExcelReportGenerationException("Error generating the sales report")));
+        when(excelReportService.generateSalesReport(any()))
+                .thenReturn(Flux.error(new ExcelReportGenerationException("Error generating the sales report")));
 
         webTestClient.get()
                 .uri(uriBuilder -> uriBuilder.path("/api/v1/sales/excel")
@@ -553,6 +666,30 @@ class SaleControllerTest {
                 });
     }
 
+    @Test
+    void generateExcelReport_ShouldReturnStatus503_WhenReportSchedulerIsSaturated() {
+        when(saleService.getSaleByDateRange(anyString(), anyString())).thenReturn(sales);
+        when(excelReportService.generateSalesReport(any()))
+                .thenReturn(Flux.error(new ServiceBusyException(MESSAGE_SERVICE_BUSY)));
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/v1/sales/excel")
+                        .queryParam("startDate", "2023-01-01")
+                        .queryParam("endDate", "2023-12-31")
+                        .build())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(ErrorResponse.class)
+                .value(errorResponse -> {
+                    assertNotNull(errorResponse);
+                    assertEquals(503, errorResponse.status());
+                    assertEquals(MESSAGE_SERVICE_BUSY, errorResponse.message());
+                    assertNull(errorResponse.errors());
+                });
+    }
+
     @Test
     void createSale_ShouldReturnCreatedSaleAndStatus201_WhenRequestIsValid() {
         when(saleService.createSale(any(CreateSaleRequest.class))).thenReturn(sale);
@@ -598,6 +735,25 @@ class SaleControllerTest {
                 });
     }
 
+    @Test
+    void createSale_ShouldReturnStatus409_WhenStockIsInsufficient() {
+        when(saleService.createSale(any(CreateSaleRequest.class)))
+                .thenReturn(Mono.error(new OutOfStockException(OUT_OF_STOCK + idSale + TEXT_REQUESTED + 1 + TEXT_AVAILABLE + 0)));
+
+        webTestClient.post()
+                .uri("/api/v1/sales")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createSaleRequest)
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody(ErrorResponse.class)
+                .value(errorResponse -> {
+                    assertNotNull(errorResponse);
+                    assertEquals(409, errorResponse.status());
+                    assertEquals(OUT_OF_STOCK + idSale + TEXT_REQUESTED + 1 + TEXT_AVAILABLE + 0, errorResponse.message());
+                });
+    }
+
     @Test
     void updateSale_ShouldReturnUpdatedSaleAndStatus201_WhenSaleExists() {
         when(saleService.updateSale(anyString(), any(UpdateSaleRequest.class))).thenReturn(sale);
@@ -698,4 +854,167 @@ class SaleControllerTest {
                     assertNotNull(errorResponse.path());
                 });
     }
-}
\ No newline at end of file
+
+    @Test
+    void getSalesStats_ShouldReturnTotalsAndStatus200_WhenRangeIsValid() {
+        SalesStatsDTO stats = SalesStatsDTO.builder()
+                .dimension("all").key(RollupDimension.ALL_KEY).from("2024-01-01").to("2024-12-31")
+                .salesCount(12).quantity(30).revenue(new BigDecimal("1500.00"))
+                .build();
+        when(salesAnalyticsService.getTotals("2024-01-01", "2024-12-31", RollupDimension.ALL, RollupDimension.ALL_KEY))
+                .thenReturn(Mono.just(stats));
+
+        webTestClient.get()
+                .uri("/api/v1/sales/stats?from=2024-01-01&to=2024-12-31")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(DataResponse.class)
+                .value(dataResponse -> {
+                    assertNotNull(dataResponse);
+                    assertEquals(200, dataResponse.status());
+                    assertEquals(MESSAGE_SALES_STATS_OK, dataResponse.message());
+                    assertNotNull(dataResponse.data());
+                });
+    }
+
+    @Test
+    void getSalesStatsBreakdown_ShouldReturnTopKeysAndStatus200_WhenDimensionIsValid() {
+        SalesStatsDTO stats = SalesStatsDTO.builder()
+                .dimension("brand").key(idSale).from("2024-01-01").to("2024-01-31")
+                .salesCount(3).quantity(4).revenue(new BigDecimal("90.00"))
+                .build();
+        when(salesAnalyticsService.getBreakdown("2024-01-01", "2024-01-31", RollupDimension.BRAND, 5))
+                .thenReturn(Flux.just(stats));
+
+        webTestClient.get()
+                .uri("/api/v1/sales/stats/brand?from=2024-01-01&to=2024-01-31&limit=5")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(DataResponse.class)
+                .value(dataResponse -> {
+                    assertNotNull(dataResponse);
+                    assertEquals(200, dataResponse.status());
+                    assertEquals(MESSAGE_SALES_STATS_OK, dataResponse.message());
+                });
+    }
+
+    @Test
+    void getSalesStatsByKey_ShouldReturnStatus400_WhenDimensionIsUnknown() {
+        webTestClient.get()
+                .uri("/api/v1/sales/stats/supplier/" + idSale + "?from=2024-01-01&to=2024-01-31")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ErrorResponse.class)
+                .value(errorResponse -> {
+                    assertNotNull(errorResponse);
+                    assertEquals(400, errorResponse.status());
+                    assertNotNull(errorResponse.errors());
+                });
+    }
+
+    @Test
+    void getSalesStats_ShouldReturnStatus400_WhenFromIsAfterTo() {
+        when(salesAnalyticsService.getTotals("2024-12-31", "2024-01-01", RollupDimension.ALL, RollupDimension.ALL_KEY))
+                .thenReturn(Mono.error(new InvalidDateRangeException(MESSAGE_INVALID_DATE_RANGE)));
+
+        webTestClient.get()
+                .uri("/api/v1/sales/stats?from=2024-12-31&to=2024-01-01")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ErrorResponse.class)
+                .value(errorResponse -> assertEquals(MESSAGE_INVALID_DATE_RANGE, errorResponse.message()));
+    }
+
+    @Test
+    void getTopSellers_ShouldReturnTopSellersAndStatus200_WhenWindowIsValid() {
+        TopSellerDTO topSeller = TopSellerDTO.builder()
+                .idProduct(idSale).unitsSold(42).maxOvercount(0).stock(3).lowStock(true).window("day")
+                .build();
+        when(salesAnalyticsService.getTopSellers(TopSellersWindow.DAY, 10, 10L))
+                .thenReturn(Flux.just(topSeller));
+
+        webTestClient.get()
+                .uri("/api/v1/sales/top-sellers?window=day")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(DataResponse.class)
+                .value(dataResponse -> {
+                    assertNotNull(dataResponse);
+                    assertEquals(200, dataResponse.status());
+                    assertEquals(MESSAGE_TOP_SELLERS_OK, dataResponse.message());
+                    assertNotNull(dataResponse.data());
+                });
+    }
+
+    @Test
+    void getTopSellers_ShouldReturnStatus400_WhenWindowIsUnknown() {
+        webTestClient.get()
+                .uri("/api/v1/sales/top-sellers?window=week")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ErrorResponse.class)
+                .value(errorResponse -> {
+                    assertNotNull(errorResponse);
+                    assertEquals(400, errorResponse.status());
+                    assertNotNull(errorResponse.errors());
+                });
+    }
+
+    @Test
+    void createSalesBatch_ShouldStreamChunkResults_WhenBodyIsJsonArray() {
+        when(saleBatchService.createSales(any())).thenReturn(Flux.just(
+                SaleBatchResultDTO.builder()
+                        .received(2).created(1).rejected(1)
+                        .items(List.of(
+                                SaleBatchItemDTO.builder().index(0).status(SALE_BATCH_STATUS_CREATED).build(),
+                                SaleBatchItemDTO.builder().index(1).status(SALE_BATCH_STATUS_REJECTED).error("Quantity must be at least 1").build()))
+                        .build(),
+                SaleBatchResultDTO.builder().received(2).created(1).rejected(1).done(true).items(List.of()).build()));
+
+        Flux<SaleBatchResultDTO> results = webTestClient.post()
+                .uri("/api/v1/sales/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue("[{\"name_product\":\"Product A\",\"quantity\":1},{\"name_product\":\"Product A\",\"quantity\":0}]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(SaleBatchResultDTO.class)
+                .getResponseBody();
+
+        StepVerifier.create(results)
+                .expectNextMatches(result -> result.items().size() == 2 && !result.done())
+                .expectNextMatches(result -> result.created() == 1 && result.done())
+                .verifyComplete();
+    }
+
+    @Test
+    void createSalesBatch_ShouldAcceptNdjsonStream() {
+        when(saleBatchService.createSales(any())).thenAnswer(invocation -> {
+            Flux<CreateSaleRequest> requests = invocation.getArgument(0);
+            return requests.count().map(received -> SaleBatchResultDTO.builder()
+                    .received(received).created(received).done(true).items(List.of())
+                    .build()).flux();
+        });
+
+        Flux<SaleBatchResultDTO> results = webTestClient.post()
+                .uri("/api/v1/sales/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"sku\":\"SKU-0001\",\"quantity\":1}\n{\"sku\":\"SKU-0002\",\"quantity\":2}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(SaleBatchResultDTO.class)
+                .getResponseBody();
+
+        StepVerifier.create(results)
+                .expectNextMatches(result -> result.received() == 2)
+                .verifyComplete();
+    }
+}
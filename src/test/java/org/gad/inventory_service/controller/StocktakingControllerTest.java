@@ -2,12 +2,15 @@ package org.gad.inventory_service.controller;
 
 import org.gad.inventory_service.TestConfig;
 import org.gad.inventory_service.dto.StocktakingDTO;
+import org.gad.inventory_service.dto.StocktakingImportProgressDTO;
 import org.gad.inventory_service.dto.request.CreateStocktakingRequest;
 import org.gad.inventory_service.dto.request.UpdateStocktakingRequest;
 import org.gad.inventory_service.dto.response.DataResponse;
 import org.gad.inventory_service.dto.response.ErrorResponse;
+import org.gad.inventory_service.exception.InvalidImportFileException;
 import org.gad.inventory_service.exception.ProductNotFoundException;
 import org.gad.inventory_service.exception.StockTakingNotFoundException;
+import org.gad.inventory_service.service.StocktakingImportService;
 import org.gad.inventory_service.service.StocktakingService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,15 +19,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
 
 import static org.gad.inventory_service.utils.Constants.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 @WebFluxTest(StocktakingController.class)
@@ -34,6 +42,9 @@ class StocktakingControllerTest {
     @Autowired
     private StocktakingService stocktakingService;
 
+    @Autowired
+    private StocktakingImportService stocktakingImportService;
+
     @Autowired
     private WebTestClient webTestClient;
 
@@ -66,7 +77,7 @@ class StocktakingControllerTest {
                 .productName("Product A")
                 .quantity(150)
                 .build();
-        Mockito.reset(stocktakingService);
+        Mockito.reset(stocktakingService, stocktakingImportService);
     }
 
     @Test
@@ -110,6 +121,24 @@ class StocktakingControllerTest {
                 });
     }
 
+    @Test
+    void streamAllStocktaking_ShouldStreamStocktakingsAsNdjson_WhenAcceptIsNdjson() {
+        when(stocktakingService.findAllStocktaking()).thenReturn(stocktakings);
+
+        Flux<StocktakingDTO> body = webTestClient.get()
+                .uri("/api/v1/stocktaking")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(StocktakingDTO.class)
+                .getResponseBody();
+
+        StepVerifier.create(body)
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
     @Test
     void getAllStocktaking_ShouldThrowAndReturnStatus404_WhenProductOfResultIsNotFound() {
         when(stocktakingService.findAllStocktaking()).thenThrow(new ProductNotFoundException(PRODUCT_NOT_FOUND_ID + idStocktaking));
@@ -498,4 +527,49 @@ class StocktakingControllerTest {
                     assertNotNull(errorResponse.path());
                 });
     }
-}
\ No newline at end of file
+
+    @Test
+    void importStocktaking_ShouldStreamProgress_WhenFileIsUploaded() {
+        when(stocktakingImportService.importStocktaking(eq("counts.csv"), any()))
+                .thenReturn(Flux.just(
+                        StocktakingImportProgressDTO.builder().processed(1000).imported(998).rejected(2).errors(List.of()).build(),
+                        StocktakingImportProgressDTO.builder().processed(1200).imported(1197).rejected(3).done(true).errors(List.of()).build()));
+
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("file", "sku,quantity\nSKU-0001,5\n".getBytes()).filename("counts.csv");
+
+        Flux<StocktakingImportProgressDTO> progress = webTestClient.post()
+                .uri("/api/v1/stocktaking/import")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body.build())
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(StocktakingImportProgressDTO.class)
+                .getResponseBody();
+
+        StepVerifier.create(progress)
+                .expectNextMatches(event -> event.processed() == 1000 && !event.done())
+                .expectNextMatches(event -> event.imported() == 1197 && event.done())
+                .verifyComplete();
+    }
+
+    @Test
+    void importStocktaking_ShouldReturnStatus400_WhenFileFormatIsUnsupported() {
+        when(stocktakingImportService.importStocktaking(eq("counts.pdf"), any()))
+                .thenReturn(Flux.error(new InvalidImportFileException(String.format(MESSAGE_UNSUPPORTED_IMPORT_FILE, "counts.pdf", ".csv, .xlsx"))));
+
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("file", new byte[]{1, 2, 3}).filename("counts.pdf");
+
+        webTestClient.post()
+                .uri("/api/v1/stocktaking/import")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+                .bodyValue(body.build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(ErrorResponse.class)
+                .value(errorResponse -> assertEquals(String.format(MESSAGE_UNSUPPORTED_IMPORT_FILE, "counts.pdf", ".csv, .xlsx"), errorResponse.message()));
+    }
+}
@@ -0,0 +1,94 @@
+package org.gad.inventory_service.importer;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.gad.inventory_service.exception.InvalidImportFileException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TabularFileReaderTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void read_ShouldParseQuotedCsvCellsAndSkipBlankRows() throws IOException {
+        Path file = tempDir.resolve("counts.csv");
+        Files.writeString(file, "\uFEFFsku,product_name,quantity\r\n"
+                + "SKU-0001,\"Milk, whole\",12\r\n"
+                + "\r\n"
+                + "SKU-0002,\"Say \"\"cheese\"\"\",3\n", StandardCharsets.UTF_8);
+
+        List<String> rows = readAll(file, ImportFormat.CSV);
+
+        assertEquals(List.of(
+                "1:[sku, product_name, quantity]",
+                "2:[SKU-0001, Milk, whole, 12]",
+                "4:[SKU-0002, Say \"cheese\", 3]"), rows);
+    }
+
+    @Test
+    void read_ShouldUseSemicolonDelimiter_WhenHeaderUsesIt() throws IOException {
+        Path file = tempDir.resolve("counts.csv");
+        Files.writeString(file, "sku;quantity\nSKU-0001;1,5", StandardCharsets.UTF_8);
+
+        assertEquals(List.of("1:[sku, quantity]", "2:[SKU-0001, 1,5]"), readAll(file, ImportFormat.CSV));
+    }
+
+    @Test
+    void read_ShouldFail_WhenQuoteIsNeverClosed() throws IOException {
+        Path file = tempDir.resolve("counts.csv");
+        Files.writeString(file, "sku,quantity\n\"SKU-0001,1\n", StandardCharsets.UTF_8);
+
+        assertThrows(InvalidImportFileException.class, () -> readAll(file, ImportFormat.CSV));
+    }
+
+    @Test
+    void read_ShouldStreamFirstSheetAndKeepEmptyCellsInPlace_WhenFileIsXlsx() throws IOException {
+        Path file = tempDir.resolve("counts.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("Counts");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("product_id");
+            header.createCell(1).setCellValue("sku");
+            header.createCell(2).setCellValue("quantity");
+            Row row = sheet.createRow(2);
+            row.createCell(1).setCellValue("SKU-0001");
+            row.createCell(2).setCellValue(7);
+            workbook.write(out);
+        }
+
+        assertEquals(List.of("1:[product_id, sku, quantity]", "3:[, SKU-0001, 7]"), readAll(file, ImportFormat.XLSX));
+    }
+
+    @Test
+    void read_ShouldFail_WhenXlsxIsNotASpreadsheet() throws IOException {
+        Path file = tempDir.resolve("counts.xlsx");
+        Files.writeString(file, "not a zip", StandardCharsets.UTF_8);
+
+        assertThrows(InvalidImportFileException.class, () -> readAll(file, ImportFormat.XLSX));
+    }
+
+    @Test
+    void fromFilename_ShouldRejectUnknownExtensions() {
+        assertEquals(ImportFormat.XLSX, ImportFormat.fromFilename("Counts.XLSX", ImportFormat.CSV, ImportFormat.XLSX));
+        assertThrows(InvalidImportFileException.class, () -> ImportFormat.fromFilename("counts.pdf", ImportFormat.CSV, ImportFormat.XLSX));
+        assertThrows(InvalidImportFileException.class, () -> ImportFormat.fromFilename("counts.ndjson", ImportFormat.CSV, ImportFormat.XLSX));
+    }
+
+    private List<String> readAll(Path file, ImportFormat format) throws IOException {
+        List<String> rows = new ArrayList<>();
+        TabularFileReader.read(file, format, (rowNumber, cells) -> rows.add(rowNumber + ":" + cells));
+        return rows;
+    }
+}
@@ -1,5 +1,6 @@
 package org.gad.inventory_service.repository;
 
+import org.gad.inventory_service.config.mongo.SearchFieldsCallback;
 import org.gad.inventory_service.model.Brand;
 import org.gad.inventory_service.model.Category;
 import org.gad.inventory_service.model.Product;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
 import org.testcontainers.containers.MongoDBContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
@@ -23,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 @DataMongoTest
 @Testcontainers
+@Import(SearchFieldsCallback.class)
 class ProductRepositoryTest {
     @Container
     @ServiceConnection
@@ -84,8 +87,8 @@ class ProductRepositoryTest {
     }
 
     @Test
-    void findProductByNameContainingIgnoreCase_ShouldReturnProduct_WhenNameMatches() {
-        Mono<Product> productResult = productRepository.findProductByNameContainingIgnoreCase("iPhone");
+    void findFirstByNamePrefix_ShouldReturnProduct_WhenNameMatches() {
+        Mono<Product> productResult = productRepository.findFirstByNamePrefix("iPhone");
 
         StepVerifier.create(productResult)
                 .assertNext(product -> {
@@ -100,14 +103,55 @@ class ProductRepositoryTest {
     }
 
     @Test
-    void findBrandByNameContainingIgnoreCase_ShouldReturnEmpty_WhenNameDoesNotMatches() {
-        Mono<Product> productResult = productRepository.findProductByNameContainingIgnoreCase("NonExistentProduct");
+    void findFirstByNamePrefix_ShouldReturnEmpty_WhenNameDoesNotMatch() {
+        Mono<Product> productResult = productRepository.findFirstByNamePrefix("NonExistentProduct");
 
         StepVerifier.create(productResult)
                 .expectNextCount(0)
                 .verifyComplete();
     }
 
+    @Test
+    void findFirstByNamePrefix_ShouldIgnoreCaseAndAccents() {
+        createTestProduct("Cámara Réflex", categoryId, brandId, providerId, new BigDecimal("450.00"));
+
+        StepVerifier.create(productRepository.findFirstByNamePrefix("CAMARA re"))
+                .assertNext(product -> {
+                    assertEquals("Cámara Réflex", product.getName());
+                    assertEquals("camara reflex", product.getNameNormalized());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findBySku_ShouldReturnProduct_WhenSkuMatches() {
+        Product product = Product.builder()
+                .name("Samsung Buds")
+                .sku("7501234567890")
+                .description("Test product description")
+                .price(new BigDecimal("99.99"))
+                .categoryId(categoryId)
+                .brandId(brandId)
+                .providerId(providerId)
+                .build();
+        productRepository.save(product).block();
+
+        StepVerifier.create(productRepository.findBySku("7501234567890"))
+                .assertNext(found -> assertEquals("Samsung Buds", found.getName()))
+                .verifyComplete();
+        StepVerifier.create(productRepository.findBySku("7501234567891"))
+                .expectNextCount(0)
+                .verifyComplete();
+    }
+
+    @Test
+    void searchByText_ShouldOrderByRelevance_WhenSeveralProductsMatch() {
+        StepVerifier.create(productRepository.searchByText("samsung galaxy", 10).map(Product::getName))
+                .expectNext("Samsung Galaxy S21")
+                .expectNext("Samsung TV 55")
+                .verifyComplete();
+    }
+
     @Test
     void findByCriteria_ShouldReturnProducts_WhenCriteriaMatches() {
         Flux<Product> productsResult = productRepository.findByCriteria("Samsung", categoryId, brandId, providerId);
@@ -73,4 +73,29 @@ class RoleRepositoryTest {
                 .expectNextCount(0)
                 .verifyComplete();
     }
+
+    @Test
+    void renamePermission_ShouldRenameCopyInHoldingRoles() {
+        StepVerifier.create(roleRepository.renamePermission("UNKNOWN", "OTHER"))
+                .expectNext(0L)
+                .verifyComplete();
+        StepVerifier.create(roleRepository.renamePermission("CRUD_TESTS", "CRUD_CHECKS"))
+                .expectNext(1L)
+                .verifyComplete();
+
+        StepVerifier.create(roleRepository.findRoleByNameContainingIgnoreCase("ROLE_ADMIN"))
+                .assertNext(role -> assertEquals("CRUD_CHECKS", role.getPermissions().iterator().next().getName()))
+                .verifyComplete();
+    }
+
+    @Test
+    void removePermission_ShouldDropCopyFromHoldingRoles() {
+        StepVerifier.create(roleRepository.removePermission("CRUD_TESTS"))
+                .expectNext(1L)
+                .verifyComplete();
+
+        StepVerifier.create(roleRepository.findRoleByNameContainingIgnoreCase("ROLE_ADMIN"))
+                .assertNext(role -> assertTrue(role.getPermissions() == null || role.getPermissions().isEmpty()))
+                .verifyComplete();
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package org.gad.inventory_service.repository;
 
+import org.gad.inventory_service.model.Product;
 import org.gad.inventory_service.model.Sale;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +16,7 @@ import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -28,6 +30,9 @@ class SaleRepositoryTest {
     @Autowired
     private SaleRepository saleRepository;
 
+    @Autowired
+    private ProductRepository productRepository;
+
     @BeforeEach
     void setUp() {
         saleRepository.deleteAll().block();
@@ -74,6 +79,26 @@ class SaleRepositoryTest {
                 .verifyComplete();
     }
 
+    @Test
+    void sumQuantityByProductSince_ShouldOnlyCountLaterSales_WhenSinceIsGiven() {
+        saleRepository.save(Sale.builder()
+                .productId("product123")
+                .quantity(5)
+                .totalPrice(new BigDecimal("50.00"))
+                .saleDate(LocalDateTime.now().minusDays(3))
+                .build()).block();
+
+        StepVerifier.create(saleRepository.sumQuantityByProductSince("product123", null))
+                .expectNext(15L)
+                .verifyComplete();
+        StepVerifier.create(saleRepository.sumQuantityByProductSince("product123", LocalDateTime.now().minusDays(1)))
+                .expectNext(10L)
+                .verifyComplete();
+        StepVerifier.create(saleRepository.sumQuantityByProductSince("nonexistent", null))
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
     @Test
     void findByOptionalDateRange_ShouldReturnSales_WhenDateRangeMatches() {
         var startDate = LocalDateTime.now().minusDays(5);
@@ -143,4 +168,60 @@ class SaleRepositoryTest {
                 .expectNextCount(0)
                 .verifyComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    void findWithProductByOptionalDateRange_ShouldJoinProductName_WhenProductExists() {
+        productRepository.deleteAll().block();
+        Product product = productRepository.save(Product.builder()
+                .name("Laptop")
+                .price(new BigDecimal("101.00"))
+                .build()).block();
+        Sale sale = saleRepository.save(Sale.builder()
+                .productId(Objects.requireNonNull(product).getIdProduct())
+                .quantity(1)
+                .totalPrice(new BigDecimal("101.00"))
+                .build()).block();
+
+        StepVerifier.create(saleRepository.findWithProductById(Objects.requireNonNull(sale).getIdSale()))
+                .assertNext(view -> {
+                    assertEquals(sale.getIdSale(), view.idSale());
+                    assertEquals(product.getIdProduct(), view.productId());
+                    assertEquals("Laptop", view.productName());
+                    assertEquals(1, view.quantity());
+                    assertEquals(new BigDecimal("101.00"), view.totalPrice());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findWithProductByOptionalPriceTotalRange_ShouldLeaveProductNameNull_WhenProductIsMissing() {
+        var foundSales = saleRepository.findWithProductByOptionalPriceTotalRange(new BigDecimal("100.00"), new BigDecimal("150.00"));
+
+        StepVerifier.create(foundSales)
+                .assertNext(view -> {
+                    assertNotNull(view.idSale());
+                    assertEquals("product123", view.productId());
+                    assertNull(view.productName());
+                    assertEquals(new BigDecimal("101.00"), view.totalPrice());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findWithProductPage_ShouldWalkAllSalesWithoutRepeats_WhenFollowingKeyset() {
+        var firstPage = saleRepository.findWithProductPage(null, null, 1).collectList().block();
+        assertNotNull(firstPage);
+        assertEquals(1, firstPage.size());
+        var last = firstPage.get(0);
+
+        var secondPage = saleRepository.findWithProductPage(last.saleDate(), last.idSale(), 1).collectList().block();
+        assertNotNull(secondPage);
+        assertEquals(1, secondPage.size());
+        assertNotEquals(last.idSale(), secondPage.get(0).idSale());
+        var secondLast = secondPage.get(0);
+
+        StepVerifier.create(saleRepository.findWithProductPage(secondLast.saleDate(), secondLast.idSale(), 1))
+                .expectNextCount(0)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,272 @@
+package org.gad.inventory_service.repository;
+
+import org.bson.types.ObjectId;
+import org.gad.inventory_service.analytics.RollupWindow;
+import org.gad.inventory_service.analytics.SalesRollupBackfill;
+import org.gad.inventory_service.config.MongoConfig;
+import org.gad.inventory_service.model.*;
+import org.gad.inventory_service.model.projection.SalesTotalsView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataMongoTest
+@Testcontainers
+@Import({MongoConfig.class, SalesRollupBackfill.class})
+class SalesRollupRepositoryTest {
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:8.0");
+
+    private static final String PRODUCT_A = "665c2e2f8b3e2a6b7c8d9e01";
+    private static final String PRODUCT_B = "665c2e2f8b3e2a6b7c8d9e02";
+
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+
+    @Autowired
+    private SalesRollupBackfill salesRollupBackfill;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        salesRollupRepository.deleteAll().block();
+        reactiveMongoTemplate.dropCollection(Sale.class).block();
+        reactiveMongoTemplate.dropCollection(Product.class).block();
+    }
+
+    @Test
+    void incrementBuckets_ShouldAccumulateAndRevert_WhenSameBucketIsHitAgain() {
+        LocalDateTime soldAt = LocalDateTime.of(2024, 3, 10, 12, 0);
+        salesRollupRepository.incrementBuckets(deltas(PRODUCT_A, soldAt, 2, "20.00", 1)).block();
+        salesRollupRepository.incrementBuckets(deltas(PRODUCT_A, soldAt, 3, "30.00", 1)).block();
+        salesRollupRepository.incrementBuckets(deltas(PRODUCT_A, soldAt, 2, "20.00", -1)).block();
+
+        StepVerifier.create(salesRollupRepository.findById(SalesRollup.idOf(RollupGranularity.DAY, "2024-03-10", RollupDimension.PRODUCT, PRODUCT_A)))
+                .assertNext(bucket -> {
+                    assertEquals(1, bucket.getCount());
+                    assertEquals(3, bucket.getQuantity());
+                    assertEquals(0, new BigDecimal("30.00").compareTo(bucket.getRevenue()));
+                    assertEquals(RollupDimension.PRODUCT, bucket.getDimension());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findBuckets_ShouldReturnOnlyBucketsInsideWindows() {
+        salesRollupRepository.incrementBuckets(deltas(PRODUCT_A, LocalDateTime.of(2024, 1, 31, 10, 0), 1, "10.00", 1)).block();
+        salesRollupRepository.incrementBuckets(deltas(PRODUCT_A, LocalDateTime.of(2024, 2, 15, 10, 0), 1, "10.00", 1)).block();
+        salesRollupRepository.incrementBuckets(deltas(PRODUCT_A, LocalDateTime.of(2024, 3, 2, 10, 0), 1, "10.00", 1)).block();
+
+        List<RollupWindow> windows = RollupWindow.cover(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1));
+
+        StepVerifier.create(salesRollupRepository.findBuckets(RollupDimension.PRODUCT, PRODUCT_A, windows).collectList())
+                .assertNext(buckets -> {
+                    assertEquals(1, buckets.size());
+                    assertEquals("2024-02", buckets.get(0).getPeriod());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void sumByKey_ShouldOrderKeysByRevenue() {
+        LocalDateTime soldAt = LocalDateTime.of(2024, 4, 5, 9, 0);
+        salesRollupRepository.incrementBuckets(deltas(PRODUCT_A, soldAt, 1, "15.00", 1)).block();
+        salesRollupRepository.incrementBuckets(deltas(PRODUCT_B, soldAt, 4, "80.00", 1)).block();
+        salesRollupRepository.incrementBuckets(deltas(PRODUCT_B, soldAt.plusDays(1), 1, "20.00", 1)).block();
+
+        List<RollupWindow> windows = RollupWindow.cover(LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 30));
+
+        StepVerifier.create(salesRollupRepository.sumByKey(RollupDimension.PRODUCT, windows, 10).map(SalesTotalsView::key).collectList())
+                .expectNext(List.of(PRODUCT_B, PRODUCT_A))
+                .verifyComplete();
+    }
+
+    @Test
+    void rebuildAll_ShouldProduceSameBucketsAsIncrementalUpdates() {
+        Product product = reactiveMongoTemplate.save(Product.builder()
+                .name("Mouse")
+                .categoryId("category1")
+                .brandId("brand1")
+                .build()).block();
+        LocalDateTime soldAt = LocalDateTime.of(2024, 5, 20, 18, 30);
+        reactiveMongoTemplate.save(Sale.builder().productId(product.getIdProduct()).quantity(2).totalPrice(new BigDecimal("40.00")).saleDate(soldAt).build()).block();
+        reactiveMongoTemplate.save(Sale.builder().productId(product.getIdProduct()).quantity(1).totalPrice(new BigDecimal("20.00")).saleDate(soldAt.plusDays(3)).build()).block();
+        salesRollupRepository.save(SalesRollup.builder()
+                .idRollup(SalesRollup.idOf(RollupGranularity.DAY, "2020-01-01", RollupDimension.ALL, RollupDimension.ALL_KEY))
+                .revenue(BigDecimal.ONE)
+                .rebuiltAt(Instant.parse("2020-01-02T00:00:00Z"))
+                .build()).block();
+
+        StepVerifier.create(salesRollupBackfill.rebuildAll())
+                .expectNext(12L)
+                .verifyComplete();
+
+        List<RollupWindow> may = RollupWindow.cover(LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 31));
+        StepVerifier.create(salesRollupRepository.findBuckets(RollupDimension.CATEGORY, "category1", may))
+                .assertNext(bucket -> {
+                    assertEquals(RollupGranularity.MONTH, bucket.getGranularity());
+                    assertEquals(2, bucket.getCount());
+                    assertEquals(3, bucket.getQuantity());
+                    assertEquals(0, new BigDecimal("60.00").compareTo(bucket.getRevenue()));
+                    assertNotNull(bucket.getRebuiltAt());
+                })
+                .verifyComplete();
+        StepVerifier.create(salesRollupRepository.existsById(SalesRollup.idOf(RollupGranularity.DAY, "2020-01-01", RollupDimension.ALL, RollupDimension.ALL_KEY)))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    void rebuild_ShouldIgnoreLateDeltaOfOlderSale_AndKeepDeltaOfSaleAfterCutoff() {
+        LocalDateTime soldAt = LocalDateTime.of(2024, 5, 20, 18, 30);
+        String dayBucket = SalesRollup.idOf(RollupGranularity.DAY, "2024-05-20", RollupDimension.PRODUCT, PRODUCT_A);
+        Instant oldCreatedAt = Instant.now().minus(Duration.ofHours(1));
+        reactiveMongoTemplate.save(Sale.builder().idSale(new ObjectId(Date.from(oldCreatedAt)).toHexString())
+                .productId(PRODUCT_A).quantity(2).totalPrice(new BigDecimal("40.00")).saleDate(soldAt).build()).block();
+        Instant newCreatedAt = Instant.now();
+        reactiveMongoTemplate.save(Sale.builder().idSale(new ObjectId(Date.from(newCreatedAt)).toHexString())
+                .productId(PRODUCT_A).quantity(1).totalPrice(new BigDecimal("20.00")).saleDate(soldAt).build()).block();
+        salesRollupRepository.incrementBuckets(deltas(PRODUCT_A, soldAt, 1, "20.00", 1, SalesRollup.stampOf(newCreatedAt))).block();
+        Instant oldWrittenAt = Instant.now();
+
+        salesRollupBackfill.rebuild().block();
+        salesRollupRepository.incrementBuckets(deltas(PRODUCT_A, soldAt, 2, "40.00", 1, SalesRollup.stampOf(oldCreatedAt), oldWrittenAt)).block();
+
+        StepVerifier.create(salesRollupRepository.findById(dayBucket))
+                .assertNext(bucket -> {
+                    assertEquals(2, bucket.getCount());
+                    assertEquals(3, bucket.getQuantity());
+                    assertEquals(0, new BigDecimal("60.00").compareTo(bucket.getRevenue()));
+                })
+                .verifyComplete();
+
+        salesRollupRepository.incrementBuckets(deltas(PRODUCT_A, soldAt, 1, "20.00", -1, SalesRollup.stampOf(newCreatedAt))).block();
+        salesRollupBackfill.rebuild().block();
+
+        StepVerifier.create(salesRollupRepository.findById(dayBucket))
+                .assertNext(bucket -> {
+                    assertEquals(1, bucket.getCount());
+                    assertEquals(2, bucket.getQuantity());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void rebuild_ShouldKeepBucketOnlyNewerSalesHit_AndRemoveItOnceEmpty() {
+        LocalDateTime soldAt = LocalDateTime.of(2024, 7, 1, 9, 0);
+        String dayBucket = SalesRollup.idOf(RollupGranularity.DAY, "2024-07-01", RollupDimension.PRODUCT, PRODUCT_B);
+        String stamp = SalesRollup.stampOf(Instant.now());
+        salesRollupRepository.incrementBuckets(deltas(PRODUCT_B, soldAt, 4, "80.00", 1, stamp)).block();
+
+        salesRollupBackfill.rebuild().block();
+
+        StepVerifier.create(salesRollupRepository.findById(dayBucket).map(SalesRollup::getCount))
+                .expectNext(1L)
+                .verifyComplete();
+
+        salesRollupRepository.incrementBuckets(deltas(PRODUCT_B, soldAt, 4, "80.00", -1, stamp)).block();
+        salesRollupBackfill.rebuild().block();
+
+        StepVerifier.create(salesRollupRepository.existsById(dayBucket))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    void rebuild_ShouldApplyUpdateAndDeleteOfOlderSaleWrittenAfterIt() {
+        LocalDateTime soldAt = LocalDateTime.of(2024, 8, 12, 14, 0);
+        String dayBucket = SalesRollup.idOf(RollupGranularity.DAY, "2024-08-12", RollupDimension.PRODUCT, PRODUCT_A);
+        Instant createdAt = Instant.now().minus(Duration.ofHours(2));
+        String stamp = SalesRollup.stampOf(createdAt);
+        Sale kept = Sale.builder().idSale(new ObjectId(Date.from(createdAt)).toHexString())
+                .productId(PRODUCT_A).quantity(2).totalPrice(new BigDecimal("40.00")).saleDate(soldAt).build();
+        Sale deleted = Sale.builder().idSale(new ObjectId(Date.from(createdAt.plusSeconds(1))).toHexString())
+                .productId(PRODUCT_A).quantity(1).totalPrice(new BigDecimal("20.00")).saleDate(soldAt).build();
+        reactiveMongoTemplate.save(kept).block();
+        reactiveMongoTemplate.save(deleted).block();
+
+        salesRollupBackfill.rebuild().block();
+
+        StepVerifier.create(salesRollupRepository.findById(dayBucket).map(SalesRollup::getQuantity))
+                .expectNext(3L)
+                .verifyComplete();
+
+        reactiveMongoTemplate.remove(deleted).block();
+        salesRollupRepository.incrementBuckets(deltas(PRODUCT_A, soldAt, 1, "20.00", -1, stamp, Instant.now())).block();
+        kept.setQuantity(5);
+        kept.setTotalPrice(new BigDecimal("100.00"));
+        reactiveMongoTemplate.save(kept).block();
+        Instant updatedAt = Instant.now();
+        List<SalesRollup> update = new ArrayList<>(deltas(PRODUCT_A, soldAt, 2, "40.00", -1, stamp, updatedAt));
+        update.addAll(deltas(PRODUCT_A, soldAt, 5, "100.00", 1, stamp, updatedAt));
+        salesRollupRepository.incrementBuckets(update).block();
+
+        StepVerifier.create(salesRollupRepository.findById(dayBucket))
+                .assertNext(bucket -> {
+                    assertEquals(1, bucket.getCount());
+                    assertEquals(5, bucket.getQuantity());
+                    assertEquals(0, new BigDecimal("100.00").compareTo(bucket.getRevenue()));
+                })
+                .verifyComplete();
+
+        salesRollupBackfill.rebuild().block();
+
+        StepVerifier.create(salesRollupRepository.findById(dayBucket))
+                .assertNext(bucket -> {
+                    assertEquals(1, bucket.getCount());
+                    assertEquals(5, bucket.getQuantity());
+                    assertEquals(0, new BigDecimal("100.00").compareTo(bucket.getRevenue()));
+                })
+                .verifyComplete();
+    }
+
+    private List<SalesRollup> deltas(String productId, LocalDateTime soldAt, int quantity, String revenue, int sign) {
+        return deltas(productId, soldAt, quantity, revenue, sign, null);
+    }
+
+    private List<SalesRollup> deltas(String productId, LocalDateTime soldAt, int quantity, String revenue, int sign, String stamp) {
+        return deltas(productId, soldAt, quantity, revenue, sign, stamp, null);
+    }
+
+    private List<SalesRollup> deltas(String productId, LocalDateTime soldAt, int quantity, String revenue, int sign, String stamp, Instant writtenAt) {
+        List<SalesRollup> deltas = new ArrayList<>();
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            String period = granularity.periodOf(soldAt);
+            deltas.add(SalesRollup.builder()
+                    .idRollup(SalesRollup.idOf(granularity, period, RollupDimension.PRODUCT, productId))
+                    .granularity(granularity)
+                    .period(period)
+                    .dimension(RollupDimension.PRODUCT)
+                    .key(productId)
+                    .count(sign)
+                    .quantity((long) sign * quantity)
+                    .revenue(new BigDecimal(revenue).multiply(BigDecimal.valueOf(sign)))
+                    .stamp(stamp)
+                    .writtenAt(writtenAt)
+                    .build());
+        }
+        return deltas;
+    }
+}
@@ -0,0 +1,273 @@
+package org.gad.inventory_service.repository;
+
+import org.gad.inventory_service.model.StockLevel;
+import org.gad.inventory_service.model.Stocktaking;
+import org.gad.inventory_service.service.impl.StockLevelServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.gad.inventory_service.utils.Constants.TEXT_VERSION;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataMongoTest
+@Testcontainers
+class StockLevelRepositoryTest {
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:8.0");
+
+    private static final String PRODUCT_ID = "665c2e2f8b3e2a6b7c8d9e0f";
+
+    @Autowired
+    private StockLevelRepository stockLevelRepository;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        stockLevelRepository.deleteAll().block();
+    }
+
+    @Test
+    void incrementQuantity_ShouldCreateLevel_WhenNoneExists() {
+        stockLevelRepository.incrementQuantity(PRODUCT_ID, -3, LocalDateTime.now()).block();
+
+        StepVerifier.create(stockLevelRepository.findById(PRODUCT_ID))
+                .assertNext(level -> {
+                    assertEquals(-3, level.getQuantity());
+                    assertNull(level.getLastStocktakingDate());
+                    assertNotNull(level.getUpdatedAt());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void incrementQuantity_ShouldNotLoseUpdates_WhenAppliedConcurrently() {
+        stockLevelRepository.resetQuantity(PRODUCT_ID, 1000, LocalDateTime.now().minusMinutes(1)).block();
+
+        Flux.range(0, 200)
+                .flatMap(i -> stockLevelRepository.incrementQuantity(PRODUCT_ID, -1, LocalDateTime.now()), 32)
+                .blockLast();
+
+        StepVerifier.create(stockLevelRepository.findById(PRODUCT_ID).map(StockLevel::getQuantity))
+                .expectNext(800L)
+                .verifyComplete();
+    }
+
+    @Test
+    void reserveQuantity_ShouldNeverOversell_WhenTillsCompeteForLastUnits() {
+        stockLevelRepository.resetQuantity(PRODUCT_ID, 100, LocalDateTime.now()).block();
+
+        Long granted = Flux.range(0, 250)
+                .flatMap(i -> stockLevelRepository.reserveQuantity(PRODUCT_ID, 1), 64)
+                .count()
+                .block();
+
+        assertEquals(100L, granted);
+        StepVerifier.create(stockLevelRepository.findById(PRODUCT_ID).map(StockLevel::getQuantity))
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    @Test
+    void reserveQuantity_ShouldReturnEmpty_WhenNoLevelExists() {
+        StepVerifier.create(stockLevelRepository.reserveQuantity(PRODUCT_ID, 1))
+                .verifyComplete();
+    }
+
+    @Test
+    void reserveQuantity_ShouldLeaveLevelAlone_WhenSaleIsNotAfterLastStocktaking() {
+        LocalDateTime countedAt = LocalDateTime.now();
+        stockLevelRepository.resetQuantity(PRODUCT_ID, 50, countedAt).block();
+
+        StepVerifier.create(stockLevelRepository.reserveQuantity(PRODUCT_ID, 5, countedAt.minusDays(1)))
+                .verifyComplete();
+        StepVerifier.create(stockLevelRepository.reserveQuantity(PRODUCT_ID, 5, countedAt.plusMinutes(1)).map(StockLevel::getQuantity))
+                .expectNext(45L)
+                .verifyComplete();
+    }
+
+    @Test
+    void incrementQuantity_ShouldIgnoreMovement_WhenOlderThanLastStocktaking() {
+        LocalDateTime countedAt = LocalDateTime.now();
+        stockLevelRepository.resetQuantity(PRODUCT_ID, 50, countedAt).block();
+
+        stockLevelRepository.incrementQuantity(PRODUCT_ID, 5, countedAt.minusHours(1)).block();
+
+        StepVerifier.create(stockLevelRepository.findById(PRODUCT_ID).map(StockLevel::getQuantity))
+                .expectNext(50L)
+                .verifyComplete();
+    }
+
+    @Test
+    void resetQuantity_ShouldKeepNewerCount_WhenOlderStocktakingArrives() {
+        LocalDateTime countedAt = LocalDateTime.now();
+        stockLevelRepository.resetQuantity(PRODUCT_ID, 50, countedAt).block();
+
+        stockLevelRepository.resetQuantity(PRODUCT_ID, 10, countedAt.minusDays(1)).block();
+
+        StepVerifier.create(stockLevelRepository.findById(PRODUCT_ID))
+                .assertNext(level -> {
+                    assertEquals(50, level.getQuantity());
+                    assertNotNull(level.getLastStocktakingDate());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void confirmReservation_ShouldMoveUnitsOutOfReserved() {
+        stockLevelRepository.resetQuantity(PRODUCT_ID, 10, LocalDateTime.now()).block();
+        stockLevelRepository.reserveQuantity(PRODUCT_ID, 4).block();
+
+        stockLevelRepository.confirmReservation(PRODUCT_ID, 4).block();
+
+        StepVerifier.create(stockLevelRepository.findById(PRODUCT_ID))
+                .assertNext(level -> {
+                    assertEquals(6, level.getQuantity());
+                    assertEquals(0, level.getReserved());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void cancelReservation_ShouldHandUnitsBack() {
+        stockLevelRepository.resetQuantity(PRODUCT_ID, 10, LocalDateTime.now()).block();
+        stockLevelRepository.reserveQuantity(PRODUCT_ID, 4).block();
+
+        stockLevelRepository.cancelReservation(PRODUCT_ID, 4).block();
+
+        StepVerifier.create(stockLevelRepository.findById(PRODUCT_ID))
+                .assertNext(level -> {
+                    assertEquals(10, level.getQuantity());
+                    assertEquals(0, level.getReserved());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void replaceIfUnchanged_ShouldMiss_WhenLevelChangedAfterItWasRead() {
+        stockLevelRepository.resetQuantity(PRODUCT_ID, 10, LocalDateTime.now()).block();
+        StockLevel seen = stockLevelRepository.findById(PRODUCT_ID).block();
+        stockLevelRepository.reserveQuantity(PRODUCT_ID, 1).block();
+
+        StepVerifier.create(stockLevelRepository.replaceIfUnchanged(rebuilt(10), seen))
+                .expectNext(false)
+                .verifyComplete();
+        StepVerifier.create(stockLevelRepository.findById(PRODUCT_ID).map(StockLevel::getQuantity))
+                .expectNext(9L)
+                .verifyComplete();
+    }
+
+    @Test
+    void replaceIfUnchanged_ShouldMiss_WhenLevelWasCreatedAfterItWasFoundMissing() {
+        stockLevelRepository.incrementQuantity(PRODUCT_ID, -1, LocalDateTime.now()).block();
+
+        StepVerifier.create(stockLevelRepository.replaceIfUnchanged(rebuilt(10), null))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    void replaceIfUnchanged_ShouldWrite_WhenLevelPredatesVersioning() {
+        stockLevelRepository.save(StockLevel.builder().productId(PRODUCT_ID).quantity(3).build()).block();
+        mongoTemplate.updateMulti(new Query(), new Update().unset(TEXT_VERSION), StockLevel.class).block();
+        StockLevel seen = stockLevelRepository.findById(PRODUCT_ID).block();
+
+        StepVerifier.create(stockLevelRepository.replaceIfUnchanged(rebuilt(10), seen))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    // The sale sum is taken while a till reserves for a sale that is not stored yet: the rebuild must neither add
+    // those units back nor overwrite the reservation.
+    @Test
+    void reconcileProduct_ShouldNotHandBackReservation_WhenReserveInterleavesWithRebuild() {
+        LocalDateTime countedAt = LocalDateTime.now().minusMinutes(1);
+        stockLevelRepository.resetQuantity(PRODUCT_ID, 10, countedAt).block();
+        StocktakingRepository stocktakingRepository = mock(StocktakingRepository.class);
+        SaleRepository saleRepository = mock(SaleRepository.class);
+        StockLevelServiceImpl stockLevelService = new StockLevelServiceImpl(stockLevelRepository, stocktakingRepository,
+                saleRepository, mock(ProductRepository.class));
+        AtomicBoolean interleaved = new AtomicBoolean();
+        when(stocktakingRepository.findFirstByProductIdOrderByStocktakingDateDesc(PRODUCT_ID))
+                .thenReturn(Mono.just(Stocktaking.builder().productId(PRODUCT_ID).quantity(10).stocktakingDate(countedAt).build()));
+        when(saleRepository.sumQuantityByProductSince(PRODUCT_ID, countedAt))
+                .thenAnswer(invocation -> interleaved.compareAndSet(false, true)
+                        ? stockLevelService.reserve(PRODUCT_ID, 3).thenReturn(0L)
+                        : Mono.just(0L));
+
+        stockLevelService.reconcileProduct(PRODUCT_ID).block();
+
+        StepVerifier.create(stockLevelRepository.findById(PRODUCT_ID))
+                .assertNext(level -> {
+                    assertEquals(7, level.getQuantity());
+                    assertEquals(3, level.getReserved());
+                })
+                .verifyComplete();
+        verify(saleRepository, times(2)).sumQuantityByProductSince(PRODUCT_ID, countedAt);
+    }
+
+    // Tills reserve, store and confirm while reconciles run: no reconcile may hand out units that are sold or in
+    // flight, and once things settle the level is exactly the count minus the sales.
+    @Test
+    void reconcileProduct_ShouldNeverOversell_WhenSalesRunAlongsideReconciles() {
+        LocalDateTime countedAt = LocalDateTime.now().minusMinutes(1);
+        stockLevelRepository.resetQuantity(PRODUCT_ID, 100, countedAt).block();
+        StocktakingRepository stocktakingRepository = mock(StocktakingRepository.class);
+        SaleRepository saleRepository = mock(SaleRepository.class);
+        StockLevelServiceImpl stockLevelService = new StockLevelServiceImpl(stockLevelRepository, stocktakingRepository,
+                saleRepository, mock(ProductRepository.class));
+        AtomicLong sold = new AtomicLong();
+        when(stocktakingRepository.findFirstByProductIdOrderByStocktakingDateDesc(PRODUCT_ID))
+                .thenReturn(Mono.just(Stocktaking.builder().productId(PRODUCT_ID).quantity(100).stocktakingDate(countedAt).build()));
+        when(saleRepository.sumQuantityByProductSince(any(), any()))
+                .thenAnswer(invocation -> Mono.fromSupplier(sold::get));
+
+        Flux.range(0, 150)
+                .flatMap(i -> i % 5 == 0
+                        ? stockLevelService.reconcileProduct(PRODUCT_ID)
+                        : stockLevelService.reserve(PRODUCT_ID, 1)
+                                .then(Mono.fromRunnable(sold::incrementAndGet))
+                                .then(stockLevelService.confirmReservation(PRODUCT_ID, 1))
+                                .onErrorResume(error -> Mono.empty()), 32)
+                .blockLast();
+
+        StockLevel settled = stockLevelRepository.findById(PRODUCT_ID).block();
+        assertNotNull(settled);
+        assertEquals(0, settled.getReserved());
+        assertTrue(settled.getQuantity() >= 0);
+        assertTrue(settled.getQuantity() <= 100 - sold.get());
+
+        stockLevelService.reconcileProduct(PRODUCT_ID).block();
+
+        StepVerifier.create(stockLevelRepository.findById(PRODUCT_ID).map(StockLevel::getQuantity))
+                .expectNext(100 - sold.get())
+                .verifyComplete();
+    }
+
+    private static StockLevel rebuilt(long quantity) {
+        return StockLevel.builder()
+                .productId(PRODUCT_ID)
+                .quantity(quantity)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}
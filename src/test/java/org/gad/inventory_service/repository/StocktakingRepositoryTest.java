@@ -1,5 +1,6 @@
 package org.gad.inventory_service.repository;
 
+import org.gad.inventory_service.model.Product;
 import org.gad.inventory_service.model.Stocktaking;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,7 +13,9 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,6 +29,9 @@ class StocktakingRepositoryTest {
     @Autowired
     private StocktakingRepository stocktakingRepository;
 
+    @Autowired
+    private ProductRepository productRepository;
+
     @BeforeEach
     void setUp() {
         stocktakingRepository.deleteAll().block();
@@ -95,4 +101,40 @@ class StocktakingRepositoryTest {
                 .expectNextCount(0)
                 .verifyComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    void findWithProductById_ShouldJoinProductName_WhenProductExists() {
+        productRepository.deleteAll().block();
+        Product product = productRepository.save(Product.builder()
+                .name("Laptop")
+                .price(new BigDecimal("101.00"))
+                .build()).block();
+        Stocktaking stocktaking = stocktakingRepository.save(Stocktaking.builder()
+                .productId(Objects.requireNonNull(product).getIdProduct())
+                .quantity(5)
+                .performedBy("admin")
+                .build()).block();
+
+        StepVerifier.create(stocktakingRepository.findWithProductById(Objects.requireNonNull(stocktaking).getIdStocktaking()))
+                .assertNext(view -> {
+                    assertEquals(stocktaking.getIdStocktaking(), view.idStocktaking());
+                    assertEquals("Laptop", view.productName());
+                    assertEquals(5, view.quantity());
+                    assertEquals("admin", view.performedBy());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findWithProductByOptionalDateRange_ShouldLeaveProductNameNull_WhenProductIsMissing() {
+        var foundStocktaking = stocktakingRepository.findWithProductByOptionalDateRange(null, null);
+
+        StepVerifier.create(foundStocktaking)
+                .assertNext(view -> {
+                    assertNotNull(view.idStocktaking());
+                    assertEquals("12345", view.productId());
+                    assertNull(view.productName());
+                })
+                .verifyComplete();
+    }
+}
@@ -1,5 +1,7 @@
 package org.gad.inventory_service.repository;
 
+import org.gad.inventory_service.config.mongo.SearchFieldsCallback;
+import org.gad.inventory_service.model.Permission;
 import org.gad.inventory_service.model.Role;
 import org.gad.inventory_service.model.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
 import org.testcontainers.containers.MongoDBContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
@@ -14,11 +17,13 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataMongoTest
 @Testcontainers
+@Import(SearchFieldsCallback.class)
 class UserRepositoryTest {
     @Container
     @ServiceConnection
@@ -37,7 +42,10 @@ class UserRepositoryTest {
                 .password("password123")
                 .email("email@mail.com")
                 .phone("123456789")
-                .roles(Set.of(Role.builder().name("ROLE_USER").build()))
+                .roles(Set.of(Role.builder()
+                        .name("ROLE_USER")
+                        .permissions(Set.of(Permission.builder().name("READ_PRIVILEGES").build()))
+                        .build()))
                 .build();
         userRepository.save(user).block();
     }
@@ -117,4 +125,85 @@ class UserRepositoryTest {
                 .expectNextCount(0)
                 .verifyComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    void findTokenVersionById_ShouldReturnOnlyTokenVersion_WhenUserExists() {
+        User saved = userRepository.findUserByUsername("testuser").block();
+        assertNotNull(saved);
+        saved.revokeTokens();
+        userRepository.save(saved).block();
+
+        StepVerifier.create(userRepository.findTokenVersionById(saved.getIdUser()))
+                .assertNext(user -> {
+                    assertEquals(1, user.currentTokenVersion());
+                    assertNull(user.getUsername());
+                    assertNull(user.getPassword());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void replaceEmbeddedRole_ShouldCopyRoleAndRevokeTokens_WhenUserHoldsRole() {
+        Role updated = Role.builder()
+                .name("ROLE_CLERK")
+                .permissions(Set.of(Permission.builder().name("WRITE_PRIVILEGES").build()))
+                .build();
+
+        StepVerifier.create(userRepository.replaceEmbeddedRole("ROLE_USER", updated))
+                .expectNext(1L)
+                .verifyComplete();
+
+        StepVerifier.create(userRepository.findUserByUsername("testuser"))
+                .assertNext(user -> {
+                    assertEquals(1, user.currentTokenVersion());
+                    assertEquals(Set.of("ROLE_CLERK"), user.getRoles().stream().map(Role::getName).collect(Collectors.toSet()));
+                    assertEquals("WRITE_PRIVILEGES", user.getRoles().iterator().next().getPermissions().iterator().next().getName());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void removeEmbeddedRole_ShouldDropRoleAndRevokeTokens_WhenUserHoldsRole() {
+        StepVerifier.create(userRepository.removeEmbeddedRole("ROLE_USER"))
+                .expectNext(1L)
+                .verifyComplete();
+
+        StepVerifier.create(userRepository.findUserByUsername("testuser"))
+                .assertNext(user -> {
+                    assertEquals(1, user.currentTokenVersion());
+                    assertTrue(user.getRoles().isEmpty());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void renameEmbeddedPermission_ShouldRevokeTokensOnlyOfHolders() {
+        StepVerifier.create(userRepository.renameEmbeddedPermission("DELETE_PRIVILEGES", "PURGE_PRIVILEGES"))
+                .expectNext(0L)
+                .verifyComplete();
+        StepVerifier.create(userRepository.renameEmbeddedPermission("READ_PRIVILEGES", "VIEW_PRIVILEGES"))
+                .expectNext(1L)
+                .verifyComplete();
+
+        StepVerifier.create(userRepository.findUserByUsername("testuser"))
+                .assertNext(user -> {
+                    assertEquals(1, user.currentTokenVersion());
+                    assertEquals("VIEW_PRIVILEGES", user.getRoles().iterator().next().getPermissions().iterator().next().getName());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void removeEmbeddedPermission_ShouldDropPermissionAndRevokeTokens() {
+        StepVerifier.create(userRepository.removeEmbeddedPermission("READ_PRIVILEGES"))
+                .expectNext(1L)
+                .verifyComplete();
+
+        StepVerifier.create(userRepository.findUserByUsername("testuser"))
+                .assertNext(user -> {
+                    assertEquals(1, user.currentTokenVersion());
+                    assertTrue(user.getRoles().iterator().next().getPermissions().isEmpty());
+                })
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,105 @@
+package org.gad.inventory_service.search;
+
+import org.gad.inventory_service.event.ProductChangedEvent;
+import org.gad.inventory_service.model.Product;
+import org.gad.inventory_service.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSuggestIndexTest {
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductSuggestIndex productSuggestIndex;
+
+    @BeforeEach
+    void setUp() {
+        productSuggestIndex = new ProductSuggestIndex(productRepository, Duration.ofMinutes(5));
+        when(productRepository.findAll()).thenReturn(Flux.just(
+                product("p1", "Samsung Galaxy S21", true),
+                product("p2", "Samsung TV 55", true),
+                product("p3", "iPhone 13", true),
+                product("p4", "Funda para iPhone", true),
+                product("p5", "Samsung Galaxy S9", false)));
+        StepVerifier.create(productSuggestIndex.rebuild()).verifyComplete();
+    }
+
+    @Test
+    void suggest_ShouldRankNamePrefixAboveWordPrefix() {
+        assertEquals(List.of("p3", "p4"), ids(productSuggestIndex.suggest("ipho", 10)));
+    }
+
+    @Test
+    void suggest_ShouldMatchOneLetterPrefixesAndSkipInactiveProducts() {
+        assertEquals(List.of("p2", "p1"), ids(productSuggestIndex.suggest("s", 10)));
+    }
+
+    @Test
+    void suggest_ShouldTolerateATypoAndIgnoreCaseAndAccents() {
+        assertEquals("p1", productSuggestIndex.suggest("GÁLAXI", 1).get(0).productId());
+    }
+
+    @Test
+    void suggest_ShouldReturnOnlyTheTopK() {
+        assertEquals(1, productSuggestIndex.suggest("samsung", 1).size());
+        assertTrue(productSuggestIndex.suggest("  ", 5).isEmpty());
+    }
+
+    @Test
+    void onProductChanged_ShouldApplyRenamesAndDeletionsIncrementally() {
+        productSuggestIndex.onProductChanged(ProductChangedEvent.saved(product("p3", "Pixel 8", true)));
+        productSuggestIndex.onProductChanged(ProductChangedEvent.deleted("p4"));
+
+        assertTrue(productSuggestIndex.suggest("iphone", 10).isEmpty());
+        assertEquals(List.of("p3"), ids(productSuggestIndex.suggest("pix", 10)));
+
+        productSuggestIndex.onProductChanged(ProductChangedEvent.saved(product("p6", "iPhone 15", true)));
+        assertEquals(List.of("p6"), ids(productSuggestIndex.suggest("iphone", 10)));
+    }
+
+    @Test
+    void rebuild_ShouldKeepChangesMadeWhileItWasReading() {
+        when(productRepository.findAll()).thenReturn(Flux.just(product("p1", "Samsung Galaxy S21", true))
+                .doOnComplete(() -> productSuggestIndex.onProductChanged(
+                        ProductChangedEvent.saved(product("p1", "Motorola Edge 40", true)))));
+
+        StepVerifier.create(productSuggestIndex.rebuild()).verifyComplete();
+
+        assertTrue(productSuggestIndex.suggest("galaxy", 10).isEmpty());
+        assertEquals(List.of("p1"), ids(productSuggestIndex.suggest("motorola", 10)));
+    }
+
+    @Test
+    void suggest_ShouldCountEveryCandidate_WhenManyProductsShareTrigrams() {
+        when(productRepository.findAll()).thenReturn(Flux.range(0, 500)
+                .map(i -> product("p" + i, "Cable USB " + i, true)));
+        StepVerifier.create(productSuggestIndex.rebuild()).verifyComplete();
+
+        assertEquals(List.of("p123"), ids(productSuggestIndex.suggest("cable usb 123", 1)));
+        assertEquals(10, productSuggestIndex.suggest("cable", 10).size());
+    }
+
+    private static List<String> ids(List<ProductSuggestion> suggestions) {
+        return suggestions.stream().map(ProductSuggestion::productId).toList();
+    }
+
+    private static Product product(String id, String name, boolean active) {
+        return Product.builder()
+                .idProduct(id)
+                .name(name)
+                .isActive(active)
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package org.gad.inventory_service.service.impl;
 
 import org.gad.inventory_service.dto.request.CreateBrandRequest;
 import org.gad.inventory_service.dto.request.UpdateBrandRequest;
+import org.gad.inventory_service.event.ReferenceDataChangedEvent;
 import org.gad.inventory_service.exception.BrandNotFoundException;
 import org.gad.inventory_service.model.Brand;
 import org.gad.inventory_service.repository.BrandRepository;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -25,6 +27,9 @@ class BrandServiceImplTest {
     @Mock
     private BrandRepository brandRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BrandServiceImpl brandService;
 
@@ -161,6 +166,7 @@ class BrandServiceImplTest {
 
         verify(brandRepository, times(1)).findById(anyString());
         verify(brandRepository, times(1)).save(any(Brand.class));
+        verify(eventPublisher, times(1)).publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.ReferenceType.BRAND));
     }
 
     @Test
@@ -1,32 +1,50 @@
 package org.gad.inventory_service.service.impl;
 
+import org.gad.inventory_service.config.scheduler.WorkSchedulers;
 import org.gad.inventory_service.dto.SaleDTO;
 import org.gad.inventory_service.exception.ExcelReportGenerationException;
-import org.gad.inventory_service.utils.UtilsMethods;
+import org.gad.inventory_service.exception.SalesNotFoundException;
+import org.gad.inventory_service.exception.ServiceBusyException;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
-import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
+import static org.gad.inventory_service.utils.Constants.SALE_NOT_FOUND_FLUX;
 import static org.gad.inventory_service.utils.UtilsMethods.datetimeNowFormatted;
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(MockitoExtension.class)
 class ExcelReportServiceImplTest {
-    @InjectMocks
+    private WorkSchedulers workSchedulers;
     private ExcelReportServiceImpl excelReportService;
 
     private List<SaleDTO> sales;
 
     @BeforeEach
     void setUp() {
+        workSchedulers = new WorkSchedulers(
+                WorkSchedulers.boundedPool("report-test", 2, 4, null),
+                WorkSchedulers.boundedPool("auth-test", 1, 1, null),
+                WorkSchedulers.boundedPool("import-test", 1, 1, null));
+        excelReportService = new ExcelReportServiceImpl(workSchedulers);
         sales = List.of(
                 SaleDTO.builder()
                         .idSale("sale-1")
@@ -52,9 +70,14 @@ class ExcelReportServiceImplTest {
         );
     }
 
+    @AfterEach
+    void tearDown() {
+        workSchedulers.dispose();
+    }
+
     @Test
     void generateSalesReport_ShouldReturnExcelFile_WhenDateRangeIsValid() {
-        Mono<byte[]> result = excelReportService.generateSalesReport(sales);
+        Mono<byte[]> result = toBytes(excelReportService.generateSalesReport(Flux.fromIterable(sales)));
 
         StepVerifier.create(result)
                 .assertNext(bytes -> {
@@ -66,16 +89,47 @@ class ExcelReportServiceImplTest {
 
     @Test
     void generateSalesReport_ShouldReturnError_WhenIOExceptionOccurs() {
-        Mono<byte[]> result = excelReportService.generateSalesReport(null);
+        Flux<DataBuffer> result = excelReportService.generateSalesReport(null);
 
         StepVerifier.create(result)
                 .expectError(ExcelReportGenerationException.class)
                 .verify();
     }
 
+    @Test
+    void generateSalesReport_ShouldPropagateSourceError_WhenSalesFail() {
+        Flux<DataBuffer> result = excelReportService.generateSalesReport(Flux.error(new SalesNotFoundException(SALE_NOT_FOUND_FLUX)));
+
+        StepVerifier.create(result)
+                .expectError(SalesNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void generateSalesReport_ShouldReturnServiceBusy_WhenReportSchedulerRejects() {
+        Scheduler saturated = Schedulers.fromExecutor(task -> {
+            throw new RejectedExecutionException();
+        });
+        ExcelReportServiceImpl busyService = new ExcelReportServiceImpl(new WorkSchedulers(saturated, saturated, saturated));
+
+        StepVerifier.create(busyService.generateSalesReport(Flux.fromIterable(sales)))
+                .expectError(ServiceBusyException.class)
+                .verify();
+    }
+
+    @Test
+    void generateSalesReport_ShouldRunOnReportScheduler() {
+        Flux<SaleDTO> source = Flux.fromIterable(sales)
+                .doOnSubscribe(subscription -> assertTrue(Thread.currentThread().getName().startsWith("report-test-")));
+
+        StepVerifier.create(toBytes(excelReportService.generateSalesReport(source)))
+                .assertNext(bytes -> assertTrue(bytes.length > 0))
+                .verifyComplete();
+    }
+
     @Test
     void generateSaleReport_ShouldCreateCorrectExcelStructure() {
-        byte[] result = excelReportService.generateSalesReport(sales).block();
+        byte[] result = toBytes(excelReportService.generateSalesReport(Flux.fromIterable(sales))).block();
 
         assertNotNull(result);
 
@@ -84,4 +138,37 @@ class ExcelReportServiceImplTest {
         assertEquals(0x03, result[2] & 0xFF);
         assertEquals(0x04, result[3] & 0xFF);
     }
-}
\ No newline at end of file
+
+    @Test
+    void generateSalesReport_ShouldWriteEveryRow_WhenSalesExceedRowWindow() throws IOException {
+        int saleCount = 5_000;
+        Flux<SaleDTO> manySales = Flux.range(0, saleCount)
+                .map(i -> SaleDTO.builder()
+                        .idSale("sale-" + i)
+                        .nameProduct("Product " + i)
+                        .quantity(i)
+                        .totalPrice(BigDecimal.valueOf(i))
+                        .saleDate(datetimeNowFormatted())
+                        .build());
+
+        byte[] result = toBytes(excelReportService.generateSalesReport(manySales)).block();
+
+        assertNotNull(result);
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(result))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals(saleCount, sheet.getLastRowNum());
+            assertEquals("sale-" + (saleCount - 1), sheet.getRow(saleCount).getCell(0).getStringCellValue());
+            assertTrue(sheet.getColumnWidth(1) >= "Product 4999".length() * 256);
+        }
+    }
+
+    private Mono<byte[]> toBytes(Flux<DataBuffer> buffers) {
+        return DataBufferUtils.join(buffers)
+                .map(dataBuffer -> {
+                    byte[] bytes = new byte[dataBuffer.readableByteCount()];
+                    dataBuffer.read(bytes);
+                    DataBufferUtils.release(dataBuffer);
+                    return bytes;
+                });
+    }
+}
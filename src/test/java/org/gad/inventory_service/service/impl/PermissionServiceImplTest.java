@@ -2,15 +2,19 @@ package org.gad.inventory_service.service.impl;
 
 import org.gad.inventory_service.dto.request.CreatePermissionRequest;
 import org.gad.inventory_service.dto.request.UpdatePermissionRequest;
+import org.gad.inventory_service.event.UserSecurityChangedEvent;
 import org.gad.inventory_service.exception.PermissionNotFoundException;
 import org.gad.inventory_service.model.Permission;
 import org.gad.inventory_service.repository.PermissionRepository;
+import org.gad.inventory_service.repository.RoleRepository;
+import org.gad.inventory_service.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -24,6 +28,15 @@ class PermissionServiceImplTest {
     @Mock
     private PermissionRepository permissionRepository;
 
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PermissionServiceImpl permissionService;
 
@@ -120,6 +133,10 @@ class PermissionServiceImplTest {
                 .thenReturn(Mono.just(permission));
         when(permissionRepository.save(any(Permission.class)))
                 .thenReturn(Mono.just(permission));
+        when(roleRepository.renamePermission("READ_PRIVILEGES", "WRITE_PRIVILEGES"))
+                .thenReturn(Mono.just(2L));
+        when(userRepository.renameEmbeddedPermission("READ_PRIVILEGES", "WRITE_PRIVILEGES"))
+                .thenReturn(Mono.just(3L));
 
         StepVerifier.create(permissionService.updatePermission("permission-1", updatePermissionRequest))
                 .expectNextMatches(dto ->
@@ -129,6 +146,9 @@ class PermissionServiceImplTest {
 
         verify(permissionRepository, times(1)).findById(anyString());
         verify(permissionRepository, times(1)).save(any(Permission.class));
+        verify(roleRepository, times(1)).renamePermission("READ_PRIVILEGES", "WRITE_PRIVILEGES");
+        verify(userRepository, times(1)).renameEmbeddedPermission("READ_PRIVILEGES", "WRITE_PRIVILEGES");
+        verify(eventPublisher, times(1)).publishEvent(UserSecurityChangedEvent.forAllUsers());
     }
 
     @Test
@@ -151,12 +171,18 @@ class PermissionServiceImplTest {
                 .thenReturn(Mono.just(permission));
         when(permissionRepository.deleteById(anyString()))
                 .thenReturn(Mono.empty());
+        when(roleRepository.removePermission("READ_PRIVILEGES"))
+                .thenReturn(Mono.just(2L));
+        when(userRepository.removeEmbeddedPermission("READ_PRIVILEGES"))
+                .thenReturn(Mono.just(3L));
 
         StepVerifier.create(permissionService.deletePermissionById("permission-1"))
                 .verifyComplete();
 
         verify(permissionRepository, times(1)).findById(anyString());
         verify(permissionRepository, times(1)).deleteById(anyString());
+        verify(roleRepository, times(1)).removePermission("READ_PRIVILEGES");
+        verify(userRepository, times(1)).removeEmbeddedPermission("READ_PRIVILEGES");
     }
 
     @Test
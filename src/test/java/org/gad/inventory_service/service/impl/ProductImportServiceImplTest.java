@@ -0,0 +1,255 @@
+package org.gad.inventory_service.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.gad.inventory_service.cache.ReferenceDataCache;
+import org.gad.inventory_service.config.scheduler.WorkSchedulers;
+import org.gad.inventory_service.dto.ImportRowErrorDTO;
+import org.gad.inventory_service.event.ProductChangedEvent;
+import org.gad.inventory_service.exception.InvalidImportFileException;
+import org.gad.inventory_service.model.Brand;
+import org.gad.inventory_service.model.Category;
+import org.gad.inventory_service.model.Product;
+import org.gad.inventory_service.model.ProductImportCheckpoint;
+import org.gad.inventory_service.model.Provider;
+import org.gad.inventory_service.model.projection.BulkUpsertView;
+import org.gad.inventory_service.repository.BrandRepository;
+import org.gad.inventory_service.repository.CategoryRepository;
+import org.gad.inventory_service.repository.ProductImportCheckpointRepository;
+import org.gad.inventory_service.repository.ProductRepository;
+import org.gad.inventory_service.repository.ProviderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.gad.inventory_service.utils.Constants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceImplTest {
+    private static final String HEADER = "name,sku,description,price,category_name,brand_name,provider_name\n";
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductImportCheckpointRepository checkpointRepository;
+
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private WorkSchedulers workSchedulers;
+    private ProductImportServiceImpl productImportService;
+
+    @BeforeEach
+    void setUp() {
+        workSchedulers = new WorkSchedulers(
+                WorkSchedulers.boundedPool("report-test", 1, 1, null),
+                WorkSchedulers.boundedPool("auth-test", 1, 1, null),
+                WorkSchedulers.boundedPool("import-test", 1, 2, null));
+        productImportService = new ProductImportServiceImpl(productRepository, checkpointRepository, referenceDataCache,
+                eventPublisher, workSchedulers, Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        workSchedulers.dispose();
+    }
+
+    @Test
+    void importCatalogue_ShouldUpsertLastRowPerSkuAndReportRejectedRows() {
+        when(checkpointRepository.findById(anyString()))
+                .thenReturn(Mono.empty());
+        when(checkpointRepository.save(any(ProductImportCheckpoint.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        stubReferences();
+        when(referenceDataCache.findBrandByName("Unknown"))
+                .thenReturn(Mono.empty());
+        when(productRepository.upsertBySku(anyList()))
+                .thenReturn(Mono.just(new BulkUpsertView(1, 0, Map.of())));
+        when(productRepository.findAllBySkuIn(List.of("SKU-0001")))
+                .thenReturn(Flux.just(Product.builder().idProduct("product1").sku("SKU-0001").build()));
+
+        StepVerifier.create(productImportService.importCatalogue("catalogue.csv", content(HEADER
+                        + "Mouse,SKU-0001,Wireless mouse,19.99,Peripherals,Acme,Supplier\n"
+                        + "Mouse v2,SKU-0001,Wireless mouse,21,Peripherals,Acme,Supplier\n"
+                        + "Cable,SKU-0002,USB cable,5,Peripherals,Unknown,Supplier\n"
+                        + "Keyboard,SKU-0003,Mechanical keyboard,abc,Peripherals,Acme,Supplier\n")))
+                .assertNext(progress -> {
+                    assertEquals(3, progress.processed());
+                    assertEquals(1, progress.created());
+                    assertEquals(2, progress.rejected());
+                    assertEquals(List.of(
+                            new ImportRowErrorDTO(2, MESSAGE_IMPORT_DUPLICATE_SKU + 3),
+                            new ImportRowErrorDTO(4, BRAND_NOT_FOUND_NAME + "Unknown")), progress.errors());
+                    assertFalse(progress.done());
+                })
+                .assertNext(progress -> {
+                    assertEquals(4, progress.processed());
+                    assertEquals(3, progress.rejected());
+                    assertEquals(List.of(new ImportRowErrorDTO(5, MESSAGE_IMPORT_INVALID_PRICE)), progress.errors());
+                    assertTrue(progress.done());
+                })
+                .verifyComplete();
+
+        verify(productRepository, times(1)).upsertBySku(argThat(products -> products.size() == 1
+                && "Mouse v2".equals(products.get(0).getName())
+                && new BigDecimal("21.00").equals(products.get(0).getPrice())
+                && "category1".equals(products.get(0).getCategoryId())));
+        verify(eventPublisher, times(1)).publishEvent(any(ProductChangedEvent.class));
+        verify(checkpointRepository, times(2)).save(any(ProductImportCheckpoint.class));
+    }
+
+    @Test
+    void importCatalogue_ShouldResolveReferenceDataCreatedAfterWarmUp() {
+        CategoryRepository categoryRepository = mock(CategoryRepository.class);
+        BrandRepository brandRepository = mock(BrandRepository.class);
+        ProviderRepository providerRepository = mock(ProviderRepository.class);
+        when(categoryRepository.findAll()).thenReturn(Flux.empty());
+        when(brandRepository.findAll()).thenReturn(Flux.empty());
+        when(providerRepository.findAll()).thenReturn(Flux.empty());
+        ReferenceDataCache warmCache = new ReferenceDataCache(categoryRepository, brandRepository, providerRepository,
+                Duration.ofMinutes(10), Duration.ofMinutes(1));
+        warmCache.warmUp();
+        when(categoryRepository.findCategoryByNameContainingIgnoreCase("Peripherals"))
+                .thenReturn(Mono.just(Category.builder().idCategory("category1").name("Peripherals").build()));
+        when(brandRepository.findBrandByNameContainingIgnoreCase("Acme"))
+                .thenReturn(Mono.just(Brand.builder().idBrand("brand1").name("Acme").build()));
+        when(providerRepository.findProviderByNameContainingIgnoreCase("Supplier"))
+                .thenReturn(Mono.just(Provider.builder().idProvider("provider1").name("Supplier").build()));
+        when(checkpointRepository.findById(anyString()))
+                .thenReturn(Mono.empty());
+        when(checkpointRepository.save(any(ProductImportCheckpoint.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(productRepository.upsertBySku(anyList()))
+                .thenReturn(Mono.just(new BulkUpsertView(1, 0, Map.of())));
+        when(productRepository.findAllBySkuIn(List.of("SKU-0001")))
+                .thenReturn(Flux.just(Product.builder().idProduct("product1").sku("SKU-0001").build()));
+        ProductImportServiceImpl importService = new ProductImportServiceImpl(productRepository, checkpointRepository, warmCache,
+                eventPublisher, workSchedulers, Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), 3);
+
+        StepVerifier.create(importService.importCatalogue("catalogue.csv", content(HEADER
+                        + "Mouse,SKU-0001,Wireless mouse,19.99,Peripherals,Acme,Supplier\n")))
+                .assertNext(progress -> {
+                    assertEquals(1, progress.created());
+                    assertEquals(0, progress.rejected());
+                    assertTrue(progress.done());
+                })
+                .verifyComplete();
+
+        verify(productRepository, times(1)).upsertBySku(argThat(products -> products.size() == 1
+                && "category1".equals(products.get(0).getCategoryId())
+                && "brand1".equals(products.get(0).getBrandId())
+                && "provider1".equals(products.get(0).getProviderId())));
+    }
+
+    @Test
+    void importCatalogue_ShouldSkipCommittedRows_WhenCheckpointIsIncomplete() {
+        when(checkpointRepository.findById(anyString()))
+                .thenReturn(Mono.just(ProductImportCheckpoint.builder()
+                        .idImport("import1")
+                        .rowsCommitted(2)
+                        .processed(1)
+                        .created(1)
+                        .build()));
+        when(checkpointRepository.save(any(ProductImportCheckpoint.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        stubReferences();
+        when(productRepository.upsertBySku(anyList()))
+                .thenReturn(Mono.just(new BulkUpsertView(0, 1, Map.of())));
+        when(productRepository.findAllBySkuIn(List.of("SKU-0002")))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(productImportService.importCatalogue("catalogue.csv", content(HEADER
+                        + "Mouse,SKU-0001,Wireless mouse,19.99,Peripherals,Acme,Supplier\n"
+                        + "Cable,SKU-0002,USB cable,5,Peripherals,Acme,Supplier\n")))
+                .assertNext(progress -> {
+                    assertEquals("import1", progress.importId());
+                    assertEquals(2, progress.resumedAfterRow());
+                    assertEquals(2, progress.processed());
+                    assertEquals(1, progress.created());
+                    assertEquals(1, progress.updated());
+                    assertTrue(progress.done());
+                })
+                .verifyComplete();
+
+        verify(productRepository, times(1)).upsertBySku(argThat(products -> products.size() == 1
+                && "SKU-0002".equals(products.get(0).getSku())));
+    }
+
+    @Test
+    void importCatalogue_ShouldRejectMalformedLines_WhenFileIsNdjson() {
+        when(checkpointRepository.findById(anyString()))
+                .thenReturn(Mono.empty());
+        when(checkpointRepository.save(any(ProductImportCheckpoint.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        stubReferences();
+        when(productRepository.upsertBySku(anyList()))
+                .thenReturn(Mono.just(new BulkUpsertView(1, 0, Map.of())));
+        when(productRepository.findAllBySkuIn(List.of("SKU-0001")))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(productImportService.importCatalogue("catalogue.ndjson", content(
+                        "{\"name\":\"Mouse\",\"sku\":\"SKU-0001\",\"description\":\"Wireless mouse\",\"price\":19.99,"
+                                + "\"category_name\":\"Peripherals\",\"brand_name\":\"Acme\",\"provider_name\":\"Supplier\"}\n"
+                                + "{\"name\":\"Cable\",\n"
+                                + "{\"name\":\"Keyboard\",\"description\":\"Mechanical keyboard\",\"price\":40,"
+                                + "\"category_name\":\"Peripherals\",\"brand_name\":\"Acme\",\"provider_name\":\"Supplier\"}\n")))
+                .assertNext(progress -> {
+                    assertEquals(3, progress.processed());
+                    assertEquals(1, progress.created());
+                    assertEquals(List.of(
+                            new ImportRowErrorDTO(2, MESSAGE_IMPORT_INVALID_JSON),
+                            new ImportRowErrorDTO(3, MESSAGE_IMPORT_SKU_REQUIRED)), progress.errors());
+                })
+                .assertNext(progress -> assertTrue(progress.done()))
+                .verifyComplete();
+    }
+
+    @Test
+    void importCatalogue_ShouldFail_WhenHeaderIsMissingColumns() {
+        when(checkpointRepository.findById(anyString()))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(productImportService.importCatalogue("catalogue.csv", content("name,sku,price\nMouse,SKU-0001,10\n")))
+                .expectErrorMatches(error -> error instanceof InvalidImportFileException
+                        && MESSAGE_PRODUCT_IMPORT_MISSING_COLUMNS.equals(error.getMessage()))
+                .verify();
+
+        verifyNoInteractions(productRepository, referenceDataCache);
+        verify(checkpointRepository, never()).save(any(ProductImportCheckpoint.class));
+    }
+
+    private void stubReferences() {
+        when(referenceDataCache.findCategoryByName("Peripherals"))
+                .thenReturn(Mono.just(Category.builder().idCategory("category1").name("Peripherals").build()));
+        when(referenceDataCache.findBrandByName("Acme"))
+                .thenReturn(Mono.just(Brand.builder().idBrand("brand1").name("Acme").build()));
+        when(referenceDataCache.findProviderByName("Supplier"))
+                .thenReturn(Mono.just(Provider.builder().idProvider("provider1").name("Supplier").build()));
+    }
+
+    private Flux<DataBuffer> content(String text) {
+        return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(text.getBytes(StandardCharsets.UTF_8)));
+    }
+}
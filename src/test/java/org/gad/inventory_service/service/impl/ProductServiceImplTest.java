@@ -1,32 +1,40 @@
 package org.gad.inventory_service.service.impl;
 
+import org.gad.inventory_service.cache.ReferenceDataCache;
+import org.gad.inventory_service.cache.ReferenceNames;
 import org.gad.inventory_service.dto.request.CreateProductRequest;
 import org.gad.inventory_service.dto.request.UpdateProductRequest;
+import org.gad.inventory_service.event.ProductChangedEvent;
 import org.gad.inventory_service.exception.BrandNotFoundException;
 import org.gad.inventory_service.exception.CategoryNotFoundException;
+import org.gad.inventory_service.exception.ProductAlreadyExistsException;
 import org.gad.inventory_service.exception.ProductNotFoundException;
 import org.gad.inventory_service.exception.ProviderNotFoundException;
+import org.gad.inventory_service.exception.ServiceBusyException;
 import org.gad.inventory_service.model.Brand;
 import org.gad.inventory_service.model.Category;
 import org.gad.inventory_service.model.Product;
 import org.gad.inventory_service.model.Provider;
-import org.gad.inventory_service.repository.BrandRepository;
-import org.gad.inventory_service.repository.CategoryRepository;
 import org.gad.inventory_service.repository.ProductRepository;
-import org.gad.inventory_service.repository.ProviderRepository;
+import org.gad.inventory_service.search.ProductSuggestIndex;
+import org.gad.inventory_service.search.ProductSuggestion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
 
 import static org.gad.inventory_service.utils.Constants.*;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,15 +43,17 @@ class ProductServiceImplTest {
     private ProductRepository productRepository;
 
     @Mock
-    private CategoryRepository categoryRepository;
+    private ReferenceDataCache referenceDataCache;
 
     @Mock
-    private BrandRepository brandRepository;
+    private ReferenceNames referenceNames;
 
     @Mock
-    private ProviderRepository providerRepository;
+    private ProductSuggestIndex productSuggestIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
-    @InjectMocks
     private ProductServiceImpl productService;
 
     private Product product;
@@ -55,6 +65,8 @@ class ProductServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        productService = new ProductServiceImpl(productRepository, referenceDataCache, productSuggestIndex, eventPublisher, Duration.ofSeconds(2));
+
         category = Category.builder()
                 .idCategory("cat123")
                 .name("Electronics")
@@ -104,20 +116,26 @@ class ProductServiceImplTest {
 
     @Test
     void findAllProducts_ShouldReturnFluxOfProductDTO_WhenProductsExist() {
+        stubReferenceNames();
         when(productRepository.findAll()).thenReturn(Flux.just(product));
 
         StepVerifier.create(productService.findAllProducts())
                 .expectNextMatches(dto -> dto.idProduct().equals("123456") &&
                         dto.name().equals("Laptop") &&
                         dto.description().equals("High performance laptop") &&
-                        dto.price().compareTo(new BigDecimal("1200.00")) == 0)
+                        dto.price().compareTo(new BigDecimal("1200.00")) == 0 &&
+                        dto.categoryName().equals("Electronics") &&
+                        dto.brandName().equals("TechBrand") &&
+                        dto.providerName().equals("TechProvider"))
                 .verifyComplete();
 
         verify(productRepository, times(1)).findAll();
+        verify(referenceDataCache, times(1)).names();
     }
 
     @Test
     void findAllProducts_ShouldThrow_WhenNoProductsExist() {
+        when(referenceDataCache.names()).thenReturn(Mono.just(referenceNames));
         when(productRepository.findAll()).thenReturn(Flux.empty());
 
         StepVerifier.create(productService.findAllProducts())
@@ -128,15 +146,35 @@ class ProductServiceImplTest {
         verify(productRepository, times(1)).findAll();
     }
 
+    @Test
+    void findProductsPage_ShouldReturnLastPageWithoutCursor_WhenNoMoreProductsExist() {
+        stubReferenceNames();
+        when(productRepository.findPage(null, 11)).thenReturn(Flux.just(product));
+
+        StepVerifier.create(productService.findProductsPage(null, 10))
+                .assertNext(page -> {
+                    assertEquals(1, page.items().size());
+                    assertEquals("123456", page.items().get(0).idProduct());
+                    assertEquals("Electronics", page.items().get(0).categoryName());
+                    assertFalse(page.hasNext());
+                    assertNull(page.nextCursor());
+                })
+                .verifyComplete();
+
+        verify(productRepository, times(1)).findPage(null, 11);
+    }
+
     @Test
     void findProductById_ShouldReturnProductDTO_WhenProductExists() {
+        stubReferenceNames();
         when(productRepository.findById(anyString())).thenReturn(Mono.just(product));
 
         StepVerifier.create(productService.findProductById("123456"))
                 .expectNextMatches(dto -> dto.idProduct().equals("123456") &&
                         dto.name().equals("Laptop") &&
                         dto.description().equals("High performance laptop") &&
-                        dto.price().compareTo(new BigDecimal("1200.00")) == 0)
+                        dto.price().compareTo(new BigDecimal("1200.00")) == 0 &&
+                        dto.brandName().equals("TechBrand"))
                 .verifyComplete();
         verify(productRepository, times(1)).findById(anyString());
     }
@@ -154,11 +192,11 @@ class ProductServiceImplTest {
 
     @Test
     void findProductsByCriteria_ShouldReturnFluxOfProductDTO_WhenCriteriaMatch() {
-        when(categoryRepository.findCategoryByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findCategoryByName(anyString()))
                 .thenReturn(Mono.just(category));
-        when(brandRepository.findBrandByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findBrandByName(anyString()))
                 .thenReturn(Mono.just(brand));
-        when(providerRepository.findProviderByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findProviderByName(anyString()))
                 .thenReturn(Mono.just(provider));
         when(productRepository.findByCriteria(anyString(), anyString(), anyString(), anyString()))
                 .thenReturn(Flux.just(product));
@@ -169,16 +207,16 @@ class ProductServiceImplTest {
                         dto.description().equals("High performance laptop") &&
                         dto.price().compareTo(new BigDecimal("1200.00")) == 0)
                 .verifyComplete();
-        verify(categoryRepository, times(1)).findCategoryByNameContainingIgnoreCase(anyString());
+        verify(referenceDataCache, times(1)).findCategoryByName(anyString());
     }
 
     @Test
     void findProductsByCriteria_ShouldThrow_WhenCategoryDoesNotExist() {
-        when(categoryRepository.findCategoryByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findCategoryByName(anyString()))
                 .thenReturn(Mono.empty());
-        when(brandRepository.findBrandByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findBrandByName(anyString()))
                 .thenReturn(Mono.just(brand));
-        when(providerRepository.findProviderByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findProviderByName(anyString()))
                 .thenReturn(Mono.just(provider));
 
         StepVerifier.create(productService.findProductsByCriteria("Laptop", "NonExistentCategory", "TechBrand", "TechProvider"))
@@ -190,11 +228,11 @@ class ProductServiceImplTest {
 
     @Test
     void findProductsByCriteria_ShouldThrow_WhenBrandDoesNotExist() {
-        when(categoryRepository.findCategoryByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findCategoryByName(anyString()))
                 .thenReturn(Mono.just(category));
-        when(brandRepository.findBrandByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findBrandByName(anyString()))
                 .thenReturn(Mono.empty());
-        when(providerRepository.findProviderByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findProviderByName(anyString()))
                 .thenReturn(Mono.just(provider));
 
         StepVerifier.create(productService.findProductsByCriteria("Laptop", "Electronics", "NonExistentBrand", "TechProvider"))
@@ -206,11 +244,11 @@ class ProductServiceImplTest {
 
     @Test
     void findProductsByCriteria_ShouldThrow_WhenProviderDoesNotExist() {
-        when(categoryRepository.findCategoryByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findCategoryByName(anyString()))
                 .thenReturn(Mono.just(category));
-        when(brandRepository.findBrandByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findBrandByName(anyString()))
                 .thenReturn(Mono.just(brand));
-        when(providerRepository.findProviderByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findProviderByName(anyString()))
                 .thenReturn(Mono.empty());
 
         StepVerifier.create(productService.findProductsByCriteria("Laptop", "Electronics", "TechBrand", "NonExistentProvider"))
@@ -222,11 +260,11 @@ class ProductServiceImplTest {
 
     @Test
     void findProductsByCriteria_ShouldThrow_WhenNoProductsMatchCriteria() {
-        when(categoryRepository.findCategoryByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findCategoryByName(anyString()))
                 .thenReturn(Mono.just(category));
-        when(brandRepository.findBrandByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findBrandByName(anyString()))
                 .thenReturn(Mono.just(brand));
-        when(providerRepository.findProviderByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findProviderByName(anyString()))
                 .thenReturn(Mono.just(provider));
         when(productRepository.findByCriteria(anyString(), anyString(), anyString(), anyString()))
                 .thenReturn(Flux.empty());
@@ -238,13 +276,36 @@ class ProductServiceImplTest {
         verify(productRepository, times(1)).findByCriteria(anyString(), anyString(), anyString(), anyString());
     }
 
+    @Test
+    void searchProducts_ShouldReturnProductsInRepositoryOrder_WhenTextMatches() {
+        stubReferenceNames();
+        when(productRepository.searchByText("laptop", 10)).thenReturn(Flux.just(product));
+
+        StepVerifier.create(productService.searchProducts("laptop", 10))
+                .expectNextMatches(dto -> dto.idProduct().equals("123456") &&
+                        dto.categoryName().equals("Electronics"))
+                .verifyComplete();
+        verify(productRepository, times(1)).searchByText("laptop", 10);
+    }
+
+    @Test
+    void searchProducts_ShouldThrow_WhenNothingMatches() {
+        when(referenceDataCache.names()).thenReturn(Mono.just(referenceNames));
+        when(productRepository.searchByText("nothing", 10)).thenReturn(Flux.empty());
+
+        StepVerifier.create(productService.searchProducts("nothing", 10))
+                .expectErrorMatches(throwable -> throwable instanceof ProductNotFoundException &&
+                        throwable.getMessage().equals(PRODUCT_NOT_FOUND_TEXT + "nothing"))
+                .verify();
+    }
+
     @Test
     void createProduct_ShouldReturnProductDTO_WhenProductIsCreated() {
-        when(categoryRepository.findCategoryByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findCategoryByName(anyString()))
                 .thenReturn(Mono.just(category));
-        when(brandRepository.findBrandByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findBrandByName(anyString()))
                 .thenReturn(Mono.just(brand));
-        when(providerRepository.findProviderByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findProviderByName(anyString()))
                 .thenReturn(Mono.just(provider));
         when(productRepository.save(any(Product.class))).thenReturn(Mono.just(product));
 
@@ -255,12 +316,44 @@ class ProductServiceImplTest {
                         dto.price().compareTo(new BigDecimal("1200.00")) == 0)
                 .verifyComplete();
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(eventPublisher, times(1)).publishEvent(ProductChangedEvent.saved(product));
+    }
+
+    @Test
+    void createProduct_ShouldThrow_WhenSkuAlreadyExists() {
+        CreateProductRequest request = CreateProductRequest.builder()
+                .name("Laptop")
+                .sku("LAP-0001")
+                .description("High performance laptop")
+                .price(new BigDecimal("1200.00"))
+                .categoryName("Electronics")
+                .brandName("Dell")
+                .providerName("Tech Supplies")
+                .build();
+        when(referenceDataCache.findCategoryByName(anyString()))
+                .thenReturn(Mono.just(category));
+        when(referenceDataCache.findBrandByName(anyString()))
+                .thenReturn(Mono.just(brand));
+        when(referenceDataCache.findProviderByName(anyString()))
+                .thenReturn(Mono.just(provider));
+        when(productRepository.save(any(Product.class)))
+                .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error")));
+
+        StepVerifier.create(productService.createProduct(request))
+                .expectErrorMatches(throwable -> throwable instanceof ProductAlreadyExistsException &&
+                        throwable.getMessage().equals(PRODUCT_SKU_ALREADY_EXISTS + "LAP-0001"))
+                .verify();
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void createProduct_ShouldThrow_WhenCategoryDoesNotExist() {
-        when(categoryRepository.findCategoryByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findCategoryByName(anyString()))
                 .thenReturn(Mono.error(new CategoryNotFoundException(CATEGORY_NOT_FOUND_NAME + "cat123")));
+        when(referenceDataCache.findBrandByName(anyString()))
+                .thenReturn(Mono.just(brand));
+        when(referenceDataCache.findProviderByName(anyString()))
+                .thenReturn(Mono.just(provider));
 
         StepVerifier.create(productService.createProduct(createProductRequest))
                 .expectErrorMatches(throwable -> throwable instanceof CategoryNotFoundException &&
@@ -271,10 +364,12 @@ class ProductServiceImplTest {
 
     @Test
     void createProduct_ShouldThrow_WhenBrandDoesNotExist() {
-        when(categoryRepository.findCategoryByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findCategoryByName(anyString()))
                 .thenReturn(Mono.just(category));
-        when(brandRepository.findBrandByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findBrandByName(anyString()))
                 .thenReturn(Mono.error(new BrandNotFoundException(BRAND_NOT_FOUND_NAME + "brand123")));
+        when(referenceDataCache.findProviderByName(anyString()))
+                .thenReturn(Mono.just(provider));
 
         StepVerifier.create(productService.createProduct(createProductRequest))
                 .expectErrorMatches(throwable -> throwable instanceof BrandNotFoundException &&
@@ -285,11 +380,11 @@ class ProductServiceImplTest {
 
     @Test
     void createProduct_ShouldThrow_WhenProviderDoesNotExist() {
-        when(categoryRepository.findCategoryByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findCategoryByName(anyString()))
                 .thenReturn(Mono.just(category));
-        when(brandRepository.findBrandByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findBrandByName(anyString()))
                 .thenReturn(Mono.just(brand));
-        when(providerRepository.findProviderByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findProviderByName(anyString()))
                 .thenReturn(Mono.empty());
 
         StepVerifier.create(productService.createProduct(createProductRequest))
@@ -302,11 +397,11 @@ class ProductServiceImplTest {
     @Test
     void updateProduct_ShouldReturnProductDTO_WhenProductIsUpdated() {
         when(productRepository.findById(anyString())).thenReturn(Mono.just(product));
-        when(categoryRepository.findCategoryByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findCategoryByName(anyString()))
                 .thenReturn(Mono.just(category));
-        when(brandRepository.findBrandByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findBrandByName(anyString()))
                 .thenReturn(Mono.just(brand));
-        when(providerRepository.findProviderByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findProviderByName(anyString()))
                 .thenReturn(Mono.just(provider));
         when(productRepository.save(any(Product.class))).thenReturn(Mono.just(product));
 
@@ -319,9 +414,60 @@ class ProductServiceImplTest {
         verify(productRepository, times(1)).save(any(Product.class));
     }
 
+    @Test
+    void updateProduct_ShouldKeepExistingSku_WhenRequestOmitsIt() {
+        product.setSku("LAP-0001");
+        when(productRepository.findById(anyString())).thenReturn(Mono.just(product));
+        when(referenceDataCache.findCategoryByName(anyString()))
+                .thenReturn(Mono.just(category));
+        when(referenceDataCache.findBrandByName(anyString()))
+                .thenReturn(Mono.just(brand));
+        when(referenceDataCache.findProviderByName(anyString()))
+                .thenReturn(Mono.just(provider));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(productService.updateProduct("123456", updateProductRequest))
+                .expectNextMatches(dto -> dto.name().equals("Updated Laptop"))
+                .verifyComplete();
+        verify(productRepository, times(1)).save(argThat(saved -> "LAP-0001".equals(saved.getSku())));
+    }
+
+    @Test
+    void updateProduct_ShouldReplaceSku_WhenRequestSetsIt() {
+        product.setSku("LAP-0001");
+        UpdateProductRequest request = UpdateProductRequest.builder()
+                .name("Updated Laptop")
+                .sku("LAP-0002")
+                .description("Updated description")
+                .price(new BigDecimal("1300.00"))
+                .categoryName("cat123")
+                .brandName("brand123")
+                .providerName("prov123")
+                .build();
+        when(productRepository.findById(anyString())).thenReturn(Mono.just(product));
+        when(referenceDataCache.findCategoryByName(anyString()))
+                .thenReturn(Mono.just(category));
+        when(referenceDataCache.findBrandByName(anyString()))
+                .thenReturn(Mono.just(brand));
+        when(referenceDataCache.findProviderByName(anyString()))
+                .thenReturn(Mono.just(provider));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(productService.updateProduct("123456", request))
+                .expectNextMatches(dto -> dto.name().equals("Updated Laptop"))
+                .verifyComplete();
+        verify(productRepository, times(1)).save(argThat(saved -> "LAP-0002".equals(saved.getSku())));
+    }
+
     @Test
     void updateProduct_ShouldThrow_WhenProductDoesNotExist() {
         when(productRepository.findById(anyString())).thenReturn(Mono.empty());
+        when(referenceDataCache.findCategoryByName(anyString()))
+                .thenReturn(Mono.just(category));
+        when(referenceDataCache.findBrandByName(anyString()))
+                .thenReturn(Mono.just(brand));
+        when(referenceDataCache.findProviderByName(anyString()))
+                .thenReturn(Mono.just(provider));
 
         StepVerifier.create(productService.updateProduct("non-existent-id", updateProductRequest))
                 .expectErrorMatches(throwable -> throwable instanceof ProductNotFoundException &&
@@ -333,8 +479,12 @@ class ProductServiceImplTest {
     @Test
     void updateProduct_ShouldThrow_WhenCategoryDoesNotExist() {
         when(productRepository.findById(anyString())).thenReturn(Mono.just(product));
-        when(categoryRepository.findCategoryByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findCategoryByName(anyString()))
                 .thenReturn(Mono.empty());
+        when(referenceDataCache.findBrandByName(anyString()))
+                .thenReturn(Mono.just(brand));
+        when(referenceDataCache.findProviderByName(anyString()))
+                .thenReturn(Mono.just(provider));
 
         StepVerifier.create(productService.updateProduct("123456", updateProductRequest))
                 .expectErrorMatches(throwable -> throwable instanceof CategoryNotFoundException &&
@@ -346,10 +496,12 @@ class ProductServiceImplTest {
     @Test
     void updateProduct_ShouldThrow_WhenBrandDoesNotExist() {
         when(productRepository.findById(anyString())).thenReturn(Mono.just(product));
-        when(categoryRepository.findCategoryByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findCategoryByName(anyString()))
                 .thenReturn(Mono.just(category));
-        when(brandRepository.findBrandByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findBrandByName(anyString()))
                 .thenReturn(Mono.empty());
+        when(referenceDataCache.findProviderByName(anyString()))
+                .thenReturn(Mono.just(provider));
 
         StepVerifier.create(productService.updateProduct("123456", updateProductRequest))
                 .expectErrorMatches(throwable -> throwable instanceof BrandNotFoundException &&
@@ -361,11 +513,11 @@ class ProductServiceImplTest {
     @Test
     void updateProduct_ShouldThrow_WhenProviderDoesNotExist() {
         when(productRepository.findById(anyString())).thenReturn(Mono.just(product));
-        when(categoryRepository.findCategoryByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findCategoryByName(anyString()))
                 .thenReturn(Mono.just(category));
-        when(brandRepository.findBrandByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findBrandByName(anyString()))
                 .thenReturn(Mono.just(brand));
-        when(providerRepository.findProviderByNameContainingIgnoreCase(anyString()))
+        when(referenceDataCache.findProviderByName(anyString()))
                 .thenReturn(Mono.empty());
 
         StepVerifier.create(productService.updateProduct("123456", updateProductRequest))
@@ -383,6 +535,7 @@ class ProductServiceImplTest {
         StepVerifier.create(productService.deleteProductById("123456"))
                 .verifyComplete();
         verify(productRepository, times(1)).deleteById(anyString());
+        verify(eventPublisher, times(1)).publishEvent(ProductChangedEvent.deleted("123456"));
     }
 
     @Test
@@ -394,5 +547,43 @@ class ProductServiceImplTest {
                         throwable.getMessage().equals(PRODUCT_NOT_FOUND_ID + "non-existent-id"))
                 .verify();
         verify(productRepository, times(0)).deleteById(anyString());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void suggestProducts_ShouldMapIndexSuggestionsInRankOrder() {
+        when(productSuggestIndex.suggest("lap", 5)).thenReturn(List.of(
+                new ProductSuggestion("123456", "Laptop", 2.0),
+                new ProductSuggestion("654321", "Laptop Stand", 1.5)));
+
+        StepVerifier.create(productService.suggestProducts("lap", 5))
+                .expectNextMatches(dto -> dto.idProduct().equals("123456") && dto.name().equals("Laptop"))
+                .expectNextMatches(dto -> dto.idProduct().equals("654321") && dto.name().equals("Laptop Stand"))
+                .verifyComplete();
+    }
+
+    @Test
+    void updateProduct_ShouldFailWithServiceBusy_WhenFindingTheProductExceedsItsTimeout() {
+        productService = new ProductServiceImpl(productRepository, referenceDataCache, productSuggestIndex, eventPublisher, Duration.ofMillis(50));
+        when(productRepository.findById(anyString())).thenReturn(Mono.never());
+        when(referenceDataCache.findCategoryByName(anyString()))
+                .thenReturn(Mono.just(category));
+        when(referenceDataCache.findBrandByName(anyString()))
+                .thenReturn(Mono.just(brand));
+        when(referenceDataCache.findProviderByName(anyString()))
+                .thenReturn(Mono.just(provider));
+
+        StepVerifier.create(productService.updateProduct("123456", updateProductRequest))
+                .expectErrorMatches(throwable -> throwable instanceof ServiceBusyException &&
+                        throwable.getMessage().equals(MESSAGE_LOOKUP_TIMEOUT))
+                .verify(Duration.ofSeconds(5));
+        verify(productRepository, times(0)).save(any(Product.class));
+    }
+
+    private void stubReferenceNames() {
+        when(referenceDataCache.names()).thenReturn(Mono.just(referenceNames));
+        when(referenceNames.categoryName("cat123")).thenReturn("Electronics");
+        when(referenceNames.brandName("brand123")).thenReturn("TechBrand");
+        when(referenceNames.providerName("prov123")).thenReturn("TechProvider");
     }
-}
\ No newline at end of file
+}
@@ -2,17 +2,20 @@ package org.gad.inventory_service.service.impl;
 
 import org.gad.inventory_service.dto.request.CreateRoleRequest;
 import org.gad.inventory_service.dto.request.UpdateRoleRequest;
+import org.gad.inventory_service.event.UserSecurityChangedEvent;
 import org.gad.inventory_service.exception.RoleNotFoundException;
 import org.gad.inventory_service.model.Permission;
 import org.gad.inventory_service.model.Role;
 import org.gad.inventory_service.repository.PermissionRepository;
 import org.gad.inventory_service.repository.RoleRepository;
+import org.gad.inventory_service.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -31,6 +34,12 @@ class RoleServiceImplTest {
     @Mock
     private PermissionRepository permissionRepository;
 
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RoleServiceImpl roleService;
 
@@ -163,6 +172,9 @@ class RoleServiceImplTest {
         when(roleRepository.save(any(Role.class)))
                 .thenReturn(Mono.just(role));
 
+        when(userRepository.replaceEmbeddedRole("TEST_ROLE", role))
+                .thenReturn(Mono.just(2L));
+
         StepVerifier.create(roleService.updateRole("test-role-id", updateRoleRequest))
                 .expectNextMatches(roleDTO ->
                         roleDTO.idRole().equals("test-role-id") &&
@@ -172,6 +184,8 @@ class RoleServiceImplTest {
         verify(permissionRepository, times(1)).findByNamesLikeIgnoreCase(updateRoleRequest.permissions());
         verify(roleRepository, times(1)).findById("test-role-id");
         verify(roleRepository, times(1)).save(any(Role.class));
+        verify(userRepository, times(1)).replaceEmbeddedRole("TEST_ROLE", role);
+        verify(eventPublisher, times(1)).publishEvent(UserSecurityChangedEvent.forAllUsers());
     }
 
     @Test
@@ -217,11 +231,16 @@ class RoleServiceImplTest {
         when(roleRepository.deleteById("test-role-id"))
                 .thenReturn(Mono.empty());
 
+        when(userRepository.removeEmbeddedRole("TEST_ROLE"))
+                .thenReturn(Mono.just(2L));
+
         StepVerifier.create(roleService.deleteRoleById("test-role-id"))
                 .verifyComplete();
 
         verify(roleRepository, times(1)).findById("test-role-id");
         verify(roleRepository, times(1)).deleteById("test-role-id");
+        verify(userRepository, times(1)).removeEmbeddedRole("TEST_ROLE");
+        verify(eventPublisher, times(1)).publishEvent(UserSecurityChangedEvent.forAllUsers());
     }
 
     @Test
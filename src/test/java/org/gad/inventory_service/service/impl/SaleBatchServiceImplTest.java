@@ -0,0 +1,232 @@
+package org.gad.inventory_service.service.impl;
+
+import jakarta.validation.Validation;
+import org.gad.inventory_service.analytics.TopSellersTracker;
+import org.gad.inventory_service.dto.SaleBatchItemDTO;
+import org.gad.inventory_service.dto.request.CreateSaleRequest;
+import org.gad.inventory_service.exception.OutOfStockException;
+import org.gad.inventory_service.model.Product;
+import org.gad.inventory_service.model.Sale;
+import org.gad.inventory_service.repository.ProductRepository;
+import org.gad.inventory_service.repository.SaleRepository;
+import org.gad.inventory_service.service.SalesAnalyticsService;
+import org.gad.inventory_service.service.StockLevelService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.gad.inventory_service.utils.Constants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SaleBatchServiceImplTest {
+    @Mock
+    private SaleRepository saleRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockLevelService stockLevelService;
+
+    @Mock
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @Mock
+    private TopSellersTracker topSellersTracker;
+
+    private SaleBatchServiceImpl saleBatchService;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        saleBatchService = new SaleBatchServiceImpl(saleRepository, productRepository, stockLevelService,
+                salesAnalyticsService, topSellersTracker, Validation.buildDefaultValidatorFactory().getValidator(), 500);
+
+        product = Product.builder()
+                .idProduct("test-product-id")
+                .name("Test Product")
+                .price(BigDecimal.valueOf(10.00))
+                .build();
+    }
+
+    @Test
+    void createSales_ShouldResolveProductOnceAndInsertInOneBulk_WhenLinesShareProduct() {
+        when(productRepository.findFirstByNamePrefix("Test Product"))
+                .thenReturn(Mono.just(product));
+        when(stockLevelService.reserve("test-product-id", 5))
+                .thenReturn(Mono.empty());
+        when(stockLevelService.confirmReservation("test-product-id", 5))
+                .thenReturn(Mono.empty());
+        when(saleRepository.insertUnordered(anyList()))
+                .thenReturn(Mono.just(Map.of()));
+        when(salesAnalyticsService.recordSales(anyList(), anyMap()))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(saleBatchService.createSales(Flux.just(
+                        line("Test Product", 2),
+                        line("Test Product", 0),
+                        line("Test Product", 3))))
+                .assertNext(result -> {
+                    assertEquals(3, result.received());
+                    assertEquals(2, result.created());
+                    assertEquals(1, result.rejected());
+                    assertEquals(List.of(0L, 1L, 2L), result.items().stream().map(SaleBatchItemDTO::index).toList());
+                    assertEquals(SALE_BATCH_STATUS_REJECTED, result.items().get(1).status());
+                    assertEquals("Quantity must be at least 1", result.items().get(1).error());
+                    assertEquals(BigDecimal.valueOf(30.00), result.items().get(2).sale().totalPrice());
+                })
+                .assertNext(result -> assertTrue(result.done()))
+                .verifyComplete();
+
+        verify(productRepository, times(1)).findFirstByNamePrefix("Test Product");
+        verify(saleRepository, times(1)).insertUnordered(argThat(sales -> sales.size() == 2));
+        verify(topSellersTracker, times(2)).record(any(Sale.class));
+        verify(stockLevelService, times(1)).confirmReservation("test-product-id", 5);
+    }
+
+    @Test
+    void createSales_ShouldReserveLineByLine_WhenProductTotalIsOutOfStock() {
+        when(productRepository.findFirstByNamePrefix("Test Product"))
+                .thenReturn(Mono.just(product));
+        when(stockLevelService.reserve("test-product-id", 7))
+                .thenReturn(Mono.error(new OutOfStockException(OUT_OF_STOCK + "test-product-id")));
+        when(stockLevelService.reserve("test-product-id", 3))
+                .thenReturn(Mono.empty());
+        when(stockLevelService.reserve("test-product-id", 4))
+                .thenReturn(Mono.error(new OutOfStockException(OUT_OF_STOCK + "test-product-id")));
+        when(stockLevelService.confirmReservation("test-product-id", 3))
+                .thenReturn(Mono.empty());
+        when(saleRepository.insertUnordered(anyList()))
+                .thenReturn(Mono.just(Map.of()));
+        when(salesAnalyticsService.recordSales(anyList(), anyMap()))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(saleBatchService.createSales(Flux.just(line("Test Product", 3), line("Test Product", 4))))
+                .assertNext(result -> {
+                    assertEquals(SALE_BATCH_STATUS_CREATED, result.items().get(0).status());
+                    assertEquals(SALE_BATCH_STATUS_REJECTED, result.items().get(1).status());
+                    assertEquals(OUT_OF_STOCK + "test-product-id", result.items().get(1).error());
+                })
+                .assertNext(result -> assertTrue(result.done()))
+                .verifyComplete();
+    }
+
+    @Test
+    void createSales_ShouldCancelReservationAndReject_WhenInsertFailsForOneLine() {
+        when(productRepository.findFirstByNamePrefix("Test Product"))
+                .thenReturn(Mono.just(product));
+        when(stockLevelService.reserve("test-product-id", 3))
+                .thenReturn(Mono.empty());
+        when(saleRepository.insertUnordered(anyList()))
+                .thenReturn(Mono.just(Map.of(1, "E11000 duplicate key error")));
+        when(stockLevelService.cancelReservation("test-product-id", 2))
+                .thenReturn(Mono.empty());
+        when(stockLevelService.confirmReservation("test-product-id", 1))
+                .thenReturn(Mono.empty());
+        when(salesAnalyticsService.recordSales(anyList(), anyMap()))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(saleBatchService.createSales(Flux.just(line("Test Product", 1), line("Test Product", 2))))
+                .assertNext(result -> {
+                    assertEquals(1, result.created());
+                    assertEquals("E11000 duplicate key error", result.items().get(1).error());
+                })
+                .assertNext(result -> assertTrue(result.done()))
+                .verifyComplete();
+
+        verify(stockLevelService, times(1)).cancelReservation("test-product-id", 2);
+        verify(stockLevelService, times(1)).confirmReservation("test-product-id", 1);
+        verify(stockLevelService, never()).release(anyString(), anyInt(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void createSales_ShouldLeaveReservationsToReconciler_WhenInsertOutcomeIsUnknown() {
+        when(productRepository.findFirstByNamePrefix("Test Product"))
+                .thenReturn(Mono.just(product));
+        when(stockLevelService.reserve("test-product-id", 3))
+                .thenReturn(Mono.empty());
+        when(saleRepository.insertUnordered(anyList()))
+                .thenReturn(Mono.error(new DataAccessResourceFailureException("Connection reset")));
+
+        StepVerifier.create(saleBatchService.createSales(Flux.just(line("Test Product", 1), line("Test Product", 2))))
+                .assertNext(result -> {
+                    assertEquals(0, result.created());
+                    assertEquals(2, result.unknown());
+                    assertEquals(SALE_BATCH_STATUS_UNKNOWN, result.items().get(0).status());
+                    assertNotNull(result.items().get(0).sale().idSale());
+                    assertEquals("Connection reset", result.items().get(1).error());
+                })
+                .assertNext(result -> {
+                    assertTrue(result.done());
+                    assertEquals(2, result.unknown());
+                    assertTrue(result.items().isEmpty());
+                })
+                .verifyComplete();
+
+        verify(stockLevelService, never()).cancelReservation(anyString(), anyInt());
+        verify(stockLevelService, never()).confirmReservation(anyString(), anyInt());
+        verifyNoInteractions(salesAnalyticsService, topSellersTracker);
+    }
+
+    @Test
+    void createSales_ShouldStreamOneEventPerChunk_AndTotalsWhenDone() {
+        saleBatchService = new SaleBatchServiceImpl(saleRepository, productRepository, stockLevelService,
+                salesAnalyticsService, topSellersTracker, Validation.buildDefaultValidatorFactory().getValidator(), 2);
+        when(productRepository.findFirstByNamePrefix("Unknown"))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(saleBatchService.createSales(Flux.just(line("Unknown", 1), line("Unknown", 2), line("Unknown", 3))))
+                .assertNext(result -> {
+                    assertEquals(2, result.received());
+                    assertEquals(List.of(0L, 1L), result.items().stream().map(SaleBatchItemDTO::index).toList());
+                })
+                .assertNext(result -> {
+                    assertEquals(3, result.received());
+                    assertEquals(List.of(2L), result.items().stream().map(SaleBatchItemDTO::index).toList());
+                    assertFalse(result.done());
+                })
+                .assertNext(result -> {
+                    assertEquals(3, result.rejected());
+                    assertTrue(result.done());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void createSales_ShouldRejectWithoutWriting_WhenProductDoesNotExist() {
+        when(productRepository.findFirstByNamePrefix("Unknown"))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(saleBatchService.createSales(Flux.just(line("Unknown", 1), line("Unknown", 2))))
+                .assertNext(result -> {
+                    assertEquals(0, result.created());
+                    assertEquals(PRODUCT_NOT_FOUND_NAME + "Unknown", result.items().get(0).error());
+                })
+                .assertNext(result -> assertTrue(result.done()))
+                .verifyComplete();
+
+        verify(productRepository, times(1)).findFirstByNamePrefix("Unknown");
+        verifyNoInteractions(saleRepository, stockLevelService, salesAnalyticsService, topSellersTracker);
+    }
+
+    private CreateSaleRequest line(String nameProduct, int quantity) {
+        return CreateSaleRequest.builder()
+                .nameProduct(nameProduct)
+                .quantity(quantity)
+                .build();
+    }
+}
@@ -1,13 +1,20 @@
 package org.gad.inventory_service.service.impl;
 
+import org.gad.inventory_service.analytics.TopSellersTracker;
 import org.gad.inventory_service.dto.request.CreateSaleRequest;
 import org.gad.inventory_service.dto.request.UpdateSaleRequest;
+import org.gad.inventory_service.exception.InvalidCursorException;
+import org.gad.inventory_service.exception.OutOfStockException;
 import org.gad.inventory_service.exception.ProductNotFoundException;
 import org.gad.inventory_service.exception.SalesNotFoundException;
 import org.gad.inventory_service.model.Product;
 import org.gad.inventory_service.model.Sale;
+import org.gad.inventory_service.model.projection.SaleProductView;
 import org.gad.inventory_service.repository.ProductRepository;
 import org.gad.inventory_service.repository.SaleRepository;
+import org.gad.inventory_service.service.SalesAnalyticsService;
+import org.gad.inventory_service.service.StockLevelService;
+import org.gad.inventory_service.utils.CursorUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -34,11 +41,22 @@ class SaleServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private StockLevelService stockLevelService;
+
+    @Mock
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @Mock
+    private TopSellersTracker topSellersTracker;
+
     @InjectMocks
     private SaleServiceImpl saleService;
 
     private Sale sale;
     private Product product;
+    private SaleProductView saleView;
+    private SaleProductView orphanSaleView;
     private CreateSaleRequest createSaleRequest;
     private UpdateSaleRequest updateSaleRequest;
 
@@ -63,29 +81,47 @@ class SaleServiceImplTest {
         sale = Sale.builder()
                 .idSale("test-sale-id")
                 .productId("test-product-id")
+                .quantity(1)
+                .totalPrice(BigDecimal.valueOf(100.00))
+                .build();
+
+        saleView = SaleProductView.builder()
+                .idSale("test-sale-id")
+                .productId("test-product-id")
+                .productName("Test Product")
+                .quantity(1)
+                .totalPrice(BigDecimal.valueOf(100.00))
+                .saleDate(LocalDateTime.now())
+                .build();
+
+        orphanSaleView = SaleProductView.builder()
+                .idSale("test-sale-id")
+                .productId("test-product-id")
+                .quantity(1)
                 .totalPrice(BigDecimal.valueOf(100.00))
+                .saleDate(LocalDateTime.now())
                 .build();
     }
 
     @Test
     void getAllSales_ShouldReturnFluxOfSalesDTO_WhenSalesExist() {
-        when(productRepository.findById(anyString()))
-                .thenReturn(Mono.just(product));
-        when(saleRepository.findAll())
-                .thenReturn(Flux.just(sale));
+        when(saleRepository.findWithProductByOptionalDateRange(isNull(), isNull()))
+                .thenReturn(Flux.just(saleView));
 
         StepVerifier.create(saleService.getAllSales())
                 .expectNextMatches(saleDTO ->
                         saleDTO.idSale().equals("test-sale-id") &&
+                                saleDTO.nameProduct().equals("Test Product") &&
                                 saleDTO.totalPrice().equals(BigDecimal.valueOf(100.00)))
                 .verifyComplete();
 
-        verify(saleRepository, times(1)).findAll();
+        verify(saleRepository, times(1)).findWithProductByOptionalDateRange(isNull(), isNull());
+        verifyNoInteractions(productRepository);
     }
 
     @Test
     void getAllSales_shouldThrow_WhenSalesIsEmpty() {
-        when(saleRepository.findAll())
+        when(saleRepository.findWithProductByOptionalDateRange(isNull(), isNull()))
                 .thenReturn(Flux.empty());
 
         StepVerifier.create(saleService.getAllSales())
@@ -93,30 +129,92 @@ class SaleServiceImplTest {
                         throwable.getMessage().equals("No sales found"))
                 .verify();
 
-        verify(saleRepository, times(1)).findAll();
+        verify(saleRepository, times(1)).findWithProductByOptionalDateRange(isNull(), isNull());
     }
 
     @Test
     void getAllSales_ShouldThrow_WhenProductNotFound() {
-        when(productRepository.findById(anyString()))
-                .thenReturn(Mono.empty());
-        when(saleRepository.findAll())
-                .thenReturn(Flux.just(sale));
-
+        when(saleRepository.findWithProductByOptionalDateRange(isNull(), isNull()))
+                .thenReturn(Flux.just(orphanSaleView));
 
         StepVerifier.create(saleService.getAllSales())
                 .expectErrorMatches(throwable -> throwable instanceof ProductNotFoundException &&
                         throwable.getMessage().equals(PRODUCT_NOT_FOUND_ID + "test-product-id"))
                 .verify();
 
-        verify(productRepository, times(1)).findById(anyString());
+        verify(saleRepository, times(1)).findWithProductByOptionalDateRange(isNull(), isNull());
+    }
+
+    @Test
+    void getAllSales_ShouldUseSingleAggregation_WhenResultSizeGrows() {
+        for (int saleCount : new int[]{10, 1_000, 10_000}) {
+            clearInvocations(saleRepository);
+            when(saleRepository.findWithProductByOptionalDateRange(isNull(), isNull()))
+                    .thenReturn(Flux.range(0, saleCount).map(i -> saleView));
+
+            StepVerifier.create(saleService.getAllSales())
+                    .expectNextCount(saleCount)
+                    .verifyComplete();
+
+            verify(saleRepository, times(1)).findWithProductByOptionalDateRange(isNull(), isNull());
+        }
+
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getSalesPage_ShouldReturnNextCursor_WhenMoreSalesExist() {
+        LocalDateTime lastSaleDate = LocalDateTime.of(2024, 5, 1, 10, 0);
+        SaleProductView second = SaleProductView.builder()
+                .idSale("665c2e2f8b3e2a6b7c8d9e02")
+                .productId("test-product-id")
+                .productName("Test Product")
+                .quantity(1)
+                .totalPrice(BigDecimal.valueOf(100.00))
+                .saleDate(lastSaleDate)
+                .build();
+        when(saleRepository.findWithProductPage(isNull(), isNull(), eq(3)))
+                .thenReturn(Flux.just(saleView, second, saleView));
+
+        StepVerifier.create(saleService.getSalesPage(null, 2))
+                .assertNext(page -> {
+                    assertEquals(2, page.items().size());
+                    assertTrue(page.hasNext());
+                    CursorUtils.PageCursor cursor = CursorUtils.decodeCursor(page.nextCursor());
+                    assertEquals(lastSaleDate, cursor.sortDate());
+                    assertEquals("665c2e2f8b3e2a6b7c8d9e02", cursor.id());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getSalesPage_ShouldResumeAfterCursor_WhenCursorIsGiven() {
+        LocalDateTime lastSaleDate = LocalDateTime.of(2024, 5, 1, 10, 0);
+        String cursor = CursorUtils.encodeCursor(lastSaleDate, "665c2e2f8b3e2a6b7c8d9e02");
+        when(saleRepository.findWithProductPage(lastSaleDate, "665c2e2f8b3e2a6b7c8d9e02", 21))
+                .thenReturn(Flux.just(saleView));
+
+        StepVerifier.create(saleService.getSalesPage(cursor, 20))
+                .assertNext(page -> {
+                    assertEquals(1, page.items().size());
+                    assertFalse(page.hasNext());
+                    assertNull(page.nextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getSalesPage_ShouldThrow_WhenCursorIsInvalid() {
+        StepVerifier.create(saleService.getSalesPage("bm90LWEtY3Vyc29y", 20))
+                .expectError(InvalidCursorException.class)
+                .verify();
+
+        verifyNoInteractions(saleRepository);
     }
 
     @Test
     void getSaleByNameProduct_ShouldReturnFluxOfSalesDTO_WhenProductNameMatches() {
-        when(productRepository.findProductByNameContainingIgnoreCase(anyString()))
-                .thenReturn(Mono.just(product));
-        when(productRepository.findById(anyString()))
+        when(productRepository.findFirstByNamePrefix(anyString()))
                 .thenReturn(Mono.just(product));
         when(saleRepository.findSalesByProductId(anyString()))
                 .thenReturn(Flux.just(sale));
@@ -127,12 +225,12 @@ class SaleServiceImplTest {
                                 saleDTO.totalPrice().equals(BigDecimal.valueOf(100.00)))
                 .verifyComplete();
 
-        verify(productRepository, times(1)).findProductByNameContainingIgnoreCase(anyString());
+        verify(productRepository, times(1)).findFirstByNamePrefix(anyString());
     }
 
     @Test
     void getSaleByNameProduct_ShouldThrow_WhenProductNotFound() {
-        when(productRepository.findProductByNameContainingIgnoreCase(anyString()))
+        when(productRepository.findFirstByNamePrefix(anyString()))
                 .thenReturn(Mono.empty());
 
         StepVerifier.create(saleService.getSaleByNameProduct("NonExistent Product"))
@@ -140,15 +238,13 @@ class SaleServiceImplTest {
                         throwable.getMessage().equals(PRODUCT_NOT_FOUND_NAME + "NonExistent Product"))
                 .verify();
 
-        verify(productRepository, times(1)).findProductByNameContainingIgnoreCase(anyString());
+        verify(productRepository, times(1)).findFirstByNamePrefix(anyString());
     }
 
     @Test
     void getSaleByTotalPriceRange_ShouldReturnFluxOfSalesDTO_WhenPriceRangeMatches() {
-        when(productRepository.findById(anyString()))
-                .thenReturn(Mono.just(product));
-        when(saleRepository.findByOptionalPriceTotalRange(any(BigDecimal.class), any(BigDecimal.class)))
-                .thenReturn(Flux.just(sale));
+        when(saleRepository.findWithProductByOptionalPriceTotalRange(any(BigDecimal.class), any(BigDecimal.class)))
+                .thenReturn(Flux.just(saleView));
 
         StepVerifier.create(saleService.getSaleByTotalPriceRange(BigDecimal.ZERO, BigDecimal.valueOf(200.00)))
                 .expectNextMatches(saleDTO ->
@@ -156,12 +252,12 @@ class SaleServiceImplTest {
                                 saleDTO.totalPrice().equals(BigDecimal.valueOf(100.00)))
                 .verifyComplete();
 
-        verify(saleRepository, times(1)).findByOptionalPriceTotalRange(any(BigDecimal.class), any(BigDecimal.class));
+        verify(saleRepository, times(1)).findWithProductByOptionalPriceTotalRange(any(BigDecimal.class), any(BigDecimal.class));
     }
 
     @Test
     void getSaleByTotalPriceRange_ShouldThrow_WhenNoSalesFound() {
-        when(saleRepository.findByOptionalPriceTotalRange(any(BigDecimal.class), any(BigDecimal.class)))
+        when(saleRepository.findWithProductByOptionalPriceTotalRange(any(BigDecimal.class), any(BigDecimal.class)))
                 .thenReturn(Flux.empty());
 
         StepVerifier.create(saleService.getSaleByTotalPriceRange(BigDecimal.ZERO, BigDecimal.valueOf(200.00)))
@@ -169,30 +265,26 @@ class SaleServiceImplTest {
                         throwable.getMessage().equals(SALE_NOT_FOUND_BETWEEN_PRICES + BigDecimal.ZERO + TEXT_AND + BigDecimal.valueOf(200.00)))
                 .verify();
 
-        verify(saleRepository, times(1)).findByOptionalPriceTotalRange(any(BigDecimal.class), any(BigDecimal.class));
+        verify(saleRepository, times(1)).findWithProductByOptionalPriceTotalRange(any(BigDecimal.class), any(BigDecimal.class));
     }
 
     @Test
     void getSaleByTotalPriceRange_ShouldThrow_WhenProductNotFound() {
-        when(saleRepository.findByOptionalPriceTotalRange(any(BigDecimal.class), any(BigDecimal.class)))
-                .thenReturn(Flux.just(sale));
-        when(productRepository.findById(anyString()))
-                .thenReturn(Mono.empty());
+        when(saleRepository.findWithProductByOptionalPriceTotalRange(any(BigDecimal.class), any(BigDecimal.class)))
+                .thenReturn(Flux.just(orphanSaleView));
 
         StepVerifier.create(saleService.getSaleByTotalPriceRange(BigDecimal.ZERO, BigDecimal.valueOf(200.00)))
                 .expectErrorMatches(throwable -> throwable instanceof ProductNotFoundException &&
                         throwable.getMessage().equals(PRODUCT_NOT_FOUND_ID + "test-product-id"))
                 .verify();
 
-        verify(productRepository, times(1)).findById(anyString());
+        verifyNoInteractions(productRepository);
     }
 
     @Test
     void getSaleByDateRange_ShouldReturnFluxOfSalesDTO_WhenDateRangeMatches() {
-        when(productRepository.findById(anyString()))
-                .thenReturn(Mono.just(product));
-        when(saleRepository.findByOptionalDateRange(any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Flux.just(sale));
+        when(saleRepository.findWithProductByOptionalDateRange(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Flux.just(saleView));
 
         StepVerifier.create(saleService.getSaleByDateRange(LocalDateTime.now().toString(), LocalDateTime.now().plusDays(1).toString()))
                 .expectNextMatches(saleDTO ->
@@ -200,12 +292,12 @@ class SaleServiceImplTest {
                                 saleDTO.totalPrice().equals(BigDecimal.valueOf(100.00)))
                 .verifyComplete();
 
-        verify(saleRepository, times(1)).findByOptionalDateRange(any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(saleRepository, times(1)).findWithProductByOptionalDateRange(any(LocalDateTime.class), any(LocalDateTime.class));
     }
 
     @Test
     void getSaleByDateRange_ShouldThrow_WhenNoSalesFound() {
-        when(saleRepository.findByOptionalDateRange(any(LocalDateTime.class), any(LocalDateTime.class)))
+        when(saleRepository.findWithProductByOptionalDateRange(any(LocalDateTime.class), any(LocalDateTime.class)))
                 .thenReturn(Flux.empty());
 
         StepVerifier.create(saleService.getSaleByDateRange(LocalDateTime.of(2023, 10, 1, 0, 0).toString(), LocalDateTime.of(2023, 10, 2, 0, 0).toString()))
@@ -213,29 +305,25 @@ class SaleServiceImplTest {
                         throwable.getMessage().equals(SALE_NOT_FOUND_BETWEEN_DATES + LocalDateTime.of(2023, 10, 1, 0, 0) + TEXT_AND + LocalDateTime.of(2023, 10, 2, 0, 0)))
                 .verify();
 
-        verify(saleRepository, times(1)).findByOptionalDateRange(any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(saleRepository, times(1)).findWithProductByOptionalDateRange(any(LocalDateTime.class), any(LocalDateTime.class));
     }
 
     @Test
     void getSaleByDateRange_ShouldThrow_WhenProductNotFound() {
-        when(saleRepository.findByOptionalDateRange(any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Flux.just(sale));
-        when(productRepository.findById(anyString()))
-                .thenReturn(Mono.empty());
+        when(saleRepository.findWithProductByOptionalDateRange(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Flux.just(orphanSaleView));
 
         StepVerifier.create(saleService.getSaleByDateRange(LocalDateTime.now().toString(), LocalDateTime.now().plusDays(1).toString()))
                 .expectErrorMatches(throwable -> throwable instanceof ProductNotFoundException &&
                         throwable.getMessage().equals(PRODUCT_NOT_FOUND_ID + "test-product-id"))
                 .verify();
-        verify(productRepository, times(1)).findById(anyString());
+        verifyNoInteractions(productRepository);
     }
 
     @Test
     void getSaleById_ShouldReturnSaleDTO_WhenSaleExists() {
-        when(saleRepository.findById(anyString()))
-                .thenReturn(Mono.just(sale));
-        when(productRepository.findById(anyString()))
-                .thenReturn(Mono.just(product));
+        when(saleRepository.findWithProductById(anyString()))
+                .thenReturn(Mono.just(saleView));
 
         StepVerifier.create(saleService.getSaleById("test-sale-id"))
                 .expectNextMatches(saleDTO ->
@@ -243,12 +331,12 @@ class SaleServiceImplTest {
                                 saleDTO.totalPrice().equals(BigDecimal.valueOf(100.00)))
                 .verifyComplete();
 
-        verify(saleRepository, times(1)).findById(anyString());
+        verify(saleRepository, times(1)).findWithProductById(anyString());
     }
 
     @Test
     void getSaleById_ShouldThrow_WhenSaleDoesNotExist() {
-        when(saleRepository.findById(anyString()))
+        when(saleRepository.findWithProductById(anyString()))
                 .thenReturn(Mono.empty());
 
         StepVerifier.create(saleService.getSaleById("non-existent-sale-id"))
@@ -257,15 +345,13 @@ class SaleServiceImplTest {
                                 throwable.getMessage().equals(SALE_NOT_FOUND_ID + "non-existent-sale-id"))
                 .verify();
 
-        verify(saleRepository, times(1)).findById(anyString());
+        verify(saleRepository, times(1)).findWithProductById(anyString());
     }
 
     @Test
     void getSaleById_ShouldThrow_WhenProductNotFound() {
-        when(saleRepository.findById(anyString()))
-                .thenReturn(Mono.just(sale));
-        when(productRepository.findById(anyString()))
-                .thenReturn(Mono.empty());
+        when(saleRepository.findWithProductById(anyString()))
+                .thenReturn(Mono.just(orphanSaleView));
 
         StepVerifier.create(saleService.getSaleById("test-sale-id"))
                 .expectErrorMatches(throwable ->
@@ -273,15 +359,21 @@ class SaleServiceImplTest {
                                 throwable.getMessage().equals(PRODUCT_NOT_FOUND_ID + "test-product-id"))
                 .verify();
 
-        verify(productRepository, times(1)).findById(anyString());
+        verifyNoInteractions(productRepository);
     }
 
     @Test
     void createSale_ShouldReturnSaleDTO_WhenSaleIsCreated() {
-        when(productRepository.findProductByNameContainingIgnoreCase(anyString()))
+        when(productRepository.findFirstByNamePrefix(anyString()))
                 .thenReturn(Mono.just(product));
         when(saleRepository.save(any(Sale.class)))
                 .thenReturn(Mono.just(sale));
+        when(stockLevelService.reserve(eq("test-product-id"), eq(1), any()))
+                .thenReturn(Mono.just(1));
+        when(stockLevelService.confirmReservation("test-product-id", 1))
+                .thenReturn(Mono.empty());
+        when(salesAnalyticsService.recordSale(sale, product))
+                .thenReturn(Mono.empty());
 
         StepVerifier.create(saleService.createSale(createSaleRequest))
                 .expectNextMatches(saleDTO ->
@@ -290,11 +382,12 @@ class SaleServiceImplTest {
                 .verifyComplete();
 
         verify(saleRepository, times(1)).save(any(Sale.class));
+        verify(topSellersTracker, times(1)).record(sale);
     }
 
     @Test
     void createSale_ShouldThrow_WhenProductNotFound() {
-        when(productRepository.findProductByNameContainingIgnoreCase(anyString()))
+        when(productRepository.findFirstByNamePrefix(anyString()))
                 .thenReturn(Mono.empty());
 
         StepVerifier.create(saleService.createSale(createSaleRequest))
@@ -303,17 +396,180 @@ class SaleServiceImplTest {
                                 throwable.getMessage().equals(PRODUCT_NOT_FOUND_NAME + "Test Product"))
                 .verify();
 
-        verify(productRepository, times(1)).findProductByNameContainingIgnoreCase(anyString());
+        verify(productRepository, times(1)).findFirstByNamePrefix(anyString());
+    }
+
+    @Test
+    void createSale_ShouldThrowAndNotSave_WhenStockIsInsufficient() {
+        when(productRepository.findFirstByNamePrefix(anyString()))
+                .thenReturn(Mono.just(product));
+        when(stockLevelService.reserve(eq("test-product-id"), eq(1), any()))
+                .thenReturn(Mono.error(new OutOfStockException(OUT_OF_STOCK + "test-product-id" + TEXT_REQUESTED + 1 + TEXT_AVAILABLE + 0)));
+
+        StepVerifier.create(saleService.createSale(createSaleRequest))
+                .expectError(OutOfStockException.class)
+                .verify();
+
+        verify(saleRepository, never()).save(any(Sale.class));
+    }
+
+    @Test
+    void createSale_ShouldReleaseReservation_WhenSaleCannotBeSaved() {
+        when(productRepository.findFirstByNamePrefix(anyString()))
+                .thenReturn(Mono.just(product));
+        when(stockLevelService.reserve(eq("test-product-id"), eq(1), any()))
+                .thenReturn(Mono.just(1));
+        when(saleRepository.save(any(Sale.class)))
+                .thenReturn(Mono.error(new IllegalStateException("write failed")));
+        when(stockLevelService.cancelReservation("test-product-id", 1))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(saleService.createSale(createSaleRequest))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        verify(stockLevelService, times(1)).cancelReservation("test-product-id", 1);
+        verify(stockLevelService, never()).confirmReservation(anyString(), anyInt());
+    }
+
+    @Test
+    void updateSale_ShouldReserveExtraUnitsUnderSaleDate_WhenQuantityGrows() {
+        LocalDateTime soldAt = sale.getSaleDate();
+        when(saleRepository.findById(anyString()))
+                .thenReturn(Mono.just(sale));
+        when(productRepository.findFirstByNamePrefix(anyString()))
+                .thenReturn(Mono.just(product));
+        when(saleRepository.save(any(Sale.class)))
+                .thenReturn(Mono.just(sale));
+        when(stockLevelService.reserve("test-product-id", 1, soldAt))
+                .thenReturn(Mono.just(0));
+        when(stockLevelService.confirmReservation("test-product-id", 0))
+                .thenReturn(Mono.empty());
+        when(salesAnalyticsService.revertSale(any(Sale.class)))
+                .thenReturn(Mono.empty());
+        when(salesAnalyticsService.recordSale(sale, product))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(saleService.updateSale("test-sale-id", updateSaleRequest))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(stockLevelService, times(1)).reserve("test-product-id", 1, soldAt);
+        verify(stockLevelService, times(1)).confirmReservation("test-product-id", 0);
+    }
+
+    @Test
+    void updateSale_ShouldReleaseUnits_WhenQuantityShrinks() {
+        sale.setQuantity(5);
+        LocalDateTime soldAt = sale.getSaleDate();
+        when(saleRepository.findById(anyString()))
+                .thenReturn(Mono.just(sale));
+        when(productRepository.findFirstByNamePrefix(anyString()))
+                .thenReturn(Mono.just(product));
+        when(saleRepository.save(any(Sale.class)))
+                .thenReturn(Mono.just(sale));
+        when(stockLevelService.reserve(eq("test-product-id"), eq(0), any()))
+                .thenReturn(Mono.just(0));
+        when(stockLevelService.confirmReservation("test-product-id", 0))
+                .thenReturn(Mono.empty());
+        when(stockLevelService.release("test-product-id", 3, soldAt))
+                .thenReturn(Mono.empty());
+        when(salesAnalyticsService.revertSale(any(Sale.class)))
+                .thenReturn(Mono.empty());
+        when(salesAnalyticsService.recordSale(sale, product))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(saleService.updateSale("test-sale-id", updateSaleRequest))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(stockLevelService, times(1)).release("test-product-id", 3, soldAt);
+    }
+
+    @Test
+    void createSale_ShouldResolveProductById_WhenProductIdIsGiven() {
+        CreateSaleRequest request = CreateSaleRequest.builder()
+                .productId("test-product-id")
+                .nameProduct("Test Product")
+                .quantity(1)
+                .build();
+        when(productRepository.findById("test-product-id"))
+                .thenReturn(Mono.just(product));
+        when(saleRepository.save(any(Sale.class)))
+                .thenReturn(Mono.just(sale));
+        when(stockLevelService.reserve(eq("test-product-id"), eq(1), any()))
+                .thenReturn(Mono.just(1));
+        when(stockLevelService.confirmReservation("test-product-id", 1))
+                .thenReturn(Mono.empty());
+        when(salesAnalyticsService.recordSale(sale, product))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(saleService.createSale(request))
+                .expectNextMatches(saleDTO -> saleDTO.idSale().equals("test-sale-id"))
+                .verifyComplete();
+
+        verify(productRepository, never()).findFirstByNamePrefix(anyString());
+        verify(productRepository, never()).findBySku(anyString());
+    }
+
+    @Test
+    void createSale_ShouldResolveProductBySku_WhenSkuIsGiven() {
+        CreateSaleRequest request = CreateSaleRequest.builder()
+                .sku("SKU-0001")
+                .quantity(1)
+                .build();
+        when(productRepository.findBySku("SKU-0001"))
+                .thenReturn(Mono.just(product));
+        when(saleRepository.save(any(Sale.class)))
+                .thenReturn(Mono.just(sale));
+        when(stockLevelService.reserve(eq("test-product-id"), eq(1), any()))
+                .thenReturn(Mono.just(1));
+        when(stockLevelService.confirmReservation("test-product-id", 1))
+                .thenReturn(Mono.empty());
+        when(salesAnalyticsService.recordSale(sale, product))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(saleService.createSale(request))
+                .expectNextMatches(saleDTO -> saleDTO.idSale().equals("test-sale-id"))
+                .verifyComplete();
+
+        verify(productRepository, never()).findFirstByNamePrefix(anyString());
+    }
+
+    @Test
+    void createSale_ShouldThrow_WhenSkuNotFound() {
+        CreateSaleRequest request = CreateSaleRequest.builder()
+                .sku("SKU-0001")
+                .quantity(1)
+                .build();
+        when(productRepository.findBySku("SKU-0001"))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(saleService.createSale(request))
+                .expectErrorMatches(throwable ->
+                        throwable instanceof ProductNotFoundException &&
+                                throwable.getMessage().equals(PRODUCT_NOT_FOUND_SKU + "SKU-0001"))
+                .verify();
+
+        verify(saleRepository, never()).save(any(Sale.class));
     }
 
     @Test
     void updateSale_ShouldReturnUpdatedSaleDTO_WhenSaleIsUpdated() {
         when(saleRepository.findById(anyString()))
                 .thenReturn(Mono.just(sale));
-        when(productRepository.findProductByNameContainingIgnoreCase(anyString()))
+        when(productRepository.findFirstByNamePrefix(anyString()))
                 .thenReturn(Mono.just(product));
         when(saleRepository.save(any(Sale.class)))
                 .thenReturn(Mono.just(sale));
+        when(stockLevelService.reserve(eq("test-product-id"), eq(1), any()))
+                .thenReturn(Mono.just(1));
+        when(stockLevelService.confirmReservation("test-product-id", 1))
+                .thenReturn(Mono.empty());
+        when(salesAnalyticsService.revertSale(any(Sale.class)))
+                .thenReturn(Mono.empty());
+        when(salesAnalyticsService.recordSale(sale, product))
+                .thenReturn(Mono.empty());
 
         StepVerifier.create(saleService.updateSale("test-sale-id", updateSaleRequest))
                 .expectNextMatches(saleDTO ->
@@ -322,6 +578,9 @@ class SaleServiceImplTest {
                 .verifyComplete();
 
         verify(saleRepository, times(1)).save(any(Sale.class));
+        verify(stockLevelService, times(1)).reserve(eq("test-product-id"), eq(1), any());
+        verify(stockLevelService, never()).revertSale(any(Sale.class));
+        verifyNoInteractions(topSellersTracker);
     }
 
     @Test
@@ -342,7 +601,7 @@ class SaleServiceImplTest {
     void updateSale_ShouldThrow_WhenProductNotFound() {
         when(saleRepository.findById(anyString()))
                 .thenReturn(Mono.just(sale));
-        when(productRepository.findProductByNameContainingIgnoreCase(anyString()))
+        when(productRepository.findFirstByNamePrefix(anyString()))
                 .thenReturn(Mono.empty());
 
         StepVerifier.create(saleService.updateSale("test-sale-id", updateSaleRequest))
@@ -351,7 +610,7 @@ class SaleServiceImplTest {
                                 throwable.getMessage().equals(PRODUCT_NOT_FOUND_NAME + "Updated Product"))
                 .verify();
 
-        verify(productRepository, times(1)).findProductByNameContainingIgnoreCase(anyString());
+        verify(productRepository, times(1)).findFirstByNamePrefix(anyString());
     }
 
     @Test
@@ -360,11 +619,17 @@ class SaleServiceImplTest {
                 .thenReturn(Mono.just(sale));
         when(saleRepository.deleteById(anyString()))
                 .thenReturn(Mono.empty());
+        when(stockLevelService.revertSale(sale))
+                .thenReturn(Mono.empty());
+        when(salesAnalyticsService.revertSale(sale))
+                .thenReturn(Mono.empty());
 
         StepVerifier.create(saleService.deleteSaleById("test-sale-id"))
                 .verifyComplete();
 
         verify(saleRepository, times(1)).deleteById("test-sale-id");
+        verify(stockLevelService, times(1)).revertSale(sale);
+        verify(salesAnalyticsService, times(1)).revertSale(sale);
     }
 
     @Test
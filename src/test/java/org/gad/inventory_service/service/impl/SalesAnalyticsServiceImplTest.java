@@ -0,0 +1,219 @@
+package org.gad.inventory_service.service.impl;
+
+import org.gad.inventory_service.analytics.HeavyHitter;
+import org.gad.inventory_service.analytics.RollupWindow;
+import org.gad.inventory_service.analytics.TopSellersTracker;
+import org.gad.inventory_service.analytics.TopSellersWindow;
+import org.gad.inventory_service.exception.InvalidDateRangeException;
+import org.gad.inventory_service.model.*;
+import org.gad.inventory_service.model.projection.SalesTotalsView;
+import org.gad.inventory_service.repository.ProductRepository;
+import org.gad.inventory_service.repository.SalesRollupRepository;
+import org.gad.inventory_service.repository.StockLevelRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.gad.inventory_service.utils.Constants.MESSAGE_INVALID_DATE_RANGE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SalesAnalyticsServiceImplTest {
+    @Mock
+    private SalesRollupRepository salesRollupRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockLevelRepository stockLevelRepository;
+
+    @Mock
+    private TopSellersTracker topSellersTracker;
+
+    @InjectMocks
+    private SalesAnalyticsServiceImpl salesAnalyticsService;
+
+    private Sale sale;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = Product.builder()
+                .idProduct("product1")
+                .categoryId("category1")
+                .brandId("brand1")
+                .build();
+
+        sale = Sale.builder()
+                .idSale("sale1")
+                .productId("product1")
+                .quantity(2)
+                .totalPrice(new BigDecimal("50.00"))
+                .saleDate(LocalDateTime.of(2024, 6, 15, 10, 30))
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordSale_ShouldIncrementEveryBucketOfTheSale() {
+        ArgumentCaptor<List<SalesRollup>> captor = ArgumentCaptor.forClass(List.class);
+        when(salesRollupRepository.incrementBuckets(captor.capture()))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(salesAnalyticsService.recordSale(sale, product))
+                .verifyComplete();
+
+        List<SalesRollup> deltas = captor.getValue();
+        assertEquals(8, deltas.size());
+        assertTrue(deltas.stream().anyMatch(delta -> delta.getIdRollup().equals("DAY:2024-06-15:CATEGORY:category1")));
+        assertTrue(deltas.stream().anyMatch(delta -> delta.getIdRollup().equals("MONTH:2024-06:ALL:all")));
+        assertTrue(deltas.stream().allMatch(delta -> delta.getCount() == 1 && delta.getQuantity() == 2));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void revertSale_ShouldDecrementOnlyStoreAndProductBuckets_WhenProductIsGone() {
+        ArgumentCaptor<List<SalesRollup>> captor = ArgumentCaptor.forClass(List.class);
+        when(productRepository.findById("product1"))
+                .thenReturn(Mono.empty());
+        when(salesRollupRepository.incrementBuckets(captor.capture()))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(salesAnalyticsService.revertSale(sale))
+                .verifyComplete();
+
+        List<SalesRollup> deltas = captor.getValue();
+        assertEquals(4, deltas.size());
+        assertTrue(deltas.stream().allMatch(delta -> delta.getCount() == -1
+                && delta.getRevenue().compareTo(new BigDecimal("-50.00")) == 0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void revertSale_ShouldStampDeltasWithTheMinuteTheSaleWasCreated_AndTheTimeOfTheWrite() {
+        Instant createdAt = Instant.parse("2024-06-15T10:30:42Z");
+        sale.setIdSale(new ObjectId(Date.from(createdAt)).toHexString());
+        ArgumentCaptor<List<SalesRollup>> captor = ArgumentCaptor.forClass(List.class);
+        when(productRepository.findById("product1"))
+                .thenReturn(Mono.just(product));
+        when(salesRollupRepository.incrementBuckets(captor.capture()))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(salesAnalyticsService.revertSale(sale))
+                .verifyComplete();
+
+        assertTrue(captor.getValue().stream().allMatch(delta -> delta.getStamp().equals(SalesRollup.stampOf(createdAt))));
+        assertTrue(captor.getValue().stream().allMatch(delta -> delta.getWrittenAt() != null && delta.getWrittenAt().isAfter(createdAt)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordSales_ShouldMergeDeltasOnlyOfSalesCreatedInTheSameMinute() {
+        Instant createdAt = Instant.parse("2024-06-15T10:30:00Z");
+        Sale sameMinute = Sale.builder().idSale(new ObjectId(Date.from(createdAt.plusSeconds(30))).toHexString())
+                .productId("product1").quantity(1).totalPrice(new BigDecimal("25.00")).saleDate(sale.getSaleDate()).build();
+        Sale nextMinute = Sale.builder().idSale(new ObjectId(Date.from(createdAt.plusSeconds(60))).toHexString())
+                .productId("product1").quantity(3).totalPrice(new BigDecimal("75.00")).saleDate(sale.getSaleDate()).build();
+        sale.setIdSale(new ObjectId(Date.from(createdAt)).toHexString());
+        ArgumentCaptor<List<SalesRollup>> captor = ArgumentCaptor.forClass(List.class);
+        when(salesRollupRepository.incrementBuckets(captor.capture()))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(salesAnalyticsService.recordSales(List.of(sale, sameMinute, nextMinute), Map.of("product1", product)))
+                .verifyComplete();
+
+        List<SalesRollup> deltas = captor.getValue();
+        assertEquals(16, deltas.size());
+        SalesRollup merged = deltas.stream()
+                .filter(delta -> delta.getIdRollup().equals("DAY:2024-06-15:ALL:all") && delta.getStamp().equals(SalesRollup.stampOf(createdAt)))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2, merged.getCount());
+        assertEquals(3, merged.getQuantity());
+    }
+
+    @Test
+    void recordSale_ShouldComplete_WhenBucketUpdateFails() {
+        when(salesRollupRepository.incrementBuckets(anyList()))
+                .thenReturn(Mono.error(new RuntimeException("Database error")));
+
+        StepVerifier.create(salesAnalyticsService.recordSale(sale, product))
+                .verifyComplete();
+    }
+
+    @Test
+    void getTotals_ShouldSumBucketsOfTheRange() {
+        List<RollupWindow> windows = RollupWindow.cover(LocalDate.of(2024, 1, 20), LocalDate.of(2024, 3, 31));
+        when(salesRollupRepository.findBuckets(RollupDimension.PRODUCT, "product1", windows))
+                .thenReturn(Flux.just(
+                        SalesRollup.builder().count(3).quantity(5).revenue(new BigDecimal("120.00")).build(),
+                        SalesRollup.builder().count(1).quantity(1).revenue(new BigDecimal("30.50")).build()));
+
+        StepVerifier.create(salesAnalyticsService.getTotals("2024-01-20", "2024-03-31", RollupDimension.PRODUCT, "product1"))
+                .assertNext(stats -> {
+                    assertEquals("product", stats.dimension());
+                    assertEquals(4, stats.salesCount());
+                    assertEquals(6, stats.quantity());
+                    assertEquals(0, new BigDecimal("150.50").compareTo(stats.revenue()));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getTotals_ShouldThrow_WhenFromIsAfterTo() {
+        StepVerifier.create(salesAnalyticsService.getTotals("2024-03-31", "2024-01-01", RollupDimension.ALL, RollupDimension.ALL_KEY))
+                .expectErrorMatches(throwable ->
+                        throwable instanceof InvalidDateRangeException &&
+                                throwable.getMessage().equals(MESSAGE_INVALID_DATE_RANGE))
+                .verify();
+
+        verifyNoInteractions(salesRollupRepository);
+    }
+
+    @Test
+    void getBreakdown_ShouldMapTotalsPerKey() {
+        List<RollupWindow> windows = RollupWindow.cover(LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 30));
+        when(salesRollupRepository.sumByKey(RollupDimension.BRAND, windows, 5))
+                .thenReturn(Flux.just(new SalesTotalsView("brand1", 7, 9, new BigDecimal("300.00"))));
+
+        StepVerifier.create(salesAnalyticsService.getBreakdown("2024-06-01", "2024-06-30", RollupDimension.BRAND, 5))
+                .expectNextMatches(stats -> stats.key().equals("brand1") && stats.salesCount() == 7 && stats.from().equals("2024-06-01"))
+                .verifyComplete();
+    }
+
+    @Test
+    void getTopSellers_ShouldFlagLowStock_WhenStockIsAtOrBelowThreshold() {
+        when(topSellersTracker.top(TopSellersWindow.HOUR, 2))
+                .thenReturn(List.of(new HeavyHitter("product1", 40, 0), new HeavyHitter("product2", 25, 3)));
+        when(stockLevelRepository.findAllById(List.of("product1", "product2")))
+                .thenReturn(Flux.just(StockLevel.builder().productId("product1").quantity(4).build()));
+
+        StepVerifier.create(salesAnalyticsService.getTopSellers(TopSellersWindow.HOUR, 2, 5))
+                .expectNextMatches(topSeller -> topSeller.idProduct().equals("product1")
+                        && topSeller.unitsSold() == 40 && topSeller.stock() == 4 && topSeller.lowStock())
+                .expectNextMatches(topSeller -> topSeller.idProduct().equals("product2")
+                        && topSeller.maxOvercount() == 3 && topSeller.stock() == 0 && topSeller.lowStock())
+                .verifyComplete();
+
+        verifyNoInteractions(salesRollupRepository);
+    }
+}
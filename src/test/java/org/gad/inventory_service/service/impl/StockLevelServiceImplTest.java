@@ -0,0 +1,345 @@
+package org.gad.inventory_service.service.impl;
+
+import org.gad.inventory_service.exception.OutOfStockException;
+import org.gad.inventory_service.exception.ProductNotFoundException;
+import org.gad.inventory_service.model.Product;
+import org.gad.inventory_service.model.Sale;
+import org.gad.inventory_service.model.StockLevel;
+import org.gad.inventory_service.model.Stocktaking;
+import org.gad.inventory_service.repository.ProductRepository;
+import org.gad.inventory_service.repository.SaleRepository;
+import org.gad.inventory_service.repository.StockLevelRepository;
+import org.gad.inventory_service.repository.StocktakingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+import static org.gad.inventory_service.utils.Constants.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockLevelServiceImplTest {
+    @Mock
+    private StockLevelRepository stockLevelRepository;
+
+    @Mock
+    private StocktakingRepository stocktakingRepository;
+
+    @Mock
+    private SaleRepository saleRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private StockLevelServiceImpl stockLevelService;
+
+    private final String productId = "product1";
+    private Sale sale;
+    private Stocktaking stocktaking;
+
+    @BeforeEach
+    void setUp() {
+        sale = Sale.builder()
+                .idSale("sale1")
+                .productId(productId)
+                .quantity(3)
+                .saleDate(LocalDateTime.now())
+                .build();
+
+        stocktaking = Stocktaking.builder()
+                .idStocktaking("stocktaking1")
+                .productId(productId)
+                .quantity(40)
+                .stocktakingDate(LocalDateTime.now().minusDays(1))
+                .build();
+    }
+
+    @Test
+    void findStockByProductId_ShouldReturnStockLevel_WhenLevelExists() {
+        when(stockLevelRepository.findById(productId))
+                .thenReturn(Mono.just(StockLevel.builder().productId(productId).quantity(12).build()));
+
+        StepVerifier.create(stockLevelService.findStockByProductId(productId))
+                .expectNextMatches(dto -> dto.idProduct().equals(productId) && dto.quantity() == 12)
+                .verifyComplete();
+
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void findStockByProductId_ShouldReturnZero_WhenProductHasNoLevelYet() {
+        when(stockLevelRepository.findById(productId))
+                .thenReturn(Mono.empty());
+        when(productRepository.findById(productId))
+                .thenReturn(Mono.just(Product.builder().idProduct(productId).build()));
+
+        StepVerifier.create(stockLevelService.findStockByProductId(productId))
+                .expectNextMatches(dto -> dto.quantity() == 0 && dto.lastStocktakingDate() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    void findStockByProductId_ShouldThrow_WhenProductDoesNotExist() {
+        when(stockLevelRepository.findById(productId))
+                .thenReturn(Mono.empty());
+        when(productRepository.findById(productId))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(stockLevelService.findStockByProductId(productId))
+                .expectErrorMatches(throwable -> throwable instanceof ProductNotFoundException &&
+                        throwable.getMessage().equals(PRODUCT_NOT_FOUND_ID + productId))
+                .verify();
+    }
+
+    @Test
+    void reserve_ShouldComplete_WhenStockIsAvailable() {
+        when(stockLevelRepository.reserveQuantity(productId, 3))
+                .thenReturn(Mono.just(StockLevel.builder().productId(productId).quantity(9).build()));
+
+        StepVerifier.create(stockLevelService.reserve(productId, 3))
+                .verifyComplete();
+    }
+
+    @Test
+    void reserve_ShouldThrowOutOfStock_WhenStockIsInsufficient() {
+        when(stockLevelRepository.reserveQuantity(productId, 3))
+                .thenReturn(Mono.empty());
+        when(stockLevelRepository.findById(productId))
+                .thenReturn(Mono.just(StockLevel.builder().productId(productId).quantity(2).build()));
+
+        StepVerifier.create(stockLevelService.reserve(productId, 3))
+                .expectErrorMatches(throwable -> throwable instanceof OutOfStockException &&
+                        throwable.getMessage().equals(OUT_OF_STOCK + productId + TEXT_REQUESTED + 3 + TEXT_AVAILABLE + 2))
+                .verify();
+    }
+
+    @Test
+    void reserve_ShouldReserveNothing_WhenLastStocktakingCountedTheSale() {
+        LocalDateTime soldAt = LocalDateTime.of(2024, 5, 1, 10, 0);
+        when(stockLevelRepository.reserveQuantity(productId, 3, soldAt))
+                .thenReturn(Mono.empty());
+        when(stockLevelRepository.findById(productId))
+                .thenReturn(Mono.just(StockLevel.builder().productId(productId).quantity(0)
+                        .lastStocktakingDate(soldAt.plusDays(1)).build()));
+
+        StepVerifier.create(stockLevelService.reserve(productId, 3, soldAt))
+                .expectNext(0)
+                .verifyComplete();
+    }
+
+    @Test
+    void reserve_ShouldThrowOutOfStock_WhenSaleIsAfterLastStocktakingAndStockIsInsufficient() {
+        LocalDateTime soldAt = LocalDateTime.of(2024, 5, 1, 10, 0);
+        when(stockLevelRepository.reserveQuantity(productId, 3, soldAt))
+                .thenReturn(Mono.empty());
+        when(stockLevelRepository.findById(productId))
+                .thenReturn(Mono.just(StockLevel.builder().productId(productId).quantity(2)
+                        .lastStocktakingDate(soldAt.minusDays(1)).build()));
+
+        StepVerifier.create(stockLevelService.reserve(productId, 3, soldAt))
+                .expectError(OutOfStockException.class)
+                .verify();
+    }
+
+    @Test
+    void reserve_ShouldSkipRepository_WhenNothingIsRequested() {
+        StepVerifier.create(stockLevelService.reserve(productId, 0))
+                .verifyComplete();
+
+        verifyNoInteractions(stockLevelRepository);
+    }
+
+    @Test
+    void confirmReservation_ShouldClearReservedUnits() {
+        when(stockLevelRepository.confirmReservation(productId, 3))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(stockLevelService.confirmReservation(productId, 3))
+                .verifyComplete();
+
+        verify(stockLevelRepository, times(1)).confirmReservation(productId, 3);
+    }
+
+    @Test
+    void cancelReservation_ShouldCompleteAndLeaveLevelToReconciler_WhenUpdateFails() {
+        when(stockLevelRepository.cancelReservation(productId, 3))
+                .thenReturn(Mono.error(new RuntimeException("Database error")));
+
+        StepVerifier.create(stockLevelService.cancelReservation(productId, 3))
+                .verifyComplete();
+    }
+
+    @Test
+    void revertSale_ShouldCompleteAndLeaveLevelToReconciler_WhenUpdateFails() {
+        when(stockLevelRepository.incrementQuantity(productId, 3, sale.getSaleDate()))
+                .thenReturn(Mono.error(new IllegalStateException("connection reset")));
+
+        StepVerifier.create(stockLevelService.revertSale(sale))
+                .verifyComplete();
+    }
+
+    @Test
+    void applyStocktaking_ShouldResetToCountedQuantity() {
+        when(stockLevelRepository.resetQuantity(productId, 40, stocktaking.getStocktakingDate()))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(stockLevelService.applyStocktaking(stocktaking))
+                .verifyComplete();
+
+        verify(stockLevelRepository, times(1)).resetQuantity(productId, 40, stocktaking.getStocktakingDate());
+    }
+
+    @Test
+    void reconcileProduct_ShouldSubtractSalesAfterLastStocktaking() {
+        StockLevel seen = StockLevel.builder().productId(productId).quantity(12).version(3L).build();
+        when(stockLevelRepository.findById(productId))
+                .thenReturn(Mono.just(seen));
+        when(stocktakingRepository.findFirstByProductIdOrderByStocktakingDateDesc(productId))
+                .thenReturn(Mono.just(stocktaking));
+        when(saleRepository.sumQuantityByProductSince(productId, stocktaking.getStocktakingDate()))
+                .thenReturn(Mono.just(7L));
+        when(stockLevelRepository.replaceIfUnchanged(any(StockLevel.class), eq(seen)))
+                .thenReturn(Mono.just(true));
+
+        StepVerifier.create(stockLevelService.reconcileProduct(productId))
+                .verifyComplete();
+
+        verify(stockLevelRepository).replaceIfUnchanged(argThat(level -> level.getProductId().equals(productId) &&
+                level.getQuantity() == 33 &&
+                stocktaking.getStocktakingDate().equals(level.getLastStocktakingDate())), eq(seen));
+    }
+
+    @Test
+    void reconcileProduct_ShouldCountAllSales_WhenProductWasNeverCounted() {
+        when(stockLevelRepository.findById(productId))
+                .thenReturn(Mono.empty());
+        when(stocktakingRepository.findFirstByProductIdOrderByStocktakingDateDesc(productId))
+                .thenReturn(Mono.empty());
+        when(saleRepository.sumQuantityByProductSince(productId, null))
+                .thenReturn(Mono.just(4L));
+        when(stockLevelRepository.replaceIfUnchanged(any(StockLevel.class), isNull()))
+                .thenReturn(Mono.just(true));
+
+        StepVerifier.create(stockLevelService.reconcileProduct(productId))
+                .verifyComplete();
+
+        verify(stockLevelRepository).replaceIfUnchanged(
+                argThat(level -> level.getQuantity() == -4 && level.getLastStocktakingDate() == null), isNull());
+    }
+
+    @Test
+    void reconcileProduct_ShouldKeepUnitsReservedBySalesNotWrittenYet() {
+        StockLevel seen = StockLevel.builder()
+                .productId(productId)
+                .quantity(31)
+                .reserved(2)
+                .updatedAt(LocalDateTime.now())
+                .version(5L)
+                .build();
+        when(stockLevelRepository.findById(productId))
+                .thenReturn(Mono.just(seen));
+        when(stocktakingRepository.findFirstByProductIdOrderByStocktakingDateDesc(productId))
+                .thenReturn(Mono.just(stocktaking));
+        when(saleRepository.sumQuantityByProductSince(productId, stocktaking.getStocktakingDate()))
+                .thenReturn(Mono.just(7L));
+        when(stockLevelRepository.replaceIfUnchanged(any(StockLevel.class), eq(seen)))
+                .thenReturn(Mono.just(true));
+
+        StepVerifier.create(stockLevelService.reconcileProduct(productId))
+                .verifyComplete();
+
+        verify(stockLevelRepository).replaceIfUnchanged(
+                argThat(level -> level.getQuantity() == 31 && level.getReserved() == 2), eq(seen));
+    }
+
+    @Test
+    void reconcileProduct_ShouldDropReservations_WhenLevelIsIdlePastTimeout() {
+        StockLevel seen = StockLevel.builder()
+                .productId(productId)
+                .quantity(31)
+                .reserved(2)
+                .updatedAt(LocalDateTime.now().minusMinutes(STOCK_RESERVATION_TIMEOUT_MINUTES + 1))
+                .version(5L)
+                .build();
+        when(stockLevelRepository.findById(productId))
+                .thenReturn(Mono.just(seen));
+        when(stocktakingRepository.findFirstByProductIdOrderByStocktakingDateDesc(productId))
+                .thenReturn(Mono.just(stocktaking));
+        when(saleRepository.sumQuantityByProductSince(productId, stocktaking.getStocktakingDate()))
+                .thenReturn(Mono.just(7L));
+        when(stockLevelRepository.replaceIfUnchanged(any(StockLevel.class), eq(seen)))
+                .thenReturn(Mono.just(true));
+
+        StepVerifier.create(stockLevelService.reconcileProduct(productId))
+                .verifyComplete();
+
+        verify(stockLevelRepository).replaceIfUnchanged(
+                argThat(level -> level.getQuantity() == 33 && level.getReserved() == 0), eq(seen));
+    }
+
+    @Test
+    void reconcileProduct_ShouldRereadAndRetry_WhenLevelChangedDuringRebuild() {
+        StockLevel before = StockLevel.builder().productId(productId).quantity(33).version(1L).build();
+        StockLevel after = StockLevel.builder().productId(productId).quantity(32).version(2L).build();
+        when(stockLevelRepository.findById(productId))
+                .thenReturn(Mono.just(before), Mono.just(after));
+        when(stocktakingRepository.findFirstByProductIdOrderByStocktakingDateDesc(productId))
+                .thenReturn(Mono.just(stocktaking));
+        when(saleRepository.sumQuantityByProductSince(productId, stocktaking.getStocktakingDate()))
+                .thenReturn(Mono.just(8L));
+        when(stockLevelRepository.replaceIfUnchanged(any(StockLevel.class), eq(before)))
+                .thenReturn(Mono.just(false));
+        when(stockLevelRepository.replaceIfUnchanged(any(StockLevel.class), eq(after)))
+                .thenReturn(Mono.just(true));
+
+        StepVerifier.create(stockLevelService.reconcileProduct(productId))
+                .verifyComplete();
+
+        verify(stockLevelRepository, times(2)).findById(productId);
+        verify(stockLevelRepository, never()).save(any(StockLevel.class));
+    }
+
+    @Test
+    void reconcileProduct_ShouldGiveUp_WhenLevelKeepsChanging() {
+        when(stockLevelRepository.findById(productId))
+                .thenReturn(Mono.just(StockLevel.builder().productId(productId).version(1L).build()));
+        when(stocktakingRepository.findFirstByProductIdOrderByStocktakingDateDesc(productId))
+                .thenReturn(Mono.just(stocktaking));
+        when(saleRepository.sumQuantityByProductSince(productId, stocktaking.getStocktakingDate()))
+                .thenReturn(Mono.just(0L));
+        when(stockLevelRepository.replaceIfUnchanged(any(StockLevel.class), any(StockLevel.class)))
+                .thenReturn(Mono.just(false));
+
+        StepVerifier.create(stockLevelService.reconcileProduct(productId))
+                .verifyComplete();
+
+        verify(stockLevelRepository, times(STOCK_RECONCILE_MAX_ATTEMPTS)).replaceIfUnchanged(any(StockLevel.class), any(StockLevel.class));
+    }
+
+    @Test
+    void reconcileAll_ShouldReturnNumberOfReconciledProducts() {
+        when(productRepository.findAll())
+                .thenReturn(Flux.just(Product.builder().idProduct(productId).build()));
+        when(stockLevelRepository.findById(productId))
+                .thenReturn(Mono.empty());
+        when(stocktakingRepository.findFirstByProductIdOrderByStocktakingDateDesc(productId))
+                .thenReturn(Mono.just(stocktaking));
+        when(saleRepository.sumQuantityByProductSince(productId, stocktaking.getStocktakingDate()))
+                .thenReturn(Mono.just(0L));
+        when(stockLevelRepository.replaceIfUnchanged(any(StockLevel.class), isNull()))
+                .thenReturn(Mono.just(true));
+
+        StepVerifier.create(stockLevelService.reconcileAll())
+                .expectNext(1L)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,145 @@
+package org.gad.inventory_service.service.impl;
+
+import jakarta.validation.Validation;
+import org.gad.inventory_service.config.scheduler.WorkSchedulers;
+import org.gad.inventory_service.dto.ImportRowErrorDTO;
+import org.gad.inventory_service.dto.UserAuthenticatedDTO;
+import org.gad.inventory_service.exception.InvalidImportFileException;
+import org.gad.inventory_service.model.Product;
+import org.gad.inventory_service.model.Stocktaking;
+import org.gad.inventory_service.repository.ProductRepository;
+import org.gad.inventory_service.repository.StocktakingRepository;
+import org.gad.inventory_service.service.StockLevelService;
+import org.gad.inventory_service.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.gad.inventory_service.utils.Constants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StocktakingImportServiceImplTest {
+    @Mock
+    private StocktakingRepository stocktakingRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private StockLevelService stockLevelService;
+
+    private WorkSchedulers workSchedulers;
+    private StocktakingImportServiceImpl stocktakingImportService;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        workSchedulers = new WorkSchedulers(
+                WorkSchedulers.boundedPool("report-test", 1, 1, null),
+                WorkSchedulers.boundedPool("auth-test", 1, 1, null),
+                WorkSchedulers.boundedPool("import-test", 1, 2, null));
+        stocktakingImportService = new StocktakingImportServiceImpl(stocktakingRepository, productRepository, userService,
+                stockLevelService, workSchedulers, Validation.buildDefaultValidatorFactory().getValidator(), 2);
+
+        product = Product.builder()
+                .idProduct("product1")
+                .sku("SKU-0001")
+                .name("Test Product")
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        workSchedulers.dispose();
+    }
+
+    @Test
+    void importStocktaking_ShouldImportInChunksAndReportRejectedRows() {
+        when(userService.getAuthenticatedUser())
+                .thenReturn(Mono.just(UserAuthenticatedDTO.builder().idUser("user1").build()));
+        when(productRepository.findAllBySkuIn(Set.of("SKU-0001")))
+                .thenReturn(Flux.just(product));
+        when(productRepository.findAllBySkuIn(Set.of("SKU-0003")))
+                .thenReturn(Flux.empty());
+        when(stocktakingRepository.insert(ArgumentMatchers.<Stocktaking>anyIterable()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<Iterable<Stocktaking>>getArgument(0)));
+        when(stockLevelService.applyStocktaking(any(Stocktaking.class)))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(stocktakingImportService.importStocktaking("counts.csv",
+                        content("SKU,Quantity\nSKU-0001,5\nSKU-0002,abc\nSKU-0003,4\n")))
+                .assertNext(progress -> {
+                    assertEquals(2, progress.processed());
+                    assertEquals(1, progress.imported());
+                    assertEquals(List.of(new ImportRowErrorDTO(3, MESSAGE_IMPORT_INVALID_QUANTITY)), progress.errors());
+                    assertFalse(progress.done());
+                })
+                .assertNext(progress -> {
+                    assertEquals(3, progress.processed());
+                    assertEquals(2, progress.rejected());
+                    assertEquals(List.of(new ImportRowErrorDTO(4, PRODUCT_NOT_FOUND_SKU + "SKU-0003")), progress.errors());
+                    assertFalse(progress.done());
+                })
+                .assertNext(progress -> {
+                    assertTrue(progress.done());
+                    assertEquals(3, progress.processed());
+                    assertEquals(1, progress.imported());
+                    assertEquals(2, progress.rejected());
+                    assertTrue(progress.errors().isEmpty());
+                })
+                .verifyComplete();
+
+        verify(userService, times(1)).getAuthenticatedUser();
+        verify(stocktakingRepository, times(1)).insert(ArgumentMatchers.<Iterable<Stocktaking>>argThat(stocktakings -> {
+            Stocktaking stocktaking = stocktakings.iterator().next();
+            return "product1".equals(stocktaking.getProductId())
+                    && stocktaking.getQuantity() == 5
+                    && "user1".equals(stocktaking.getPerformedBy());
+        }));
+    }
+
+    @Test
+    void importStocktaking_ShouldFail_WhenHeaderHasNoQuantityColumn() {
+        when(userService.getAuthenticatedUser())
+                .thenReturn(Mono.just(UserAuthenticatedDTO.builder().idUser("user1").build()));
+
+        StepVerifier.create(stocktakingImportService.importStocktaking("counts.csv", content("sku,count\nSKU-0001,5\n")))
+                .expectErrorMatches(error -> error instanceof InvalidImportFileException
+                        && MESSAGE_IMPORT_MISSING_COLUMNS.equals(error.getMessage()))
+                .verify();
+
+        verifyNoInteractions(stocktakingRepository, productRepository);
+    }
+
+    @Test
+    void importStocktaking_ShouldFail_WhenFileExtensionIsUnsupported() {
+        StepVerifier.create(stocktakingImportService.importStocktaking("counts.pdf", content("irrelevant")))
+                .expectError(InvalidImportFileException.class)
+                .verify();
+
+        verifyNoInteractions(userService, stocktakingRepository);
+    }
+
+    private Flux<DataBuffer> content(String text) {
+        return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(text.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -7,8 +7,10 @@ import org.gad.inventory_service.exception.ProductNotFoundException;
 import org.gad.inventory_service.exception.StockTakingNotFoundException;
 import org.gad.inventory_service.model.Product;
 import org.gad.inventory_service.model.Stocktaking;
+import org.gad.inventory_service.model.projection.StocktakingProductView;
 import org.gad.inventory_service.repository.ProductRepository;
 import org.gad.inventory_service.repository.StocktakingRepository;
+import org.gad.inventory_service.service.StockLevelService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -37,11 +39,16 @@ class StocktakingServiceImplTest {
     @Mock
     private UserServiceImpl userService;
 
+    @Mock
+    private StockLevelService stockLevelService;
+
     @InjectMocks
     private StocktakingServiceImpl stocktakingService;
 
     private Stocktaking stocktaking;
     private Product product;
+    private StocktakingProductView stocktakingView;
+    private StocktakingProductView orphanStocktakingView;
     private CreateStocktakingRequest createStocktakingRequest;
     private UpdateStocktakingRequest updateStocktakingRequest;
     private UserAuthenticatedDTO userAuthenticatedDTO;
@@ -55,6 +62,23 @@ class StocktakingServiceImplTest {
                 .performedBy("admin")
                 .build();
 
+        stocktakingView = StocktakingProductView.builder()
+                .idStocktaking("1")
+                .productId("product1")
+                .productName("Test Product")
+                .quantity(100)
+                .stocktakingDate(LocalDateTime.now())
+                .performedBy("admin")
+                .build();
+
+        orphanStocktakingView = StocktakingProductView.builder()
+                .idStocktaking("1")
+                .productId("product1")
+                .quantity(100)
+                .stocktakingDate(LocalDateTime.now())
+                .performedBy("admin")
+                .build();
+
         product = Product.builder()
                 .idProduct("product1")
                 .name("Test Product")
@@ -76,11 +100,8 @@ class StocktakingServiceImplTest {
 
     @Test
     void findAllStocktaking_ShouldReturnFluxOfStocktakingDTO_WhenStocktakingExists() {
-        when(productRepository.findById(anyString()))
-                .thenReturn(Mono.just(product));
-
-        when(stocktakingRepository.findAll())
-                .thenReturn(Flux.just(stocktaking));
+        when(stocktakingRepository.findWithProductByOptionalDateRange(isNull(), isNull()))
+                .thenReturn(Flux.just(stocktakingView));
 
         StepVerifier.create(stocktakingService.findAllStocktaking())
                 .expectNextMatches(stocktakingDTO ->
@@ -89,12 +110,12 @@ class StocktakingServiceImplTest {
                                 stocktakingDTO.quantity() == 100 &&
                                 stocktakingDTO.performedBy().equals("admin"))
                 .verifyComplete();
-        verify(stocktakingRepository, times(1)).findAll();
+        verify(stocktakingRepository, times(1)).findWithProductByOptionalDateRange(isNull(), isNull());
     }
 
     @Test
     void finAllStocktaking_ShouldThrow_WhenNoStocktakingExists() {
-        when(stocktakingRepository.findAll())
+        when(stocktakingRepository.findWithProductByOptionalDateRange(isNull(), isNull()))
                 .thenReturn(Flux.empty());
 
         StepVerifier.create(stocktakingService.findAllStocktaking())
@@ -102,23 +123,20 @@ class StocktakingServiceImplTest {
                         throwable.getMessage().equals(STOCKTAKING_NOT_FOUND))
                 .verify();
 
-        verify(stocktakingRepository, times(1)).findAll();
+        verify(stocktakingRepository, times(1)).findWithProductByOptionalDateRange(isNull(), isNull());
     }
 
     @Test
     void finAllStocktaking_ShouldThrow_WhenProductNotFound() {
-        when(stocktakingRepository.findAll())
-                .thenReturn(Flux.just(stocktaking));
-
-        when(productRepository.findById(anyString()))
-                .thenReturn(Mono.empty());
+        when(stocktakingRepository.findWithProductByOptionalDateRange(isNull(), isNull()))
+                .thenReturn(Flux.just(orphanStocktakingView));
 
         StepVerifier.create(stocktakingService.findAllStocktaking())
                 .expectErrorMatches(throwable -> throwable instanceof ProductNotFoundException &&
                         throwable.getMessage().equals(PRODUCT_NOT_FOUND_ID + stocktaking.getProductId()))
                 .verify();
 
-        verify(productRepository, times(1)).findById(anyString());
+        verifyNoInteractions(productRepository);
     }
 
     @Test
@@ -126,11 +144,8 @@ class StocktakingServiceImplTest {
         String dateStart = "2023-01-01";
         String dateEnd = "2023-12-31";
 
-        when(productRepository.findById(anyString()))
-                .thenReturn(Mono.just(product));
-
-        when(stocktakingRepository.findByOptionalDateRange(any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Flux.just(stocktaking));
+        when(stocktakingRepository.findWithProductByOptionalDateRange(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Flux.just(stocktakingView));
 
         StepVerifier.create(stocktakingService.findAllStocktakingByDateBetween(dateStart, dateEnd))
                 .expectNextMatches(stocktakingDTO ->
@@ -140,7 +155,7 @@ class StocktakingServiceImplTest {
                                 stocktakingDTO.performedBy().equals("admin"))
                 .verifyComplete();
 
-        verify(stocktakingRepository, times(1)).findByOptionalDateRange(any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(stocktakingRepository, times(1)).findWithProductByOptionalDateRange(any(LocalDateTime.class), any(LocalDateTime.class));
     }
 
     @Test
@@ -148,7 +163,7 @@ class StocktakingServiceImplTest {
         String dateStart = "2023-01-01";
         String dateEnd = "2023-12-31";
 
-        when(stocktakingRepository.findByOptionalDateRange(any(LocalDateTime.class), any(LocalDateTime.class)))
+        when(stocktakingRepository.findWithProductByOptionalDateRange(any(LocalDateTime.class), any(LocalDateTime.class)))
                 .thenReturn(Flux.empty());
 
         StepVerifier.create(stocktakingService.findAllStocktakingByDateBetween(dateStart, dateEnd))
@@ -157,7 +172,7 @@ class StocktakingServiceImplTest {
                                 throwable.getMessage().equals(STOCKTAKING_NOT_FOUND_BETWEEEN_DATES + dateStart + " and " + dateEnd))
                 .verify();
 
-        verify(stocktakingRepository, times(1)).findByOptionalDateRange(any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(stocktakingRepository, times(1)).findWithProductByOptionalDateRange(any(LocalDateTime.class), any(LocalDateTime.class));
     }
 
     @Test
@@ -165,11 +180,8 @@ class StocktakingServiceImplTest {
         String dateStart = "2023-01-01";
         String dateEnd = "2023-12-31";
 
-        when(stocktakingRepository.findByOptionalDateRange(any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Flux.just(stocktaking));
-
-        when(productRepository.findById(anyString()))
-                .thenReturn(Mono.empty());
+        when(stocktakingRepository.findWithProductByOptionalDateRange(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Flux.just(orphanStocktakingView));
 
         StepVerifier.create(stocktakingService.findAllStocktakingByDateBetween(dateStart, dateEnd))
                 .expectErrorMatches(throwable ->
@@ -177,17 +189,14 @@ class StocktakingServiceImplTest {
                                 throwable.getMessage().equals(PRODUCT_NOT_FOUND_ID + stocktaking.getProductId()))
                 .verify();
 
-        verify(productRepository, times(1)).findById(anyString());
+        verifyNoInteractions(productRepository);
     }
 
     @Test
     void findAllStocktakingByProductName_ShouldReturnFluxOfStocktakingDTO_WhenProductExists() {
         String productName = "Test Product";
 
-        when(productRepository.findById(anyString()))
-                .thenReturn(Mono.just(product));
-
-        when(productRepository.findProductByNameContainingIgnoreCase(anyString()))
+        when(productRepository.findFirstByNamePrefix(anyString()))
                 .thenReturn(Mono.just(product));
 
         when(stocktakingRepository.findStocktakingByProductId(anyString()))
@@ -201,14 +210,14 @@ class StocktakingServiceImplTest {
                                 stocktakingDTO.performedBy().equals("admin"))
                 .verifyComplete();
 
-        verify(productRepository, times(1)).findProductByNameContainingIgnoreCase(anyString());
+        verify(productRepository, times(1)).findFirstByNamePrefix(anyString());
     }
 
     @Test
     void finAllStocktakingByProductName_ShouldThrow_WhenProductNotFoundById() {
         String productName = "Test Product";
 
-        when(productRepository.findProductByNameContainingIgnoreCase(anyString()))
+        when(productRepository.findFirstByNamePrefix(anyString()))
                 .thenReturn(Mono.empty());
 
         StepVerifier.create(stocktakingService.findAllStocktakingByProductName(productName))
@@ -217,14 +226,14 @@ class StocktakingServiceImplTest {
                                 throwable.getMessage().equals(STOCKTAKING_NOT_FOUND_NAME + productName))
                 .verify();
 
-        verify(productRepository, times(1)).findProductByNameContainingIgnoreCase(anyString());
+        verify(productRepository, times(1)).findFirstByNamePrefix(anyString());
     }
 
     @Test
     void findAllStocktakingByProductName_ShouldThrow_WhenProductNotFound() {
         String productName = "NonExistent Product";
 
-        when(productRepository.findProductByNameContainingIgnoreCase(anyString()))
+        when(productRepository.findFirstByNamePrefix(anyString()))
                 .thenReturn(Mono.empty());
 
         StepVerifier.create(stocktakingService.findAllStocktakingByProductName(productName))
@@ -233,14 +242,14 @@ class StocktakingServiceImplTest {
                                 throwable.getMessage().equals(STOCKTAKING_NOT_FOUND_NAME + productName))
                 .verify();
 
-        verify(productRepository, times(1)).findProductByNameContainingIgnoreCase(anyString());
+        verify(productRepository, times(1)).findFirstByNamePrefix(anyString());
     }
 
     @Test
     void findAllStocktakingByProductName_ShouldThrow_WhenStocktakingIsEmpty() {
         String productName = "Test Product";
 
-        when(productRepository.findProductByNameContainingIgnoreCase(anyString()))
+        when(productRepository.findFirstByNamePrefix(anyString()))
                 .thenReturn(Mono.just(product));
 
         when(stocktakingRepository.findStocktakingByProductId(anyString()))
@@ -259,11 +268,8 @@ class StocktakingServiceImplTest {
     void findStocktakingById_ShouldReturnStocktakingDTO_WhenStocktakingExists() {
         String stocktakingId = "1";
 
-        when(stocktakingRepository.findById(anyString()))
-                .thenReturn(Mono.just(stocktaking));
-
-        when(productRepository.findById(stocktaking.getProductId()))
-                .thenReturn(Mono.just(product));
+        when(stocktakingRepository.findWithProductById(anyString()))
+                .thenReturn(Mono.just(stocktakingView));
 
         StepVerifier.create(stocktakingService.findStocktakingById(stocktakingId))
                 .expectNextMatches(stocktakingDTO ->
@@ -273,14 +279,14 @@ class StocktakingServiceImplTest {
                                 stocktakingDTO.performedBy().equals("admin"))
                 .verifyComplete();
 
-        verify(stocktakingRepository, times(1)).findById(anyString());
+        verify(stocktakingRepository, times(1)).findWithProductById(anyString());
     }
 
     @Test
     void findStocktakingById_ShouldThrow_WhenStocktakingDoesNotExist() {
         String stocktakingId = "1";
 
-        when(stocktakingRepository.findById(anyString()))
+        when(stocktakingRepository.findWithProductById(anyString()))
                 .thenReturn(Mono.empty());
 
         StepVerifier.create(stocktakingService.findStocktakingById(stocktakingId))
@@ -289,30 +295,27 @@ class StocktakingServiceImplTest {
                                 throwable.getMessage().equals(STOCKTAKING_NOT_FOUND_ID + stocktakingId))
                 .verify();
 
-        verify(stocktakingRepository, times(1)).findById(anyString());
+        verify(stocktakingRepository, times(1)).findWithProductById(anyString());
     }
 
     @Test
     void findStocktakingById_ShouldThrow_WhenProductNotFound() {
         String stocktakingId = "1";
 
-        when(stocktakingRepository.findById(anyString()))
-                .thenReturn(Mono.just(stocktaking));
+        when(stocktakingRepository.findWithProductById(anyString()))
+                .thenReturn(Mono.just(orphanStocktakingView));
 
-        when(productRepository.findById(stocktaking.getProductId()))
-                .thenReturn(Mono.empty());
         StepVerifier.create(stocktakingService.findStocktakingById(stocktakingId))
                 .expectErrorMatches(throwable ->
                         throwable instanceof ProductNotFoundException &&
                                 throwable.getMessage().equals(PRODUCT_NOT_FOUND_ID + stocktaking.getProductId()))
                 .verify();
-        verify(productRepository, times(1)).findById(stocktaking
-                .getProductId());
+        verifyNoInteractions(productRepository);
     }
 
     @Test
     void createStocktaking_ShouldReturnStocktakingDTO_WhenProductExists() {
-        when(productRepository.findProductByNameContainingIgnoreCase(anyString()))
+        when(productRepository.findFirstByNamePrefix(anyString()))
                 .thenReturn(Mono.just(product));
 
         when(userService.getAuthenticatedUser())
@@ -320,6 +323,8 @@ class StocktakingServiceImplTest {
 
         when(stocktakingRepository.save(any(Stocktaking.class)))
                 .thenReturn(Mono.just(stocktaking));
+        when(stockLevelService.applyStocktaking(stocktaking))
+                .thenReturn(Mono.empty());
 
         StepVerifier.create(stocktakingService.createStocktaking(createStocktakingRequest))
                 .expectNextMatches(stocktakingDTO ->
@@ -333,7 +338,7 @@ class StocktakingServiceImplTest {
 
     @Test
     void createStocktaking_ShouldThrow_WhenProductNotFound() {
-        when(productRepository.findProductByNameContainingIgnoreCase(anyString()))
+        when(productRepository.findFirstByNamePrefix(anyString()))
                 .thenReturn(Mono.empty());
 
         StepVerifier.create(stocktakingService.createStocktaking(createStocktakingRequest))
@@ -342,7 +347,47 @@ class StocktakingServiceImplTest {
                                 throwable.getMessage().equals(STOCKTAKING_NOT_FOUND_NAME + "Test Product"))
                 .verify();
 
-        verify(productRepository, times(1)).findProductByNameContainingIgnoreCase(anyString());
+        verify(productRepository, times(1)).findFirstByNamePrefix(anyString());
+    }
+
+    @Test
+    void createStocktaking_ShouldResolveProductBySku_WhenSkuIsGiven() {
+        CreateStocktakingRequest request = CreateStocktakingRequest.builder()
+                .sku("SKU-0001")
+                .quantity(50)
+                .build();
+        when(productRepository.findBySku("SKU-0001"))
+                .thenReturn(Mono.just(product));
+        when(userService.getAuthenticatedUser())
+                .thenReturn(Mono.just(userAuthenticatedDTO));
+        when(stocktakingRepository.save(any(Stocktaking.class)))
+                .thenReturn(Mono.just(stocktaking));
+        when(stockLevelService.applyStocktaking(stocktaking))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(stocktakingService.createStocktaking(request))
+                .expectNextMatches(stocktakingDTO -> stocktakingDTO.productName().equals("Test Product"))
+                .verifyComplete();
+
+        verify(productRepository, never()).findFirstByNamePrefix(anyString());
+    }
+
+    @Test
+    void createStocktaking_ShouldThrow_WhenProductIdNotFound() {
+        CreateStocktakingRequest request = CreateStocktakingRequest.builder()
+                .productId("product1")
+                .quantity(50)
+                .build();
+        when(productRepository.findById("product1"))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(stocktakingService.createStocktaking(request))
+                .expectErrorMatches(throwable ->
+                        throwable instanceof ProductNotFoundException &&
+                                throwable.getMessage().equals(PRODUCT_NOT_FOUND_ID + "product1"))
+                .verify();
+
+        verify(stocktakingRepository, never()).save(any(Stocktaking.class));
     }
 
     @Test
@@ -355,7 +400,7 @@ class StocktakingServiceImplTest {
         when(stocktakingRepository.findById(anyString()))
                 .thenReturn(Mono.just(stocktaking));
 
-        when(productRepository.findProductByNameContainingIgnoreCase(updateStocktakingRequest.productName()))
+        when(productRepository.findFirstByNamePrefix(updateStocktakingRequest.productName()))
                 .thenReturn(Mono.just(product));
 
         Stocktaking updatedStocktaking = Stocktaking.builder()
@@ -367,6 +412,8 @@ class StocktakingServiceImplTest {
 
         when(stocktakingRepository.save(any(Stocktaking.class)))
                 .thenReturn(Mono.just(updatedStocktaking));
+        when(stockLevelService.reconcileProduct("product1"))
+                .thenReturn(Mono.empty());
 
         StepVerifier.create(stocktakingService.updateStocktaking(stocktakingId, updateStocktakingRequest))
                 .expectNextMatches(stocktakingDTO ->
@@ -377,6 +424,7 @@ class StocktakingServiceImplTest {
                 .verifyComplete();
 
         verify(stocktakingRepository, times(1)).save(any(Stocktaking.class));
+        verify(stockLevelService, times(1)).reconcileProduct("product1");
     }
 
     @Test
@@ -402,7 +450,7 @@ class StocktakingServiceImplTest {
         when(stocktakingRepository.findById(anyString()))
                 .thenReturn(Mono.just(stocktaking));
 
-        when(productRepository.findProductByNameContainingIgnoreCase(updateStocktakingRequest.productName()))
+        when(productRepository.findFirstByNamePrefix(updateStocktakingRequest.productName()))
                 .thenReturn(Mono.empty());
 
         StepVerifier.create(stocktakingService.updateStocktaking(stocktakingId, updateStocktakingRequest))
@@ -411,7 +459,7 @@ class StocktakingServiceImplTest {
                                 throwable.getMessage().equals(STOCKTAKING_NOT_FOUND_NAME + updateStocktakingRequest.productName()))
                 .verify();
 
-        verify(productRepository, times(1)).findProductByNameContainingIgnoreCase(updateStocktakingRequest.productName());
+        verify(productRepository, times(1)).findFirstByNamePrefix(updateStocktakingRequest.productName());
     }
 
     @Test
@@ -423,11 +471,14 @@ class StocktakingServiceImplTest {
 
         when(stocktakingRepository.deleteById(anyString()))
                 .thenReturn(Mono.empty());
+        when(stockLevelService.reconcileProduct("product1"))
+                .thenReturn(Mono.empty());
 
         StepVerifier.create(stocktakingService.deleteStocktakingById(stocktakingId))
                 .verifyComplete();
 
         verify(stocktakingRepository, times(1)).deleteById(anyString());
+        verify(stockLevelService, times(1)).reconcileProduct("product1");
     }
 
     @Test
@@ -1,17 +1,21 @@
 package org.gad.inventory_service.service.impl;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.gad.inventory_service.event.UserSecurityChangedEvent;
 import org.gad.inventory_service.model.User;
 import org.gad.inventory_service.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -21,13 +25,16 @@ class UserSecurityServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
     private UserSecurityServiceImpl userSecurityService;
 
     private User user;
 
     @BeforeEach
     void setUp() {
+        userSecurityService = new UserSecurityServiceImpl(userRepository, meterRegistry, Duration.ofMinutes(5), 100);
         user = User.builder()
                 .idUser("12345")
                 .name("John")
@@ -62,4 +69,35 @@ class UserSecurityServiceImplTest {
 
         verify(userRepository, times(1)).findUserByUsername(anyString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findByUsername_ShouldServeFromCache_WhenUserWasAlreadyLoaded() {
+        when(userRepository.findUserByUsername("johndoe"))
+                .thenReturn(Mono.just(user));
+
+        StepVerifier.create(userSecurityService.findByUsername("johndoe"))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(userSecurityService.findByUsername("johndoe"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(userRepository, times(1)).findUserByUsername("johndoe");
+    }
+
+    @Test
+    void findByUsername_ShouldReloadUser_WhenUserSecurityChanged() {
+        when(userRepository.findUserByUsername("johndoe"))
+                .thenReturn(Mono.just(user));
+
+        StepVerifier.create(userSecurityService.findByUsername("johndoe"))
+                .expectNextCount(1)
+                .verifyComplete();
+        userSecurityService.onUserSecurityChanged(UserSecurityChangedEvent.forUser("user-12345", "johndoe"));
+        StepVerifier.create(userSecurityService.findByUsername("johndoe"))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(userRepository, times(2)).findUserByUsername("johndoe");
+    }
+}
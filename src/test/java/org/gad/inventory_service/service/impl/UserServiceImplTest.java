@@ -2,6 +2,7 @@ package org.gad.inventory_service.service.impl;
 
 import org.gad.inventory_service.dto.request.CreateUserRequest;
 import org.gad.inventory_service.dto.request.UpdateUserRequest;
+import org.gad.inventory_service.event.UserSecurityChangedEvent;
 import org.gad.inventory_service.exception.RoleNotFoundException;
 import org.gad.inventory_service.exception.UserNotFoundException;
 import org.gad.inventory_service.model.Role;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.security.core.context.SecurityContext;
@@ -24,6 +26,7 @@ import reactor.test.StepVerifier;
 
 import static org.gad.inventory_service.utils.Constants.*;
 import static org.gad.inventory_service.utils.Constants.OR_EMAIL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +40,9 @@ class UserServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -241,6 +247,36 @@ class UserServiceImplTest {
         verify(userRepository, times(1)).save(any(User.class));
     }
 
+    @Test
+    void updateUser_ShouldRevokeIssuedTokens_WhenUsernameChanges() {
+        when(userRepository.findById(anyString())).thenReturn(Mono.just(user));
+        when(userRepository.save(any(User.class))).thenReturn(Mono.just(user));
+
+        StepVerifier.create(userService.updateUser("user-12345", updateUserRequest))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertEquals(1, user.currentTokenVersion());
+        verify(eventPublisher, times(1)).publishEvent(UserSecurityChangedEvent.forUser("user-12345", "johndoe", "johnsmith"));
+    }
+
+    @Test
+    void updateUser_ShouldKeepIssuedTokens_WhenCredentialsAreUnchanged() {
+        UpdateUserRequest sameCredentials = UpdateUserRequest.builder()
+                .name("John")
+                .lastName("Smith")
+                .username("johndoe")
+                .password("password123")
+                .build();
+        when(userRepository.findById(anyString())).thenReturn(Mono.just(user));
+        when(passwordEncoder.matches("password123", user.getPassword())).thenReturn(true);
+        when(userRepository.save(any(User.class))).thenReturn(Mono.just(user));
+
+        StepVerifier.create(userService.updateUser("user-12345", sameCredentials))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertEquals(0, user.currentTokenVersion());
+    }
+
     @Test
     void updateUser_ShouldReturnError_WhenUserDoesNotExist() {
         when(userRepository.findById(anyString())).thenReturn(Mono.empty());
@@ -262,6 +298,7 @@ class UserServiceImplTest {
                 .verifyComplete();
         verify(userRepository, times(1)).findById(anyString());
         verify(userRepository, times(1)).deleteById(anyString());
+        verify(eventPublisher, times(1)).publishEvent(UserSecurityChangedEvent.forUser("user-12345", "johndoe"));
     }
 
     @Test